@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.addon.cloudevents;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+import org.kie.kogito.event.Acknowledgeable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Subscriber converting the received JSON strings to objects, which requests at most {@code maxInFlight} of them
+ * and one more each time the stage returned by the consumer for a previous one completes. Each event is
+ * acknowledged once its stage completed successfully, and rejected when it could not be handled.
+ */
+public class JsonStringToObjectSubscriber<T> implements Subscriber<Acknowledgeable<String>> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonStringToObjectSubscriber.class);
+    private final Class<T> clazz;
+    private final Function<T, CompletionStage<?>> realConsumer;
+    private final ObjectMapper objectMapper;
+    private final int maxInFlight;
+    private Subscription subscription;
+
+    public JsonStringToObjectSubscriber(ObjectMapper objectMapper, Function<T, CompletionStage<?>> realConsumer, Class<T> clazz, int maxInFlight) {
+        this.objectMapper = objectMapper;
+        this.realConsumer = realConsumer;
+        this.clazz = clazz;
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public synchronized void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(maxInFlight);
+    }
+
+    @Override
+    public void onNext(Acknowledgeable<String> event) {
+        CompletionStage<?> handled;
+        try {
+            handled = realConsumer.apply(objectMapper.readValue(event.payload(), clazz));
+        } catch (JsonProcessingException e) {
+            // handling it again would not help
+            logger.info("Invalid payload {}", event.payload(), e);
+            event.ack();
+            requestNext();
+            return;
+        } catch (RuntimeException e) {
+            logger.error("Unable to handle payload {}", event.payload(), e);
+            event.nack(e);
+            requestNext();
+            return;
+        }
+        if (handled != null) {
+            handled.whenComplete((result, error) -> {
+                if (error != null) {
+                    event.nack(error);
+                } else {
+                    event.ack();
+                }
+                requestNext();
+            });
+        } else {
+            event.ack();
+            requestNext();
+        }
+    }
+
+    // the stages complete on any thread, while the subscription must be requested serially
+    private synchronized void requestNext() {
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        logger.error("Event stream terminated with an error", error);
+    }
+
+    @Override
+    public void onComplete() {
+        logger.debug("Event stream completed");
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.addon.cloudevents;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.Acknowledgeable;
+import org.reactivestreams.Subscription;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonStringToObjectSubscriberTest {
+
+    @Test
+    void requestsMoreEventsOnceTheyAreHandled() {
+        List<CompletableFuture<Void>> handled = new ArrayList<>();
+        JsonStringToObjectSubscriber<JsonNode> subscriber = new JsonStringToObjectSubscriber<>(new ObjectMapper(), event -> {
+            CompletableFuture<Void> stage = new CompletableFuture<>();
+            handled.add(stage);
+            return stage;
+        }, JsonNode.class, 2);
+        RecordingSubscription subscription = new RecordingSubscription();
+
+        subscriber.onSubscribe(subscription);
+        assertThat(subscription.requested).isEqualTo(2);
+
+        AtomicInteger acked = new AtomicInteger();
+        subscriber.onNext(event("{\"id\": 1}", acked, new ArrayList<>()));
+        subscriber.onNext(event("{\"id\": 2}", acked, new ArrayList<>()));
+        assertThat(subscription.requested).isEqualTo(2);
+        assertThat(acked.get()).isZero();
+
+        handled.get(1).complete(null);
+        assertThat(subscription.requested).isEqualTo(3);
+        assertThat(acked.get()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsEventsWhichHandlingFailed() {
+        CompletableFuture<Void> handled = new CompletableFuture<>();
+        JsonStringToObjectSubscriber<JsonNode> subscriber = new JsonStringToObjectSubscriber<>(new ObjectMapper(), event -> handled, JsonNode.class, 1);
+        RecordingSubscription subscription = new RecordingSubscription();
+        AtomicInteger acked = new AtomicInteger();
+        List<Throwable> rejected = new ArrayList<>();
+
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext(event("{\"id\": 1}", acked, rejected));
+        handled.completeExceptionally(new IllegalStateException("test"));
+
+        assertThat(acked.get()).isZero();
+        assertThat(rejected).extracting(Throwable::getMessage).containsExactly("test");
+        assertThat(subscription.requested).isEqualTo(2);
+    }
+
+    @Test
+    void requestsMoreEventsWhenTheyCannotBeHandled() {
+        JsonStringToObjectSubscriber<JsonNode> subscriber = new JsonStringToObjectSubscriber<>(new ObjectMapper(), event -> {
+            throw new IllegalStateException("test");
+        }, JsonNode.class, 1);
+        RecordingSubscription subscription = new RecordingSubscription();
+
+        AtomicInteger acked = new AtomicInteger();
+        List<Throwable> rejected = new ArrayList<>();
+
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext(event("this-is-not-json", acked, rejected));
+        subscriber.onNext(event("{\"id\": 1}", acked, rejected));
+
+        assertThat(subscription.requested).isEqualTo(3);
+        // an invalid payload is not handled again
+        assertThat(acked.get()).isEqualTo(1);
+        assertThat(rejected).hasSize(1);
+    }
+
+    private static Acknowledgeable<String> event(String payload, AtomicInteger acked, List<Throwable> rejected) {
+        return Acknowledgeable.of(payload, 1, acked::incrementAndGet, rejected::add);
+    }
+
+    private static class RecordingSubscription implements Subscription {
+
+        long requested;
+
+        @Override
+        public void request(long n) {
+            requested += n;
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
@@ -15,7 +15,9 @@
  */
 package org.kie.kogito.addon.cloudevents.quarkus;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Produces;
@@ -23,6 +25,7 @@ import javax.inject.Named;
 
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.eclipse.microprofile.reactive.messaging.Message;
+import org.kie.kogito.event.Acknowledgeable;
 import org.kie.kogito.event.KogitoEventStreams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +40,8 @@ public class QuarkusCloudEventPublisher {
     private static final Logger LOGGER = LoggerFactory.getLogger(QuarkusCloudEventPublisher.class);
 
     protected BroadcastProcessor<String> processor = BroadcastProcessor.create();
+    protected BroadcastProcessor<Acknowledgeable<String>> acknowledgeableProcessor = BroadcastProcessor.create();
+    private final AtomicInteger acknowledgingSubscribers = new AtomicInteger();
 
     /**
      * Broadcasts the received/produced messages to subscribers
@@ -52,21 +57,40 @@ public class QuarkusCloudEventPublisher {
     }
 
     /**
-     * Listens to a message published in the {@link KogitoEventStreams#INCOMING} channel
+     * Broadcasts the received/produced messages to the subscribers acknowledging them once handled
+     *
+     * @return A {@link Multi} message to subscribers
+     */
+    @Produces
+    @ApplicationScoped
+    @Named(KogitoEventStreams.ACKNOWLEDGEABLE_PUBLISHER)
+    public Multi<Acknowledgeable<String>> acknowledgeableProducerFactory() {
+        return acknowledgeableProcessor
+                .onSubscribe().invoke(acknowledgingSubscribers::incrementAndGet)
+                .onTermination().invoke(acknowledgingSubscribers::decrementAndGet);
+    }
+
+    /**
+     * Listens to a message published in the {@link KogitoEventStreams#INCOMING} channel. The message is acknowledged
+     * once the acknowledging subscribers handled it, the other subscribers handle it while it is broadcast.
      *
      * @param message the given message in JSON format
-     * @return a {@link CompletionStage} after ack-ing the message
+     * @return a {@link CompletionStage} completed once the message is broadcast
      */
     @Incoming(KogitoEventStreams.INCOMING)
     public CompletionStage<Void> onEvent(Message<String> message) {
         LOGGER.debug("Received message from channel {}: {}", KogitoEventStreams.INCOMING, message);
-        produce(message.getPayload());
-        return message
-                .ack()
-                .exceptionally(e -> {
+        processor.onNext(message.getPayload());
+        acknowledgeableProcessor.onNext(Acknowledgeable.of(message.getPayload(), acknowledgingSubscribers.get(),
+                () -> message.ack().exceptionally(e -> {
                     LOGGER.error("Failed to ack message", e);
                     return null;
-                });
+                }),
+                reason -> message.nack(reason).exceptionally(e -> {
+                    LOGGER.error("Failed to nack message", e);
+                    return null;
+                })));
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
@@ -77,5 +101,6 @@ public class QuarkusCloudEventPublisher {
     public void produce(final String message) {
         LOGGER.debug("Producing message to internal bus: {}", message);
         processor.onNext(message);
+        acknowledgeableProcessor.onNext(Acknowledgeable.of(message));
     }
 }
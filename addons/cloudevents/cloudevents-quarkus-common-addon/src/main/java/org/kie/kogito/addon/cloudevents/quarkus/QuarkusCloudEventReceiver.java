@@ -15,17 +15,23 @@
  */
 package org.kie.kogito.addon.cloudevents.quarkus;
 
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.kie.kogito.addon.cloudevents.JsonStringToObjectConsumer;
+import org.kie.kogito.addon.cloudevents.JsonStringToObjectSubscriber;
+import org.kie.kogito.event.Acknowledgeable;
 import org.kie.kogito.event.EventReceiver;
 import org.kie.kogito.event.KogitoEventStreams;
 import org.kie.kogito.event.SubscriptionInfo;
 import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -34,10 +40,16 @@ import io.smallrye.mutiny.Multi;
 @ApplicationScoped
 public class QuarkusCloudEventReceiver implements EventReceiver {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuarkusCloudEventReceiver.class);
+
     @Inject
     @Named(KogitoEventStreams.PUBLISHER)
     Publisher<String> eventPublisher;
 
+    @Inject
+    @Named(KogitoEventStreams.ACKNOWLEDGEABLE_PUBLISHER)
+    Publisher<Acknowledgeable<String>> acknowledgeablePublisher;
+
     @Inject
     private ObjectMapper objectMapper;
 
@@ -46,4 +58,16 @@ public class QuarkusCloudEventReceiver implements EventReceiver {
         Multi.createFrom().publisher(eventPublisher).subscribe().with(
                 new JsonStringToObjectConsumer<>(objectMapper, consumer, info.getEventType()));
     }
+
+    @Override
+    public <T> void subscribe(Function<T, CompletionStage<?>> consumer, SubscriptionInfo<T> info, int maxInFlight) {
+        // the broadcast does not wait for the demand of its subscribers, so the events exceeding it are rejected
+        // instead of failing the subscription
+        Multi.createFrom().publisher(acknowledgeablePublisher)
+                .onOverflow().drop(event -> {
+                    LOGGER.warn("{} events are already being handled, rejecting event {}", maxInFlight, event.payload());
+                    event.nack(new IllegalStateException("Too many events in flight"));
+                })
+                .subscribe(new JsonStringToObjectSubscriber<>(objectMapper, consumer, info.getEventType(), maxInFlight));
+    }
 }
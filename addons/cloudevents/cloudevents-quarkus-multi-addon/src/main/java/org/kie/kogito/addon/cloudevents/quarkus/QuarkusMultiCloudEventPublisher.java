@@ -19,7 +19,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
@@ -29,6 +31,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.eclipse.microprofile.reactive.messaging.Message;
+import org.kie.kogito.event.Acknowledgeable;
 import org.kie.kogito.event.KogitoEventStreams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,10 +61,13 @@ public class QuarkusMultiCloudEventPublisher implements ChannelRegistar {
     private ChannelResolver channelResolver;
 
     private BroadcastProcessor<String> processor;
+    private BroadcastProcessor<Acknowledgeable<String>> acknowledgeableProcessor;
+    private final AtomicInteger acknowledgingSubscribers = new AtomicInteger();
 
     @PostConstruct
     private void init() {
         processor = BroadcastProcessor.create();
+        acknowledgeableProcessor = BroadcastProcessor.create();
     }
 
     private Collection<MediatorConfiguration> mediatorConf(Collection<String> channels) throws NoSuchMethodException {
@@ -100,18 +106,38 @@ public class QuarkusMultiCloudEventPublisher implements ChannelRegistar {
     }
 
     /**
-     * Produces a message in the internal application bus
+     * Broadcasts the received/produced messages to the subscribers acknowledging them once handled
+     *
+     * @return A {@link Multi} message to subscribers
+     */
+    @Produces
+    @ApplicationScoped
+    @Named(KogitoEventStreams.ACKNOWLEDGEABLE_PUBLISHER)
+    public Multi<Acknowledgeable<String>> acknowledgeableProducerFactory() {
+        return acknowledgeableProcessor
+                .onSubscribe().invoke(acknowledgingSubscribers::incrementAndGet)
+                .onTermination().invoke(acknowledgingSubscribers::decrementAndGet);
+    }
+
+    /**
+     * Produces a message in the internal application bus. The message is acknowledged once the acknowledging
+     * subscribers handled it, the other subscribers handle it while it is broadcast.
      *
      * @param message the given CE message in JSON format
      */
     public CompletionStage<Void> produce(Message<String> message) {
         LOGGER.debug("Received message from channel {}: {}", KogitoEventStreams.INCOMING, message);
         processor.onNext(message.getPayload());
-        return message.ack()
-                .exceptionally(e -> {
+        acknowledgeableProcessor.onNext(Acknowledgeable.of(message.getPayload(), acknowledgingSubscribers.get(),
+                () -> message.ack().exceptionally(e -> {
                     LOGGER.error("Failed to ack message", e);
                     return null;
-                });
+                }),
+                reason -> message.nack(reason).exceptionally(e -> {
+                    LOGGER.error("Failed to nack message", e);
+                    return null;
+                })));
+        return CompletableFuture.completedFuture(null);
     }
 
     @Override
@@ -15,9 +15,13 @@
  */
 package org.kie.kogito.addon.cloudevents.spring;
 
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.kie.kogito.addon.cloudevents.JsonStringToObjectConsumer;
+import org.kie.kogito.addon.cloudevents.JsonStringToObjectSubscriber;
+import org.kie.kogito.event.Acknowledgeable;
 import org.kie.kogito.event.EventReceiver;
 import org.kie.kogito.event.KogitoEventStreams;
 import org.kie.kogito.event.SubscriptionInfo;
@@ -37,6 +41,10 @@ public class SpringBootCloudEventReceiver implements EventReceiver {
     @Qualifier(KogitoEventStreams.PUBLISHER)
     Publisher<String> eventPublisher;
 
+    @Autowired
+    @Qualifier(KogitoEventStreams.ACKNOWLEDGEABLE_PUBLISHER)
+    Publisher<Acknowledgeable<String>> acknowledgeablePublisher;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -44,4 +52,9 @@ public class SpringBootCloudEventReceiver implements EventReceiver {
     public <T> void subscribe(Consumer<T> consumer, SubscriptionInfo<T> info) {
         Flux.from(eventPublisher).subscribe(new JsonStringToObjectConsumer<>(objectMapper, consumer, info.getEventType()));
     }
+
+    @Override
+    public <T> void subscribe(Function<T, CompletionStage<?>> consumer, SubscriptionInfo<T> info, int maxInFlight) {
+        Flux.from(acknowledgeablePublisher).subscribe(new JsonStringToObjectSubscriber<>(objectMapper, consumer, info.getEventType(), maxInFlight));
+    }
 }
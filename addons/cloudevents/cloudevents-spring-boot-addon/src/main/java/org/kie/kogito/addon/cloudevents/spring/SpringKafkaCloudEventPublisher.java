@@ -16,13 +16,19 @@
 package org.kie.kogito.addon.cloudevents.spring;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.kie.kogito.event.Acknowledgeable;
 import org.kie.kogito.event.KogitoEventStreams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +55,10 @@ public class SpringKafkaCloudEventPublisher {
 
     private final String topic;
 
+    private final AtomicInteger acknowledgingSubscribers = new AtomicInteger();
+    private final Map<TopicPartition, OffsetAcknowledgements> acknowledgements = new ConcurrentHashMap<>();
+    private Flux<Acknowledgeable<String>> records;
+
     public SpringKafkaCloudEventPublisher(
             @Value(value = "${spring.kafka.bootstrap-servers}") String kafkaBootstrapAddress,
             @Value(value = "${spring.kafka.consumer.group-id}") String groupId,
@@ -68,23 +78,86 @@ public class SpringKafkaCloudEventPublisher {
     @Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
     @Qualifier(KogitoEventStreams.PUBLISHER)
     public Flux<String> makeConsumer() {
-        ReceiverOptions<Integer, String> options = receiverOptions.subscription(Collections.singleton(topic))
-                .addAssignListener(partitions -> log.debug("onPartitionsAssigned {}", partitions))
-                .addRevokeListener(partitions -> log.debug("onPartitionsRevoked {}", partitions));
-
-        ConnectableFlux<String> broadcast = KafkaReceiver.create(options).receive().map(record -> {
-            ReceiverOffset offset = record.receiverOffset();
-            log.info("Received message: topic-partition={} offset={} timestamp={} key={} value={}\n",
-                    offset.topicPartition(),
-                    offset.offset(),
-                    dateFormat.format(new Date(record.timestamp())),
-                    record.key(),
-                    record.value());
-            offset.acknowledge();
-
-            return record.value();
-        }).publish();
-
-        return broadcast.autoConnect();
+        return records().map(Acknowledgeable::payload);
+    }
+
+    /**
+     * The records are acknowledged once the acknowledging subscribers handled them. The broadcast waits for the demand
+     * of all the subscribers, so a subscriber bounding the events in flight slows down the consumption of the topic.
+     */
+    @Bean
+    @Scope(ConfigurableBeanFactory.SCOPE_SINGLETON)
+    @Qualifier(KogitoEventStreams.ACKNOWLEDGEABLE_PUBLISHER)
+    public Flux<Acknowledgeable<String>> makeAcknowledgeableConsumer() {
+        return records()
+                .doOnSubscribe(subscription -> acknowledgingSubscribers.incrementAndGet())
+                .doFinally(signal -> acknowledgingSubscribers.decrementAndGet());
+    }
+
+    private synchronized Flux<Acknowledgeable<String>> records() {
+        if (records == null) {
+            ReceiverOptions<Integer, String> options = receiverOptions.subscription(Collections.singleton(topic))
+                    .addAssignListener(partitions -> log.debug("onPartitionsAssigned {}", partitions))
+                    .addRevokeListener(partitions -> {
+                        log.debug("onPartitionsRevoked {}", partitions);
+                        partitions.forEach(partition -> acknowledgements.remove(partition.topicPartition()));
+                    });
+
+            ConnectableFlux<Acknowledgeable<String>> broadcast = KafkaReceiver.create(options).receive().map(record -> {
+                ReceiverOffset offset = record.receiverOffset();
+                log.info("Received message: topic-partition={} offset={} timestamp={} key={} value={}\n",
+                        offset.topicPartition(),
+                        offset.offset(),
+                        dateFormat.format(new Date(record.timestamp())),
+                        record.key(),
+                        record.value());
+
+                Runnable acknowledge = acknowledgements.computeIfAbsent(offset.topicPartition(), partition -> new OffsetAcknowledgements()).track(offset);
+                return Acknowledgeable.of(record.value(), acknowledgingSubscribers.get(), acknowledge, reason -> {
+                    // records are not delivered again, so a rejected record does not hold back the following ones
+                    log.error("Failed to handle message: topic-partition={} offset={}", offset.topicPartition(), offset.offset(), reason);
+                    acknowledge.run();
+                });
+            }).publish();
+
+            records = broadcast.autoConnect();
+        }
+        return records;
+    }
+
+    /**
+     * The consumer commits the last offset acknowledged in a partition, so the offsets of the records handled out of
+     * order are only acknowledged once the records before them have been handled.
+     */
+    private static class OffsetAcknowledgements {
+
+        private final Deque<PendingOffset> pending = new ArrayDeque<>();
+
+        synchronized Runnable track(ReceiverOffset offset) {
+            PendingOffset pendingOffset = new PendingOffset(offset);
+            pending.add(pendingOffset);
+            return () -> handled(pendingOffset);
+        }
+
+        private synchronized void handled(PendingOffset pendingOffset) {
+            pendingOffset.handled = true;
+            ReceiverOffset last = null;
+            while (!pending.isEmpty() && pending.peekFirst().handled) {
+                last = pending.pollFirst().offset;
+            }
+            if (last != null) {
+                last.acknowledge();
+            }
+        }
+    }
+
+    private static class PendingOffset {
+
+        private final ReceiverOffset offset;
+        private boolean handled;
+
+        private PendingOffset(ReceiverOffset offset) {
+            this.offset = offset;
+        }
     }
 }
@@ -20,9 +20,17 @@ import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -31,9 +39,11 @@ import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.cloudevents.CloudEvent;
+import io.cloudevents.CloudEventExtensions;
 import io.cloudevents.Extension;
 import io.cloudevents.core.builder.CloudEventBuilder;
 import io.cloudevents.jackson.JsonFormat;
@@ -42,6 +52,15 @@ public class CloudEventUtils {
 
     private static final Logger LOG = LoggerFactory.getLogger(CloudEventUtils.class);
 
+    private static final String SPEC_VERSION = "1.0";
+
+    private static final String DATA = "data";
+    private static final String DATA_BASE64 = "data_base64";
+    private static final Set<String> REQUIRED_ATTRIBUTES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "specversion", "id", "source", "type")));
+    private static final Set<String> ATTRIBUTES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "specversion", "id", "source", "type", "datacontenttype", "dataschema", "subject", "time", DATA, DATA_BASE64)));
+
     public static final String UNKNOWN_SOURCE_URI_STRING = urlEncodedStringFrom("__UNKNOWN_SOURCE__")
             .orElseThrow(IllegalStateException::new);
 
@@ -95,6 +114,33 @@ public class CloudEventUtils {
         }
     }
 
+    /**
+     * Builds the JSON structured mode representation of a CloudEvent holding the given data as it is, so that the
+     * whole event, data included, is serialized in a single pass by the event emitter.
+     */
+    public static Map<String, Object> toDataEvent(String id, URI source, String type, String subject, Object data, Extension... extensions) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("specversion", SPEC_VERSION);
+        event.put("id", id);
+        event.put("source", source.toString());
+        event.put("type", type);
+        if (subject != null) {
+            event.put("subject", subject);
+        }
+        if (extensions != null) {
+            for (Extension extension : extensions) {
+                for (String key : extension.getKeys()) {
+                    Object value = extension.getValue(key);
+                    if (value != null) {
+                        event.put(key, value);
+                    }
+                }
+            }
+        }
+        event.put(DATA, data);
+        return event;
+    }
+
     public static Optional<CloudEvent> decode(String json) {
         try {
             return Optional.of(Mapper.mapper().readValue(json, CloudEvent.class));
@@ -123,6 +169,62 @@ public class CloudEventUtils {
         }
     }
 
+    /**
+     * Parses a JSON structured mode CloudEvent into a tree, without copying its data.
+     */
+    public static Optional<JsonNode> decodeTree(String json) {
+        try {
+            return Optional.of(Mapper.mapper().readTree(json)).filter(CloudEventUtils::isCloudEvent);
+        } catch (JsonProcessingException e) {
+            LOG.error("Unable to decode CloudEvent", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return true if the given tree is a JSON structured mode CloudEvent with all the required attributes
+     */
+    public static boolean isCloudEvent(JsonNode event) {
+        if (event == null || !event.isObject()) {
+            LOG.error("Unable to decode CloudEvent: not a JSON object");
+            return false;
+        }
+        for (String attribute : REQUIRED_ATTRIBUTES) {
+            if (!event.path(attribute).isTextual()) {
+                LOG.error("Unable to decode CloudEvent: missing required attribute \"{}\"", attribute);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static <K, V> Optional<Map<K, V>> decodeMapData(JsonNode event, Class<K> keyClass, Class<V> valueClass) {
+        try {
+            JavaType mapType = Mapper.mapper().getTypeFactory().constructMapType(HashMap.class, keyClass, valueClass);
+            JsonNode data = event.path(DATA);
+            if (!data.isMissingNode() && !data.isNull()) {
+                return Optional.ofNullable(Mapper.mapper().readerFor(mapType).readValue(data));
+            }
+            JsonNode base64Data = event.path(DATA_BASE64);
+            if (base64Data.isTextual()) {
+                return Optional.ofNullable(Mapper.mapper().readValue(Base64.getDecoder().decode(base64Data.textValue()), mapType));
+            }
+            return Optional.empty();
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.error("Unable to decode CloudEvent data to Map<" + keyClass.getName() + "," + valueClass.getName() + ">", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Reads the extension created by the given factory from the attributes of a JSON structured mode CloudEvent.
+     */
+    public static <T extends Extension> T parseExtension(JsonNode event, Supplier<T> extensionFactory) {
+        T extension = extensionFactory.get();
+        extension.readFrom(new JsonNodeExtensions(event));
+        return extension;
+    }
+
     public static Optional<String> urlEncodedStringFrom(String input) {
         return Optional.ofNullable(input)
                 .map(i -> {
@@ -175,6 +277,45 @@ public class CloudEventUtils {
                 .orElse(UNKNOWN_SOURCE_URI_STRING));
     }
 
+    private static class JsonNodeExtensions implements CloudEventExtensions {
+
+        private final JsonNode event;
+
+        private JsonNodeExtensions(JsonNode event) {
+            this.event = event;
+        }
+
+        @Override
+        public Object getExtension(String extensionName) {
+            JsonNode value = event.get(extensionName);
+            if (value == null || value.isNull() || ATTRIBUTES.contains(extensionName)) {
+                return null;
+            }
+            if (value.isTextual()) {
+                return value.textValue();
+            }
+            if (value.isBoolean()) {
+                return value.booleanValue();
+            }
+            if (value.isNumber()) {
+                return value.numberValue();
+            }
+            return value.toString();
+        }
+
+        @Override
+        public Set<String> getExtensionNames() {
+            Set<String> names = new HashSet<>();
+            for (Iterator<String> fieldNames = event.fieldNames(); fieldNames.hasNext();) {
+                String name = fieldNames.next();
+                if (!ATTRIBUTES.contains(name)) {
+                    names.add(name);
+                }
+            }
+            return names;
+        }
+    }
+
     // This trick allows to inject a mocked ObjectMapper in the unit tests via Mockito#mockStatic
     static class Mapper {
 
@@ -18,6 +18,9 @@ package org.kie.kogito.cloudevents;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLEncoder;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeAll;
@@ -26,7 +29,9 @@ import org.kie.kogito.cloudevents.extension.KogitoExtension;
 import org.mockito.MockedStatic;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.cloudevents.CloudEvent;
 import io.cloudevents.core.builder.CloudEventBuilder;
@@ -73,6 +78,17 @@ class CloudEventUtilsTest {
             "  \"data\":\"" + TEST_DATA + "\"" +
             "}";
 
+    private static final String TEST_MAP_DATA_JSON = "{" +
+            "  \"specversion\":\"1.0\"," +
+            "  \"id\":\"" + TEST_ID + "\"," +
+            "  \"source\":\"" + TEST_URI_STRING + "\"," +
+            "  \"type\":\"" + TEST_DATA_CLASS.getName() + "\"," +
+            "  \"" + KogitoExtension.KOGITO_DMN_MODEL_NAME + "\":\"" + TEST_DECISION_MODEL_NAME + "\"," +
+            "  \"" + KogitoExtension.KOGITO_DMN_FULL_RESULT + "\":true," +
+            "  \"" + KogitoExtension.KOGITO_DMN_EVALUATE_DECISION + "\":null," +
+            "  \"data\":{\"key\":\"value\"}" +
+            "}";
+
     private static final String TEST_MALFORMED_JSON = "not-a-json-serialized-cloudevent";
 
     private static final String TEST_EXCEPTION_MESSAGE = "Mocked parse error";
@@ -165,6 +181,56 @@ class CloudEventUtilsTest {
         assertFalse(CloudEventUtils.decode(TEST_MALFORMED_JSON).isPresent());
     }
 
+    @Test
+    void testToDataEvent() throws Exception {
+        Map<String, Object> event = CloudEventUtils.toDataEvent(TEST_ID, TEST_URI, TEST_DATA_CLASS.getSimpleName(), TEST_SUBJECT, TEST_DATA, TEST_EXTENSION);
+        assertEquals(TEST_DATA, event.get("data"));
+        assertFalse(event.containsKey(KogitoExtension.KOGITO_EXECUTION_ID));
+
+        CloudEvent decoded = CloudEventUtils.decode(new ObjectMapper().writeValueAsString(event)).get();
+        assertEquals(TEST_ID, decoded.getId());
+        assertEquals(TEST_URI, decoded.getSource());
+        assertEquals(TEST_SUBJECT, decoded.getSubject());
+        assertEquals(TEST_EXTENSION, ExtensionProvider.getInstance().parseExtension(KogitoExtension.class, decoded));
+        assertEquals(TEST_DATA, CloudEventUtils.decodeData(decoded, String.class).get());
+    }
+
+    @Test
+    void testDecodeTreeSuccess() {
+        Optional<JsonNode> optEvent = CloudEventUtils.decodeTree(TEST_MAP_DATA_JSON);
+        assertTrue(optEvent.isPresent());
+
+        Optional<Map<String, Object>> optData = CloudEventUtils.decodeMapData(optEvent.get(), String.class, Object.class);
+        assertEquals(Collections.singletonMap("key", "value"), optData.get());
+
+        KogitoExtension extension = CloudEventUtils.parseExtension(optEvent.get(), KogitoExtension::new);
+        assertEquals(TEST_DECISION_MODEL_NAME, extension.getDmnModelName());
+        assertEquals(Boolean.TRUE, extension.isDmnFullResult());
+        assertEquals(null, extension.getDmnEvaluateDecision());
+        assertEquals(null, extension.getDmnModelNamespace());
+    }
+
+    @Test
+    void testDecodeTreeFailure() {
+        assertFalse(CloudEventUtils.decodeTree(TEST_MALFORMED_JSON).isPresent());
+        assertFalse(CloudEventUtils.decodeTree("[]").isPresent());
+        assertFalse(CloudEventUtils.decodeTree(TEST_CORRECT_JSON.replace("\"id\"", "\"identifier\"")).isPresent());
+    }
+
+    @Test
+    void testDecodeTreeMapData() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode event = (ObjectNode) CloudEventUtils.decodeTree(TEST_CORRECT_JSON).get();
+        // string data
+        assertFalse(CloudEventUtils.decodeMapData(event, String.class, Object.class).isPresent());
+
+        event.remove("data");
+        assertFalse(CloudEventUtils.decodeMapData(event, String.class, Object.class).isPresent());
+
+        event.put("data_base64", Base64.getEncoder().encodeToString(mapper.writeValueAsBytes(Collections.singletonMap("key", 1))));
+        assertEquals(Collections.singletonMap("key", 1), CloudEventUtils.decodeMapData(event, String.class, Object.class).get());
+    }
+
     @Test
     void testUrlEncodedStringFromSuccess() {
         assertTrue(CloudEventUtils.urlEncodedStringFrom(TEST_URI_STRING).isPresent());
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 
 import org.kie.dmn.api.core.DMNContext;
 import org.kie.dmn.api.core.DMNResult;
@@ -37,8 +38,7 @@ import org.kie.kogito.event.SubscriptionInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import io.cloudevents.CloudEvent;
-import io.cloudevents.core.provider.ExtensionProvider;
+import com.fasterxml.jackson.databind.JsonNode;
 
 public class EventDrivenDecisionController {
 
@@ -53,61 +53,84 @@ public class EventDrivenDecisionController {
     private ConfigBean config;
     private EventEmitter eventEmitter;
     private EventReceiver eventReceiver;
+    private EventDrivenDecisionExecutor executor = EventDrivenDecisionExecutor.inline();
 
     protected EventDrivenDecisionController() {
     }
 
     protected EventDrivenDecisionController(DecisionModels decisionModels, ConfigBean config, EventEmitter eventEmitter, EventReceiver eventReceiver) {
+        this(decisionModels, config, eventEmitter, eventReceiver, EventDrivenDecisionExecutor.inline());
+    }
+
+    protected EventDrivenDecisionController(DecisionModels decisionModels, ConfigBean config, EventEmitter eventEmitter, EventReceiver eventReceiver,
+            EventDrivenDecisionExecutor executor) {
         this.decisionModels = decisionModels;
         this.config = config;
         this.eventEmitter = eventEmitter;
         this.eventReceiver = eventReceiver;
+        this.executor = executor;
     }
 
     protected void setup(DecisionModels decisionModels, ConfigBean config, EventEmitter eventEmitter, EventReceiver eventReceiver) {
+        setup(decisionModels, config, eventEmitter, eventReceiver, EventDrivenDecisionExecutor.inline());
+    }
+
+    protected void setup(DecisionModels decisionModels, ConfigBean config, EventEmitter eventEmitter, EventReceiver eventReceiver,
+            EventDrivenDecisionExecutor executor) {
         this.decisionModels = decisionModels;
         this.config = config;
         this.eventEmitter = eventEmitter;
         this.eventReceiver = eventReceiver;
+        this.executor = executor;
         setup();
     }
 
     protected void setup() {
-        eventReceiver.subscribe(this::handleRequest, new SubscriptionInfo(CloudEvent.class));
+        // requests are parsed once into a tree, which is then read without copying the data
+        // a new request is only received once the response of a previous one has been emitted
+        eventReceiver.subscribe(this::handleRequest, new SubscriptionInfo<>(JsonNode.class), executor.maxInFlight());
     }
 
     void handleEvent(String event) {
-        CloudEventUtils.decode(event)
-                .filter(e -> REQUEST_EVENT_TYPE.equals(e.getType()))
+        CloudEventUtils.decodeTree(event)
+                .filter(e -> REQUEST_EVENT_TYPE.equals(e.path("type").textValue()))
                 .ifPresent(this::handleRequest);
     }
 
-    private void handleRequest(CloudEvent event) {
-        buildEvaluationContext(event)
+    protected void shutdown() {
+        executor.close();
+    }
+
+    private CompletionStage<Void> handleRequest(JsonNode event) {
+        // requests with the same subject are evaluated in order
+        return executor.execute(event != null ? event.path("subject").textValue() : null, () -> evaluateRequest(event));
+    }
+
+    private CompletionStage<?> evaluateRequest(JsonNode event) {
+        return buildEvaluationContext(event)
                 .map(this::processRequest)
-                .flatMap(this::buildResponseCloudEvent)
-                .flatMap(CloudEventUtils::toDataEvent)
-                .ifPresent(e -> eventEmitter.emit(e, (String) e.get("type"), Optional.empty()));
+                .map(this::buildResponseCloudEvent)
+                .map(e -> eventEmitter.emit(e, (String) e.get("type"), Optional.empty()))
+                .orElse(null);
     }
 
-    private Optional<EvaluationContext> buildEvaluationContext(CloudEvent event) {
+    private Optional<EvaluationContext> buildEvaluationContext(JsonNode event) {
         if (event == null) {
             LOG.error("Received null CloudEvent");
             return Optional.empty();
         }
+        if (!CloudEventUtils.isCloudEvent(event)) {
+            return Optional.empty();
+        }
 
-        KogitoExtension kogitoExtension = ExtensionProvider.getInstance().parseExtension(KogitoExtension.class, event);
+        KogitoExtension kogitoExtension = CloudEventUtils.parseExtension(event, KogitoExtension::new);
         Map<String, Object> data = CloudEventUtils.decodeMapData(event, String.class, Object.class).orElse(null);
 
-        if (kogitoExtension == null) {
-            LOG.warn("Received CloudEvent(id={} source={} type={}) with null Kogito extension", event.getId(), event.getSource(), event.getType());
-        }
-
         if (data == null) {
-            LOG.warn("Received CloudEvent(id={} source={} type={}) with null data", event.getId(), event.getSource(), event.getType());
+            LOG.warn("Received CloudEvent(id={} source={} type={}) with null data", event.path("id").textValue(), event.path("source").textValue(), event.path("type").textValue());
         }
 
-        return Optional.of(new EvaluationContext(event, kogitoExtension, data));
+        return Optional.of(new EvaluationContext(event.path("subject").textValue(), kogitoExtension, data));
     }
 
     private EvaluationContext processRequest(EvaluationContext ctx) {
@@ -142,10 +165,13 @@ public class EventDrivenDecisionController {
         }
     }
 
-    private Optional<CloudEvent> buildResponseCloudEvent(EvaluationContext ctx) {
+    /**
+     * The response data is kept as it is in the returned event, so that it is serialized once by the event emitter.
+     */
+    private Map<String, Object> buildResponseCloudEvent(EvaluationContext ctx) {
         String id = UUID.randomUUID().toString();
         URI source = buildResponseCloudEventSource(ctx);
-        String subject = ctx.getRequestCloudEvent().getSubject();
+        String subject = ctx.getRequestSubject();
 
         KogitoExtension kogitoExtension = new KogitoExtension();
         kogitoExtension.setDmnModelName(ctx.getRequestModelName());
@@ -154,7 +180,7 @@ public class EventDrivenDecisionController {
 
         if (ctx.isResponseError()) {
             String data = Optional.ofNullable(ctx.getResponseError()).map(DecisionResponseError::name).orElse(null);
-            return CloudEventUtils.build(id, source, RESPONSE_ERROR_EVENT_TYPE, subject, data, kogitoExtension);
+            return CloudEventUtils.toDataEvent(id, source, RESPONSE_ERROR_EVENT_TYPE, subject, data, kogitoExtension);
         }
 
         kogitoExtension.setExecutionId(DecisionExecutionIdUtils.get(ctx.getResponseDmnResult().getContext()));
@@ -165,14 +191,14 @@ public class EventDrivenDecisionController {
             if (ctx.isRequestFilteredContext()) {
                 restResult.setDmnContext(filterContext(restResult.getDmnContext(), ctx.requestData));
             }
-            return CloudEventUtils.build(id, source, RESPONSE_FULL_EVENT_TYPE, subject, restResult, kogitoExtension);
+            return CloudEventUtils.toDataEvent(id, source, RESPONSE_FULL_EVENT_TYPE, subject, restResult, kogitoExtension);
         }
 
         Map<String, Object> data = ctx.isRequestFilteredContext()
                 ? filterContext(restResult.getDmnContext(), ctx.requestData)
                 : restResult.getDmnContext();
 
-        return CloudEventUtils.build(id, source, RESPONSE_EVENT_TYPE, subject, data, kogitoExtension);
+        return CloudEventUtils.toDataEvent(id, source, RESPONSE_EVENT_TYPE, subject, data, kogitoExtension);
     }
 
     private Map<String, Object> filterContext(Map<String, Object> values, Map<String, Object> inputs) {
@@ -189,7 +215,7 @@ public class EventDrivenDecisionController {
 
     private static class EvaluationContext {
 
-        private final CloudEvent requestCloudEvent;
+        private final String requestSubject;
         private final Map<String, Object> requestData;
 
         private final String requestModelName;
@@ -203,8 +229,8 @@ public class EventDrivenDecisionController {
         private DecisionResponseError responseError;
         private DMNResult responseDmnResult;
 
-        public EvaluationContext(CloudEvent requestCloudEvent, KogitoExtension requestKogitoExtension, Map<String, Object> requestData) {
-            this.requestCloudEvent = requestCloudEvent;
+        public EvaluationContext(String requestSubject, KogitoExtension requestKogitoExtension, Map<String, Object> requestData) {
+            this.requestSubject = requestSubject;
             this.requestData = requestData;
 
             this.requestModelName = Optional.ofNullable(requestKogitoExtension)
@@ -223,8 +249,7 @@ public class EventDrivenDecisionController {
                     .map(KogitoExtension::isDmnFilteredCtx)
                     .orElse(false);
 
-            this.validRequest = requestCloudEvent != null
-                    && requestKogitoExtension != null
+            this.validRequest = requestKogitoExtension != null
                     && requestModelName != null && !requestModelName.isEmpty()
                     && requestModelNamespace != null && !requestModelNamespace.isEmpty()
                     && requestData != null;
@@ -242,8 +267,8 @@ public class EventDrivenDecisionController {
             return evaluateDecisionServiceRequest;
         }
 
-        public CloudEvent getRequestCloudEvent() {
-            return requestCloudEvent;
+        public String getRequestSubject() {
+            return requestSubject;
         }
 
         public Map<String, Object> getRequestData() {
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.eventdriven.decision;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the decision requests received by the {@link EventDrivenDecisionController}.
+ * <p>
+ * The inline executor evaluates each request on the thread delivering it. The concurrent executor hands the requests
+ * to a pool of worker threads: when ordered, the requests with the same key (the CloudEvent subject) are always
+ * handled by the same worker, in the order they were received. Neither blocks the delivering thread: the stage
+ * returned for each request completes once its response is emitted, and the controller requests at most
+ * {@code maxInFlight} events from the receiver until those stages complete, applying backpressure through the demand
+ * of its subscription.
+ */
+public abstract class EventDrivenDecisionExecutor implements AutoCloseable {
+
+    public static final String WORKERS_CONFIG_KEY = "kogito.addon.events.decisions.workers";
+    public static final String MAX_IN_FLIGHT_CONFIG_KEY = "kogito.addon.events.decisions.maxInFlight";
+    public static final String ORDERED_CONFIG_KEY = "kogito.addon.events.decisions.ordered";
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventDrivenDecisionExecutor.class);
+
+    private final int maxInFlight;
+
+    private EventDrivenDecisionExecutor(int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("The maximum number of in flight decision requests must be positive: " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * @param workers number of worker threads, 0 to evaluate the requests on the thread delivering them
+     * @param maxInFlight maximum number of requests received and not emitted yet
+     * @param ordered true to handle the requests with the same key in the order they are received
+     */
+    public static EventDrivenDecisionExecutor of(int workers, int maxInFlight, boolean ordered) {
+        return workers > 0 ? new Concurrent(workers, maxInFlight, ordered) : new Inline(maxInFlight);
+    }
+
+    public static EventDrivenDecisionExecutor inline() {
+        return new Inline(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the maximum number of requests received and not emitted yet
+     */
+    public int maxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * @param key the ordering key of the request, may be null
+     * @param request handles the request, returning the emission of its response or null if none
+     * @return a stage completing once the request has been handled and its response emitted, whether it failed or not
+     */
+    public abstract CompletionStage<Void> execute(String key, Supplier<CompletionStage<?>> request);
+
+    @Override
+    public void close() {
+    }
+
+    private static CompletionStage<Void> handle(Supplier<CompletionStage<?>> request) {
+        CompletableFuture<Void> handled = new CompletableFuture<>();
+        CompletionStage<?> emission;
+        try {
+            emission = request.get();
+        } catch (RuntimeException e) {
+            LOG.error("Unable to handle decision request", e);
+            emission = null;
+        }
+        if (emission != null) {
+            emission.whenComplete((result, error) -> handled.complete(null));
+        } else {
+            handled.complete(null);
+        }
+        return handled;
+    }
+
+    private static class Inline extends EventDrivenDecisionExecutor {
+
+        private Inline(int maxInFlight) {
+            super(maxInFlight);
+        }
+
+        @Override
+        public CompletionStage<Void> execute(String key, Supplier<CompletionStage<?>> request) {
+            return handle(request);
+        }
+    }
+
+    private static class Concurrent extends EventDrivenDecisionExecutor {
+
+        private final ExecutorService[] lanes;
+        private final AtomicInteger nextLane = new AtomicInteger();
+
+        private Concurrent(int workers, int maxInFlight, boolean ordered) {
+            super(maxInFlight);
+            ThreadFactory threadFactory = new WorkerThreadFactory();
+            // each lane is a single thread, so that the requests it receives are handled in order
+            this.lanes = new ExecutorService[ordered ? workers : 1];
+            for (int i = 0; i < lanes.length; i++) {
+                lanes[i] = ordered ? Executors.newSingleThreadExecutor(threadFactory) : Executors.newFixedThreadPool(workers, threadFactory);
+            }
+        }
+
+        @Override
+        public CompletionStage<Void> execute(String key, Supplier<CompletionStage<?>> request) {
+            CompletableFuture<Void> handled = new CompletableFuture<>();
+            try {
+                laneOf(key).execute(() -> handle(request).whenComplete((result, error) -> handled.complete(null)));
+            } catch (RejectedExecutionException e) {
+                LOG.warn("Decision request rejected, the executor is closed");
+                handled.complete(null);
+            }
+            return handled;
+        }
+
+        private ExecutorService laneOf(String key) {
+            if (lanes.length == 1) {
+                return lanes[0];
+            }
+            int hash = key != null ? key.hashCode() : nextLane.getAndIncrement();
+            return lanes[Math.floorMod(hash, lanes.length)];
+        }
+
+        @Override
+        public void close() {
+            for (ExecutorService lane : lanes) {
+                lane.shutdown();
+            }
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "kogito-decision-event-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -65,6 +65,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -177,14 +178,26 @@ class EventDrivenDecisionControllerTest {
         // option #1: parameters via constructor + parameterless setup
         EventDrivenDecisionController controller1 = new EventDrivenDecisionController(decisionModelsMock, configMock, eventEmitterMock, eventReceiverMock);
         controller1.setup();
-        verify(eventReceiverMock).subscribe(any(), any());
+        verify(eventReceiverMock).subscribe(any(), any(), eq(Integer.MAX_VALUE));
 
         reset(eventReceiverMock);
 
         // option #2: parameterless via constructor + parameters via setup (introduced for Quarkus CDI)
         EventDrivenDecisionController controller2 = new EventDrivenDecisionController();
         controller2.setup(decisionModelsMock, configMock, eventEmitterMock, eventReceiverMock);
-        verify(eventReceiverMock).subscribe(any(), any());
+        verify(eventReceiverMock).subscribe(any(), any(), eq(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testHandleEventWithConcurrentExecutor() {
+        EventDrivenDecisionController concurrentController = new EventDrivenDecisionController(decisionModelsMock, mock(ConfigBean.class), eventEmitterMock, mock(EventReceiver.class),
+                EventDrivenDecisionExecutor.of(2, 4, true));
+        try {
+            concurrentController.handleEvent(cloudEventOkWith(REQUEST_DATA_EVALUATE_ALL, null, null));
+            verify(eventEmitterMock, timeout(10000)).emit(any(), eq(RESPONSE_EVENT_TYPE), any());
+        } finally {
+            concurrentController.shutdown();
+        }
     }
 
     @Test
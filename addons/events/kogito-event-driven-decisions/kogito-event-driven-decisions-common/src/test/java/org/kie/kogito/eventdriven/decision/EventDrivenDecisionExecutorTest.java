@@ -0,0 +1,129 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.eventdriven.decision;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventDrivenDecisionExecutorTest {
+
+    private static final int REQUESTS = 200;
+
+    @Test
+    void testInline() {
+        List<Thread> threads = new ArrayList<>();
+        EventDrivenDecisionExecutor.of(0, 1, true).execute("key", () -> {
+            threads.add(Thread.currentThread());
+            return null;
+        });
+        assertEquals(Collections.singletonList(Thread.currentThread()), threads);
+    }
+
+    @Test
+    void testOrderedByKey() throws InterruptedException {
+        List<Integer> first = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> second = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(2 * REQUESTS);
+        try (EventDrivenDecisionExecutor executor = EventDrivenDecisionExecutor.of(4, 16, true)) {
+            for (int i = 0; i < REQUESTS; i++) {
+                int request = i;
+                executor.execute("first", () -> {
+                    assertNotEquals("main", Thread.currentThread().getName());
+                    first.add(request);
+                    done.countDown();
+                    return null;
+                });
+                executor.execute("second", () -> {
+                    second.add(request);
+                    done.countDown();
+                    return CompletableFuture.completedFuture(null);
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        }
+        List<Integer> expected = IntStream.range(0, REQUESTS).boxed().collect(Collectors.toList());
+        assertEquals(expected, first);
+        assertEquals(expected, second);
+    }
+
+    @Test
+    void testRequestIsHandledOnceItsResponseIsEmitted() throws InterruptedException {
+        CompletableFuture<Void> emission = new CompletableFuture<>();
+        CountDownLatch executed = new CountDownLatch(1);
+        try (EventDrivenDecisionExecutor executor = EventDrivenDecisionExecutor.of(2, 1, false)) {
+            CompletionStage<Void> handled = executor.execute(null, () -> {
+                executed.countDown();
+                return emission;
+            });
+
+            // the delivering thread is not blocked while the response is being emitted
+            assertTrue(executed.await(10, TimeUnit.SECONDS));
+            assertFalse(handled.toCompletableFuture().isDone());
+
+            emission.complete(null);
+            handled.toCompletableFuture().join();
+        }
+    }
+
+    @Test
+    void testFailedRequestIsHandled() {
+        try (EventDrivenDecisionExecutor executor = EventDrivenDecisionExecutor.of(1, 1, true)) {
+            executor.execute("key", () -> {
+                throw new IllegalStateException("test");
+            }).toCompletableFuture().join();
+            executor.execute("key", () -> {
+                CompletableFuture<Void> emission = new CompletableFuture<>();
+                emission.completeExceptionally(new IllegalStateException("test"));
+                return emission;
+            }).toCompletableFuture().join();
+        }
+        EventDrivenDecisionExecutor.inline().execute("key", () -> {
+            throw new IllegalStateException("test");
+        }).toCompletableFuture().join();
+    }
+
+    @Test
+    void testClosedExecutorDropsRequests() {
+        EventDrivenDecisionExecutor executor = EventDrivenDecisionExecutor.of(1, 1, true);
+        executor.close();
+        CompletionStage<Void> handled = executor.execute("key", () -> {
+            throw new IllegalStateException("should not be executed");
+        });
+        assertTrue(handled.toCompletableFuture().isDone());
+    }
+
+    @Test
+    void testInvalidMaxInFlight() {
+        assertThrows(IllegalArgumentException.class, () -> EventDrivenDecisionExecutor.of(1, 0, true));
+        assertThrows(IllegalArgumentException.class, () -> EventDrivenDecisionExecutor.of(0, 0, true));
+        assertEquals(16, EventDrivenDecisionExecutor.of(0, 16, true).maxInFlight());
+    }
+}
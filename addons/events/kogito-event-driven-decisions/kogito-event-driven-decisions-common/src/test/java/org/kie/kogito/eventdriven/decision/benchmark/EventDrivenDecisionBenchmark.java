@@ -0,0 +1,164 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.eventdriven.decision.benchmark;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.kie.kogito.cloudevents.CloudEventUtils;
+import org.kie.kogito.cloudevents.extension.KogitoExtension;
+import org.kie.kogito.conf.StaticConfigBean;
+import org.kie.kogito.decision.DecisionModel;
+import org.kie.kogito.decision.DecisionTestUtils;
+import org.kie.kogito.dmn.DmnDecisionModel;
+import org.kie.kogito.dmn.rest.DMNJSONUtils;
+import org.kie.kogito.dmn.rest.KogitoDMNResult;
+import org.kie.kogito.event.EventEmitter;
+import org.kie.kogito.event.EventReceiver;
+import org.kie.kogito.event.SubscriptionInfo;
+import org.kie.kogito.eventdriven.decision.EventDrivenDecisionController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.cloudevents.CloudEvent;
+import io.cloudevents.core.provider.ExtensionProvider;
+
+import static org.kie.kogito.decision.DecisionTestUtils.MODEL_NAME;
+import static org.kie.kogito.decision.DecisionTestUtils.MODEL_NAMESPACE;
+
+/**
+ * Measures the handling of a decision request event asking for the full result of the traffic violation model, from
+ * the JSON string received by the event receiver to the JSON string sent by the event emitter. The serialization of
+ * the request and of the response done by the controller is compared with the one done by the previous
+ * implementation, which converted the response to a CloudEvent holding the serialized data and then to a map.
+ * The allocations per event are reported by the GC profiler as {@code gc.alloc.rate.norm}.
+ * Run it from this module folder, e.g. with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.kie.kogito.eventdriven.decision.benchmark.EventDrivenDecisionBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventDrivenDecisionBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final URI SOURCE = CloudEventUtils.buildDecisionSource("http://localhost:8080", MODEL_NAME);
+
+    private String request;
+    private KogitoDMNResult response;
+    private Consumer<JsonNode> controller;
+    private String emitted;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        KogitoExtension.register();
+        request = "{" +
+                "\"specversion\":\"1.0\"," +
+                "\"id\":\"a89b61a2-5644-487a-8a86-144855c5dce8\"," +
+                "\"source\":\"SomeEventSource\"," +
+                "\"type\":\"" + EventDrivenDecisionController.REQUEST_EVENT_TYPE + "\"," +
+                "\"subject\":\"TheSubject\"," +
+                "\"" + KogitoExtension.KOGITO_DMN_MODEL_NAME + "\":\"" + MODEL_NAME + "\"," +
+                "\"" + KogitoExtension.KOGITO_DMN_MODEL_NAMESPACE + "\":\"" + MODEL_NAMESPACE + "\"," +
+                "\"" + KogitoExtension.KOGITO_DMN_FULL_RESULT + "\":true," +
+                "\"data\":" + MAPPER.writeValueAsString(DecisionTestUtils.getEvaluateAllContext()) +
+                "}";
+
+        DecisionModel model = new DmnDecisionModel(DecisionTestUtils.createDMNRuntime(), MODEL_NAMESPACE, MODEL_NAME);
+        response = new KogitoDMNResult(MODEL_NAMESPACE, MODEL_NAME, model.evaluateAll(DMNJSONUtils.ctx(model, DecisionTestUtils.getEvaluateAllContext())));
+
+        EventEmitter emitter = new EventEmitter() {
+            @Override
+            public <T> CompletionStage<Void> emit(T e, String type, Optional<Function<T, Object>> processDecorator) {
+                emitted = marshall(e);
+                return CompletableFuture.completedFuture(null);
+            }
+        };
+        EventReceiver receiver = new EventReceiver() {
+            @Override
+            public <T> void subscribe(Consumer<T> consumer, SubscriptionInfo<T> info) {
+                controller = (Consumer<JsonNode>) consumer;
+            }
+        };
+        new EventDrivenDecisionController((namespace, name) -> model, new StaticConfigBean("http://localhost:8080", true, null), emitter, receiver) {
+            {
+                setup();
+            }
+        };
+    }
+
+    private static String marshall(Object event) {
+        try {
+            return MAPPER.writeValueAsString(event);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public String handleEvent() throws Exception {
+        controller.accept(MAPPER.readValue(request, JsonNode.class));
+        return emitted;
+    }
+
+    @Benchmark
+    public String serialization() throws Exception {
+        JsonNode event = MAPPER.readValue(request, JsonNode.class);
+        KogitoExtension extension = CloudEventUtils.parseExtension(event, KogitoExtension::new);
+        Map<String, Object> data = CloudEventUtils.decodeMapData(event, String.class, Object.class).get();
+        return marshall(CloudEventUtils.toDataEvent("id", SOURCE, EventDrivenDecisionController.RESPONSE_FULL_EVENT_TYPE,
+                event.path("subject").textValue(), data.isEmpty() ? null : response, extension));
+    }
+
+    @Benchmark
+    public String legacySerialization() throws Exception {
+        CloudEvent event = CloudEventUtils.decode(request).get();
+        KogitoExtension extension = ExtensionProvider.getInstance().parseExtension(KogitoExtension.class, event);
+        Map<String, Object> data = CloudEventUtils.decodeMapData(event, String.class, Object.class).get();
+        return marshall(CloudEventUtils.build("id", SOURCE, EventDrivenDecisionController.RESPONSE_FULL_EVENT_TYPE,
+                event.getSubject(), data.isEmpty() ? null : response, extension)
+                .flatMap(CloudEventUtils::toDataEvent)
+                .get());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventDrivenDecisionBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -16,8 +16,10 @@
 package org.kie.kogito.eventdriven.decision;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.decision.DecisionModels;
 import org.kie.kogito.event.EventEmitter;
@@ -40,8 +42,22 @@ public class QuarkusEventDrivenDecisionController extends EventDrivenDecisionCon
     @Inject
     EventReceiver eventReceiver;
 
+    @ConfigProperty(name = EventDrivenDecisionExecutor.WORKERS_CONFIG_KEY, defaultValue = "0")
+    int workers;
+
+    @ConfigProperty(name = EventDrivenDecisionExecutor.MAX_IN_FLIGHT_CONFIG_KEY, defaultValue = "256")
+    int maxInFlight;
+
+    @ConfigProperty(name = EventDrivenDecisionExecutor.ORDERED_CONFIG_KEY, defaultValue = "true")
+    boolean ordered;
+
     @PostConstruct
     private void onPostConstruct() {
-        setup(decisionModels, config, eventEmitter, eventReceiver);
+        setup(decisionModels, config, eventEmitter, eventReceiver, EventDrivenDecisionExecutor.of(workers, maxInFlight, ordered));
+    }
+
+    @PreDestroy
+    private void onPreDestroy() {
+        shutdown();
     }
 }
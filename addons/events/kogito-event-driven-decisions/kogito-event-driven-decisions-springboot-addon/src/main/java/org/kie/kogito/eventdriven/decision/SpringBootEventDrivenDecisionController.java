@@ -16,24 +16,34 @@
 package org.kie.kogito.eventdriven.decision;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.decision.DecisionModels;
 import org.kie.kogito.event.EventEmitter;
 import org.kie.kogito.event.EventReceiver;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class SpringBootEventDrivenDecisionController extends EventDrivenDecisionController {
 
     @Autowired
-    public SpringBootEventDrivenDecisionController(DecisionModels decisionModels, ConfigBean config, EventEmitter eventEmitter, EventReceiver eventReceiver) {
-        super(decisionModels, config, eventEmitter, eventReceiver);
+    public SpringBootEventDrivenDecisionController(DecisionModels decisionModels, ConfigBean config, EventEmitter eventEmitter, EventReceiver eventReceiver,
+            @Value("${" + EventDrivenDecisionExecutor.WORKERS_CONFIG_KEY + ":0}") int workers,
+            @Value("${" + EventDrivenDecisionExecutor.MAX_IN_FLIGHT_CONFIG_KEY + ":256}") int maxInFlight,
+            @Value("${" + EventDrivenDecisionExecutor.ORDERED_CONFIG_KEY + ":true}") boolean ordered) {
+        super(decisionModels, config, eventEmitter, eventReceiver, EventDrivenDecisionExecutor.of(workers, maxInFlight, ordered));
     }
 
     @PostConstruct
     private void onPostConstruct() {
         setup();
     }
+
+    @PreDestroy
+    private void onPreDestroy() {
+        shutdown();
+    }
 }
@@ -15,6 +15,7 @@
  */
 package org.kie.kogito.monitoring.core.common.decision;
 
+import java.util.List;
 import java.util.Map;
 
 import org.kie.dmn.api.core.DMNContext;
@@ -30,6 +31,7 @@ import static org.kie.kogito.monitoring.core.common.Constants.SKIP_MONITORING;
 public class MonitoredDecisionModel implements DecisionModel {
 
     private final DecisionModel originalModel;
+    private String endpointName;
 
     public MonitoredDecisionModel(DecisionModel originalModel) {
         this.originalModel = originalModel;
@@ -49,16 +51,27 @@ public class MonitoredDecisionModel implements DecisionModel {
     public DMNResult evaluateAll(DMNContext context) {
         DMNResult result = originalModel.evaluateAll(context);
         if (!shouldSkipMonitoring(context.getMetadata())) {
-            DMNResultMetricsBuilder.generateMetrics(result, originalModel.getDMNModel().getName());
+            DMNResultMetricsBuilder.generateMetrics(result, getEndpointName());
         }
         return result;
     }
 
+    @Override
+    public List<DMNResult> evaluateBatch(List<DMNContext> contexts) {
+        List<DMNResult> results = originalModel.evaluateBatch(contexts);
+        for (int i = 0; i < results.size(); i++) {
+            if (!shouldSkipMonitoring(contexts.get(i).getMetadata())) {
+                DMNResultMetricsBuilder.generateMetrics(results.get(i), getEndpointName());
+            }
+        }
+        return results;
+    }
+
     @Override
     public DMNResult evaluateDecisionService(DMNContext context, String decisionServiceName) {
         DMNResult result = originalModel.evaluateDecisionService(context, decisionServiceName);
         if (!shouldSkipMonitoring(context.getMetadata())) {
-            DMNResultMetricsBuilder.generateMetrics(result, originalModel.getDMNModel().getName());
+            DMNResultMetricsBuilder.generateMetrics(result, getEndpointName());
         }
         return result;
     }
@@ -68,6 +81,16 @@ public class MonitoredDecisionModel implements DecisionModel {
         return originalModel.getDMNModel();
     }
 
+    private String getEndpointName() {
+        // resolved on first use and then reused, racing threads would just resolve the same name
+        String name = endpointName;
+        if (name == null) {
+            name = originalModel.getDMNModel().getName();
+            endpointName = name;
+        }
+        return name;
+    }
+
     private boolean shouldSkipMonitoring(DMNMetadata dmnMetadata) {
         return dmnMetadata != null && (boolean) dmnMetadata.asMap().getOrDefault(SKIP_MONITORING, false);
     }
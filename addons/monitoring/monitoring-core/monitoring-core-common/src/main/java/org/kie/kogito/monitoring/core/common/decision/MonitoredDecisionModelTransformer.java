@@ -15,9 +15,14 @@
  */
 package org.kie.kogito.monitoring.core.common.decision;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
+import org.kie.kogito.decision.CachedDecisionModel;
 import org.kie.kogito.decision.DecisionModel;
+import org.kie.kogito.decision.DecisionResultCache;
+import org.kie.kogito.monitoring.core.common.system.metrics.DecisionResultCacheMetrics;
 
 /**
  * This class must always have exact FQCN as <code>org.kie.kogito.monitoring.core.common.decision.MonitoredDecisionModelTransformer</code>
@@ -25,8 +30,17 @@ import org.kie.kogito.decision.DecisionModel;
  */
 public class MonitoredDecisionModelTransformer implements Function<DecisionModel, DecisionModel> {
 
+    // a model is looked up on each evaluation, while the meters of its cache only need to be registered once
+    private final Set<DecisionResultCache> monitoredCaches = ConcurrentHashMap.newKeySet();
+
     @Override
     public DecisionModel apply(DecisionModel decisionModel) {
+        if (decisionModel instanceof CachedDecisionModel) {
+            DecisionResultCache cache = ((CachedDecisionModel) decisionModel).resultCache();
+            if (monitoredCaches.add(cache)) {
+                DecisionResultCacheMetrics.register(decisionModel.getDMNModel().getName(), cache);
+            }
+        }
         return new MonitoredDecisionModel(decisionModel);
     }
 }
@@ -15,18 +15,23 @@
  */
 package org.kie.kogito.monitoring.core.common.process;
 
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
 import org.kie.api.event.process.ProcessCompletedEvent;
 import org.kie.api.event.process.ProcessNodeLeftEvent;
+import org.kie.api.event.process.ProcessNodeTriggeredEvent;
 import org.kie.api.event.process.ProcessStartedEvent;
 import org.kie.api.event.process.SLAViolatedEvent;
 import org.kie.api.runtime.process.NodeInstance;
+import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
 import org.kie.kogito.internal.process.event.DefaultKogitoProcessEventListener;
 import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
 import org.slf4j.Logger;
@@ -36,15 +41,51 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
 
 public class MetricsProcessEventListener extends DefaultKogitoProcessEventListener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MetricsProcessEventListener.class);
-    private static Map<String, AtomicInteger> gaugeMap = new HashMap<String, AtomicInteger>();
-    private String identifier;
+
+    // meters are registered once per application and process (and node, state or work item where relevant) and then
+    // looked up without allocations; they are shared by the listeners with the same identifier, as the registry is
+    private static final ConcurrentMap<String, ConcurrentMap<String, ProcessMeters>> processMeters = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, DistributionSummary> workItemsDurationSummaries = new ConcurrentHashMap<>();
+
+    // histogram buckets of the latency timers, from script tasks and gateways to long lasting wait states
+    static final Duration[] LATENCY_BUCKETS = {
+            Duration.ofNanos(100_000), Duration.ofNanos(500_000), Duration.ofMillis(1), Duration.ofMillis(5),
+            Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(500),
+            Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(10), Duration.ofMinutes(1),
+            Duration.ofMinutes(10), Duration.ofHours(1)
+    };
+
+    private final String identifier;
+    private final ConcurrentMap<String, ProcessMeters> appProcessMeters;
+    // nano time at which the node instances currently being triggered started, so that the nodes leaving within
+    // their trigger (script tasks, gateways...) are timed precisely; entries are removed once the trigger is over and
+    // the nodes leaving later (wait states) are timed with their trigger and leave dates
+    private final ConcurrentMap<String, Long> triggerNanos = new ConcurrentHashMap<>();
 
     public MetricsProcessEventListener(String identifier) {
         this.identifier = identifier;
+        this.appProcessMeters = processMeters.computeIfAbsent(identifier, key -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Registers upfront the meters of the given processes, so that they are exported (with zero values) before any
+     * of their instances is started and no meter needs to be registered while handling the process events.
+     */
+    public void registerProcesses(Collection<String> processIds) {
+        processIds.forEach(this::getProcessMeters);
+    }
+
+    private ProcessMeters getProcessMeters(String processId) {
+        ProcessMeters meters = appProcessMeters.get(processId);
+        if (meters == null) {
+            meters = appProcessMeters.computeIfAbsent(processId, key -> new ProcessMeters(identifier, processId));
+        }
+        return meters;
     }
 
     private static Counter getNumberOfProcessInstancesStartedCounter(String appId, String processId) {
@@ -72,15 +113,11 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
     }
 
     private static AtomicInteger getRunningProcessInstancesGauge(String appId, String processId) {
-        if (gaugeMap.containsKey(appId + processId)) {
-            return gaugeMap.get(appId + processId);
-        }
         AtomicInteger atomicInteger = new AtomicInteger(0);
         Gauge.builder("kie_process_instance_running_total", atomicInteger, AtomicInteger::doubleValue)
                 .description("Running Process Instances")
                 .tags(Arrays.asList(Tag.of("app_id", appId), (Tag.of("process_id", processId))))
                 .register(MonitoringRegistry.getDefaultMeterRegistry());
-        gaugeMap.put(appId + processId, atomicInteger);
         return atomicInteger;
     }
 
@@ -92,14 +129,28 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
     }
 
     private static DistributionSummary getWorkItemsDurationSummary(String name) {
-        return DistributionSummary.builder("kie_work_item_duration_seconds")
-                .description("Work Items Duration")
-                .tags(Arrays.asList(Tag.of("name", name)))
+        DistributionSummary summary = workItemsDurationSummaries.get(name);
+        if (summary == null) {
+            summary = workItemsDurationSummaries.computeIfAbsent(name, key -> DistributionSummary.builder("kie_work_item_duration_seconds")
+                    .description("Work Items Duration")
+                    .tags(Arrays.asList(Tag.of("name", name)))
+                    .register(MonitoringRegistry.getDefaultMeterRegistry()));
+        }
+        return summary;
+    }
+
+    private static Timer getNodeDurationTimer(String appId, String processId, String nodeId, String nodeName, String nodeType) {
+        return Timer.builder("kie_process_node_duration")
+                .description("Process Nodes Duration, from their trigger to their leave")
+                .tags(Arrays.asList(Tag.of("app_id", appId), Tag.of("process_id", processId), Tag.of("node_id", nodeId),
+                        Tag.of("node_name", nodeName), Tag.of("node_type", nodeType)))
+                .serviceLevelObjectives(LATENCY_BUCKETS)
                 .register(MonitoringRegistry.getDefaultMeterRegistry());
     }
 
     protected static void recordRunningProcessInstance(String containerId, String processId) {
-        getRunningProcessInstancesGauge(containerId, processId).incrementAndGet();
+        ConcurrentMap<String, ProcessMeters> meters = processMeters.computeIfAbsent(containerId, key -> new ConcurrentHashMap<>());
+        meters.computeIfAbsent(processId, key -> new ProcessMeters(containerId, processId)).running.incrementAndGet();
     }
 
     protected static double millisToSeconds(long millis) {
@@ -110,29 +161,42 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
     public void afterProcessStarted(ProcessStartedEvent event) {
         LOGGER.debug("After process started event: {}", event);
         final WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) event.getProcessInstance();
-        getNumberOfProcessInstancesStartedCounter(identifier, processInstance.getProcessId()).increment();
-        recordRunningProcessInstance(identifier, processInstance.getProcessId());
+        ProcessMeters meters = getProcessMeters(processInstance.getProcessId());
+        meters.started.increment();
+        meters.running.incrementAndGet();
     }
 
     @Override
     public void afterProcessCompleted(ProcessCompletedEvent event) {
         LOGGER.debug("After process completed event: {}", event);
         final WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) event.getProcessInstance();
-        getRunningProcessInstancesGauge(identifier, processInstance.getProcessId()).decrementAndGet();
+        ProcessMeters meters = getProcessMeters(processInstance.getProcessId());
+        meters.running.decrementAndGet();
 
-        getNumberOfProcessInstancesCompletedCounter(identifier, processInstance.getProcessId(), String.valueOf(processInstance.getState())).increment();
+        meters.getCompletedCounter(processInstance.getState()).increment();
 
         if (processInstance.getStartDate() != null) {
             final double duration = millisToSeconds(processInstance.getEndDate().getTime() - processInstance.getStartDate().getTime());
-            getProcessInstancesDurationSummary(identifier, processInstance.getProcessId()).record(duration);
+            meters.duration.record(duration);
             LOGGER.debug("Process Instance duration: {}s", duration);
         }
     }
 
+    @Override
+    public void beforeNodeTriggered(ProcessNodeTriggeredEvent event) {
+        triggerNanos.put(((KogitoNodeInstance) event.getNodeInstance()).getStringId(), System.nanoTime());
+    }
+
+    @Override
+    public void afterNodeTriggered(ProcessNodeTriggeredEvent event) {
+        triggerNanos.remove(((KogitoNodeInstance) event.getNodeInstance()).getStringId());
+    }
+
     @Override
     public void beforeNodeLeft(ProcessNodeLeftEvent event) {
         LOGGER.debug("Before Node left event: {}", event);
         final NodeInstance nodeInstance = event.getNodeInstance();
+        recordNodeDuration((KogitoNodeInstance) nodeInstance);
         if (nodeInstance instanceof WorkItemNodeInstance) {
             WorkItemNodeInstance wi = (WorkItemNodeInstance) nodeInstance;
             if (wi.getTriggerTime() != null) {
@@ -144,12 +208,76 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
         }
     }
 
+    private void recordNodeDuration(KogitoNodeInstance nodeInstance) {
+        final long duration;
+        Long start = triggerNanos.remove(nodeInstance.getStringId());
+        if (start != null) {
+            duration = System.nanoTime() - start;
+        } else if (nodeInstance.getTriggerTime() != null && nodeInstance.getLeaveTime() != null) {
+            duration = TimeUnit.MILLISECONDS.toNanos(nodeInstance.getLeaveTime().getTime() - nodeInstance.getTriggerTime().getTime());
+        } else {
+            return;
+        }
+        getProcessMeters(nodeInstance.getProcessInstance().getProcessId()).getNodeTimer(nodeInstance).record(duration, TimeUnit.NANOSECONDS);
+    }
+
     @Override
     public void afterSLAViolated(SLAViolatedEvent event) {
         LOGGER.debug("After SLA violated event: {}", event);
         final WorkflowProcessInstanceImpl processInstance = (WorkflowProcessInstanceImpl) event.getProcessInstance();
         if (processInstance != null && event.getNodeInstance() != null) {
-            getNumberOfSLAsViolatedCounter(identifier, processInstance.getProcessId(), event.getNodeInstance().getNodeName()).increment();
+            getProcessMeters(processInstance.getProcessId()).getSLAViolatedCounter(event.getNodeInstance().getNodeName()).increment();
+        }
+    }
+
+    private static final class ProcessMeters {
+
+        private final String appId;
+        private final String processId;
+        private final Counter started;
+        private final AtomicInteger running;
+        private final DistributionSummary duration;
+        private final ConcurrentMap<Integer, Counter> completedByState = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Counter> slaViolatedByNode = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Timer> durationByNode = new ConcurrentHashMap<>();
+
+        ProcessMeters(String appId, String processId) {
+            this.appId = appId;
+            this.processId = processId;
+            this.started = getNumberOfProcessInstancesStartedCounter(appId, processId);
+            this.running = getRunningProcessInstancesGauge(appId, processId);
+            this.duration = getProcessInstancesDurationSummary(appId, processId);
+        }
+
+        Counter getCompletedCounter(int state) {
+            // process instance states are small integers, whose boxed values are cached
+            Counter counter = completedByState.get(state);
+            if (counter == null) {
+                counter = completedByState.computeIfAbsent(state, key -> getNumberOfProcessInstancesCompletedCounter(appId, processId, String.valueOf(state)));
+            }
+            return counter;
+        }
+
+        Counter getSLAViolatedCounter(String nodeName) {
+            Counter counter = slaViolatedByNode.get(nodeName);
+            if (counter == null) {
+                counter = slaViolatedByNode.computeIfAbsent(nodeName, key -> getNumberOfSLAsViolatedCounter(appId, processId, nodeName));
+            }
+            return counter;
+        }
+
+        Timer getNodeTimer(KogitoNodeInstance nodeInstance) {
+            String nodeId = nodeInstance.getNodeDefinitionId();
+            if (nodeId == null) {
+                nodeId = String.valueOf(nodeInstance.getNodeId());
+            }
+            Timer timer = durationByNode.get(nodeId);
+            if (timer == null) {
+                timer = durationByNode.computeIfAbsent(nodeId, key -> getNodeDurationTimer(appId, processId, key,
+                        nodeInstance.getNodeName() == null ? "" : nodeInstance.getNodeName(),
+                        nodeInstance.getNode() == null ? "" : nodeInstance.getNode().getClass().getSimpleName()));
+            }
+            return timer;
         }
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.internal.process.marshalling.ProcessInstanceMarshallerListener;
+import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the time taken to marshal and unmarshal the process instances when they are persisted, and the size of
+ * their marshalled state. It is registered as a service, so it is used by any persistence addon.
+ */
+public class MetricsProcessInstanceMarshallerListener implements ProcessInstanceMarshallerListener {
+
+    static final String MARSHAL = "marshal";
+    static final String UNMARSHAL = "unmarshal";
+
+    private static final ConcurrentMap<String, MarshallingMeters> marshalMeters = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, MarshallingMeters> unmarshalMeters = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterMarshal(String processId, long durationNanos, int size) {
+        getMeters(marshalMeters, processId, MARSHAL).record(durationNanos, size);
+    }
+
+    @Override
+    public void afterUnmarshal(String processId, long durationNanos, int size) {
+        getMeters(unmarshalMeters, processId, UNMARSHAL).record(durationNanos, size);
+    }
+
+    private static MarshallingMeters getMeters(ConcurrentMap<String, MarshallingMeters> meters, String processId, String operation) {
+        MarshallingMeters processMeters = meters.get(processId);
+        if (processMeters == null) {
+            processMeters = meters.computeIfAbsent(processId, key -> new MarshallingMeters(processId, operation));
+        }
+        return processMeters;
+    }
+
+    private static final class MarshallingMeters {
+
+        private final Timer duration;
+        private final DistributionSummary size;
+
+        MarshallingMeters(String processId, String operation) {
+            this.duration = Timer.builder("kie_process_instance_marshalling")
+                    .description("Process Instances Marshalling Duration")
+                    .tags(Arrays.asList(Tag.of("process_id", processId), Tag.of("operation", operation)))
+                    .serviceLevelObjectives(MetricsProcessEventListener.LATENCY_BUCKETS)
+                    .register(MonitoringRegistry.getDefaultMeterRegistry());
+            this.size = DistributionSummary.builder("kie_process_instance_marshalling_size")
+                    .description("Process Instances Marshalled Size")
+                    .baseUnit("bytes")
+                    .tags(Arrays.asList(Tag.of("process_id", processId), Tag.of("operation", operation)))
+                    .register(MonitoringRegistry.getDefaultMeterRegistry());
+        }
+
+        void record(long durationNanos, int bytes) {
+            duration.record(durationNanos, TimeUnit.NANOSECONDS);
+            size.record(bytes);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records the time taken to commit the units of work, i.e. to apply the work they collected (mostly the
+ * persistence of the process instances) once they are ended. The end of a unit of work is notified even when its
+ * commit fails, or once its asynchronous commit completes, so every start recorded here is removed.
+ */
+public class MetricsUnitOfWorkEventListener implements UnitOfWorkEventListener {
+
+    private final Timer commitTimer;
+    private final ConcurrentMap<UnitOfWork, Long> commitStarts = new ConcurrentHashMap<>();
+
+    public MetricsUnitOfWorkEventListener(String identifier) {
+        this.commitTimer = Timer.builder("kie_unit_of_work_commit")
+                .description("Units of Work Commit Duration")
+                .tags(Arrays.asList(Tag.of("app_id", identifier)))
+                .serviceLevelObjectives(MetricsProcessEventListener.LATENCY_BUCKETS)
+                .register(MonitoringRegistry.getDefaultMeterRegistry());
+    }
+
+    @Override
+    public void onBeforeEndEvent(UnitOfWorkEndEvent event) {
+        commitStarts.put(event.getUnitOfWork(), System.nanoTime());
+    }
+
+    @Override
+    public void onAfterEndEvent(UnitOfWorkEndEvent event) {
+        Long start = commitStarts.remove(event.getUnitOfWork());
+        if (start != null) {
+            commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
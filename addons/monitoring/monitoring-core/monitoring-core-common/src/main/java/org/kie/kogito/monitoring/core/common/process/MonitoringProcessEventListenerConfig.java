@@ -15,11 +15,29 @@
  */
 package org.kie.kogito.monitoring.core.common.process;
 
+import java.util.Collection;
+
 import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
 
 public class MonitoringProcessEventListenerConfig extends DefaultProcessEventListenerConfig {
 
+    public static final String DEFAULT_IDENTIFIER = "default-process-monitoring-listener";
+
+    private final MetricsProcessEventListener listener;
+
     public MonitoringProcessEventListenerConfig() {
-        super(new MetricsProcessEventListener("default-process-monitoring-listener"));
+        this(new MetricsProcessEventListener(DEFAULT_IDENTIFIER));
+    }
+
+    private MonitoringProcessEventListenerConfig(MetricsProcessEventListener listener) {
+        super(listener);
+        this.listener = listener;
+    }
+
+    /**
+     * Registers the meters of the given processes at application startup.
+     */
+    public void registerProcesses(Collection<String> processIds) {
+        listener.registerProcesses(processIds);
     }
 }
@@ -15,6 +15,9 @@
  */
 package org.kie.kogito.monitoring.core.common.rule;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.drools.core.event.rule.impl.AfterActivationFiredEventImpl;
 import org.drools.core.event.rule.impl.BeforeActivationFiredEventImpl;
 import org.kie.api.event.rule.AfterMatchFiredEvent;
@@ -23,10 +26,14 @@ import org.kie.api.event.rule.DefaultAgendaEventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.DistributionSummary;
+
 public class RuleMetricsListener extends DefaultAgendaEventListener {
 
     private static final Logger logger = LoggerFactory.getLogger(RuleMetricsListener.class);
     private final String identifier;
+    // histograms are registered once per rule and then looked up without allocations
+    private final ConcurrentMap<String, DistributionSummary> histograms = new ConcurrentHashMap<>();
 
     public RuleMetricsListener(String identifier) {
         this.identifier = identifier;
@@ -47,12 +54,20 @@ public class RuleMetricsListener extends DefaultAgendaEventListener {
         long elapsed = System.nanoTime() - startTime;
         String ruleName = event.getMatch().getRule().getName();
 
-        RuleMetrics.getDroolsEvaluationTimeHistogram(identifier, ruleName).record(elapsed);
+        getHistogram(ruleName).record(elapsed);
         if (logger.isDebugEnabled()) {
             logger.debug("Elapsed time: " + elapsed);
         }
     }
 
+    private DistributionSummary getHistogram(String ruleName) {
+        DistributionSummary histogram = histograms.get(ruleName);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(ruleName, key -> RuleMetrics.getDroolsEvaluationTimeHistogram(identifier, ruleName));
+        }
+        return histogram;
+    }
+
     public BeforeActivationFiredEventImpl getBeforeImpl(BeforeMatchFiredEvent e) {
         return (BeforeActivationFiredEventImpl) e;
     }
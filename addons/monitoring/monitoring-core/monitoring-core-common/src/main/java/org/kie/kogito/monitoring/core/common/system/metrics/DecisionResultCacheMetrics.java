@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.system.metrics;
+
+import org.kie.kogito.decision.DecisionResultCache;
+import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+public class DecisionResultCacheMetrics {
+
+    public static final String CACHE_HITS_NAME = "dmn_result_cache_hits";
+    public static final String CACHE_MISSES_NAME = "dmn_result_cache_misses";
+    public static final String CACHE_SIZE_NAME = "dmn_result_cache_size";
+
+    private DecisionResultCacheMetrics() {
+    }
+
+    public static void register(String endpointName, DecisionResultCache cache) {
+        register(endpointName, cache, MonitoringRegistry.getDefaultMeterRegistry());
+    }
+
+    /**
+     * Registers the meters of the given cache, unless already registered: the cache of a model lives as long as the
+     * application.
+     */
+    public static void register(String endpointName, DecisionResultCache cache, MeterRegistry meterRegistry) {
+        FunctionCounter.builder(CACHE_HITS_NAME, cache, DecisionResultCache::hitCount)
+                .description("Decision evaluations served from the result cache.")
+                .tag("endpoint", endpointName)
+                .register(meterRegistry);
+        FunctionCounter.builder(CACHE_MISSES_NAME, cache, DecisionResultCache::missCount)
+                .description("Decision evaluations not found in the result cache.")
+                .tag("endpoint", endpointName)
+                .register(meterRegistry);
+        Gauge.builder(CACHE_SIZE_NAME, cache, DecisionResultCache::size)
+                .description("Decision results in the result cache.")
+                .tag("endpoint", endpointName)
+                .register(meterRegistry);
+    }
+}
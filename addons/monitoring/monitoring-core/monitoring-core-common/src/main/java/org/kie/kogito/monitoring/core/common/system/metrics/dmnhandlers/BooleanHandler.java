@@ -16,6 +16,8 @@
 package org.kie.kogito.monitoring.core.common.system.metrics.dmnhandlers;
 
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
 
@@ -29,6 +31,9 @@ public class BooleanHandler implements TypeHandler<Boolean> {
 
     private final MeterRegistry meterRegistry;
 
+    // the false and true counters are registered once per endpoint and decision, and then looked up without allocations
+    private final ConcurrentMap<String, ConcurrentMap<String, Counter[]>> counters = new ConcurrentHashMap<>();
+
     public BooleanHandler(String dmnType) {
         this(dmnType, MonitoringRegistry.getDefaultMeterRegistry());
     }
@@ -40,7 +45,7 @@ public class BooleanHandler implements TypeHandler<Boolean> {
 
     @Override
     public void record(String decision, String endpointName, Boolean sample) {
-        getCounter(decision, endpointName, sample.toString()).increment();
+        getCounters(decision, endpointName)[sample ? 1 : 0].increment();
     }
 
     @Override
@@ -48,7 +53,20 @@ public class BooleanHandler implements TypeHandler<Boolean> {
         return dmnType;
     }
 
-    private Counter getCounter(String decision, String endpoint, String identifier) {
+    private Counter[] getCounters(String decision, String endpoint) {
+        ConcurrentMap<String, Counter[]> endpointCounters = counters.get(endpoint);
+        if (endpointCounters == null) {
+            endpointCounters = counters.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>());
+        }
+        Counter[] decisionCounters = endpointCounters.get(decision);
+        if (decisionCounters == null) {
+            decisionCounters = endpointCounters.computeIfAbsent(decision,
+                    key -> new Counter[] { buildCounter(decision, endpoint, Boolean.FALSE.toString()), buildCounter(decision, endpoint, Boolean.TRUE.toString()) });
+        }
+        return decisionCounters;
+    }
+
+    private Counter buildCounter(String decision, String endpoint, String identifier) {
         return Counter
                 .builder(dmnType + DecisionConstants.DECISIONS_NAME_SUFFIX)
                 .description(DecisionConstants.DECISIONS_HELP)
@@ -16,6 +16,8 @@
 package org.kie.kogito.monitoring.core.common.system.metrics.dmnhandlers;
 
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
 
@@ -29,6 +31,9 @@ public class StringHandler implements TypeHandler<String> {
 
     private final MeterRegistry meterRegistry;
 
+    // counters are registered once per endpoint, decision and value, and then looked up without allocations
+    private final ConcurrentMap<String, ConcurrentMap<String, ConcurrentMap<String, Counter>>> counters = new ConcurrentHashMap<>();
+
     public StringHandler(String dmnType) {
         this(dmnType, MonitoringRegistry.getDefaultMeterRegistry());
     }
@@ -49,6 +54,22 @@ public class StringHandler implements TypeHandler<String> {
     }
 
     private Counter getCounter(String decision, String endpoint, String identifier) {
+        ConcurrentMap<String, ConcurrentMap<String, Counter>> endpointCounters = counters.get(endpoint);
+        if (endpointCounters == null) {
+            endpointCounters = counters.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>());
+        }
+        ConcurrentMap<String, Counter> decisionCounters = endpointCounters.get(decision);
+        if (decisionCounters == null) {
+            decisionCounters = endpointCounters.computeIfAbsent(decision, key -> new ConcurrentHashMap<>());
+        }
+        Counter counter = decisionCounters.get(identifier);
+        if (counter == null) {
+            counter = decisionCounters.computeIfAbsent(identifier, key -> buildCounter(decision, endpoint, identifier));
+        }
+        return counter;
+    }
+
+    private Counter buildCounter(String decision, String endpoint, String identifier) {
         return Counter
                 .builder(dmnType + DecisionConstants.DECISIONS_NAME_SUFFIX)
                 .description(DecisionConstants.DECISIONS_HELP)
@@ -16,6 +16,8 @@
 package org.kie.kogito.monitoring.core.common.system.metrics.dmnhandlers;
 
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -25,14 +27,28 @@ public abstract class TypeHandlerWithSummary<T> implements TypeHandler<T> {
 
     protected MeterRegistry registry;
 
+    // summaries are registered once per endpoint and decision, and then looked up without allocations
+    private final ConcurrentMap<String, ConcurrentMap<String, DistributionSummary>> summaries = new ConcurrentHashMap<>();
+
     protected DistributionSummary getDefaultSummary(String dmnType, String decision, String endpoint) {
-        DistributionSummary summary = DistributionSummary
+        ConcurrentMap<String, DistributionSummary> endpointSummaries = summaries.get(endpoint);
+        if (endpointSummaries == null) {
+            endpointSummaries = summaries.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>());
+        }
+        DistributionSummary summary = endpointSummaries.get(decision);
+        if (summary == null) {
+            summary = endpointSummaries.computeIfAbsent(decision, key -> buildSummary(dmnType, decision, endpoint));
+        }
+        return summary;
+    }
+
+    private DistributionSummary buildSummary(String dmnType, String decision, String endpoint) {
+        return DistributionSummary
                 .builder(dmnType.replace(" ", "_") + DecisionConstants.DECISIONS_NAME_SUFFIX)
                 .description(DecisionConstants.DECISIONS_HELP)
                 .publishPercentiles(DecisionConstants.SUMMARY_PERCENTILES)
                 .distributionStatisticExpiry(DecisionConstants.SUMMARY_EXPIRATION)
                 .tags(Arrays.asList(Tag.of("decision", decision), Tag.of("endpoint", endpoint)))
                 .register(registry);
-        return summary;
     }
 }
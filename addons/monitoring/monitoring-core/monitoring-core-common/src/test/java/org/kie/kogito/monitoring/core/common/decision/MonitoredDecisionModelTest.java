@@ -15,7 +15,9 @@
  */
 package org.kie.kogito.monitoring.core.decision;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -25,6 +27,7 @@ import org.kie.dmn.api.core.DMNMetadata;
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.dmn.api.core.DMNResult;
 import org.kie.dmn.api.core.FEELPropertyAccessible;
+import org.kie.dmn.core.impl.DMNContextImpl;
 import org.kie.kogito.decision.DecisionModel;
 import org.kie.kogito.monitoring.core.common.decision.MonitoredDecisionModel;
 import org.kie.kogito.monitoring.core.common.system.metrics.DMNResultMetricsBuilder;
@@ -99,6 +102,20 @@ class MonitoredDecisionModelTest {
         }
     }
 
+    @Test
+    void testMonitoredDecisionModelEvaluateBatch() {
+        try (MockedStatic<DMNResultMetricsBuilder> mockedMetricsBuilder = mockStatic(DMNResultMetricsBuilder.class)) {
+            List<DMNContext> contexts = Arrays.asList(new DMNContextImpl(), new DMNContextImpl());
+            List<DMNResult> results = Arrays.asList(mock(DMNResult.class), mock(DMNResult.class));
+            when(mockedDecisionModel.evaluateBatch(contexts)).thenReturn(results);
+
+            assertSame(results, testObject.evaluateBatch(contexts));
+            for (DMNResult result : results) {
+                mockedMetricsBuilder.verify(times(1), () -> DMNResultMetricsBuilder.generateMetrics(refEq(result), eq(TEST_MODEL_NAME)));
+            }
+        }
+    }
+
     @Test
     void testMonitoredDecisionModelEvaluateDecisionService() {
         try (MockedStatic<DMNResultMetricsBuilder> mockedMetricsBuilder = mockStatic(DMNResultMetricsBuilder.class)) {
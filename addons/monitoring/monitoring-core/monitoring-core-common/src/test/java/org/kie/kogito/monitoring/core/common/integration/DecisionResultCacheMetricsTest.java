@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.integration;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.decision.DecisionResultCache;
+import org.kie.kogito.monitoring.core.common.system.metrics.DecisionResultCacheMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DecisionResultCacheMetricsTest {
+
+    private static final String ENDPOINT = "hello";
+
+    @Test
+    public void givenACacheWhenRegisterIsCalledThenItsStatisticsAreExported() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        TestCache cache = new TestCache();
+        DecisionResultCacheMetrics.register(ENDPOINT, cache, registry);
+        // registering the same cache again is harmless
+        DecisionResultCacheMetrics.register(ENDPOINT, cache, registry);
+
+        cache.hits = 3;
+        cache.misses = 2;
+        cache.size = 1;
+
+        assertEquals(3, registry.find(DecisionResultCacheMetrics.CACHE_HITS_NAME).tag("endpoint", ENDPOINT).functionCounter().count());
+        assertEquals(2, registry.find(DecisionResultCacheMetrics.CACHE_MISSES_NAME).tag("endpoint", ENDPOINT).functionCounter().count());
+        assertEquals(1, registry.find(DecisionResultCacheMetrics.CACHE_SIZE_NAME).tag("endpoint", ENDPOINT).gauge().value());
+        assertEquals(3, registry.getMeters().size());
+    }
+
+    private static class TestCache implements DecisionResultCache {
+
+        private long hits;
+        private long misses;
+        private long size;
+
+        @Override
+        public long hitCount() {
+            return hits;
+        }
+
+        @Override
+        public long missCount() {
+            return misses;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public void invalidateAll() {
+            size = 0;
+        }
+    }
+}
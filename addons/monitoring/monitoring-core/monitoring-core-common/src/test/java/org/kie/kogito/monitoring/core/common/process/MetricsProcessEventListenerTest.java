@@ -15,18 +15,33 @@
  */
 package org.kie.kogito.monitoring.core.common.process;
 
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
 import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.api.event.process.ProcessCompletedEvent;
+import org.kie.api.event.process.ProcessNodeLeftEvent;
+import org.kie.api.event.process.ProcessNodeTriggeredEvent;
 import org.kie.api.event.process.ProcessStartedEvent;
 import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.api.runtime.process.WorkflowProcessInstance;
+import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
 import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -64,4 +79,102 @@ public class MetricsProcessEventListenerTest {
                 .gauge()
                 .value());
     }
+
+    @Test
+    public void testRegisterProcesses() {
+        MonitoringProcessEventListenerConfig config = new MonitoringProcessEventListenerConfig();
+        config.registerProcesses(Arrays.asList("registeredProcess1", "registeredProcess2"));
+
+        for (String processId : Arrays.asList("registeredProcess1", "registeredProcess2")) {
+            assertEquals(0, registry.find("kie_process_instance_started_total").tag("process_id", processId).counter().count());
+            assertEquals(0, registry.find("kie_process_instance_running_total").tag("process_id", processId).gauge().value());
+            assertNotNull(registry.find("kie_process_instance_duration_seconds").tag("process_id", processId).summary());
+        }
+    }
+
+    @Test
+    public void testMetersAreReusedAcrossEvents() {
+        MetricsProcessEventListener eventListener = new MetricsProcessEventListener("reusedMetersId");
+        eventListener.registerProcesses(Arrays.asList("reusedMetersProcess"));
+        RuleFlowProcessInstance processInstance = newProcessInstance("reusedMetersProcess");
+
+        ProcessStartedEvent processStartedEvent = mock(ProcessStartedEvent.class);
+        when(processStartedEvent.getProcessInstance()).thenReturn(processInstance);
+        ProcessCompletedEvent processCompletedEvent = mock(ProcessCompletedEvent.class);
+        when(processCompletedEvent.getProcessInstance()).thenReturn(processInstance);
+
+        eventListener.afterProcessStarted(processStartedEvent);
+        eventListener.afterProcessStarted(processStartedEvent);
+        eventListener.afterProcessStarted(processStartedEvent);
+        eventListener.afterProcessCompleted(processCompletedEvent);
+        eventListener.afterProcessCompleted(processCompletedEvent);
+
+        assertEquals(3, registry.find("kie_process_instance_started_total").tag("process_id", "reusedMetersProcess").counter().count());
+        assertEquals(1, registry.find("kie_process_instance_running_total").tag("process_id", "reusedMetersProcess").gauge().value());
+        assertEquals(2, registry.find("kie_process_instance_completed_total").tag("process_id", "reusedMetersProcess").counter().count());
+        assertEquals(1, registry.find("kie_process_instance_running_total").tag("process_id", "reusedMetersProcess").gauges().size());
+
+        // listeners with the same identifier share the same meters
+        new MetricsProcessEventListener("reusedMetersId").afterProcessStarted(processStartedEvent);
+        assertEquals(2, registry.find("kie_process_instance_running_total").tag("process_id", "reusedMetersProcess").gauge().value());
+        assertSame(registry.find("kie_process_instance_started_total").tag("process_id", "reusedMetersProcess").counter(),
+                registry.find("kie_process_instance_started_total").tag("process_id", "reusedMetersProcess").counter());
+    }
+
+    @Test
+    public void testNodeDuration() {
+        MetricsProcessEventListener eventListener = new MetricsProcessEventListener("nodeDurationId");
+        KogitoNodeInstance scriptTask = mockNodeInstance("nodeDurationProcess", "scriptTaskInstance", "_scriptTask", "Script Task");
+        KogitoNodeInstance userTask = mockNodeInstance("nodeDurationProcess", "userTaskInstance", "_userTask", "User Task");
+        when(userTask.getTriggerTime()).thenReturn(new Date(0));
+        when(userTask.getLeaveTime()).thenReturn(new Date(2000));
+
+        // the script task leaves while it is triggered, the user task after its trigger is over
+        eventListener.beforeNodeTriggered(nodeTriggeredEvent(scriptTask));
+        eventListener.beforeNodeLeft(nodeLeftEvent(scriptTask));
+        eventListener.afterNodeTriggered(nodeTriggeredEvent(scriptTask));
+        eventListener.beforeNodeTriggered(nodeTriggeredEvent(userTask));
+        eventListener.afterNodeTriggered(nodeTriggeredEvent(userTask));
+        eventListener.beforeNodeLeft(nodeLeftEvent(userTask));
+
+        Timer scriptTaskTimer = registry.find("kie_process_node_duration").tags("process_id", "nodeDurationProcess", "node_id", "_scriptTask").timer();
+        assertEquals(1, scriptTaskTimer.count());
+        assertEquals("Script Task", scriptTaskTimer.getId().getTag("node_name"));
+        assertTrue(scriptTaskTimer.totalTime(TimeUnit.SECONDS) < 1);
+
+        Timer userTaskTimer = registry.find("kie_process_node_duration").tags("process_id", "nodeDurationProcess", "node_id", "_userTask").timer();
+        assertEquals(1, userTaskTimer.count());
+        assertEquals(2, userTaskTimer.totalTime(TimeUnit.SECONDS));
+    }
+
+    private static KogitoNodeInstance mockNodeInstance(String processId, String id, String nodeId, String nodeName) {
+        WorkflowProcessInstance processInstance = mock(WorkflowProcessInstance.class);
+        when(processInstance.getProcessId()).thenReturn(processId);
+        KogitoNodeInstance nodeInstance = mock(KogitoNodeInstance.class);
+        when(nodeInstance.getProcessInstance()).thenReturn(processInstance);
+        when(nodeInstance.getStringId()).thenReturn(id);
+        when(nodeInstance.getNodeDefinitionId()).thenReturn(nodeId);
+        when(nodeInstance.getNodeName()).thenReturn(nodeName);
+        return nodeInstance;
+    }
+
+    private static ProcessNodeTriggeredEvent nodeTriggeredEvent(KogitoNodeInstance nodeInstance) {
+        ProcessNodeTriggeredEvent event = mock(ProcessNodeTriggeredEvent.class);
+        when(event.getNodeInstance()).thenReturn(nodeInstance);
+        return event;
+    }
+
+    private static ProcessNodeLeftEvent nodeLeftEvent(KogitoNodeInstance nodeInstance) {
+        ProcessNodeLeftEvent event = mock(ProcessNodeLeftEvent.class);
+        when(event.getNodeInstance()).thenReturn(nodeInstance);
+        return event;
+    }
+
+    private static RuleFlowProcessInstance newProcessInstance(String processId) {
+        RuleFlowProcess process = new RuleFlowProcess();
+        process.setId(processId);
+        RuleFlowProcessInstance processInstance = new RuleFlowProcessInstance();
+        processInstance.setProcess(process);
+        return processInstance;
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.marshalling.ProcessInstanceMarshallerListener;
+import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsProcessInstanceMarshallerListenerTest {
+
+    MeterRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        MonitoringRegistry.addRegistry(registry);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        MonitoringRegistry.getDefaultMeterRegistry().remove(registry);
+    }
+
+    @Test
+    public void testRegisteredAsService() {
+        assertThat(ServiceLoader.load(ProcessInstanceMarshallerListener.class))
+                .hasAtLeastOneElementOfType(MetricsProcessInstanceMarshallerListener.class);
+    }
+
+    @Test
+    public void testMarshallingMeters() {
+        MetricsProcessInstanceMarshallerListener listener = new MetricsProcessInstanceMarshallerListener();
+        listener.afterMarshal("marshalledProcess", TimeUnit.MILLISECONDS.toNanos(2), 100);
+        listener.afterMarshal("marshalledProcess", TimeUnit.MILLISECONDS.toNanos(4), 300);
+        listener.afterUnmarshal("marshalledProcess", TimeUnit.MILLISECONDS.toNanos(1), 300);
+
+        Timer marshalTimer = registry.find("kie_process_instance_marshalling")
+                .tags("process_id", "marshalledProcess", "operation", MetricsProcessInstanceMarshallerListener.MARSHAL).timer();
+        assertThat(marshalTimer.count()).isEqualTo(2);
+        assertThat(marshalTimer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(6);
+        DistributionSummary marshalSize = registry.find("kie_process_instance_marshalling_size")
+                .tags("process_id", "marshalledProcess", "operation", MetricsProcessInstanceMarshallerListener.MARSHAL).summary();
+        assertThat(marshalSize.totalAmount()).isEqualTo(400);
+        assertThat(marshalSize.max()).isEqualTo(300);
+
+        Timer unmarshalTimer = registry.find("kie_process_instance_marshalling")
+                .tags("process_id", "marshalledProcess", "operation", MetricsProcessInstanceMarshallerListener.UNMARSHAL).timer();
+        assertThat(unmarshalTimer.count()).isEqualTo(1);
+    }
+}
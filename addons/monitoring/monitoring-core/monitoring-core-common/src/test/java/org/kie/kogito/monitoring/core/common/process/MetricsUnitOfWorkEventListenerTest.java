@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.common.process;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.monitoring.core.common.MonitoringRegistry;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class MetricsUnitOfWorkEventListenerTest {
+
+    MeterRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        MonitoringRegistry.addRegistry(registry);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        MonitoringRegistry.getDefaultMeterRegistry().remove(registry);
+    }
+
+    @Test
+    public void testCommitDuration() {
+        MetricsUnitOfWorkEventListener listener = new MetricsUnitOfWorkEventListener("unitOfWorkId");
+        UnitOfWorkEndEvent committed = new UnitOfWorkEndEvent(mock(UnitOfWork.class));
+        UnitOfWorkEndEvent notStarted = new UnitOfWorkEndEvent(mock(UnitOfWork.class));
+
+        listener.onBeforeEndEvent(committed);
+        listener.onAfterEndEvent(committed);
+        listener.onAfterEndEvent(notStarted);
+
+        Timer timer = registry.find("kie_unit_of_work_commit").tag("app_id", "unitOfWorkId").timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+}
@@ -20,9 +20,11 @@ import javax.enterprise.inject.Produces;
 
 import org.drools.core.config.DefaultRuleEventListenerConfig;
 import org.kie.kogito.monitoring.core.common.Constants;
+import org.kie.kogito.monitoring.core.common.process.MetricsUnitOfWorkEventListener;
 import org.kie.kogito.monitoring.core.common.process.MonitoringProcessEventListenerConfig;
 import org.kie.kogito.monitoring.core.common.rule.RuleMetricsListenerConfig;
 import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,4 +48,11 @@ public class QuarkusEventListenerFactory {
         LOGGER.debug("Producing default listener for process monitoring.");
         return new MonitoringProcessEventListenerConfig();
     }
+
+    @Produces
+    @IfBuildProperty(name = Constants.MONITORING_PROCESS_USE_DEFAULT, stringValue = "true", enableIfMissing = true)
+    public UnitOfWorkEventListener produceUnitOfWorkListener() {
+        LOGGER.debug("Producing default listener for unit of work monitoring.");
+        return new MetricsUnitOfWorkEventListener(MonitoringProcessEventListenerConfig.DEFAULT_IDENTIFIER);
+    }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.monitoring.core.quarkus;
+
+import javax.enterprise.event.Observes;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.kie.kogito.monitoring.core.common.Constants;
+import org.kie.kogito.monitoring.core.common.process.MonitoringProcessEventListenerConfig;
+import org.kie.kogito.process.Processes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.runtime.Startup;
+import io.quarkus.runtime.StartupEvent;
+
+@Singleton
+@Startup
+@IfBuildProperty(name = Constants.MONITORING_PROCESS_USE_DEFAULT, stringValue = "true", enableIfMissing = true)
+public class QuarkusProcessMetricsRegister {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QuarkusProcessMetricsRegister.class);
+
+    @Inject
+    Instance<Processes> processes;
+
+    public void register(@Observes StartupEvent event) {
+        if (processes.isResolvable()) {
+            LOGGER.debug("Registering process monitoring meters.");
+            new MonitoringProcessEventListenerConfig().registerProcesses(processes.get().processIds());
+        }
+    }
+}
@@ -17,9 +17,11 @@ package org.kie.kogito.monitoring.core.springboot;
 
 import org.drools.core.config.DefaultRuleEventListenerConfig;
 import org.kie.kogito.monitoring.core.common.Constants;
+import org.kie.kogito.monitoring.core.common.process.MetricsUnitOfWorkEventListener;
 import org.kie.kogito.monitoring.core.common.process.MonitoringProcessEventListenerConfig;
 import org.kie.kogito.monitoring.core.common.rule.RuleMetricsListenerConfig;
 import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -41,6 +43,16 @@ public class SpringbootEventListenerFactory {
         return new MonitoringProcessEventListenerConfig();
     }
 
+    @Bean
+    @ConditionalOnProperty(
+            value = Constants.MONITORING_PROCESS_USE_DEFAULT,
+            havingValue = "true",
+            matchIfMissing = true)
+    public UnitOfWorkEventListener produceUnitOfWorkListener() {
+        LOGGER.debug("Producing default listener for unit of work monitoring.");
+        return new MetricsUnitOfWorkEventListener(MonitoringProcessEventListenerConfig.DEFAULT_IDENTIFIER);
+    }
+
     @ConditionalOnProperty(
             value = Constants.MONITORING_RULE_USE_DEFAULT,
             havingValue = "true",
@@ -20,6 +20,7 @@ import java.nio.file.Paths;
 import org.kie.kogito.persistence.filesystem.FileSystemProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 
 /**
  * This class must always have exact FQCN as <code>org.kie.kogito.persistence.KogitoProcessInstancesFactory</code>
@@ -28,9 +29,18 @@ import org.kie.kogito.process.ProcessInstancesFactory;
 public abstract class KogitoProcessInstancesFactory implements ProcessInstancesFactory {
 
     public FileSystemProcessInstances createProcessInstances(Process<?> process) {
-        return new FileSystemProcessInstances(process, Paths.get(path()));
+        return new FileSystemProcessInstances(process, Paths.get(path()), ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build(),
+                deltaSnapshotInterval());
     }
 
     public abstract String path();
 
+    /**
+     * Number of updates of a process instance stored as deltas before it is written in full again, delta persistence
+     * is disabled when it is zero.
+     */
+    public int deltaSnapshotInterval() {
+        return 0;
+    }
+
 }
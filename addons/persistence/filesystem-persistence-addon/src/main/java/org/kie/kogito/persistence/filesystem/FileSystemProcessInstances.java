@@ -16,14 +16,25 @@
 package org.kie.kogito.persistence.filesystem;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -32,14 +43,14 @@ import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstanceNotFoundException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.serialization.process.ProcessInstanceDeltaTracker;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
-
 @SuppressWarnings({ "rawtypes" })
 public class FileSystemProcessInstances implements MutableProcessInstances {
 
@@ -48,22 +59,48 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
     public static final String PI_DESCRIPTION = "ProcessInstanceDescription";
     public static final String PI_STATUS = "ProcessInstanceStatus";
 
+    // written in the event types folder once the instances stored before it existed have been indexed, '#' is
+    // always escaped in the folder names of the event types
+    private static final String INDEXED_MARKER = "#indexed";
+
     private Process<?> process;
     private Path storage;
+    private Path eventTypesStorage;
+    private Path deltasStorage;
 
     private ProcessInstanceMarshallerService marshaller;
+    private ProcessInstanceDeltaTracker deltas;
+    private volatile boolean indexed;
+    // the event types last stored by this node for each process instance, so that they are only rewritten when
+    // they change and only the folders of the stored ones are visited to remove them
+    private final Map<String, Set<String>> storedEventTypes = new ConcurrentHashMap<>();
 
     public FileSystemProcessInstances(Process<?> process, Path storage) {
         this(process, storage, ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build());
     }
 
     public FileSystemProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshallerService marshaller) {
+        this(process, storage, marshaller, 0);
+    }
+
+    /**
+     * @param deltaSnapshotInterval when positive, updates are appended to a log of deltas kept next to the stored
+     *        process instance, which is written in full again once that many deltas have been appended
+     */
+    public FileSystemProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshallerService marshaller, int deltaSnapshotInterval) {
         this.process = process;
         this.storage = Paths.get(storage.toString(), process.id());
+        this.eventTypesStorage = Paths.get(storage.toString(), process.id() + "_event_types");
+        this.deltasStorage = Paths.get(storage.toString(), process.id() + "_deltas");
         this.marshaller = marshaller;
+        this.deltas = new ProcessInstanceDeltaTracker(marshaller, deltaSnapshotInterval);
 
         try {
             Files.createDirectories(this.storage);
+            Files.createDirectories(this.eventTypesStorage);
+            if (deltas.isEnabled()) {
+                Files.createDirectories(this.deltasStorage);
+            }
         } catch (IOException e) {
             throw new RuntimeException("Unable to create directories for file based storage of process instances", e);
         }
@@ -87,7 +124,7 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
             return Optional.empty();
         }
         byte[] data = readBytesFromFile(processInstanceStorage);
-        return Optional.of(mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process));
+        return Optional.of(unmarshall(data, mode));
     }
 
     @Override
@@ -96,13 +133,61 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
             return stream
                     .filter(file -> !Files.isDirectory(file))
                     .map(this::readBytesFromFile)
-                    .map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process) : marshaller.unmarshallReadOnlyProcessInstance(b, process))
+                    .map(b -> unmarshall(b, mode))
                     .collect(Collectors.toList());
         } catch (IOException e) {
             throw new RuntimeException("Unable to read process instances ", e);
         }
     }
 
+    @Override
+    public Collection values(ProcessInstanceReadMode mode, int offset, int limit) {
+        // file names are the process instance ids so only the requested page is read from disk
+        try (Stream<Path> stream = Files.list(storage)) {
+            return stream
+                    .filter(file -> !Files.isDirectory(file))
+                    .sorted()
+                    .skip(offset)
+                    .limit(limit)
+                    .map(this::readBytesFromFile)
+                    .map(b -> unmarshall(b, mode))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read process instances ", e);
+        }
+    }
+
+    @Override
+    public Stream stream(ProcessInstanceReadMode mode) {
+        try {
+            return Files.list(storage)
+                    .filter(file -> !Files.isDirectory(file))
+                    .map(this::readBytesFromFile)
+                    .map(b -> unmarshall(b, mode));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read process instances ", e);
+        }
+    }
+
+    @Override
+    public Collection waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        indexStoredInstances();
+        Path eventTypeStorage = eventTypeStorage(eventType);
+        if (Files.notExists(eventTypeStorage)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> stream = Files.list(eventTypeStorage)) {
+            return stream
+                    .map(marker -> Paths.get(storage.toString(), marker.getFileName().toString()))
+                    .filter(Files::exists)
+                    .map(this::readBytesFromFile)
+                    .map(b -> unmarshall(b, mode))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read process instances waiting for event type " + eventType, e);
+        }
+    }
+
     @Override
     public boolean exists(String id) {
         return Files.exists(Paths.get(storage.toString(), id));
@@ -134,8 +219,11 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
     @Override
     public void remove(String id) {
         Path processInstanceStorage = Paths.get(storage.toString(), id);
+        deltas.forget(id);
         try {
             Files.deleteIfExists(processInstanceStorage);
+            Files.deleteIfExists(Paths.get(deltasStorage.toString(), id));
+            removeEventTypes(id);
         } catch (IOException e) {
             throw new RuntimeException("Unable to remove process instance with id " + id, e);
         }
@@ -144,27 +232,173 @@ public class FileSystemProcessInstances implements MutableProcessInstances {
     protected void storeProcessInstance(Path processInstanceStorage, ProcessInstance<?> instance) {
         try {
             byte[] data = marshaller.marshallProcessInstance(instance);
-            Files.write(processInstanceStorage, data);
+            storeState(processInstanceStorage, instance.id(), data);
             setMetadata(processInstanceStorage, PI_DESCRIPTION, instance.description());
             setMetadata(processInstanceStorage, PI_STATUS, String.valueOf(instance.status()));
+            storeEventTypes(instance.id(), ((AbstractProcessInstance<?>) instance).internalGetEventTypes());
 
-            disconnect(processInstanceStorage, instance);
+            disconnect(instance, data);
         } catch (IOException e) {
             throw new RuntimeException("Unable to store process instance with id " + instance.id(), e);
         }
     }
 
+    /**
+     * Writes the given state either in full, or as a delta appended to the log of the process instance when delta
+     * persistence is enabled. Each entry of the log is prefixed by its length.
+     */
+    protected void storeState(Path processInstanceStorage, String id, byte[] data) throws IOException {
+        Path deltasFile = Paths.get(deltasStorage.toString(), id);
+        ProcessInstanceDeltaTracker.Change change = deltas.change(id, data);
+        try {
+            if (change.isSnapshot()) {
+                // the log is dropped first so it is never applied to a state it was not computed from
+                Files.deleteIfExists(deltasFile);
+                Files.write(processInstanceStorage, data);
+            } else {
+                byte[] delta = change.payload();
+                Files.write(deltasFile, ByteBuffer.allocate(Integer.BYTES + delta.length).putInt(delta.length).put(delta).array(),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            deltas.forget(id);
+            throw e;
+        }
+        deltas.written(id, data, change);
+    }
+
+    /**
+     * Indexes, once, the instances stored before the event types folder existed, so they keep receiving signals.
+     */
+    private synchronized void indexStoredInstances() {
+        Path marker = Paths.get(eventTypesStorage.toString(), INDEXED_MARKER);
+        if (indexed || Files.exists(marker)) {
+            indexed = true;
+            return;
+        }
+        storedEventTypes.clear();
+        try (Stream<Path> stream = Files.list(storage)) {
+            for (Path processInstanceStorage : (Iterable<Path>) stream.filter(file -> !Files.isDirectory(file))::iterator) {
+                // read only instances are not connected, so their event listeners are not registered
+                byte[] data = readBytesFromFile(processInstanceStorage);
+                ProcessInstance<?> instance = unmarshall(data, ProcessInstanceReadMode.MUTABLE);
+                storeEventTypes(processInstanceStorage.getFileName().toString(), ((AbstractProcessInstance<?>) instance).internalGetEventTypes());
+                disconnect(instance, data);
+            }
+            Files.write(marker, new byte[0]);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to index the stored instances of process " + process.id(), e);
+        }
+        LOGGER.info("Indexed by event type the stored instances of process {}", process.id());
+        indexed = true;
+    }
+
+    protected void storeEventTypes(String id, Set<String> eventTypes) throws IOException {
+        Set<String> stored = storedEventTypes.get(id);
+        if (eventTypes.equals(stored)) {
+            return;
+        }
+        try {
+            if (stored == null) {
+                // written before this node started or by another node, so the stored event types are unknown
+                removeEventTypes(id);
+            } else {
+                for (String eventType : stored) {
+                    if (!eventTypes.contains(eventType)) {
+                        Files.deleteIfExists(Paths.get(eventTypeStorage(eventType).toString(), id));
+                    }
+                }
+            }
+            for (String eventType : eventTypes) {
+                if (stored == null || !stored.contains(eventType)) {
+                    Path eventTypeStorage = eventTypeStorage(eventType);
+                    Files.createDirectories(eventTypeStorage);
+                    Files.write(Paths.get(eventTypeStorage.toString(), id), new byte[0]);
+                }
+            }
+        } catch (IOException e) {
+            storedEventTypes.remove(id);
+            throw e;
+        }
+        storedEventTypes.put(id, new HashSet<>(eventTypes));
+    }
+
+    protected void removeEventTypes(String id) throws IOException {
+        Set<String> stored = storedEventTypes.remove(id);
+        if (stored != null) {
+            for (String eventType : stored) {
+                Files.deleteIfExists(Paths.get(eventTypeStorage(eventType).toString(), id));
+            }
+            return;
+        }
+        try (Stream<Path> stream = Files.list(eventTypesStorage)) {
+            stream.filter(Files::isDirectory).forEach(eventTypeStorage -> {
+                try {
+                    Files.deleteIfExists(Paths.get(eventTypeStorage.toString(), id));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Path eventTypeStorage(String eventType) {
+        try {
+            return Paths.get(eventTypesStorage.toString(), URLEncoder.encode(eventType, StandardCharsets.UTF_8.name()));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to encode event type " + eventType, e);
+        }
+    }
+
+    protected ProcessInstance unmarshall(byte[] data, ProcessInstanceReadMode mode) {
+        return marshaller.unmarshallProcessInstance(data, process, mode);
+    }
+
     protected byte[] readBytesFromFile(Path processInstanceStorage) {
         try {
-            return Files.readAllBytes(processInstanceStorage);
+            byte[] data = Files.readAllBytes(processInstanceStorage);
+            Path deltasFile = Paths.get(deltasStorage.toString(), processInstanceStorage.getFileName().toString());
+            if (deltas.isEnabled() && Files.exists(deltasFile)) {
+                data = marshaller.applyProcessInstanceDeltas(data, readDeltas(deltasFile));
+            }
+            return data;
         } catch (IOException e) {
             throw new RuntimeException("Unable to read process instance from " + processInstanceStorage, e);
         }
     }
 
-    protected void disconnect(Path processInstanceStorage, ProcessInstance instance) {
-        Supplier<byte[]> supplier = () -> readBytesFromFile(processInstanceStorage);
-        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
+    private List<byte[]> readDeltas(Path deltasFile) throws IOException {
+        ByteBuffer log = ByteBuffer.wrap(Files.readAllBytes(deltasFile));
+        List<byte[]> result = new ArrayList<>();
+        while (log.remaining() >= Integer.BYTES) {
+            int length = log.getInt();
+            if (length > log.remaining()) {
+                // a write interrupted while appending, the state before it is kept
+                LOGGER.warn("Ignoring incomplete delta at the end of {}", deltasFile);
+                break;
+            }
+            byte[] delta = new byte[length];
+            log.get(delta);
+            result.add(delta);
+        }
+        return result;
+    }
+
+    /**
+     * Disconnects an instance that has just been written: within the unit of work that wrote it the instance is
+     * reloaded from the given data, afterwards it is read from its file again.
+     */
+    protected void disconnect(ProcessInstance instance, byte[] data) {
+        Supplier<byte[]> supplier = () -> {
+            Path processInstanceStorage = Paths.get(storage.toString(), instance.id());
+            if (Files.notExists(processInstanceStorage)) {
+                throw new ProcessInstanceNotFoundException(instance.id());
+            }
+            return readBytesFromFile(processInstanceStorage);
+        };
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(instance, data, supplier));
     }
 
     public String getMetadata(Path file, String key) {
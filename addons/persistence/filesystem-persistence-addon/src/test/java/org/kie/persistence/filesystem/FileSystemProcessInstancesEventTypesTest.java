@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.filesystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
+import org.kie.kogito.process.bpmn2.AbstractProcessInstancesEventTypesTest;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+
+class FileSystemProcessInstancesEventTypesTest extends AbstractProcessInstancesEventTypesTest {
+
+    @Override
+    protected void configure(BpmnProcess process) {
+        process.setProcessInstancesFactory(new KogitoProcessInstancesFactory() {
+
+            @Override
+            public String path() {
+                return "target";
+            }
+        });
+        process.configure();
+    }
+
+    @Override
+    protected void dropEventTypesIndex(BpmnProcess process) {
+        try (Stream<Path> files = Files.walk(Paths.get("target", process.id() + "_event_types"))) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -15,7 +15,17 @@
  */
 package org.kie.persistence.filesystem;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.drools.core.io.impl.ClassPathResource;
 import org.jbpm.process.instance.impl.Action;
@@ -30,6 +40,7 @@ import org.kie.kogito.persistence.filesystem.FileSystemProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceNotFoundException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.WorkItem;
@@ -41,6 +52,7 @@ import org.kie.kogito.process.impl.StaticProcessConfig;
 import org.kie.kogito.services.identity.StaticIdentityProvider;
 import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
 import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.UnitOfWorkManager;
 
@@ -52,9 +64,11 @@ import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STAT
 import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_ERROR;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class FileSystemProcessInstancesTest {
 
@@ -124,6 +138,46 @@ class FileSystemProcessInstancesTest {
         assertThat(instances.size()).isZero();
     }
 
+    @Test
+    void testValuesPage() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        for (int i = 0; i < 3; i++) {
+            process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test" + i))).start();
+        }
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        assertThat(instances.size()).isEqualTo(3);
+        List<String> ids = instances.values().stream().map(ProcessInstance::id).sorted().collect(Collectors.toList());
+
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 0, 2)).extracting(ProcessInstance::id).containsExactly(ids.get(0), ids.get(1));
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 2, 2)).extracting(ProcessInstance::id).containsExactly(ids.get(2));
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 3, 2)).isEmpty();
+
+        instances.values(ProcessInstanceReadMode.MUTABLE).forEach(ProcessInstance::abort);
+        assertThat(instances.size()).isZero();
+    }
+
+    @Test
+    void testStreamVariablesOnly() {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        try (Stream<ProcessInstance<BpmnVariables>> stream = instances.stream(ProcessInstanceReadMode.VARIABLES_ONLY)) {
+            List<ProcessInstance<BpmnVariables>> found = stream.collect(Collectors.toList());
+            assertThat(found).hasSize(1);
+            ProcessInstance<BpmnVariables> pi = found.get(0);
+            assertThat(pi.id()).isEqualTo(processInstance.id());
+            assertThat(pi.status()).isEqualTo(STATE_ACTIVE);
+            assertThat(pi.variables().toMap()).containsEntry("test", "test");
+            assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() -> pi.abort());
+        }
+
+        processInstance.abort();
+        assertThat(instances.size()).isZero();
+    }
+
     @Test
     void testBasicFlow() {
         BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
@@ -158,6 +212,43 @@ class FileSystemProcessInstancesTest {
         assertThat(fileSystemBasedStorage.size()).isZero();
     }
 
+    @Test
+    void testUpdatesStoredAsDeltas() throws Exception {
+        BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
+        process.setProcessInstancesFactory(new FileSystemProcessInstancesFactory(3));
+        process.configure();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        Path snapshot = Paths.get("target", process.id(), processInstance.id());
+        Path log = Paths.get("target", process.id() + "_deltas", processInstance.id());
+        long snapshotSize = Files.size(snapshot);
+        long logSize = 0;
+        for (int i = 1; i <= 3; i++) {
+            processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "test" + i)));
+            // the first delta also holds the node instance, as written again once reloaded from the snapshot
+            if (i > 1) {
+                assertThat(Files.size(log) - logSize).isLessThan(snapshotSize / 2);
+            }
+            logSize = Files.size(log);
+            assertThat(instances.findById(processInstance.id()).get().variables().toMap()).containsEntry("test", "test" + i);
+        }
+
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "test4")));
+        assertThat(log).doesNotExist();
+        assertThat(instances.findById(processInstance.id()).get().variables().toMap()).containsEntry("test", "test4");
+
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "test5")));
+        assertThat(log).exists();
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY)).singleElement()
+                .satisfies(pi -> assertThat(pi.variables().toMap()).containsEntry("test", "test5"));
+
+        processInstance.abort();
+        assertThat(log).doesNotExist();
+        assertThat(instances.size()).isZero();
+    }
+
     @Test
     void testBasicFlowWithStartFrom() {
         BpmnProcess process = createProcess(null, "BPMN2-UserTask.bpmn2");
@@ -232,8 +323,82 @@ class FileSystemProcessInstancesTest {
         assertThat(fileSystemBasedStorage.size()).isZero();
     }
 
+    @Test
+    void testInstanceWrittenByEarlierUnitOfWorkIsReloadedFromStorage() {
+        UnitOfWorkManager uowManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        ProcessConfig config = new StaticProcessConfig(new DefaultWorkItemHandlerConfig(), new DefaultProcessEventListenerConfig(), uowManager, null);
+        BpmnProcess process = createProcess(config, "BPMN2-UserTask.bpmn2");
+
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        UnitOfWorkExecutor.executeInUnitOfWork(uowManager, () -> {
+            processInstance.start();
+            return null;
+        });
+
+        // another handle completes the instance, which removes it from the storage
+        UnitOfWorkExecutor.executeInUnitOfWork(uowManager, () -> {
+            ProcessInstance<BpmnVariables> other = process.instances().findById(processInstance.id()).get();
+            other.completeWorkItem(other.workItems(securityPolicy).get(0).getId(), null, securityPolicy);
+            return null;
+        });
+        assertThat(process.instances().findById(processInstance.id())).isEmpty();
+
+        assertThatExceptionOfType(ProcessInstanceNotFoundException.class).isThrownBy(() -> processInstance.workItems(securityPolicy));
+    }
+
+    @Test
+    void testEventTypesRewrittenOnlyWhenChanged() throws Exception {
+        Process<?> process = mock(Process.class);
+        when(process.id()).thenReturn("eventTypesIndex");
+        EventTypesIndex index = new EventTypesIndex(process);
+        Path eventTypes = Paths.get("target", "eventTypesIndex_event_types");
+
+        index.store("1", new HashSet<>(Arrays.asList("a", "b")));
+        assertThat(eventTypes.resolve("a").resolve("1")).exists();
+        assertThat(eventTypes.resolve("b").resolve("1")).exists();
+
+        index.store("1", new HashSet<>(Arrays.asList("b", "c")));
+        assertThat(eventTypes.resolve("a").resolve("1")).doesNotExist();
+        assertThat(eventTypes.resolve("b").resolve("1")).exists();
+        assertThat(eventTypes.resolve("c").resolve("1")).exists();
+
+        // unchanged event types are not written again
+        Files.delete(eventTypes.resolve("b").resolve("1"));
+        index.store("1", new HashSet<>(Arrays.asList("b", "c")));
+        assertThat(eventTypes.resolve("b").resolve("1")).doesNotExist();
+
+        index.remove("1");
+        assertThat(eventTypes.resolve("c").resolve("1")).doesNotExist();
+    }
+
+    private static class EventTypesIndex extends FileSystemProcessInstances {
+
+        EventTypesIndex(Process<?> process) {
+            super(process, Paths.get("target"));
+        }
+
+        void store(String id, Set<String> eventTypes) throws IOException {
+            storeEventTypes(id, eventTypes);
+        }
+    }
+
     private class FileSystemProcessInstancesFactory extends KogitoProcessInstancesFactory {
 
+        private final int deltaSnapshotInterval;
+
+        FileSystemProcessInstancesFactory() {
+            this(0);
+        }
+
+        FileSystemProcessInstancesFactory(int deltaSnapshotInterval) {
+            this.deltaSnapshotInterval = deltaSnapshotInterval;
+        }
+
+        @Override
+        public int deltaSnapshotInterval() {
+            return deltaSnapshotInterval;
+        }
+
         @Override
         public FileSystemProcessInstances createProcessInstances(Process<?> process) {
             FileSystemProcessInstances instances = spy(super.createProcessInstances(process));
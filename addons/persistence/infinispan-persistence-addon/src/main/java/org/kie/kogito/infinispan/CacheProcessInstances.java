@@ -15,33 +15,67 @@
  */
 package org.kie.kogito.infinispan;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.infinispan.client.hotrod.Flag;
+import org.infinispan.client.hotrod.MetadataValue;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.commons.util.CloseableIterator;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstanceWrite;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
 @SuppressWarnings({ "rawtypes" })
 public class CacheProcessInstances implements MutableProcessInstances {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheProcessInstances.class);
+
+    private static final String EVENT_TYPES_SEPARATOR = "\n";
+    // stored in the event types cache once the instances stored before it existed have been indexed
+    private static final String INDEXED_MARKER = "\u0000indexed";
+    private static final int STREAM_BATCH_SIZE = 100;
+
     private final RemoteCache<String, byte[]> cache;
+    // event types each instance is waiting for, by instance id
+    private final RemoteCache<String, String> eventTypesCache;
+    // ids of the instances waiting for each event type, by event type
+    private final RemoteCache<String, String> eventTypeIndexCache;
+    private volatile boolean indexed;
     private ProcessInstanceMarshallerService marshaller;
     private org.kie.kogito.process.Process<?> process;
 
     public CacheProcessInstances(Process<?> process, RemoteCacheManager cacheManager, String templateName) {
         this.process = process;
         this.cache = cacheManager.administration().getOrCreateCache(process.id() + "_store", ignoreNullOrEmpty(templateName));
+        this.eventTypesCache = cacheManager.administration().getOrCreateCache(process.id() + "_event_types", ignoreNullOrEmpty(templateName));
+        this.eventTypeIndexCache = cacheManager.administration().getOrCreateCache(process.id() + "_event_type_index", ignoreNullOrEmpty(templateName));
         this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
     }
 
@@ -57,14 +91,67 @@ public class CacheProcessInstances implements MutableProcessInstances {
             return Optional.empty();
         }
 
-        return Optional.of(mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process));
+        return Optional.of(unmarshall(data, mode));
     }
 
     @Override
     public Collection<? extends ProcessInstance> values(ProcessInstanceReadMode mode) {
         return cache.values()
                 .parallelStream()
-                .map(data -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process))
+                .map(data -> unmarshall(data, mode))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns a page of the process instances ordered by id. The payloads are opaque to the server, so Hot Rod cannot
+     * sort nor page them there: every key is still streamed to the client, which only keeps the first offset + limit
+     * of them and fetches the payloads of the requested page. Prefer {@link #stream} to walk all the instances.
+     */
+    @Override
+    public Collection<ProcessInstance> values(ProcessInstanceReadMode mode, int offset, int limit) {
+        long window = (long) offset + limit;
+        PriorityQueue<String> first = new PriorityQueue<>(Comparator.reverseOrder());
+        try (CloseableIterator<String> keys = cache.keySet().iterator()) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                if (first.size() < window) {
+                    first.add(key);
+                } else if (key.compareTo(first.peek()) < 0) {
+                    first.poll();
+                    first.add(key);
+                }
+            }
+        }
+        List<String> ids = first.stream().sorted().skip(offset).collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, byte[]> page = cache.getAll(new HashSet<>(ids));
+        return ids.stream()
+                .map(page::get)
+                .filter(data -> data != null)
+                .map(data -> unmarshall(data, mode))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        CloseableIterator<Map.Entry<Object, Object>> entries = cache.retrieveEntries(null, STREAM_BATCH_SIZE);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(entries, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(entry -> unmarshall((byte[]) entry.getValue(), mode))
+                .onClose(entries::close);
+    }
+
+    @Override
+    public Collection<? extends ProcessInstance> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        indexStoredInstances();
+        Set<String> ids = split(eventTypeIndexCache.get(eventType));
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return cache.getAll(ids).values()
+                .stream()
+                .map(data -> unmarshall(data, mode))
                 .collect(Collectors.toList());
     }
 
@@ -76,6 +163,90 @@ public class CacheProcessInstances implements MutableProcessInstances {
     @Override
     public void remove(String id) {
         cache.remove(id);
+        String previous = eventTypesCache.withFlags(Flag.FORCE_RETURN_VALUE).remove(id);
+        updateIndex(id, split(previous), Collections.emptySet());
+    }
+
+    private void index(String id, Set<String> eventTypes) {
+        String previous = eventTypesCache.withFlags(Flag.FORCE_RETURN_VALUE).put(id, String.join(EVENT_TYPES_SEPARATOR, eventTypes));
+        updateIndex(id, split(previous), eventTypes);
+    }
+
+    private void updateIndex(String id, Set<String> previous, Set<String> current) {
+        for (String eventType : previous) {
+            if (!current.contains(eventType)) {
+                updateIndexEntry(eventType, ids -> ids.remove(id));
+            }
+        }
+        for (String eventType : current) {
+            if (!previous.contains(eventType)) {
+                updateIndexEntry(eventType, ids -> ids.add(id));
+            }
+        }
+    }
+
+    /**
+     * Changes the ids stored for an event type with a versioned replace, retrying when another writer changed them
+     * in between.
+     */
+    private void updateIndexEntry(String eventType, Consumer<Set<String>> change) {
+        boolean updated = false;
+        while (!updated) {
+            MetadataValue<String> entry = eventTypeIndexCache.getWithMetadata(eventType);
+            Set<String> ids = entry == null ? new LinkedHashSet<>() : split(entry.getValue());
+            change.accept(ids);
+            if (entry == null) {
+                updated = ids.isEmpty() || eventTypeIndexCache.withFlags(Flag.FORCE_RETURN_VALUE).putIfAbsent(eventType, String.join(EVENT_TYPES_SEPARATOR, ids)) == null;
+            } else if (ids.isEmpty()) {
+                updated = eventTypeIndexCache.removeWithVersion(eventType, entry.getVersion());
+            } else {
+                updated = eventTypeIndexCache.replaceWithVersion(eventType, String.join(EVENT_TYPES_SEPARATOR, ids), entry.getVersion());
+            }
+        }
+    }
+
+    /**
+     * Indexes, once, the instances stored before the event types index existed, so they keep receiving signals.
+     */
+    private void indexStoredInstances() {
+        if (indexed) {
+            return;
+        }
+        synchronized (this) {
+            if (indexed || eventTypesCache.containsKey(INDEXED_MARKER)) {
+                indexed = true;
+                return;
+            }
+            try (CloseableIterator<Map.Entry<Object, Object>> entries = cache.retrieveEntries(null, STREAM_BATCH_SIZE)) {
+                while (entries.hasNext()) {
+                    Map.Entry<Object, Object> entry = entries.next();
+                    String id = (String) entry.getKey();
+                    // read only instances are not connected, so their event listeners are not registered
+                    byte[] data = (byte[]) entry.getValue();
+                    ProcessInstance instance = unmarshall(data, ProcessInstanceReadMode.MUTABLE);
+                    Set<String> eventTypes = eventTypes(instance);
+                    ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> data));
+                    // an instance written in the meantime has already been indexed with its latest state
+                    if (eventTypesCache.withFlags(Flag.FORCE_RETURN_VALUE).putIfAbsent(id, String.join(EVENT_TYPES_SEPARATOR, eventTypes)) == null) {
+                        updateIndex(id, Collections.emptySet(), eventTypes);
+                    }
+                }
+            }
+            eventTypesCache.put(INDEXED_MARKER, "");
+            LOGGER.info("Indexed by event type the stored instances of process {}", process.id());
+            indexed = true;
+        }
+    }
+
+    private static Set<String> split(String eventTypes) {
+        if (eventTypes == null || eventTypes.isEmpty()) {
+            return new LinkedHashSet<>();
+        }
+        return new LinkedHashSet<>(Arrays.asList(eventTypes.split(EVENT_TYPES_SEPARATOR)));
+    }
+
+    private static Set<String> eventTypes(ProcessInstance instance) {
+        return ((AbstractProcessInstance<?>) instance).internalGetEventTypes();
     }
 
     protected String ignoreNullOrEmpty(String value) {
@@ -104,13 +275,60 @@ public class CacheProcessInstances implements MutableProcessInstances {
             } else {
                 cache.put(id, data);
             }
+            index(id, eventTypes(instance));
             Supplier<byte[]> supplier = () -> cache.get(id);
             ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
         }
     }
 
+    /**
+     * Stores the created and updated instances with one bulk put per cache, checking all the created ids
+     * for duplicates with a single bulk get.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void batch(List writes) {
+        Map<String, byte[]> data = new HashMap<>();
+        Map<String, Set<String>> eventTypes = new HashMap<>();
+        Set<String> createdIds = new HashSet<>();
+        Set<String> removedIds = new HashSet<>();
+        Map<String, ProcessInstance> written = new HashMap<>();
+        for (ProcessInstanceWrite<?> write : (List<ProcessInstanceWrite<?>>) writes) {
+            String id = write.id();
+            if (write.type() == ProcessInstanceWrite.Type.REMOVE) {
+                removedIds.add(id);
+            } else if (isActive(write.instance())) {
+                if (write.type() == ProcessInstanceWrite.Type.CREATE) {
+                    createdIds.add(id);
+                }
+                data.put(id, marshaller.marshallProcessInstance(write.instance()));
+                eventTypes.put(id, eventTypes(write.instance()));
+                written.put(id, write.instance());
+            }
+        }
+        if (!createdIds.isEmpty()) {
+            Set<String> duplicated = cache.getAll(createdIds).keySet();
+            if (!duplicated.isEmpty()) {
+                throw new ProcessInstanceDuplicatedException(duplicated.iterator().next());
+            }
+        }
+        if (!data.isEmpty()) {
+            cache.putAll(data);
+            eventTypes.forEach(this::index);
+        }
+        removedIds.forEach(this::remove);
+        written.forEach((id, instance) -> {
+            Supplier<byte[]> supplier = () -> cache.get(id);
+            ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
+        });
+    }
+
     @Override
     public boolean exists(String id) {
         return cache.containsKey(id);
     }
+
+    private ProcessInstance unmarshall(byte[] data, ProcessInstanceReadMode mode) {
+        return marshaller.unmarshallProcessInstance(data, process, mode);
+    }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.infinispan;
+
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.infinispan.client.hotrod.configuration.ClientIntelligence;
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
+import org.kie.kogito.process.bpmn2.AbstractProcessInstancesEventTypesTest;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.testcontainers.KogitoInfinispanContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+class CacheProcessInstancesEventTypesIT extends AbstractProcessInstancesEventTypesTest {
+
+    @Container
+    public KogitoInfinispanContainer container = new KogitoInfinispanContainer();
+    private RemoteCacheManager cacheManager;
+
+    @BeforeEach
+    void setup() {
+        ConfigurationBuilder builder = new ConfigurationBuilder();
+        builder
+                .addServer()
+                .host("127.0.0.1")
+                .port(container.getMappedPort())
+                .security()
+                .authentication()
+                .username("admin")
+                .password("admin")
+                .realm("default")
+                .serverName("infinispan")
+                .saslMechanism("PLAIN")
+                .clientIntelligence(ClientIntelligence.BASIC);
+
+        cacheManager = new RemoteCacheManager(builder.build());
+    }
+
+    @AfterEach
+    void close() {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+    }
+
+    @Override
+    protected void configure(BpmnProcess process) {
+        process.setProcessInstancesFactory(new KogitoProcessInstancesFactory(cacheManager) {
+        });
+        process.configure();
+    }
+
+    @Override
+    protected void dropEventTypesIndex(BpmnProcess process) {
+        cacheManager.getCache(process.id() + "_event_types").clear();
+        cacheManager.getCache(process.id() + "_event_type_index").clear();
+    }
+}
@@ -16,15 +16,20 @@
 package org.kie.kogito.infinispan;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.drools.core.io.impl.ClassPathResource;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.RemoteCacheManagerAdmin;
+import org.infinispan.commons.util.CloseableIteratorSetAdapter;
 import org.jbpm.process.instance.impl.Action;
 import org.jbpm.workflow.core.DroolsAction;
 import org.jbpm.workflow.core.WorkflowProcess;
@@ -52,6 +57,7 @@ import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STAT
 import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_COMPLETED;
 import static org.kie.kogito.internal.process.runtime.KogitoProcessInstance.STATE_ERROR;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.endsWith;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -68,7 +74,11 @@ public class MockCacheProcessInstancesTest {
         RemoteCache<Object, Object> cache = mock(RemoteCache.class);
 
         when(cacheManager.administration()).thenReturn(admin);
-        when(admin.getOrCreateCache(any(), (String) any())).thenReturn(cache);
+        when(admin.getOrCreateCache(endsWith("_store"), (String) any())).thenReturn(cache);
+        RemoteCache<Object, Object> eventTypesCache = flagAware(mock(RemoteCache.class));
+        RemoteCache<Object, Object> eventTypeIndexCache = flagAware(mock(RemoteCache.class));
+        when(admin.getOrCreateCache(endsWith("_event_types"), (String) any())).thenReturn(eventTypesCache);
+        when(admin.getOrCreateCache(endsWith("_event_type_index"), (String) any())).thenReturn(eventTypeIndexCache);
 
         when(cache.put(any(), any())).then(invocation -> {
             Object key = invocation.getArgument(0, Object.class);
@@ -89,6 +99,19 @@ public class MockCacheProcessInstancesTest {
             return mockCache.remove(key);
         });
         when(cache.size()).then(invocation -> mockCache.size());
+        when(cache.keySet()).then(invocation -> new CloseableIteratorSetAdapter<>(mockCache.keySet()));
+        when(cache.getAll(any())).then(invocation -> {
+            Map<Object, Object> found = new HashMap<>();
+            for (Object key : invocation.getArgument(0, Set.class)) {
+                found.put(key, mockCache.get(key));
+            }
+            return found;
+        });
+    }
+
+    private static RemoteCache<Object, Object> flagAware(RemoteCache<Object, Object> cache) {
+        when(cache.withFlags(any())).thenReturn(cache);
+        return cache;
     }
 
     @Test
@@ -193,6 +216,23 @@ public class MockCacheProcessInstancesTest {
         assertThat(loaded).isNotPresent();
     }
 
+    @Test
+    public void testValuesPage() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new CacheProcessInstancesFactory(cacheManager));
+        process.configure();
+        for (int i = 0; i < 5; i++) {
+            process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test" + i))).start();
+        }
+        List<String> ids = mockCache.keySet().stream().map(String.class::cast).sorted().collect(Collectors.toList());
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 0, 2)).extracting(ProcessInstance::id).containsExactly(ids.get(0), ids.get(1));
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 3, 10)).extracting(ProcessInstance::id).containsExactly(ids.get(3), ids.get(4));
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 5, 2)).isEmpty();
+        assertThat(instances.values(ProcessInstanceReadMode.READ_ONLY, 1, Integer.MAX_VALUE)).hasSize(4);
+    }
+
     @Test
     public void testBasicFlowWithErrorAndRetry() {
         testBasicFlowWithError((processInstance) -> {
@@ -41,6 +41,14 @@ public abstract class KogitoProcessInstancesFactory implements ProcessInstancesF
 
     @Override
     public JDBCProcessInstances createProcessInstances(Process<?> process) {
-        return new JDBCProcessInstances(process, dataSource, autoDDL);
+        return new JDBCProcessInstances(process, dataSource, autoDDL, deltaSnapshotInterval());
+    }
+
+    /**
+     * Number of updates of a process instance stored as deltas before it is written in full again, delta persistence
+     * is disabled when it is zero.
+     */
+    public int deltaSnapshotInterval() {
+        return 0;
     }
 }
@@ -22,25 +22,35 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceNotFoundException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstanceWrite;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.serialization.process.ProcessInstanceDeltaTracker;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
-
 public class JDBCProcessInstances implements MutableProcessInstances {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JDBCProcessInstances.class);
@@ -49,19 +59,48 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     private final ProcessInstanceMarshallerService marshaller;
     private final boolean autoDDL;
     private final DataSource dataSource;
+    private final ProcessInstanceDeltaTracker deltas;
+    private volatile boolean indexed;
+
+    private static final int STREAM_BATCH_SIZE = 100;
 
-    private static final String FIND_ALL = "SELECT payload FROM process_instances WHERE process_id = ?";
+    private static final String FIND_ALL = "SELECT id, payload FROM process_instances WHERE process_id = ?";
+    private static final String FIND_PAGE = "SELECT id, payload FROM process_instances WHERE process_id = ? ORDER BY id LIMIT ? OFFSET ?";
+    private static final String FIND_FIRST = "SELECT id, payload FROM process_instances WHERE process_id = ? ORDER BY id LIMIT ?";
+    private static final String FIND_AFTER = "SELECT id, payload FROM process_instances WHERE process_id = ? AND id > ? ORDER BY id LIMIT ?";
     private static final String FIND_BY_ID = "SELECT payload FROM process_instances WHERE id = ?";
-    private static final String INSERT = "INSERT INTO process_instances (id, payload, process_id) VALUES (?, ?, ?)";
-    private static final String UPDATE = "UPDATE process_instances SET payload = ? WHERE id = ?";
+    private static final String FIND_REVISION = "SELECT revision FROM process_instances WHERE id = ?";
+    private static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, event_types_indexed, revision) VALUES (?, ?, ?, true, ?)";
+    private static final String UPDATE = "UPDATE process_instances SET payload = ?, revision = ?, event_types_indexed = true WHERE id = ?";
+    private static final String UPDATE_REVISION = "UPDATE process_instances SET revision = ? WHERE id = ? AND revision = ?";
     private static final String DELETE = "DELETE FROM process_instances WHERE id = ?";
     private static final String COUNT = "SELECT COUNT(id) FROM process_instances WHERE process_id = ?";
+    private static final String FIND_BY_EVENT_TYPE = "SELECT id, payload FROM process_instances WHERE id IN " +
+            "(SELECT process_instance_id FROM process_instance_event_types WHERE process_id = ? AND event_type = ?)";
+    private static final String INSERT_EVENT_TYPE = "INSERT INTO process_instance_event_types (process_instance_id, process_id, event_type) VALUES (?, ?, ?)";
+    private static final String DELETE_EVENT_TYPES = "DELETE FROM process_instance_event_types WHERE process_instance_id = ?";
+    private static final String FIND_NOT_INDEXED = "SELECT id, payload FROM process_instances WHERE process_id = ? AND event_types_indexed IS NULL " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String SET_INDEXED = "UPDATE process_instances SET event_types_indexed = true WHERE id = ?";
+    private static final String INSERT_DELTA = "INSERT INTO process_instance_deltas (process_instance_id, sequence, payload) VALUES (?, ?, ?)";
+    private static final String DELETE_DELTAS = "DELETE FROM process_instance_deltas WHERE process_instance_id = ?";
+    private static final String FIND_DELTAS = "SELECT process_instance_id, payload FROM process_instance_deltas WHERE process_instance_id = ANY (?) " +
+            "ORDER BY process_instance_id, sequence";
 
     public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL) {
+        this(process, dataSource, autoDDL, 0);
+    }
+
+    /**
+     * @param deltaSnapshotInterval when positive, updates are inserted as deltas in the process_instance_deltas table
+     *        and the payload of the process instance is rewritten in full once that many deltas have been inserted
+     */
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean autoDDL, int deltaSnapshotInterval) {
         this.dataSource = dataSource;
         this.process = process;
         this.autoDDL = autoDDL;
         this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
+        this.deltas = new ProcessInstanceDeltaTracker(marshaller, deltaSnapshotInterval);
         init();
     }
 
@@ -135,18 +174,29 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     @Override
     public void create(String id, ProcessInstance instance) {
         if (isActive(instance)) {
-            insertInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+            byte[] payload = marshaller.marshallProcessInstance(instance);
+            ProcessInstanceDeltaTracker.Change change = deltas.snapshot(payload);
+            insertInternal(UUID.fromString(id), change, eventTypes(instance));
+            deltas.written(id, payload, change);
+            disconnect(instance, payload);
+        } else {
+            disconnect(instance);
         }
-        disconnect(instance);
     }
 
-    private void insertInternal(UUID id, byte[] payload) {
-        try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(INSERT)) {
-            statement.setObject(1, id);
-            statement.setBytes(2, payload);
-            statement.setString(3, process.id());
-            statement.executeUpdate();
+    private void insertInternal(UUID id, ProcessInstanceDeltaTracker.Change change, Collection<String> eventTypes) {
+        try (Connection connection = dataSource.getConnection()) {
+            executeInTransaction(connection, c -> {
+                try (PreparedStatement statement = c.prepareStatement(INSERT)) {
+                    statement.setObject(1, id);
+                    statement.setBytes(2, change.payload());
+                    statement.setString(3, process.id());
+                    statement.setString(4, change.revision());
+                    statement.executeUpdate();
+                }
+                insertEventTypes(c, id, eventTypes);
+                return null;
+            });
         } catch (Exception e) {
             throw uncheckedException(e, "Error inserting process instance %s", id);
         }
@@ -156,25 +206,131 @@ public class JDBCProcessInstances implements MutableProcessInstances {
     @Override
     public void update(String id, ProcessInstance instance) {
         if (isActive(instance)) {
-            updateInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+            byte[] payload = marshaller.marshallProcessInstance(instance);
+            ProcessInstanceDeltaTracker.Change change = deltas.change(id, payload);
+            try {
+                change = updateInternal(UUID.fromString(id), payload, change, eventTypes(instance));
+            } catch (RuntimeException e) {
+                deltas.forget(id);
+                throw e;
+            }
+            deltas.written(id, payload, change);
+            disconnect(instance, payload);
+        } else {
+            disconnect(instance);
         }
-        disconnect(instance);
     }
 
-    private void updateInternal(UUID id, byte[] payload) {
-        try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(UPDATE)) {
-            statement.setBytes(1, payload);
-            statement.setObject(2, id);
-            statement.executeUpdate();
+    /**
+     * Writes the given change, or the whole payload when the stored revision is no longer the one the delta was
+     * computed from because another writer changed the process instance in the meantime.
+     *
+     * @return the change actually written
+     */
+    private ProcessInstanceDeltaTracker.Change updateInternal(UUID id, byte[] payload, ProcessInstanceDeltaTracker.Change change, Collection<String> eventTypes) {
+        try (Connection connection = dataSource.getConnection()) {
+            return executeInTransaction(connection, c -> {
+                ProcessInstanceDeltaTracker.Change written = change;
+                if (!written.isSnapshot() && !updateRevision(c, id, written)) {
+                    LOGGER.debug("Process instance {} has been changed by another writer, writing it in full", id);
+                    written = deltas.snapshot(payload);
+                }
+                if (written.isSnapshot()) {
+                    // the deltas are dropped first so they are never applied to a payload they were not computed from
+                    if (deltas.isEnabled()) {
+                        deleteDeltas(c, id);
+                    }
+                    try (PreparedStatement statement = c.prepareStatement(UPDATE)) {
+                        statement.setBytes(1, written.payload());
+                        statement.setString(2, written.revision());
+                        statement.setObject(3, id);
+                        statement.executeUpdate();
+                    }
+                } else {
+                    try (PreparedStatement statement = c.prepareStatement(INSERT_DELTA)) {
+                        statement.setObject(1, id);
+                        statement.setInt(2, written.sequence());
+                        statement.setBytes(3, written.payload());
+                        statement.executeUpdate();
+                    }
+                }
+                deleteEventTypes(c, id);
+                insertEventTypes(c, id, eventTypes);
+                return written;
+            });
         } catch (Exception e) {
             throw uncheckedException(e, "Error updating process instance %s", id);
         }
+    }
+
+    /**
+     * Moves the stored revision from the base of the delta to its own revision, which only succeeds if the stored
+     * state is still the one the delta was computed from. The row stays locked until the transaction ends, so no
+     * other writer can change it in between.
+     */
+    private boolean updateRevision(Connection connection, UUID id, ProcessInstanceDeltaTracker.Change change) throws SQLException {
+        if (change.base() == null) {
+            return false;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE_REVISION)) {
+            statement.setString(1, change.revision());
+            statement.setObject(2, id);
+            statement.setString(3, change.base());
+            return statement.executeUpdate() == 1;
+        }
+    }
 
+    /**
+     * Runs the given statements in a single transaction, so the payload and the event types of a process instance
+     * are always written together.
+     */
+    private <R> R executeInTransaction(Connection connection, SQLWork<R> work) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            R result = work.execute(connection);
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void insertEventTypes(Connection connection, UUID id, Collection<String> eventTypes) throws SQLException {
+        if (eventTypes.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_EVENT_TYPE)) {
+            for (String eventType : eventTypes) {
+                statement.setObject(1, id);
+                statement.setString(2, process.id());
+                statement.setString(3, eventType);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private void deleteDeltas(Connection connection, UUID id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_DELTAS)) {
+            statement.setObject(1, id);
+            statement.executeUpdate();
+        }
+    }
+
+    private void deleteEventTypes(Connection connection, UUID id) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_EVENT_TYPES)) {
+            statement.setObject(1, id);
+            statement.executeUpdate();
+        }
     }
 
     @Override
     public void remove(String id) {
+        deltas.forget(id);
         deleteInternal(UUID.fromString(id));
     }
 
@@ -189,15 +345,224 @@ public class JDBCProcessInstances implements MutableProcessInstances {
 
     }
 
+    /**
+     * Sends the writes as JDBC batches, one per statement, over a single connection and transaction. The deltas are
+     * appended only to the process instances whose stored revision is still their base, the others are written in full.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public void batch(List writes) {
+        Map<ProcessInstance, byte[]> written = new LinkedHashMap<>();
+        Map<String, ProcessInstanceDeltaTracker.Change> changes = new LinkedHashMap<>();
+        Map<String, byte[]> guardedDeltas = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT);
+                    PreparedStatement update = connection.prepareStatement(UPDATE);
+                    PreparedStatement delete = connection.prepareStatement(DELETE);
+                    PreparedStatement deleteEventTypes = connection.prepareStatement(DELETE_EVENT_TYPES);
+                    PreparedStatement insertEventType = connection.prepareStatement(INSERT_EVENT_TYPE);
+                    PreparedStatement deleteDeltas = connection.prepareStatement(DELETE_DELTAS);
+                    PreparedStatement insertDelta = connection.prepareStatement(INSERT_DELTA);
+                    PreparedStatement updateRevision = connection.prepareStatement(UPDATE_REVISION)) {
+                for (ProcessInstanceWrite<?> write : (List<ProcessInstanceWrite<?>>) writes) {
+                    ProcessInstance instance = write.instance();
+                    UUID id = UUID.fromString(write.id());
+                    if (write.type() == ProcessInstanceWrite.Type.REMOVE) {
+                        deltas.forget(write.id());
+                        delete.setObject(1, id);
+                        delete.addBatch();
+                        continue;
+                    }
+                    if (!isActive(instance)) {
+                        written.put(instance, null);
+                        continue;
+                    }
+                    byte[] payload = marshaller.marshallProcessInstance(instance);
+                    if (write.type() == ProcessInstanceWrite.Type.CREATE) {
+                        ProcessInstanceDeltaTracker.Change change = deltas.snapshot(payload);
+                        insert.setObject(1, id);
+                        insert.setBytes(2, payload);
+                        insert.setString(3, process.id());
+                        insert.setString(4, change.revision());
+                        insert.addBatch();
+                        changes.put(write.id(), change);
+                    } else {
+                        ProcessInstanceDeltaTracker.Change change = deltas.change(write.id(), payload);
+                        if (!change.isSnapshot() && change.base() == null) {
+                            change = deltas.snapshot(payload);
+                        }
+                        if (change.isSnapshot()) {
+                            addSnapshot(update, deleteDeltas, id, change);
+                        } else {
+                            updateRevision.setString(1, change.revision());
+                            updateRevision.setObject(2, id);
+                            updateRevision.setString(3, change.base());
+                            updateRevision.addBatch();
+                            guardedDeltas.put(write.id(), payload);
+                        }
+                        changes.put(write.id(), change);
+                        deleteEventTypes.setObject(1, id);
+                        deleteEventTypes.addBatch();
+                    }
+                    for (String eventType : eventTypes(instance)) {
+                        insertEventType.setObject(1, id);
+                        insertEventType.setString(2, process.id());
+                        insertEventType.setString(3, eventType);
+                        insertEventType.addBatch();
+                    }
+                    written.put(instance, payload);
+                }
+                insert.executeBatch();
+                if (!guardedDeltas.isEmpty()) {
+                    int[] updated = updateRevision.executeBatch();
+                    int i = 0;
+                    for (Map.Entry<String, byte[]> entry : guardedDeltas.entrySet()) {
+                        UUID id = UUID.fromString(entry.getKey());
+                        if (updated[i++] == 1) {
+                            ProcessInstanceDeltaTracker.Change change = changes.get(entry.getKey());
+                            insertDelta.setObject(1, id);
+                            insertDelta.setInt(2, change.sequence());
+                            insertDelta.setBytes(3, change.payload());
+                            insertDelta.addBatch();
+                        } else {
+                            LOGGER.debug("Process instance {} has been changed by another writer, writing it in full", id);
+                            ProcessInstanceDeltaTracker.Change change = deltas.snapshot(entry.getValue());
+                            addSnapshot(update, deleteDeltas, id, change);
+                            changes.put(entry.getKey(), change);
+                        }
+                    }
+                }
+                if (deltas.isEnabled()) {
+                    deleteDeltas.executeBatch();
+                    insertDelta.executeBatch();
+                }
+                update.executeBatch();
+                deleteEventTypes.executeBatch();
+                insertEventType.executeBatch();
+                delete.executeBatch();
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (Exception e) {
+            changes.keySet().forEach(deltas::forget);
+            throw uncheckedException(e, "Error writing a batch of %s process instances, for processId %s", writes.size(), process.id());
+        }
+        written.forEach((instance, payload) -> {
+            if (payload == null) {
+                disconnect(instance);
+            } else {
+                deltas.written(instance.id(), payload, changes.get(instance.id()));
+                disconnect(instance, payload);
+            }
+        });
+    }
+
+    private void addSnapshot(PreparedStatement update, PreparedStatement deleteDeltas, UUID id, ProcessInstanceDeltaTracker.Change change) throws SQLException {
+        update.setBytes(1, change.payload());
+        update.setString(2, change.revision());
+        update.setObject(3, id);
+        update.addBatch();
+        // the deltas are dropped first so they are never applied to a payload they were not computed from
+        if (deltas.isEnabled()) {
+            deleteDeltas.setObject(1, id);
+            deleteDeltas.addBatch();
+        }
+    }
+
     @Override
     public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
-        return findByIdInternal(UUID.fromString(id)).map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process) : marshaller.unmarshallReadOnlyProcessInstance(b, process));
+        return findByIdInternal(UUID.fromString(id)).map(b -> unmarshall(b, mode));
     }
 
     @Override
     public Collection<ProcessInstance> values(ProcessInstanceReadMode mode) {
-        return findAllInternal().stream().map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process) : marshaller.unmarshallReadOnlyProcessInstance(b, process))
-                .collect(Collectors.toList());
+        return findAllInternal().stream().map(b -> unmarshall(b, mode)).collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<ProcessInstance> values(ProcessInstanceReadMode mode, int offset, int limit) {
+        return findPageInternal(offset, limit).stream().map(b -> unmarshall(b, mode)).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new PayloadIterator(), Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(b -> unmarshall(b, mode));
+    }
+
+    @Override
+    public Collection<ProcessInstance> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        indexStoredInstances();
+        return findByEventTypeInternal(eventType).stream().map(b -> unmarshall(b, mode)).collect(Collectors.toList());
+    }
+
+    /**
+     * Indexes, once per process, the instances stored before their event types were written, so they keep receiving
+     * signals. Rows locked by another node, either writing or indexing them, are left to it.
+     */
+    private void indexStoredInstances() {
+        if (indexed) {
+            return;
+        }
+        synchronized (this) {
+            if (indexed) {
+                return;
+            }
+            int count = 0;
+            try (Connection connection = dataSource.getConnection()) {
+                int batch;
+                do {
+                    batch = indexStoredInstancesBatch(connection);
+                    count += batch;
+                } while (batch == STREAM_BATCH_SIZE);
+            } catch (Exception e) {
+                throw uncheckedException(e, "Error indexing the stored process instances, for processId %s", process.id());
+            }
+            if (count > 0) {
+                LOGGER.info("Indexed by event type {} stored instances of process {}", count, process.id());
+            }
+            indexed = true;
+        }
+    }
+
+    private int indexStoredInstancesBatch(Connection connection) throws SQLException {
+        return executeInTransaction(connection, c -> {
+            Map<UUID, byte[]> payloads = new LinkedHashMap<>();
+            try (PreparedStatement statement = c.prepareStatement(FIND_NOT_INDEXED)) {
+                statement.setString(1, process.id());
+                statement.setInt(2, STREAM_BATCH_SIZE);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        payloads.put(resultSet.getObject("id", UUID.class), resultSet.getBytes("payload"));
+                    }
+                }
+            }
+            applyDeltas(c, payloads);
+            try (PreparedStatement statement = c.prepareStatement(SET_INDEXED)) {
+                for (Map.Entry<UUID, byte[]> entry : payloads.entrySet()) {
+                    // read only instances are not connected, so their event listeners are not registered
+                    ProcessInstance instance = unmarshall(entry.getValue(), ProcessInstanceReadMode.MUTABLE);
+                    Collection<String> eventTypes = eventTypes(instance);
+                    disconnect(instance, entry.getValue());
+                    deleteEventTypes(c, entry.getKey());
+                    insertEventTypes(c, entry.getKey(), eventTypes);
+                    statement.setObject(1, entry.getKey());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            return payloads.size();
+        });
+    }
+
+    private ProcessInstance unmarshall(byte[] payload, ProcessInstanceReadMode mode) {
+        return marshaller.unmarshallProcessInstance(payload, process, mode);
     }
 
     private Optional<byte[]> findByIdInternal(UUID id) {
@@ -206,7 +571,10 @@ public class JDBCProcessInstances implements MutableProcessInstances {
             statement.setObject(1, id);
             try (ResultSet resultSet = statement.executeQuery()) {
                 if (resultSet.next()) {
-                    return Optional.ofNullable(resultSet.getBytes("payload"));
+                    Map<UUID, byte[]> result = new LinkedHashMap<>();
+                    result.put(id, resultSet.getBytes("payload"));
+                    applyDeltas(connection, result);
+                    return Optional.ofNullable(result.get(id));
                 }
             }
         } catch (Exception e) {
@@ -215,22 +583,102 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         return Optional.empty();
     }
 
-    private List<byte[]> findAllInternal() {
-        List<byte[]> result = new ArrayList<>();
+    private Collection<byte[]> findAllInternal() {
+        Map<UUID, byte[]> result = new LinkedHashMap<>();
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(FIND_ALL)) {
             statement.setString(1, process.id());
             try (ResultSet resultSet = statement.executeQuery()) {
                 while (resultSet.next()) {
-                    result.add(resultSet.getBytes("payload"));
+                    result.put(resultSet.getObject("id", UUID.class), resultSet.getBytes("payload"));
                 }
             }
-            return result;
+            applyDeltas(connection, result);
+            return result.values();
         } catch (Exception e) {
             throw uncheckedException(e, "Error finding all process instances, for processId %s", process.id());
         }
     }
 
+    private Collection<byte[]> findPageInternal(int offset, int limit) {
+        Map<UUID, byte[]> result = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_PAGE)) {
+            statement.setString(1, process.id());
+            statement.setInt(2, limit);
+            statement.setInt(3, offset);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    result.put(resultSet.getObject("id", UUID.class), resultSet.getBytes("payload"));
+                }
+            }
+            applyDeltas(connection, result);
+            return result.values();
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding process instances page, for processId %s", process.id());
+        }
+    }
+
+    private Map<UUID, byte[]> findBatchInternal(UUID after, int limit) {
+        Map<UUID, byte[]> result = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(after == null ? FIND_FIRST : FIND_AFTER)) {
+            int index = 1;
+            statement.setString(index++, process.id());
+            if (after != null) {
+                statement.setObject(index++, after);
+            }
+            statement.setInt(index, limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    result.put(resultSet.getObject("id", UUID.class), resultSet.getBytes("payload"));
+                }
+            }
+            applyDeltas(connection, result);
+            return result;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error streaming process instances, for processId %s", process.id());
+        }
+    }
+
+    private Collection<byte[]> findByEventTypeInternal(String eventType) {
+        Map<UUID, byte[]> result = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_BY_EVENT_TYPE)) {
+            statement.setString(1, process.id());
+            statement.setString(2, eventType);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    result.put(resultSet.getObject("id", UUID.class), resultSet.getBytes("payload"));
+                }
+            }
+            applyDeltas(connection, result);
+            return result.values();
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding process instances waiting for event type %s, for processId %s", eventType, process.id());
+        }
+    }
+
+    /**
+     * Replaces the given payloads by the state obtained once their deltas are applied, when delta persistence is
+     * enabled. The deltas of all the process instances are fetched with a single query.
+     */
+    private void applyDeltas(Connection connection, Map<UUID, byte[]> payloads) throws SQLException {
+        if (!deltas.isEnabled() || payloads.isEmpty()) {
+            return;
+        }
+        Map<UUID, List<byte[]>> stored = new HashMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_DELTAS)) {
+            statement.setArray(1, connection.createArrayOf("uuid", payloads.keySet().toArray()));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    stored.computeIfAbsent(resultSet.getObject("process_instance_id", UUID.class), k -> new ArrayList<>()).add(resultSet.getBytes("payload"));
+                }
+            }
+        }
+        payloads.replaceAll((id, payload) -> marshaller.applyProcessInstanceDeltas(payload, stored.getOrDefault(id, Collections.emptyList())));
+    }
+
     @Override
     public Integer size() {
         return countInternal().intValue();
@@ -251,9 +699,88 @@ public class JDBCProcessInstances implements MutableProcessInstances {
         return 0l;
     }
 
+    private Collection<String> eventTypes(ProcessInstance instance) {
+        return ((AbstractProcessInstance<?>) instance).internalGetEventTypes();
+    }
+
     private void disconnect(ProcessInstance instance) {
-        Supplier<byte[]> supplier = () -> findByIdInternal(UUID.fromString(instance.id())).get();
-        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> reload(instance)));
+    }
+
+    /**
+     * Disconnects an instance that has just been written: within the unit of work that wrote it the instance is
+     * reloaded from the stored payload instead of reading it back from the database.
+     */
+    private void disconnect(ProcessInstance instance, byte[] payload) {
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(instance, payload, () -> reload(instance)));
+    }
+
+    /**
+     * Reads an instance back, reusing the state this node last wrote while the stored revision is still the one it
+     * wrote, which spares reading and applying its log of deltas.
+     */
+    private byte[] reload(ProcessInstance instance) {
+        if (deltas.isEnabled()) {
+            byte[] state = deltas.state(instance.id(), findRevision(UUID.fromString(instance.id())));
+            if (state != null) {
+                return state;
+            }
+        }
+        return read(instance);
+    }
+
+    private String findRevision(UUID id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_REVISION)) {
+            statement.setObject(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString("revision") : null;
+            }
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding the revision of process instance %s", id);
+        }
+    }
+
+    private byte[] read(ProcessInstance instance) {
+        return findByIdInternal(UUID.fromString(instance.id())).orElseThrow(() -> new ProcessInstanceNotFoundException(instance.id()));
+    }
+
+    /**
+     * Walks the process instances in id order, fetching one batch at a time (keyset pagination) so neither the
+     * whole result set nor a connection is held while the stream is consumed.
+     */
+    private class PayloadIterator implements Iterator<byte[]> {
+
+        private Iterator<byte[]> batch = Collections.emptyIterator();
+        private UUID lastId;
+        private boolean exhausted;
+
+        @Override
+        public boolean hasNext() {
+            if (!batch.hasNext() && !exhausted) {
+                Map<UUID, byte[]> next = findBatchInternal(lastId, STREAM_BATCH_SIZE);
+                exhausted = next.size() < STREAM_BATCH_SIZE;
+                for (UUID id : next.keySet()) {
+                    lastId = id;
+                }
+                batch = next.values().iterator();
+            }
+            return batch.hasNext();
+        }
+
+        @Override
+        public byte[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.next();
+        }
+    }
+
+    @FunctionalInterface
+    private interface SQLWork<R> {
+
+        R execute(Connection connection) throws SQLException;
     }
 
     private RuntimeException uncheckedException(Exception ex, String message, Object... param) {
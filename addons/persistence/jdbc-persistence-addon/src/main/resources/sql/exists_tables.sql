@@ -1,3 +1,11 @@
 SELECT EXISTS(
     SELECT FROM pg_tables WHERE tablename  = 'process_instances'
-    );
\ No newline at end of file
+    ) AND EXISTS(
+    SELECT FROM pg_tables WHERE tablename  = 'process_instance_event_types'
+    ) AND EXISTS(
+    SELECT FROM pg_tables WHERE tablename  = 'process_instance_deltas'
+    ) AND EXISTS(
+    SELECT FROM information_schema.columns WHERE table_name = 'process_instances' AND column_name = 'event_types_indexed'
+    ) AND EXISTS(
+    SELECT FROM information_schema.columns WHERE table_name = 'process_instances' AND column_name = 'revision'
+    ) AS "exists";
\ No newline at end of file
@@ -36,7 +36,14 @@ import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnProcessInstance;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.process.impl.DefaultWorkItemHandlerConfig;
+import org.kie.kogito.process.impl.StaticProcessConfig;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
 import org.kie.kogito.testcontainers.KogitoPostgreSqlContainer;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.postgresql.ds.PGSimpleDataSource;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
@@ -74,8 +81,12 @@ class JdbcProcessInstancesIT {
     }
 
     private BpmnProcess createProcess(ProcessConfig config, String fileName) {
+        return createProcess(config, fileName, 0);
+    }
+
+    private BpmnProcess createProcess(ProcessConfig config, String fileName, int deltaSnapshotInterval) {
         BpmnProcess process = BpmnProcess.from(config, new ClassPathResource(fileName)).get(0);
-        process.setProcessInstancesFactory(new JDBCProcessInstancesFactory(ds));
+        process.setProcessInstancesFactory(new JDBCProcessInstancesFactory(ds, deltaSnapshotInterval));
         process.configure();
         process.instances().values(ProcessInstanceReadMode.MUTABLE).forEach(p -> p.abort());
         return process;
@@ -151,6 +162,35 @@ class JdbcProcessInstancesIT {
         assertThat(process.instances().values()).isEmpty();
     }
 
+    @Test
+    void testDeltaNotAppendedToStateWrittenByAnotherNode() {
+        UnitOfWorkManager uowManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        ProcessConfig config = new StaticProcessConfig(new DefaultWorkItemHandlerConfig(), new DefaultProcessEventListenerConfig(), uowManager, null);
+        BpmnProcess nodeA = createProcess(config, "BPMN2-UserTask.bpmn2", 10);
+        BpmnProcess nodeB = createProcess(null, "BPMN2-UserTask.bpmn2", 10);
+
+        ProcessInstance<BpmnVariables> processInstance = nodeA.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "a1")));
+
+        UnitOfWork uow = uowManager.newUnitOfWork();
+        uow.start();
+        ProcessInstance<BpmnVariables> onNodeA = nodeA.instances().findById(processInstance.id()).get();
+        onNodeA.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "a2")));
+        // node B writes the instance while node A still holds the state it read
+        ProcessInstance<BpmnVariables> onNodeB = nodeB.instances().findById(processInstance.id()).get();
+        onNodeB.updateVariables(BpmnVariables.create(Collections.singletonMap("other", "b")));
+        uow.end();
+
+        // the delta node A computed from its own last write must not be applied to the state node B wrote:
+        // the instance is written in full instead, so the stored state is the last one written, as without deltas
+        assertThat(nodeB.instances().findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY).get().variables().toMap())
+                .containsEntry("test", "a2")
+                .doesNotContainKey("other");
+
+        nodeA.instances().values(ProcessInstanceReadMode.MUTABLE).forEach(ProcessInstance::abort);
+    }
+
     @Test
     void testException() {
         BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask-Script.bpmn2")).get(0);
@@ -166,8 +206,20 @@ class JdbcProcessInstancesIT {
 
     private class JDBCProcessInstancesFactory extends KogitoProcessInstancesFactory {
 
+        private final int deltaSnapshotInterval;
+
         public JDBCProcessInstancesFactory(DataSource dataSource) {
+            this(dataSource, 0);
+        }
+
+        public JDBCProcessInstancesFactory(DataSource dataSource, int deltaSnapshotInterval) {
             super(dataSource, true);
+            this.deltaSnapshotInterval = deltaSnapshotInterval;
+        }
+
+        @Override
+        public int deltaSnapshotInterval() {
+            return deltaSnapshotInterval;
         }
 
         @Override
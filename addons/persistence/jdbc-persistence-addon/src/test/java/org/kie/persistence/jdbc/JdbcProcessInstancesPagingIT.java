@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.jdbc;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
+import org.kie.kogito.process.bpmn2.AbstractProcessInstancesPagingTest;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.testcontainers.KogitoPostgreSqlContainer;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+class JdbcProcessInstancesPagingIT extends AbstractProcessInstancesPagingTest {
+
+    @Container
+    final static KogitoPostgreSqlContainer container = new KogitoPostgreSqlContainer();
+    private static PGSimpleDataSource ds;
+
+    @BeforeAll
+    public static void startContainerAndPublicPortIsAvailable() {
+        container.start();
+        ds = new PGSimpleDataSource();
+        ds.setUrl(container.getJdbcUrl());
+        ds.setUser(container.getUsername());
+        ds.setPassword(container.getPassword());
+    }
+
+    @AfterAll
+    public static void close() {
+        container.stop();
+    }
+
+    @Override
+    protected void configure(BpmnProcess process) {
+        process.setProcessInstancesFactory(new KogitoProcessInstancesFactory(ds, true) {
+        });
+        process.configure();
+    }
+}
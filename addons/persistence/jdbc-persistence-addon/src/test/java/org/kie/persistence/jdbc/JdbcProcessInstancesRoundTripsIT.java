@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.jdbc;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
+import org.kie.kogito.process.bpmn2.AbstractProcessInstancesRoundTripsTest;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.testcontainers.KogitoPostgreSqlContainer;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+class JdbcProcessInstancesRoundTripsIT extends AbstractProcessInstancesRoundTripsTest {
+
+    private static final String FIND_BY_ID = "SELECT payload FROM process_instances WHERE id = ?";
+
+    @Container
+    final static KogitoPostgreSqlContainer container = new KogitoPostgreSqlContainer();
+    private static DataSource ds;
+
+    private static final AtomicLong statements = new AtomicLong();
+    private static final AtomicLong readsById = new AtomicLong();
+
+    @BeforeAll
+    public static void startContainerAndPublicPortIsAvailable() {
+        container.start();
+        PGSimpleDataSource pgDataSource = new PGSimpleDataSource();
+        pgDataSource.setUrl(container.getJdbcUrl());
+        pgDataSource.setUser(container.getUsername());
+        pgDataSource.setPassword(container.getPassword());
+        ds = countingDataSource(pgDataSource);
+    }
+
+    @AfterAll
+    public static void close() {
+        container.stop();
+    }
+
+    @Override
+    protected void configure(BpmnProcess process) {
+        process.setProcessInstancesFactory(new KogitoProcessInstancesFactory(ds, true) {
+        });
+        process.configure();
+    }
+
+    @Override
+    protected long roundTrips() {
+        return statements.get();
+    }
+
+    @Override
+    protected long readsById() {
+        return readsById.get();
+    }
+
+    private static DataSource countingDataSource(DataSource delegate) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+            Object result = invoke(delegate, method, args);
+            if (result instanceof Connection) {
+                return countingConnection((Connection) result);
+            }
+            return result;
+        });
+    }
+
+    private static Connection countingConnection(Connection delegate) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+            if (method.getName().startsWith("prepare")) {
+                statements.incrementAndGet();
+                if (FIND_BY_ID.equals(args[0])) {
+                    readsById.incrementAndGet();
+                }
+            }
+            return invoke(delegate, method, args);
+        });
+    }
+
+    private static Object invoke(Object delegate, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
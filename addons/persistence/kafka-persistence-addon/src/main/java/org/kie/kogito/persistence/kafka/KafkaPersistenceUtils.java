@@ -33,6 +33,10 @@ public class KafkaPersistenceUtils {
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaPersistenceUtils.class);
     private static final String TOPIC = "kogito.process.%s";
     private static final String STORE = "kogito-%s-store";
+    private static final String EVENT_TYPES_TOPIC = "kogito.process.%s.event-types";
+    private static final String EVENT_TYPES_STORE = "kogito-%s-event-types-store";
+    private static final String EVENT_TYPE_INDEX_TOPIC = "kogito.process.%s.event-type-index";
+    private static final String EVENT_TYPE_INDEX_STORE = "kogito-%s-event-type-index-store";
 
     private KafkaPersistenceUtils() {
     }
@@ -45,12 +49,34 @@ public class KafkaPersistenceUtils {
         return format(STORE, processId);
     }
 
+    public static String eventTypesTopicName(String processId) {
+        return format(EVENT_TYPES_TOPIC, processId);
+    }
+
+    public static String eventTypesStoreName(String processId) {
+        return format(EVENT_TYPES_STORE, processId);
+    }
+
+    public static String eventTypeIndexTopicName(String processId) {
+        return format(EVENT_TYPE_INDEX_TOPIC, processId);
+    }
+
+    public static String eventTypeIndexStoreName(String processId) {
+        return format(EVENT_TYPE_INDEX_STORE, processId);
+    }
+
     public static Topology createTopologyForProcesses(List<String> processes) {
         StreamsBuilder builder = new StreamsBuilder();
         processes.forEach(p -> {
             builder.globalTable(topicName(p), Materialized.<String, byte[], KeyValueStore<Bytes, byte[]>> as(storeName(p))
                     .withKeySerde(Serdes.String())
                     .withValueSerde(Serdes.ByteArray()));
+            builder.globalTable(eventTypesTopicName(p), Materialized.<String, byte[], KeyValueStore<Bytes, byte[]>> as(eventTypesStoreName(p))
+                    .withKeySerde(Serdes.String())
+                    .withValueSerde(Serdes.ByteArray()));
+            builder.globalTable(eventTypeIndexTopicName(p), Materialized.<String, byte[], KeyValueStore<Bytes, byte[]>> as(eventTypeIndexStoreName(p))
+                    .withKeySerde(Serdes.String())
+                    .withValueSerde(Serdes.ByteArray()));
             LOGGER.info("Created Kafka Stream GlobalTable for process {}", p);
         });
         return builder.build();
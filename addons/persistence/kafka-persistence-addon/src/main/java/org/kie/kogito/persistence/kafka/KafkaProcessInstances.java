@@ -15,16 +15,28 @@
  */
 package org.kie.kogito.persistence.kafka;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.streams.KeyValue;
 import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.kie.kogito.process.MutableProcessInstances;
@@ -37,23 +49,37 @@ import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.eventTypeIndexTopicName;
+import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.eventTypesTopicName;
 import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.topicName;
-import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
 
 public class KafkaProcessInstances implements MutableProcessInstances {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(KafkaProcessInstances.class);
+    private static final String EVENT_TYPES_SEPARATOR = "\n";
+    // index keys are the event type followed by the process instance id, so the instances waiting for an event
+    // type are a contiguous range of the index store
+    private static final char INDEX_KEY_SEPARATOR = '\u0000';
+    // written to the event types topic once the instances stored before it existed have been indexed
+    private static final String INDEXED_MARKER = INDEX_KEY_SEPARATOR + "indexed";
 
     private Process<?> process;
     private KafkaProducer<String, byte[]> producer;
     private String topic;
+    private String eventTypesTopic;
+    private String eventTypeIndexTopic;
     private ReadOnlyKeyValueStore<String, byte[]> store;
+    private ReadOnlyKeyValueStore<String, byte[]> eventTypesStore;
+    private ReadOnlyKeyValueStore<String, byte[]> eventTypeIndexStore;
+    private volatile boolean indexed;
     private ProcessInstanceMarshallerService marshaller;
     private CountDownLatch latch = new CountDownLatch(1);
 
     public KafkaProcessInstances(Process<?> process, KafkaProducer<String, byte[]> producer) {
         this.process = process;
         this.topic = topicName(process.id());
+        this.eventTypesTopic = eventTypesTopicName(process.id());
+        this.eventTypeIndexTopic = eventTypeIndexTopicName(process.id());
         this.producer = producer;
         setMarshaller(ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build());
     }
@@ -75,6 +101,14 @@ public class KafkaProcessInstances implements MutableProcessInstances {
         this.latch.countDown();
     }
 
+    protected void setEventTypesStore(ReadOnlyKeyValueStore<String, byte[]> eventTypesStore) {
+        this.eventTypesStore = eventTypesStore;
+    }
+
+    protected void setEventTypeIndexStore(ReadOnlyKeyValueStore<String, byte[]> eventTypeIndexStore) {
+        this.eventTypeIndexStore = eventTypeIndexStore;
+    }
+
     private ReadOnlyKeyValueStore<String, byte[]> getStoreAwait() {
         try {
             if (latch.await(1, TimeUnit.MINUTES)) {
@@ -108,8 +142,11 @@ public class KafkaProcessInstances implements MutableProcessInstances {
             }
             byte[] data = marshaller.marshallProcessInstance(instance);
             try {
-                producer.send(new ProducerRecord<>(topic, id, data)).get();
-                disconnect(instance);
+                List<Future<RecordMetadata>> sent = new ArrayList<>();
+                sent.add(producer.send(new ProducerRecord<>(topic, id, data)));
+                sent.addAll(sendEventTypes(id, eventTypes(instance)));
+                awaitSent(sent);
+                disconnect(instance, data);
             } catch (Exception e) {
                 throw new RuntimeException("Unable to persist process instance id: " + id, e);
             }
@@ -121,8 +158,11 @@ public class KafkaProcessInstances implements MutableProcessInstances {
         if (isActive(instance)) {
             byte[] data = marshaller.marshallProcessInstance(instance);
             try {
-                producer.send(new ProducerRecord<>(topic, id, data)).get();
-                disconnect(instance);
+                List<Future<RecordMetadata>> sent = new ArrayList<>();
+                sent.add(producer.send(new ProducerRecord<>(topic, id, data)));
+                sent.addAll(sendEventTypes(id, eventTypes(instance)));
+                awaitSent(sent);
+                disconnect(instance, data);
             } catch (Exception e) {
                 throw new RuntimeException("Unable to update process instance id: " + id, e);
             }
@@ -132,7 +172,10 @@ public class KafkaProcessInstances implements MutableProcessInstances {
     @Override
     public void remove(String id) {
         try {
-            producer.send(new ProducerRecord<>(topic, id, null)).get();
+            List<Future<RecordMetadata>> sent = new ArrayList<>();
+            sent.add(producer.send(new ProducerRecord<>(topic, id, null)));
+            sent.addAll(sendEventTypes(id, null));
+            awaitSent(sent);
         } catch (Exception e) {
             throw new RuntimeException("Unable to remove process instance id: " + id, e);
         }
@@ -145,7 +188,7 @@ public class KafkaProcessInstances implements MutableProcessInstances {
             return Optional.empty();
         }
 
-        return Optional.of(mode == MUTABLE ? marshaller.unmarshallProcessInstance(data, process) : marshaller.unmarshallReadOnlyProcessInstance(data, process));
+        return Optional.of(unmarshall(data, mode));
     }
 
     @Override
@@ -153,7 +196,25 @@ public class KafkaProcessInstances implements MutableProcessInstances {
         final List<ProcessInstance> instances = new ArrayList<>();
         try (final KeyValueIterator<String, byte[]> iterator = getStore().all()) {
             while (iterator.hasNext()) {
-                instances.add(mode == MUTABLE ? marshaller.unmarshallProcessInstance(iterator.next().value, process) : marshaller.unmarshallReadOnlyProcessInstance(iterator.next().value, process));
+                instances.add(unmarshall(iterator.next().value, mode));
+            }
+            return instances;
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to read process instances ", e);
+        }
+    }
+
+    @Override
+    public Collection<ProcessInstance> values(ProcessInstanceReadMode mode, int offset, int limit) {
+        // the store iterates in key order so only the requested page is unmarshalled
+        final List<ProcessInstance> instances = new ArrayList<>();
+        try (final KeyValueIterator<String, byte[]> iterator = getStore().all()) {
+            int position = 0;
+            while (iterator.hasNext() && instances.size() < limit) {
+                KeyValue<String, byte[]> entry = iterator.next();
+                if (position++ >= offset) {
+                    instances.add(unmarshall(entry.value, mode));
+                }
             }
             return instances;
         } catch (Exception e) {
@@ -161,13 +222,133 @@ public class KafkaProcessInstances implements MutableProcessInstances {
         }
     }
 
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        final KeyValueIterator<String, byte[]> iterator = getStore().all();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(entry -> unmarshall(entry.value, mode))
+                .onClose(iterator::close);
+    }
+
+    @Override
+    public Collection<ProcessInstance> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        ReadOnlyKeyValueStore<String, byte[]> processInstancesStore = getStore();
+        if (eventTypesStore == null || eventTypeIndexStore == null || indexStoredInstances()) {
+            // the index records just sent for the instances stored before it existed are not visible yet
+            return MutableProcessInstances.super.waitingForEventType(eventType, mode);
+        }
+        final List<ProcessInstance> instances = new ArrayList<>();
+        try (final KeyValueIterator<String, byte[]> iterator = eventTypeIndexStore.range(indexKey(eventType, ""), eventType + (char) (INDEX_KEY_SEPARATOR + 1))) {
+            while (iterator.hasNext()) {
+                byte[] data = processInstancesStore.get(new String(iterator.next().value, StandardCharsets.UTF_8));
+                if (data != null) {
+                    instances.add(unmarshall(data, mode));
+                }
+            }
+            return instances;
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to read process instances waiting for event type " + eventType, e);
+        }
+    }
+
+    /**
+     * Indexes, once, the instances stored before the event types index existed, so they keep receiving signals.
+     *
+     * @return true when instances have been indexed by this call
+     */
+    private boolean indexStoredInstances() {
+        if (indexed) {
+            return false;
+        }
+        synchronized (this) {
+            if (indexed || eventTypesStore.get(INDEXED_MARKER) != null) {
+                indexed = true;
+                return false;
+            }
+            try (final KeyValueIterator<String, byte[]> iterator = getStore().all()) {
+                List<Future<RecordMetadata>> sent = new ArrayList<>();
+                while (iterator.hasNext()) {
+                    KeyValue<String, byte[]> entry = iterator.next();
+                    if (eventTypesStore.get(entry.key) == null) {
+                        sent.addAll(sendEventTypes(entry.key, unmarshalledEventTypes(entry.value)));
+                    }
+                }
+                sent.add(producer.send(new ProducerRecord<>(eventTypesTopic, INDEXED_MARKER, new byte[0])));
+                awaitSent(sent);
+            } catch (Exception e) {
+                throw new RuntimeException("Unable to index the stored instances of process " + process.id(), e);
+            }
+            LOGGER.info("Indexed by event type the stored instances of process {}", process.id());
+            indexed = true;
+            return true;
+        }
+    }
+
+    protected ProcessInstance unmarshall(byte[] data, ProcessInstanceReadMode mode) {
+        return marshaller.unmarshallProcessInstance(data, process, mode);
+    }
+
     @Override
     public Integer size() {
         return (int) getStore().approximateNumEntries();
     }
 
-    protected void disconnect(ProcessInstance instance) {
-        Supplier<byte[]> supplier = () -> getStore().get(instance.id());
+    private Set<String> unmarshalledEventTypes(byte[] data) {
+        // read only instances are not connected, so their event listeners are not registered
+        ProcessInstance instance = unmarshall(data, ProcessInstanceReadMode.MUTABLE);
+        Set<String> eventTypes = eventTypes(instance);
+        disconnect(instance, data);
+        return eventTypes;
+    }
+
+    protected Set<String> eventTypes(ProcessInstance instance) {
+        return ((AbstractProcessInstance<?>) instance).internalGetEventTypes();
+    }
+
+    /**
+     * Sends the event types of a process instance, null when it is removed, and the index records of the event
+     * types it started or stopped waiting for. The previous event types are read from the store, which may lag
+     * behind the latest write: an index record left behind only makes a signal load an instance that ignores it.
+     */
+    private List<Future<RecordMetadata>> sendEventTypes(String id, Set<String> eventTypes) {
+        Set<String> previous = storedEventTypes(id);
+        Set<String> current = eventTypes == null ? Collections.emptySet() : eventTypes;
+        List<Future<RecordMetadata>> sent = new ArrayList<>();
+        sent.add(producer.send(new ProducerRecord<>(eventTypesTopic, id, eventTypes == null ? null : String.join(EVENT_TYPES_SEPARATOR, current).getBytes(StandardCharsets.UTF_8))));
+        for (String eventType : previous) {
+            if (!current.contains(eventType)) {
+                sent.add(producer.send(new ProducerRecord<>(eventTypeIndexTopic, indexKey(eventType, id), null)));
+            }
+        }
+        for (String eventType : current) {
+            if (!previous.contains(eventType)) {
+                sent.add(producer.send(new ProducerRecord<>(eventTypeIndexTopic, indexKey(eventType, id), id.getBytes(StandardCharsets.UTF_8))));
+            }
+        }
+        return sent;
+    }
+
+    private Set<String> storedEventTypes(String id) {
+        byte[] stored = eventTypesStore == null ? null : eventTypesStore.get(id);
+        if (stored == null || stored.length == 0) {
+            return Collections.emptySet();
+        }
+        return new LinkedHashSet<>(Arrays.asList(new String(stored, StandardCharsets.UTF_8).split(EVENT_TYPES_SEPARATOR)));
+    }
+
+    private static String indexKey(String eventType, String id) {
+        return eventType + INDEX_KEY_SEPARATOR + id;
+    }
+
+    private static void awaitSent(List<Future<RecordMetadata>> sent) throws Exception {
+        for (Future<RecordMetadata> future : sent) {
+            future.get();
+        }
+    }
+
+    protected void disconnect(ProcessInstance instance, byte[] data) {
+        // the store is only eventually updated from the topic, so reload from the record just sent
+        Supplier<byte[]> supplier = () -> data;
         ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
     }
 }
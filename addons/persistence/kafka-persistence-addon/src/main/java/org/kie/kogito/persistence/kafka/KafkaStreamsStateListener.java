@@ -30,6 +30,8 @@ import org.apache.kafka.streams.state.QueryableStoreTypes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.eventTypeIndexStoreName;
+import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.eventTypesStoreName;
 import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.storeName;
 
 @ApplicationScoped
@@ -72,6 +74,8 @@ public class KafkaStreamsStateListener implements KafkaStreams.StateListener {
     }
 
     private void setStore(KafkaProcessInstances pi) {
+        pi.setEventTypeIndexStore(streams.store(StoreQueryParameters.fromNameAndType(eventTypeIndexStoreName(pi.getProcess().id()), QueryableStoreTypes.keyValueStore())));
+        pi.setEventTypesStore(streams.store(StoreQueryParameters.fromNameAndType(eventTypesStoreName(pi.getProcess().id()), QueryableStoreTypes.keyValueStore())));
         pi.setStore(streams.store(StoreQueryParameters.fromNameAndType(storeName(pi.getProcess().id()), QueryableStoreTypes.keyValueStore())));
     }
 
@@ -44,6 +44,6 @@ public class KafkaPersistenceUtilsTest {
         assertThat(topology.describe().globalStores()).isEmpty();
 
         topology = createTopologyForProcesses(singletonList("aProcess"));
-        assertThat(topology.describe().globalStores()).hasSize(1);
+        assertThat(topology.describe().globalStores()).hasSize(3);
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.persistence.kafka;
+
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.StreamsConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
+import org.kie.kogito.process.bpmn2.AbstractProcessInstancesEventTypesTest;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.testcontainers.KogitoKafkaContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static java.util.Collections.singletonMap;
+import static org.awaitility.Awaitility.await;
+import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.createTopologyForProcesses;
+
+@Testcontainers
+public class KafkaProcessInstancesEventTypesIT extends AbstractProcessInstancesEventTypesTest {
+
+    @Container
+    KogitoKafkaContainer kafka = new KogitoKafkaContainer();
+
+    KogitoProcessInstancesFactory factory;
+
+    KafkaStreamsStateListener listener = new KafkaStreamsStateListener();
+
+    @BeforeEach
+    void start() {
+        factory = new KogitoProcessInstancesFactory() {
+        };
+        factory.setKafkaConfig(singletonMap(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers()));
+        factory.setStateListener(listener);
+    }
+
+    @AfterEach
+    void stop() {
+        if (factory != null) {
+            factory.stop();
+        }
+        if (listener.getKafkaStreams() != null) {
+            listener.getKafkaStreams().close();
+            listener.getKafkaStreams().cleanUp();
+        }
+    }
+
+    @Override
+    protected void configure(BpmnProcess process) {
+        Properties properties = new Properties();
+        properties.put(StreamsConfig.APPLICATION_ID_CONFIG, "kogito");
+        properties.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers());
+        KafkaStreams streams = new KafkaStreams(createTopologyForProcesses(Arrays.asList(process.id())), properties);
+        streams.cleanUp();
+        listener.setKafkaStreams(streams);
+        process.setProcessInstancesFactory(factory);
+        process.configure();
+        streams.start();
+    }
+
+    @Override
+    protected void awaitStored(Runnable assertion) {
+        await().untilAsserted(assertion::run);
+    }
+}
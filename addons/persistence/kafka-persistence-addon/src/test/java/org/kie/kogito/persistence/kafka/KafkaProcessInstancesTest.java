@@ -16,10 +16,16 @@
 
 package org.kie.kogito.persistence.kafka;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
@@ -41,12 +47,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.eventTypeIndexTopicName;
+import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.eventTypesTopicName;
 import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.topicName;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -102,10 +112,13 @@ public class KafkaProcessInstancesTest {
         instances.remove(id);
 
         ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
-        verify(producer).send(captor.capture());
-        assertThat(captor.getValue().value()).isNull();
-        assertThat(captor.getValue().key()).isEqualTo(id);
-        assertThat(captor.getValue().topic()).isEqualTo(topicName(process.id()));
+        verify(producer, times(2)).send(captor.capture());
+        assertThat(captor.getAllValues().get(0).value()).isNull();
+        assertThat(captor.getAllValues().get(0).key()).isEqualTo(id);
+        assertThat(captor.getAllValues().get(0).topic()).isEqualTo(topicName(process.id()));
+        assertThat(captor.getAllValues().get(1).value()).isNull();
+        assertThat(captor.getAllValues().get(1).key()).isEqualTo(id);
+        assertThat(captor.getAllValues().get(1).topic()).isEqualTo(eventTypesTopicName(process.id()));
     }
 
     @Test
@@ -118,24 +131,24 @@ public class KafkaProcessInstancesTest {
 
     @Test
     public void testProcessInstancesFindById() {
-        doReturn(mock(ProcessInstance.class)).when(marshaller).unmarshallProcessInstance(any(), any());
+        doReturn(mock(ProcessInstance.class)).when(marshaller).unmarshallProcessInstance(any(), any(), eq(ProcessInstanceReadMode.MUTABLE));
 
         doReturn(new byte[] {}).when(store).get(id);
 
         assertThat(instances.findById(id)).isPresent();
         assertThat(instances.findById(UUID.randomUUID().toString())).isNotPresent();
-        verify(marshaller).unmarshallProcessInstance(any(), any());
+        verify(marshaller).unmarshallProcessInstance(any(), any(), eq(ProcessInstanceReadMode.MUTABLE));
     }
 
     @Test
     public void testProcessInstancesFindByIdReadOnly() {
-        doReturn(mock(ProcessInstance.class)).when(marshaller).unmarshallReadOnlyProcessInstance(any(), any());
+        doReturn(mock(ProcessInstance.class)).when(marshaller).unmarshallProcessInstance(any(), any(), eq(ProcessInstanceReadMode.READ_ONLY));
 
         doReturn(new byte[] {}).when(store).get(id);
 
         assertThat(instances.findById(id, ProcessInstanceReadMode.READ_ONLY)).isPresent();
         assertThat(instances.findById(UUID.randomUUID().toString(), ProcessInstanceReadMode.READ_ONLY)).isNotPresent();
-        verify(marshaller).unmarshallReadOnlyProcessInstance(any(), any());
+        verify(marshaller).unmarshallProcessInstance(any(), any(), eq(ProcessInstanceReadMode.READ_ONLY));
     }
 
     @Test
@@ -146,7 +159,7 @@ public class KafkaProcessInstancesTest {
         doReturn(iterator).when(store).all();
 
         assertThat(instances.values()).hasSize(1);
-        verify(marshaller).unmarshallReadOnlyProcessInstance(any(), any());
+        verify(marshaller).unmarshallProcessInstance(any(), any(), eq(ProcessInstanceReadMode.READ_ONLY));
     }
 
     @Test
@@ -157,7 +170,53 @@ public class KafkaProcessInstancesTest {
         doReturn(iterator).when(store).all();
 
         assertThat(instances.values(ProcessInstanceReadMode.MUTABLE)).hasSize(1);
-        verify(marshaller).unmarshallProcessInstance(any(), any());
+        verify(marshaller).unmarshallProcessInstance(any(), any(), eq(ProcessInstanceReadMode.MUTABLE));
+    }
+
+    @Test
+    public void testProcessInstancesValuesPage() {
+        KeyValueIterator iterator = mock(KeyValueIterator.class);
+        when(iterator.hasNext()).thenReturn(true);
+        when(iterator.next()).thenReturn(mock(KeyValue.class));
+        doReturn(iterator).when(store).all();
+
+        assertThat(instances.values(ProcessInstanceReadMode.VARIABLES_ONLY, 2, 3)).hasSize(3);
+        verify(iterator, times(5)).next();
+        verify(iterator).close();
+        verify(marshaller, times(3)).unmarshallProcessInstance(any(), any(), eq(ProcessInstanceReadMode.VARIABLES_ONLY));
+    }
+
+    @Test
+    public void testProcessInstancesStream() {
+        Iterator<KeyValue<String, byte[]>> entries = Arrays.asList(KeyValue.pair("1", new byte[] {}), KeyValue.pair("2", new byte[] {})).iterator();
+        AtomicBoolean closed = new AtomicBoolean();
+        doReturn(new KeyValueIterator<String, byte[]>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public KeyValue<String, byte[]> next() {
+                return entries.next();
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+
+            @Override
+            public String peekNextKey() {
+                throw new UnsupportedOperationException();
+            }
+        }).when(store).all();
+
+        try (Stream<ProcessInstance> stream = instances.stream(ProcessInstanceReadMode.VARIABLES_ONLY)) {
+            assertThat(stream.count()).isEqualTo(2);
+        }
+        assertThat(closed).isTrue();
+        verify(marshaller, times(2)).unmarshallProcessInstance(any(), any(), eq(ProcessInstanceReadMode.VARIABLES_ONLY));
     }
 
     @Test
@@ -177,15 +236,91 @@ public class KafkaProcessInstancesTest {
         instances.update(id, instance);
 
         ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
-        verify(producer).send(captor.capture());
-        assertThat(captor.getValue().value()).isEqualTo(new byte[] {});
-        assertThat(captor.getValue().key()).isEqualTo(id);
-        assertThat(captor.getValue().topic()).isEqualTo(topicName(process.id()));
+        verify(producer, times(2)).send(captor.capture());
+        assertThat(captor.getAllValues().get(0).value()).isEqualTo(new byte[] {});
+        assertThat(captor.getAllValues().get(0).key()).isEqualTo(id);
+        assertThat(captor.getAllValues().get(0).topic()).isEqualTo(topicName(process.id()));
+        assertThat(captor.getAllValues().get(1).key()).isEqualTo(id);
+        assertThat(captor.getAllValues().get(1).topic()).isEqualTo(eventTypesTopicName(process.id()));
 
         verify(instance).internalRemoveProcessInstance(any());
         verify(marshaller).createdReloadFunction(any());
     }
 
+    @Test
+    public void testProcessInstancesUpdateIndexesChangedEventTypes() {
+        ReadOnlyKeyValueStore<String, byte[]> eventTypesStore = mock(ReadOnlyKeyValueStore.class);
+        instances.setEventTypesStore(eventTypesStore);
+        doReturn("A\nB".getBytes(StandardCharsets.UTF_8)).when(eventTypesStore).get(id);
+        doReturn(mock(Future.class)).when(producer).send(any());
+        AbstractProcessInstance instance = mock(AbstractProcessInstance.class);
+        doReturn(new byte[] {}).when(marshaller).marshallProcessInstance(instance);
+        when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+        when(instance.internalGetEventTypes()).thenReturn(new LinkedHashSet<>(Arrays.asList("B", "C")));
+
+        instances.update(id, instance);
+
+        ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(producer, times(4)).send(captor.capture());
+        assertThat(captor.getAllValues().get(1).topic()).isEqualTo(eventTypesTopicName(process.id()));
+        assertThat(captor.getAllValues().get(1).value()).isEqualTo("B\nC".getBytes(StandardCharsets.UTF_8));
+        assertThat(captor.getAllValues().get(2).topic()).isEqualTo(eventTypeIndexTopicName(process.id()));
+        assertThat(captor.getAllValues().get(2).key()).isEqualTo("A\u0000" + id);
+        assertThat(captor.getAllValues().get(2).value()).isNull();
+        assertThat(captor.getAllValues().get(3).topic()).isEqualTo(eventTypeIndexTopicName(process.id()));
+        assertThat(captor.getAllValues().get(3).key()).isEqualTo("C\u0000" + id);
+        assertThat(captor.getAllValues().get(3).value()).isEqualTo(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testProcessInstancesWaitingForEventTypeReadsIndexRange() {
+        ReadOnlyKeyValueStore<String, byte[]> eventTypesStore = mock(ReadOnlyKeyValueStore.class);
+        ReadOnlyKeyValueStore<String, byte[]> indexStore = mock(ReadOnlyKeyValueStore.class);
+        instances.setEventTypesStore(eventTypesStore);
+        instances.setEventTypeIndexStore(indexStore);
+        doReturn(new byte[0]).when(eventTypesStore).get("\u0000indexed");
+        KeyValueIterator iterator = mock(KeyValueIterator.class);
+        when(iterator.hasNext()).thenReturn(true, false);
+        when(iterator.next()).thenReturn(KeyValue.pair("MySignal\u0000" + id, id.getBytes(StandardCharsets.UTF_8)));
+        doReturn(iterator).when(indexStore).range("MySignal\u0000", "MySignal\u0001");
+        doReturn(new byte[] {}).when(store).get(id);
+
+        assertThat(instances.waitingForEventType("MySignal", ProcessInstanceReadMode.READ_ONLY)).hasSize(1);
+        verify(marshaller).unmarshallProcessInstance(any(), any(), eq(ProcessInstanceReadMode.READ_ONLY));
+        verify(iterator).close();
+        verify(store, never()).all();
+    }
+
+    @Test
+    public void testProcessInstancesWaitingForEventTypeIndexesStoredInstancesOnce() {
+        ReadOnlyKeyValueStore<String, byte[]> eventTypesStore = mock(ReadOnlyKeyValueStore.class);
+        ReadOnlyKeyValueStore<String, byte[]> indexStore = mock(ReadOnlyKeyValueStore.class);
+        instances.setEventTypesStore(eventTypesStore);
+        instances.setEventTypeIndexStore(indexStore);
+        KeyValueIterator indexed = mock(KeyValueIterator.class);
+        when(indexed.hasNext()).thenReturn(true, false);
+        when(indexed.next()).thenReturn(KeyValue.pair(id, new byte[] {}));
+        KeyValueIterator scanned = mock(KeyValueIterator.class);
+        when(scanned.hasNext()).thenReturn(true, false);
+        when(scanned.next()).thenReturn(KeyValue.pair(id, new byte[] {}));
+        doReturn(indexed, scanned).when(store).all();
+        AbstractProcessInstance stored = mock(AbstractProcessInstance.class);
+        when(stored.internalGetEventTypes()).thenReturn(new LinkedHashSet<>(Arrays.asList("MySignal")));
+        doReturn(stored).when(marshaller).unmarshallProcessInstance(any(), any(), any(ProcessInstanceReadMode.class));
+        doReturn(mock(Future.class)).when(producer).send(any());
+        doReturn(mock(KeyValueIterator.class)).when(indexStore).range(any(), any());
+
+        // the records just sent are not visible yet, so the first lookup scans the stored instances
+        assertThat(instances.waitingForEventType("MySignal", ProcessInstanceReadMode.READ_ONLY)).hasSize(1);
+        assertThat(instances.waitingForEventType("MySignal", ProcessInstanceReadMode.READ_ONLY)).isEmpty();
+
+        ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(producer, times(3)).send(captor.capture());
+        assertThat(captor.getAllValues()).extracting(ProducerRecord::key).containsExactly(id, "MySignal\u0000" + id, "\u0000indexed");
+        verify(store, times(2)).all();
+        verify(indexStore).range("MySignal\u0000", "MySignal\u0001");
+    }
+
     @Test
     public void testProcessInstancesUpdateException() {
         doThrow(new RuntimeException()).when(producer).send(any());
@@ -215,10 +350,12 @@ public class KafkaProcessInstancesTest {
         instances.create(id, instance);
 
         ArgumentCaptor<ProducerRecord> kafkaCaptor = ArgumentCaptor.forClass(ProducerRecord.class);
-        verify(producer).send(kafkaCaptor.capture());
-        assertThat(kafkaCaptor.getValue().value()).isEqualTo(new byte[] {});
-        assertThat(kafkaCaptor.getValue().key()).isEqualTo(id);
-        assertThat(kafkaCaptor.getValue().topic()).isEqualTo(topicName(process.id()));
+        verify(producer, times(2)).send(kafkaCaptor.capture());
+        assertThat(kafkaCaptor.getAllValues().get(0).value()).isEqualTo(new byte[] {});
+        assertThat(kafkaCaptor.getAllValues().get(0).key()).isEqualTo(id);
+        assertThat(kafkaCaptor.getAllValues().get(0).topic()).isEqualTo(topicName(process.id()));
+        assertThat(kafkaCaptor.getAllValues().get(1).key()).isEqualTo(id);
+        assertThat(kafkaCaptor.getAllValues().get(1).topic()).isEqualTo(eventTypesTopicName(process.id()));
 
         ArgumentCaptor<Consumer> supplierCaptor = ArgumentCaptor.forClass(Consumer.class);
         verify(instance).internalRemoveProcessInstance(any());
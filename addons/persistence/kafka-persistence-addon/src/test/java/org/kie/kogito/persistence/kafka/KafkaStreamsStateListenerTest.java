@@ -30,6 +30,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -62,7 +63,7 @@ public class KafkaStreamsStateListenerTest {
         listener.onChange(KafkaStreams.State.RUNNING, KafkaStreams.State.REBALANCING);
 
         verify(pi).setStore(any());
-        verify(streams).store(any());
+        verify(streams, times(3)).store(any());
         assertThat(listener.getInstances()).hasSize(1);
         assertThat(listener.getKafkaStreams()).isEqualTo(streams);
 
@@ -78,7 +79,7 @@ public class KafkaStreamsStateListenerTest {
         listener.addProcessInstances(pi);
 
         verify(pi).setStore(any());
-        verify(streams).store(any());
+        verify(streams, times(3)).store(any());
         assertThat(listener.getInstances()).hasSize(1);
 
         listener.close();
@@ -19,29 +19,47 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Supplier;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.bson.Document;
+import org.bson.conversions.Bson;
 import org.kie.kogito.Model;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
+import org.kie.kogito.process.ProcessInstanceNotFoundException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstanceWrite;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.serialization.process.MarshallerContextName;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.DeleteOneModel;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 
 import static java.util.Collections.singletonMap;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.EVENT_TYPES;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.NODE_INSTANCES;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID;
 import static org.kie.kogito.mongodb.utils.DocumentUtils.getCollection;
 import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
+import static org.kie.kogito.process.ProcessInstanceReadMode.VARIABLES_ONLY;
 
 public class MongoDBProcessInstances<T extends Model> implements MutableProcessInstances<T> {
 
@@ -49,16 +67,18 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
     private org.kie.kogito.process.Process<?> process;
     private ProcessInstanceMarshallerService marshaller;
     private final MongoCollection<Document> collection;
+    private volatile boolean indexed;
 
     public MongoDBProcessInstances(MongoClient mongoClient, org.kie.kogito.process.Process<?> process, String dbName) {
         this.process = process;
         collection = getCollection(mongoClient, process.id(), dbName);
+        collection.createIndex(Indexes.ascending(EVENT_TYPES));
         marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withContextEntries(singletonMap(MarshallerContextName.MARSHALLER_FORMAT, "json")).build();
     }
 
     @Override
     public Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode) {
-        Document piDoc = find(id);
+        Document piDoc = find(Filters.eq(PROCESS_INSTANCE_ID, id), mode).first();
         if (piDoc == null) {
             return Optional.empty();
         }
@@ -69,7 +89,7 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
     @Override
     public Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode) {
         List<ProcessInstance<T>> list = new ArrayList<>();
-        try (MongoCursor<Document> cursor = collection.find().iterator()) {
+        try (MongoCursor<Document> cursor = find(Filters.empty(), mode).iterator()) {
             while (cursor.hasNext()) {
                 list.add(unmarshall(cursor.next(), mode));
             }
@@ -77,9 +97,80 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         return list;
     }
 
+    @Override
+    public Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode, int offset, int limit) {
+        List<ProcessInstance<T>> list = new ArrayList<>();
+        try (MongoCursor<Document> cursor = find(Filters.empty(), mode).sort(Sorts.ascending(PROCESS_INSTANCE_ID)).skip(offset).limit(limit).iterator()) {
+            while (cursor.hasNext()) {
+                list.add(unmarshall(cursor.next(), mode));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
+        MongoCursor<Document> cursor = find(Filters.empty(), mode).iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.NONNULL), false)
+                .onClose(cursor::close)
+                .map(document -> unmarshall(document, mode));
+    }
+
+    @Override
+    public Collection<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        indexStoredInstances();
+        List<ProcessInstance<T>> list = new ArrayList<>();
+        try (MongoCursor<Document> cursor = find(Filters.eq(EVENT_TYPES, eventType), mode).iterator()) {
+            while (cursor.hasNext()) {
+                list.add(unmarshall(cursor.next(), mode));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Adds, once per collection handle, the event types to the documents stored before they were written, so those
+     * instances keep receiving signals.
+     */
+    private void indexStoredInstances() {
+        if (indexed) {
+            return;
+        }
+        synchronized (this) {
+            if (indexed) {
+                return;
+            }
+            int count = 0;
+            try (MongoCursor<Document> cursor = collection.find(Filters.exists(EVENT_TYPES, false)).iterator()) {
+                while (cursor.hasNext()) {
+                    Document document = cursor.next();
+                    byte[] content = document.toJson().getBytes();
+                    // read only instances are not connected, so their event listeners are not registered
+                    AbstractProcessInstance<?> instance = (AbstractProcessInstance<?>) marshaller.unmarshallProcessInstance(content, process, MUTABLE);
+                    List<String> eventTypes = new ArrayList<>(instance.internalGetEventTypes());
+                    instance.internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> content));
+                    // a document written in the meantime already holds the event types of its latest state
+                    collection.updateOne(Filters.and(Filters.eq(PROCESS_INSTANCE_ID, document.getString(PROCESS_INSTANCE_ID)), Filters.exists(EVENT_TYPES, false)),
+                            Updates.set(EVENT_TYPES, eventTypes));
+                    count++;
+                }
+            }
+            if (count > 0) {
+                LOGGER.info("Indexed by event type {} stored instances of process {}", count, process.id());
+            }
+            indexed = true;
+        }
+    }
+
+    private FindIterable<Document> find(Bson filter, ProcessInstanceReadMode mode) {
+        FindIterable<Document> documents = collection.find(filter);
+        // node instances are not needed to rebuild the variables, so they are not even fetched
+        return mode == VARIABLES_ONLY ? documents.projection(Projections.exclude(NODE_INSTANCES)) : documents;
+    }
+
     private ProcessInstance<T> unmarshall(Document document, ProcessInstanceReadMode mode) {
         byte[] content = document.toJson().getBytes();
-        return mode == MUTABLE ? (ProcessInstance<T>) marshaller.unmarshallProcessInstance(content, process) : (ProcessInstance<T>) marshaller.unmarshallReadOnlyProcessInstance(content, process);
+        return (ProcessInstance<T>) marshaller.unmarshallProcessInstance(content, process, mode);
     }
 
     @Override
@@ -94,7 +185,9 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
 
     protected void updateStorage(String id, ProcessInstance<T> instance, boolean checkDuplicates) {
         if (isActive(instance)) {
-            Document doc = Document.parse(new String(marshaller.marshallProcessInstance(instance)));
+            byte[] payload = marshaller.marshallProcessInstance(instance);
+            Document doc = Document.parse(new String(payload));
+            doc.append(EVENT_TYPES, new ArrayList<>(((AbstractProcessInstance<?>) instance).internalGetEventTypes()));
             if (checkDuplicates) {
                 if (exists(id)) {
                     throw new ProcessInstanceDuplicatedException(id);
@@ -104,8 +197,50 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
             } else {
                 collection.replaceOne(Filters.eq(PROCESS_INSTANCE_ID, id), doc);
             }
+            disconnect(instance, id, payload);
+        } else {
+            reloadProcessInstance(instance, id);
         }
-        reloadProcessInstance(instance, id);
+    }
+
+    /**
+     * Sends the writes as one ordered bulk write, checking all the created ids for duplicates with a single query.
+     */
+    @Override
+    public void batch(List<ProcessInstanceWrite<T>> writes) {
+        List<WriteModel<Document>> models = new ArrayList<>();
+        List<String> createdIds = new ArrayList<>();
+        List<Runnable> reloads = new ArrayList<>();
+        for (ProcessInstanceWrite<T> write : writes) {
+            ProcessInstance<T> instance = write.instance();
+            String id = write.id();
+            if (write.type() == ProcessInstanceWrite.Type.REMOVE) {
+                models.add(new DeleteOneModel<>(Filters.eq(PROCESS_INSTANCE_ID, id)));
+            } else if (isActive(instance)) {
+                byte[] payload = marshaller.marshallProcessInstance(instance);
+                Document doc = Document.parse(new String(payload));
+                doc.append(EVENT_TYPES, new ArrayList<>(((AbstractProcessInstance<?>) instance).internalGetEventTypes()));
+                if (write.type() == ProcessInstanceWrite.Type.CREATE) {
+                    createdIds.add(id);
+                    models.add(new InsertOneModel<>(doc));
+                } else {
+                    models.add(new ReplaceOneModel<>(Filters.eq(PROCESS_INSTANCE_ID, id), doc));
+                }
+                reloads.add(() -> disconnect(instance, id, payload));
+            } else {
+                reloads.add(() -> reloadProcessInstance(instance, id));
+            }
+        }
+        if (!createdIds.isEmpty()) {
+            Document duplicated = collection.find(Filters.in(PROCESS_INSTANCE_ID, createdIds)).projection(Projections.include(PROCESS_INSTANCE_ID)).first();
+            if (duplicated != null) {
+                throw new ProcessInstanceDuplicatedException(duplicated.getString(PROCESS_INSTANCE_ID));
+            }
+        }
+        if (!models.isEmpty()) {
+            collection.bulkWrite(models);
+        }
+        reloads.forEach(Runnable::run);
     }
 
     private Document find(String id) {
@@ -123,15 +258,23 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
     }
 
     private void reloadProcessInstance(ProcessInstance<T> instance, String id) {
-        Supplier<byte[]> supplier = () -> {
-            Document reloaded = find(id);
-            if (reloaded != null) {
-                return reloaded.toJson().getBytes();
-            }
-            throw new IllegalArgumentException("process instance id " + id + " does not exists in mongodb");
-        };
-        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> read(id)));
+    }
 
+    /**
+     * Disconnects an instance that has just been written: within the unit of work that wrote it the document
+     * just written is what a reload would read back, afterwards it is read from the collection again.
+     */
+    private void disconnect(ProcessInstance<T> instance, String id, byte[] payload) {
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(instance, payload, () -> read(id)));
+    }
+
+    private byte[] read(String id) {
+        Document reloaded = find(id);
+        if (reloaded != null) {
+            return reloaded.toJson().getBytes();
+        }
+        throw new ProcessInstanceNotFoundException(id);
     }
 
     @Override
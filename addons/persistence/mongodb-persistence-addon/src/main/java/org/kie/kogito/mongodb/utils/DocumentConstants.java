@@ -24,6 +24,8 @@ public class DocumentConstants {
     public static final String STRATEGIES = "strategies";
     public static final String NAME = "name";
     public static final String PROCESS_INSTANCE = "processInstance";
+    public static final String EVENT_TYPES = "eventTypes";
+    public static final String NODE_INSTANCES = "context.nodeInstance";
     public static final String DOCUMENT_MARSHALLING_ERROR_MSG = "Error while marshalling process instance with id as document : ";
     public static final String DOCUMENT_UNMARSHALLING_ERROR_MSG = "Error while unmarshalling document for process instance with id : ";
 
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.mongodb;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
+import org.kie.kogito.process.bpmn2.AbstractProcessInstancesEventTypesTest;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.testcontainers.KogitoMongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+
+import static org.kie.kogito.mongodb.utils.DocumentConstants.EVENT_TYPES;
+import static org.kie.kogito.mongodb.utils.DocumentUtils.getCollection;
+
+@Testcontainers
+class MongoDBProcessInstancesEventTypesIT extends AbstractProcessInstancesEventTypesTest {
+
+    @Container
+    final static KogitoMongoDBContainer mongoDBContainer = new KogitoMongoDBContainer();
+    final static String DB_NAME = "testdb";
+    private static MongoClient mongoClient;
+
+    @BeforeAll
+    public static void startContainerAndPublicPortIsAvailable() {
+        mongoDBContainer.start();
+        mongoClient = MongoClients.create(mongoDBContainer.getReplicaSetUrl());
+    }
+
+    @AfterAll
+    public static void close() {
+        mongoDBContainer.stop();
+    }
+
+    @Override
+    protected void configure(BpmnProcess process) {
+        process.setProcessInstancesFactory(new KogitoProcessInstancesFactory(mongoClient) {
+
+            @Override
+            public String dbName() {
+                return DB_NAME;
+            }
+        });
+        process.configure();
+    }
+
+    @Override
+    protected void dropEventTypesIndex(BpmnProcess process) {
+        getCollection(mongoClient, process.id(), DB_NAME).updateMany(Filters.empty(), Updates.unset(EVENT_TYPES));
+    }
+}
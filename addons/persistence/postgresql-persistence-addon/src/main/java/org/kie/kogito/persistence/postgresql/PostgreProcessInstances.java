@@ -16,24 +16,34 @@
 package org.kie.kogito.persistence.postgresql;
 
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.function.Supplier;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
-import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.AsyncMutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceNotFoundException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstanceWrite;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
 import org.slf4j.Logger;
@@ -46,17 +56,32 @@ import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowIterator;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.Transaction;
 import io.vertx.sqlclient.Tuple;
 
-import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
-
 @SuppressWarnings({ "rawtypes" })
-public class PostgreProcessInstances implements MutableProcessInstances {
+public class PostgreProcessInstances implements AsyncMutableProcessInstances {
 
     private static final String VERSION = "version";
 
     private static final String PAYLOAD = "payload";
 
+    private static final String ID = "id";
+
+    private static final int STREAM_BATCH_SIZE = 100;
+
+    private static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, version, event_types_indexed) VALUES ($1, $2, $3, $4, true)";
+    private static final String UPDATE = "UPDATE process_instances SET payload = $1, event_types_indexed = true WHERE id = $2";
+    private static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = $1, version = $2, event_types_indexed = true WHERE id = $3 and version = $4";
+    private static final String DELETE = "DELETE FROM process_instances WHERE id = $1";
+    private static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE id = $1";
+    private static final String INSERT_EVENT_TYPE = "INSERT INTO process_instance_event_types (process_instance_id, process_id, event_type) VALUES ($1, $2, $3)";
+    private static final String DELETE_EVENT_TYPES = "DELETE FROM process_instance_event_types WHERE process_instance_id = $1";
+    private static final String FIND_NOT_INDEXED = "SELECT id, payload FROM process_instances WHERE process_id = $1 AND event_types_indexed IS NULL " +
+            "ORDER BY id LIMIT $2 FOR UPDATE SKIP LOCKED";
+    private static final String SET_INDEXED = "UPDATE process_instances SET event_types_indexed = true WHERE id = $1";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(PostgreProcessInstances.class);
 
     private final Process<?> process;
@@ -65,6 +90,7 @@ public class PostgreProcessInstances implements MutableProcessInstances {
     private final boolean autoDDL;
     private final Long queryTimeoutMillis;
     private final boolean lock;
+    private volatile boolean indexed;
 
     public PostgreProcessInstances(Process<?> process, PgPool client, boolean autoDDL, Long queryTimeoutMillis,
             boolean lock) {
@@ -89,8 +115,13 @@ public class PostgreProcessInstances implements MutableProcessInstances {
             disconnect(instance);
             return;
         }
-        insertInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
-        disconnect(instance);
+        byte[] payload = marshaller.marshallProcessInstance(instance);
+        try {
+            getResultFromFuture(insertInTransaction(UUID.fromString(id), payload, eventTypes(instance)));
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error inserting process instance %s", id);
+        }
+        disconnect(instance, payload, 1L);
     }
 
     @SuppressWarnings("unchecked")
@@ -100,12 +131,14 @@ public class PostgreProcessInstances implements MutableProcessInstances {
             disconnect(instance);
             return;
         }
-        if (lock) {
-            updateWithLock(UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.version());
-        } else {
-            updateInternal(UUID.fromString(id), marshaller.marshallProcessInstance(instance));
+        byte[] payload = marshaller.marshallProcessInstance(instance);
+        Long version;
+        try {
+            version = getResultFromFuture(updateInTransaction(id, payload, instance.version(), eventTypes(instance))).orElse(null);
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error updating process instance %s", id);
         }
-        disconnect(instance);
+        disconnect(instance, payload, version);
     }
 
     @Override
@@ -116,6 +149,196 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         }
     }
 
+    @Override
+    public void batch(List writes) {
+        try {
+            getResultFromFuture(batchAsync(writes).toCompletableFuture());
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error writing a batch of %s process instances, for processId %s", writes.size(), process.id());
+        }
+    }
+
+    /**
+     * Sends the writes in a single transaction, one batched statement per kind of write; the statements are
+     * pipelined on the transaction connection instead of waiting for each other.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletionStage<Void> batchAsync(List writes) {
+        List<Tuple> inserts = new ArrayList<>();
+        List<Tuple> updates = new ArrayList<>();
+        List<String> updatedIds = new ArrayList<>();
+        List<Tuple> deletes = new ArrayList<>();
+        List<String> deletedIds = new ArrayList<>();
+        List<Tuple> eventTypeDeletes = new ArrayList<>();
+        List<Tuple> eventTypeInserts = new ArrayList<>();
+        List<Runnable> disconnects = new ArrayList<>();
+        for (ProcessInstanceWrite<?> write : (List<ProcessInstanceWrite<?>>) writes) {
+            ProcessInstance instance = write.instance();
+            UUID id = UUID.fromString(write.id());
+            if (write.type() == ProcessInstanceWrite.Type.REMOVE) {
+                deletes.add(Tuple.of(id));
+                deletedIds.add(write.id());
+                continue;
+            }
+            if (!isActive(instance)) {
+                disconnects.add(() -> disconnect(instance));
+                continue;
+            }
+            byte[] payload = marshaller.marshallProcessInstance(instance);
+            Long version;
+            if (write.type() == ProcessInstanceWrite.Type.CREATE) {
+                inserts.add(Tuple.of(id, Buffer.buffer(payload), process.id(), 1L));
+                version = 1L;
+            } else {
+                version = instance.version();
+                if (lock) {
+                    updates.add(Tuple.of(Buffer.buffer(payload), version + 1, id, version));
+                    version = version + 1;
+                } else {
+                    updates.add(Tuple.of(Buffer.buffer(payload), id));
+                }
+                updatedIds.add(write.id());
+                eventTypeDeletes.add(Tuple.of(id));
+            }
+            for (String eventType : eventTypes(instance)) {
+                eventTypeInserts.add(Tuple.of(id, process.id(), eventType));
+            }
+            Long newVersion = version;
+            disconnects.add(() -> disconnect(instance, payload, newVersion));
+        }
+        return executeInTransaction(tx -> {
+            List<CompletableFuture<RowSet<Row>>> statements = new ArrayList<>();
+            statements.add(executeBatch(tx, INSERT, inserts));
+            statements.add(executeBatch(tx, lock ? UPDATE_WITH_LOCK : UPDATE, updates).thenApply(rows -> checkLocked(rows, updatedIds)));
+            statements.add(executeBatch(tx, DELETE_EVENT_TYPES, eventTypeDeletes));
+            statements.add(executeBatch(tx, INSERT_EVENT_TYPE, eventTypeInserts));
+            statements.add(executeBatch(tx, DELETE, deletes).thenApply(rows -> checkLocked(rows, deletedIds)));
+            return statements;
+        }).thenRun(() -> disconnects.forEach(Runnable::run));
+    }
+
+    /**
+     * Checks, when locking, that each statement of a batch affected exactly the row it was sent for.
+     */
+    private RowSet<Row> checkLocked(RowSet<Row> rows, List<String> ids) {
+        if (!lock) {
+            return rows;
+        }
+        int index = 0;
+        for (RowSet<Row> result = rows; result != null; result = result.next(), index++) {
+            if (result.rowCount() != 1) {
+                throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", ids.get(index));
+            }
+        }
+        return rows;
+    }
+
+    private CompletableFuture<RowSet<Row>> executeBatch(SqlClient sqlClient, String query, List<Tuple> batch) {
+        final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
+        if (batch.isEmpty()) {
+            future.complete(null);
+        } else {
+            sqlClient.preparedQuery(query).executeBatch(batch, getAsyncResultHandler(future));
+        }
+        return future;
+    }
+
+    private CompletableFuture<Void> executeInTransaction(Function<Transaction, List<CompletableFuture<RowSet<Row>>>> statements) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        client.begin(begun -> {
+            if (begun.failed()) {
+                future.completeExceptionally(begun.cause());
+                return;
+            }
+            Transaction tx = begun.result();
+            CompletableFuture.allOf(statements.apply(tx).toArray(new CompletableFuture[0])).whenComplete((v, e) -> {
+                if (e != null) {
+                    tx.rollback();
+                    future.completeExceptionally(e);
+                } else {
+                    tx.commit(committed -> {
+                        if (committed.succeeded()) {
+                            future.complete(null);
+                        } else {
+                            future.completeExceptionally(committed.cause());
+                        }
+                    });
+                }
+            });
+        });
+        return future;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletionStage<Void> createAsync(String id, ProcessInstance instance) {
+        if (!isActive(instance)) {
+            disconnect(instance);
+            return CompletableFuture.completedFuture(null);
+        }
+        byte[] payload = marshaller.marshallProcessInstance(instance);
+        return insertInTransaction(UUID.fromString(id), payload, eventTypes(instance))
+                .thenRun(() -> disconnect(instance, payload, 1L));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CompletionStage<Void> updateAsync(String id, ProcessInstance instance) {
+        if (!isActive(instance)) {
+            disconnect(instance);
+            return CompletableFuture.completedFuture(null);
+        }
+        byte[] payload = marshaller.marshallProcessInstance(instance);
+        return updateInTransaction(id, payload, instance.version(), eventTypes(instance))
+                .thenAccept(version -> disconnect(instance, payload, version));
+    }
+
+    /**
+     * Inserts the payload and the event types of a process instance in a single transaction.
+     */
+    private CompletableFuture<Void> insertInTransaction(UUID id, byte[] payload, Collection<String> eventTypes) {
+        return executeInTransaction(tx -> Arrays.asList(
+                execute(tx, INSERT, Tuple.of(id, Buffer.buffer(payload), process.id(), 1L)),
+                executeBatch(tx, INSERT_EVENT_TYPE, eventTypeTuples(id, eventTypes))));
+    }
+
+    /**
+     * Updates the payload and replaces the event types of a process instance in a single transaction.
+     *
+     * @return the version of the process instance once updated
+     */
+    private CompletableFuture<Long> updateInTransaction(String id, byte[] payload, Long version, Collection<String> eventTypes) {
+        UUID uuid = UUID.fromString(id);
+        return executeInTransaction(tx -> Arrays.asList(
+                lock ? execute(tx, UPDATE_WITH_LOCK, Tuple.of(Buffer.buffer(payload), version + 1, uuid, version)).thenApply(rows -> checkLocked(rows, Collections.singletonList(id)))
+                        : execute(tx, UPDATE, Tuple.of(Buffer.buffer(payload), uuid)),
+                execute(tx, DELETE_EVENT_TYPES, Tuple.of(uuid)),
+                executeBatch(tx, INSERT_EVENT_TYPE, eventTypeTuples(uuid, eventTypes))))
+                .thenApply(v -> lock ? version + 1 : version);
+    }
+
+    private List<Tuple> eventTypeTuples(UUID id, Collection<String> eventTypes) {
+        return eventTypes.stream().map(eventType -> Tuple.of(id, process.id(), eventType)).collect(Collectors.toList());
+    }
+
+    @Override
+    public CompletionStage<Void> removeAsync(String id) {
+        return execute(DELETE, Tuple.of(UUID.fromString(id))).thenAccept(rows -> {
+            if (lock && rows.rowCount() != 1) {
+                throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
+            }
+        });
+    }
+
+    @Override
+    public CompletionStage<Optional<ProcessInstance>> findByIdAsync(String id, ProcessInstanceReadMode mode) {
+        return execute(FIND_BY_ID, Tuple.of(UUID.fromString(id))).thenApply(rows -> {
+            RowIterator<Row> iterator = rows.iterator();
+            return iterator.hasNext() ? Optional.of(unmarshall(iterator.next(), mode)) : Optional.empty();
+        });
+    }
+
     @Override
     public Optional<ProcessInstance> findById(String id, ProcessInstanceReadMode mode) {
         Optional<Row> row = findByIdInternal(UUID.fromString(id));
@@ -125,11 +348,7 @@ public class PostgreProcessInstances implements MutableProcessInstances {
                     .map(r -> r.getBuffer(PAYLOAD))
                     .map(Buffer::getBytes);
             if (payload.isPresent()) {
-                ProcessInstance<?> instance = mode == MUTABLE ? marshaller.unmarshallProcessInstance(payload.get(),
-                        process)
-                        : marshaller.unmarshallReadOnlyProcessInstance(payload.get(), process);
-                ((AbstractProcessInstance) instance).setVersion(row.get().getLong(VERSION));
-                return Optional.of(instance);
+                return Optional.of(unmarshall(row.get(), mode));
             }
         }
         return Optional.empty();
@@ -137,11 +356,135 @@ public class PostgreProcessInstances implements MutableProcessInstances {
 
     @Override
     public Collection<ProcessInstance> values(ProcessInstanceReadMode mode) {
-        return findAllInternal().stream().map(b -> mode == MUTABLE ? marshaller.unmarshallProcessInstance(b, process)
-                : marshaller.unmarshallReadOnlyProcessInstance(b, process))
+        return findAllInternal().stream().map(b -> marshaller.unmarshallProcessInstance(b, process, mode))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Collection<ProcessInstance> values(ProcessInstanceReadMode mode, int offset, int limit) {
+        return findPageInternal(offset, limit).stream().map(row -> unmarshall(row, mode)).collect(Collectors.toList());
+    }
+
+    @Override
+    public Stream<ProcessInstance> stream(ProcessInstanceReadMode mode) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new RowBatchIterator(), Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(row -> unmarshall(row, mode));
+    }
+
+    @Override
+    public Collection<ProcessInstance> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        indexStoredInstances();
+        return findByEventTypeInternal(eventType).stream().map(row -> unmarshall(row, mode)).collect(Collectors.toList());
+    }
+
+    /**
+     * Indexes, once per process, the instances stored before their event types were written, so they keep receiving
+     * signals. Rows locked by another node, either writing or indexing them, are left to it.
+     */
+    private void indexStoredInstances() {
+        if (indexed) {
+            return;
+        }
+        synchronized (this) {
+            if (indexed) {
+                return;
+            }
+            int count = 0;
+            try {
+                int batch;
+                do {
+                    batch = indexStoredInstancesBatch();
+                    count += batch;
+                } while (batch == STREAM_BATCH_SIZE);
+            } catch (Exception e) {
+                throw uncheckedException(e, "Error indexing the stored process instances, for processId %s", process.id());
+            }
+            if (count > 0) {
+                LOGGER.info("Indexed by event type {} stored instances of process {}", count, process.id());
+            }
+            indexed = true;
+        }
+    }
+
+    /**
+     * The rows are locked by the transaction while the event types are computed on the calling thread, not on the
+     * event loop completing the query. The calling thread only waits for the rows and for the transaction to be
+     * committed, the statements in between are chained on the event loop.
+     */
+    private int indexStoredInstancesBatch() throws Exception {
+        AtomicReference<Transaction> transaction = new AtomicReference<>();
+        CompletableFuture<RowSet<Row>> found = begin().thenCompose(tx -> {
+            transaction.set(tx);
+            return execute(tx, FIND_NOT_INDEXED, Tuple.of(process.id(), STREAM_BATCH_SIZE));
+        });
+        Optional<RowSet<Row>> result;
+        try {
+            result = getResultFromFuture(found);
+        } catch (Exception e) {
+            rollback(transaction.get());
+            throw e;
+        }
+        Transaction tx = transaction.get();
+        try {
+            RowSet<Row> rows = result.orElseThrow(IllegalStateException::new);
+            List<Tuple> ids = new ArrayList<>();
+            List<Tuple> eventTypeInserts = new ArrayList<>();
+            for (Row row : rows) {
+                UUID id = row.getUUID(ID);
+                byte[] payload = row.getBuffer(PAYLOAD).getBytes();
+                // read only instances are not connected, so their event listeners are not registered
+                ProcessInstance instance = marshaller.unmarshallProcessInstance(payload, process, ProcessInstanceReadMode.MUTABLE);
+                eventTypeInserts.addAll(eventTypeTuples(id, eventTypes(instance)));
+                ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> payload));
+                ids.add(Tuple.of(id));
+            }
+            getResultFromFuture(CompletableFuture.allOf(
+                    executeBatch(tx, DELETE_EVENT_TYPES, ids),
+                    executeBatch(tx, INSERT_EVENT_TYPE, eventTypeInserts),
+                    executeBatch(tx, SET_INDEXED, ids)).thenCompose(v -> commit(tx)));
+            return ids.size();
+        } catch (Exception e) {
+            rollback(tx);
+            throw e;
+        }
+    }
+
+    private void rollback(Transaction tx) {
+        if (tx != null) {
+            tx.rollback();
+        }
+    }
+
+    private CompletableFuture<Transaction> begin() {
+        final CompletableFuture<Transaction> future = new CompletableFuture<>();
+        client.begin(begun -> {
+            if (begun.succeeded()) {
+                future.complete(begun.result());
+            } else {
+                future.completeExceptionally(begun.cause());
+            }
+        });
+        return future;
+    }
+
+    private CompletableFuture<Void> commit(Transaction tx) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        tx.commit(committed -> {
+            if (committed.succeeded()) {
+                future.complete(null);
+            } else {
+                future.completeExceptionally(committed.cause());
+            }
+        });
+        return future;
+    }
+
+    private ProcessInstance unmarshall(Row row, ProcessInstanceReadMode mode) {
+        ProcessInstance<?> instance = marshaller.unmarshallProcessInstance(row.getBuffer(PAYLOAD).getBytes(), process, mode);
+        ((AbstractProcessInstance) instance).setVersion(row.getLong(VERSION));
+        return instance;
+    }
+
     @Override
     public Integer size() {
         return countInternal().intValue();
@@ -153,25 +496,39 @@ public class PostgreProcessInstances implements MutableProcessInstances {
     }
 
     private void disconnect(ProcessInstance instance) {
-        Optional<Row> row = findByIdInternal(UUID.fromString(instance.id()));
-        if (row.isPresent()) {
-            Supplier<byte[]> supplier = () -> row
-                    .map(r -> r.getBuffer(PAYLOAD))
-                    .map(Buffer::getBytes).get();
-            ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(supplier));
-            ((AbstractProcessInstance) instance).setVersion(row.get().getLong(VERSION));
-        }
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(() -> read(instance)));
     }
 
-    private boolean insertInternal(UUID id, byte[] payload) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("INSERT INTO process_instances (id, payload, process_id, version) VALUES ($1, $2, $3, $4)")
-                    .execute(Tuple.of(id, Buffer.buffer(payload), process.id(), 1L), getAsyncResultHandler(future));
-            return getExecutedResult(future);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error inserting process instance %s", id);
-        }
+    /**
+     * Disconnects an instance that has just been written: the payload and version are the ones stored,
+     * so reloading it within the unit of work that wrote it does not need another round trip to the database.
+     */
+    private void disconnect(ProcessInstance instance, byte[] payload, Long version) {
+        ((AbstractProcessInstance<?>) instance).internalRemoveProcessInstance(marshaller.createdReloadFunction(instance, payload, () -> read(instance)));
+        ((AbstractProcessInstance) instance).setVersion(version);
+    }
+
+    /**
+     * Reads the stored payload of the instance, taking over the version it was stored with.
+     */
+    private byte[] read(ProcessInstance instance) {
+        Row row = findByIdInternal(UUID.fromString(instance.id())).orElseThrow(() -> new ProcessInstanceNotFoundException(instance.id()));
+        ((AbstractProcessInstance) instance).setVersion(row.getLong(VERSION));
+        return row.getBuffer(PAYLOAD).getBytes();
+    }
+
+    private Collection<String> eventTypes(ProcessInstance instance) {
+        return ((AbstractProcessInstance<?>) instance).internalGetEventTypes();
+    }
+
+    private CompletableFuture<RowSet<Row>> execute(String query, Tuple parameters) {
+        return execute(client, query, parameters);
+    }
+
+    private CompletableFuture<RowSet<Row>> execute(SqlClient sqlClient, String query, Tuple parameters) {
+        final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
+        sqlClient.preparedQuery(query).execute(parameters, getAsyncResultHandler(future));
+        return future;
     }
 
     private RuntimeException uncheckedException(Exception ex, String message, Object... param) {
@@ -188,23 +545,9 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         };
     }
 
-    private boolean updateInternal(UUID id, byte[] payload) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("UPDATE process_instances SET payload = $1 WHERE id = $2")
-                    .execute(Tuple.of(Buffer.buffer(payload), id), getAsyncResultHandler(future));
-            return getExecutedResult(future);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        }
-    }
-
     private boolean deleteInternal(UUID id) {
         try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("DELETE FROM process_instances WHERE id = $1")
-                    .execute(Tuple.of(id), getAsyncResultHandler(future));
-            return getExecutedResult(future);
+            return getExecutedResult(execute(DELETE, Tuple.of(id)));
         } catch (Exception e) {
             throw uncheckedException(e, "Error deleting process instance %s", id);
         }
@@ -222,7 +565,11 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         }
     }
 
-    private Optional<RowSet<Row>> getResultFromFuture(CompletableFuture<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
+    /**
+     * The blocking operations wait here, once per operation, for their chained statements to complete, bounded by
+     * the query timeout; the units of work ended asynchronously use the non blocking variants instead.
+     */
+    private <R> Optional<R> getResultFromFuture(CompletableFuture<R> future) throws ExecutionException, TimeoutException, InterruptedException {
         try {
             return Optional.ofNullable(future.get(queryTimeoutMillis, TimeUnit.MILLISECONDS));
         } catch (InterruptedException e) {
@@ -233,10 +580,7 @@ public class PostgreProcessInstances implements MutableProcessInstances {
 
     private Optional<Row> findByIdInternal(UUID id) {
         try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("SELECT payload, version FROM process_instances WHERE id = $1")
-                    .execute(Tuple.of(id), getAsyncResultHandler(future));
-            return getResultFromFuture(future)
+            return getResultFromFuture(execute(FIND_BY_ID, Tuple.of(id)))
                     .map(RowSet::iterator)
                     .filter(Iterator::hasNext)
                     .map(Iterator::next);
@@ -261,6 +605,51 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         }
     }
 
+    private List<Row> findPageInternal(int offset, int limit) {
+        try {
+            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
+            client.preparedQuery("SELECT payload, version FROM process_instances WHERE process_id = $1 ORDER BY id LIMIT $2 OFFSET $3")
+                    .execute(Tuple.of(process.id(), limit, offset), getAsyncResultHandler(future));
+            return getResultFromFuture(future)
+                    .map(r -> StreamSupport.stream(r.spliterator(), false).collect(Collectors.toList()))
+                    .orElseGet(Collections::emptyList);
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding process instances page, for processId %s", process.id());
+        }
+    }
+
+    private List<Row> findBatchInternal(UUID after, int limit) {
+        try {
+            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
+            if (after == null) {
+                client.preparedQuery("SELECT id, payload, version FROM process_instances WHERE process_id = $1 ORDER BY id LIMIT $2")
+                        .execute(Tuple.of(process.id(), limit), getAsyncResultHandler(future));
+            } else {
+                client.preparedQuery("SELECT id, payload, version FROM process_instances WHERE process_id = $1 AND id > $2 ORDER BY id LIMIT $3")
+                        .execute(Tuple.of(process.id(), after, limit), getAsyncResultHandler(future));
+            }
+            return getResultFromFuture(future)
+                    .map(r -> StreamSupport.stream(r.spliterator(), false).collect(Collectors.toList()))
+                    .orElseGet(Collections::emptyList);
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error streaming process instances, for processId %s", process.id());
+        }
+    }
+
+    private List<Row> findByEventTypeInternal(String eventType) {
+        try {
+            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
+            client.preparedQuery("SELECT payload, version FROM process_instances WHERE id IN " +
+                    "(SELECT process_instance_id FROM process_instance_event_types WHERE process_id = $1 AND event_type = $2)")
+                    .execute(Tuple.of(process.id(), eventType), getAsyncResultHandler(future));
+            return getResultFromFuture(future)
+                    .map(r -> StreamSupport.stream(r.spliterator(), false).collect(Collectors.toList()))
+                    .orElseGet(Collections::emptyList);
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding process instances waiting for event type %s, for processId %s", eventType, process.id());
+        }
+    }
+
     private Long countInternal() {
         try {
             final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
@@ -342,21 +731,35 @@ public class PostgreProcessInstances implements MutableProcessInstances {
         }
     }
 
-    private boolean updateWithLock(UUID id, byte[] payload, long version) {
-        try {
-            final CompletableFuture<RowSet<Row>> future = new CompletableFuture<>();
-            client.preparedQuery("UPDATE process_instances SET payload = $1, version = $2 WHERE id = $3 and version = $4")
-                    .execute(Tuple.of(Buffer.buffer(payload), version + 1, id, version), getAsyncResultHandler(future));
-            boolean result = getExecutedResult(future);
-            if (!result) {
-                throw uncheckedException(null, "The document with ID: %s was updated or deleted by other request.", id);
+    /**
+     * Walks the process instances in id order, fetching one batch at a time (keyset pagination) so the whole
+     * result set is never held in memory while the stream is consumed.
+     */
+    private class RowBatchIterator implements Iterator<Row> {
+
+        private Iterator<Row> batch = Collections.emptyIterator();
+        private UUID lastId;
+        private boolean exhausted;
+
+        @Override
+        public boolean hasNext() {
+            if (!batch.hasNext() && !exhausted) {
+                List<Row> next = findBatchInternal(lastId, STREAM_BATCH_SIZE);
+                exhausted = next.size() < STREAM_BATCH_SIZE;
+                if (!next.isEmpty()) {
+                    lastId = next.get(next.size() - 1).getUUID(ID);
+                }
+                batch = next.iterator();
             }
-            return result;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
+            return batch.hasNext();
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.next();
         }
-        return false;
     }
 }
@@ -1,10 +1,23 @@
-CREATE TABLE process_instances(id uuid NOT NULL,
+CREATE TABLE IF NOT EXISTS process_instances(id uuid NOT NULL,
                                       payload bytea NOT NULL,
                                       process_id character varying NOT NULL,
                                       version bigint,
+                                      event_types_indexed boolean,
                                       CONSTRAINT process_instances_pkey PRIMARY KEY (id)
                                       );
-CREATE INDEX idx_process_instances_process_id ON process_instances
+ALTER TABLE process_instances ADD COLUMN IF NOT EXISTS event_types_indexed boolean;
+CREATE INDEX IF NOT EXISTS idx_process_instances_process_id ON process_instances
     (
      process_id
+    );
+CREATE TABLE IF NOT EXISTS process_instance_event_types(process_instance_id uuid NOT NULL,
+                                      process_id character varying NOT NULL,
+                                      event_type character varying NOT NULL,
+                                      CONSTRAINT process_instance_event_types_pkey PRIMARY KEY (process_instance_id, event_type),
+                                      CONSTRAINT process_instance_event_types_fkey FOREIGN KEY (process_instance_id) REFERENCES process_instances (id) ON DELETE CASCADE
+                                      );
+CREATE INDEX IF NOT EXISTS idx_process_instance_event_types_event_type ON process_instance_event_types
+    (
+     process_id,
+     event_type
     );
\ No newline at end of file
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.postgresql;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
+import org.kie.kogito.process.bpmn2.AbstractProcessInstancesEventTypesTest;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.testcontainers.KogitoPostgreSqlContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import io.vertx.pgclient.PgPool;
+
+@Testcontainers
+class PostgreProcessInstancesEventTypesIT extends AbstractProcessInstancesEventTypesTest {
+
+    @Container
+    final static KogitoPostgreSqlContainer container = new KogitoPostgreSqlContainer();
+    private static PgPool client;
+
+    @BeforeAll
+    public static void startContainerAndPublicPortIsAvailable() {
+        container.start();
+        client = PgPool.pool(container.getReactiveUrl());
+    }
+
+    @AfterAll
+    public static void close() {
+        container.stop();
+    }
+
+    @Override
+    protected void configure(BpmnProcess process) {
+        process.setProcessInstancesFactory(new KogitoProcessInstancesFactory(client, true, 10000l) {
+
+            @Override
+            public boolean lock() {
+                return false;
+            }
+        });
+        process.configure();
+    }
+
+    @Override
+    protected void dropEventTypesIndex(BpmnProcess process) {
+        CompletableFuture<Void> dropped = new CompletableFuture<>();
+        client.query(String.format("DELETE FROM process_instance_event_types WHERE process_id = '%1$s'; " +
+                "UPDATE process_instances SET event_types_indexed = NULL WHERE process_id = '%1$s'", process.id()))
+                .execute(ar -> {
+                    if (ar.succeeded()) {
+                        dropped.complete(null);
+                    } else {
+                        dropped.completeExceptionally(ar.cause());
+                    }
+                });
+        try {
+            dropped.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.postgresql;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
+import org.kie.kogito.process.bpmn2.AbstractProcessInstancesRoundTripsTest;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.testcontainers.KogitoPostgreSqlContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.pgclient.PgPool;
+import io.vertx.sqlclient.Transaction;
+
+@Testcontainers
+class PostgreProcessInstancesRoundTripsIT extends AbstractProcessInstancesRoundTripsTest {
+
+    private static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE id = $1";
+
+    @Container
+    final static KogitoPostgreSqlContainer container = new KogitoPostgreSqlContainer();
+    private static PgPool client;
+
+    private static final AtomicLong queries = new AtomicLong();
+    private static final AtomicLong readsById = new AtomicLong();
+
+    @BeforeAll
+    public static void startContainerAndPublicPortIsAvailable() {
+        container.start();
+        client = countingPool(PgPool.pool(container.getReactiveUrl()));
+    }
+
+    @AfterAll
+    public static void close() {
+        container.stop();
+    }
+
+    @Override
+    protected void configure(BpmnProcess process) {
+        process.setProcessInstancesFactory(new KogitoProcessInstancesFactory(client, true, 10000l) {
+
+            @Override
+            public boolean lock() {
+                return false;
+            }
+        });
+        process.configure();
+    }
+
+    @Override
+    protected long roundTrips() {
+        return queries.get();
+    }
+
+    @Override
+    protected long readsById() {
+        return readsById.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static PgPool countingPool(PgPool delegate) {
+        return (PgPool) Proxy.newProxyInstance(PgPool.class.getClassLoader(), new Class<?>[] { PgPool.class }, (proxy, method, args) -> {
+            count(method, args);
+            if (method.getName().equals("begin")) {
+                // BEGIN is a round trip of its own, the statements of the transaction are counted as well
+                queries.incrementAndGet();
+                Handler<AsyncResult<Transaction>> handler = (Handler<AsyncResult<Transaction>>) args[0];
+                args = new Object[] { (Handler<AsyncResult<Transaction>>) ar -> handler.handle(ar.map(PostgreProcessInstancesRoundTripsIT::countingTransaction)) };
+            }
+            return invoke(delegate, method, args);
+        });
+    }
+
+    private static Transaction countingTransaction(Transaction delegate) {
+        return (Transaction) Proxy.newProxyInstance(Transaction.class.getClassLoader(), new Class<?>[] { Transaction.class }, (proxy, method, args) -> {
+            count(method, args);
+            return invoke(delegate, method, args);
+        });
+    }
+
+    private static void count(Method method, Object[] args) {
+        if (method.getName().equals("preparedQuery") || method.getName().equals("query")) {
+            queries.incrementAndGet();
+            if (FIND_BY_ID.equals(args[0])) {
+                readsById.incrementAndGet();
+            }
+        }
+    }
+
+    private static Object invoke(Object delegate, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
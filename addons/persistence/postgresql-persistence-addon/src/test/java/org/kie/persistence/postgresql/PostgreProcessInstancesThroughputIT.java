@@ -0,0 +1,149 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.persistence.postgresql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.persistence.KogitoProcessInstancesFactory;
+import org.kie.kogito.process.ProcessConfig;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.process.impl.DefaultWorkItemHandlerConfig;
+import org.kie.kogito.process.impl.StaticProcessConfig;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.testcontainers.KogitoPostgreSqlContainer;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import io.vertx.pgclient.PgPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test comparing the throughput of the blocking and the non blocking persistence paths with the same
+ * number of caller threads.
+ */
+@Testcontainers
+class PostgreProcessInstancesThroughputIT {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PostgreProcessInstancesThroughputIT.class);
+
+    private static final int INSTANCES = 500;
+
+    @Container
+    final static KogitoPostgreSqlContainer container = new KogitoPostgreSqlContainer();
+    private static PgPool client;
+
+    @BeforeAll
+    public static void startContainerAndPublicPortIsAvailable() {
+        container.start();
+        client = PgPool.pool(container.getReactiveUrl());
+    }
+
+    @AfterAll
+    public static void close() {
+        container.stop();
+    }
+
+    private BpmnProcess createProcess(UnitOfWorkManager uowManager) {
+        ProcessConfig config = new StaticProcessConfig(new DefaultWorkItemHandlerConfig(), new DefaultProcessEventListenerConfig(), uowManager, null);
+        BpmnProcess process = BpmnProcess.from(config, new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        process.setProcessInstancesFactory(new KogitoProcessInstancesFactory(client, true, 10000l) {
+
+            @Override
+            public boolean lock() {
+                return false;
+            }
+        });
+        process.configure();
+        process.instances().values(ProcessInstanceReadMode.MUTABLE).forEach(ProcessInstance::abort);
+        return process;
+    }
+
+    @Test
+    void testThroughput() throws Exception {
+        for (int threads : new int[] { 1, 4, 16 }) {
+            measureThroughput(threads);
+        }
+    }
+
+    private void measureThroughput(int threads) throws Exception {
+        UnitOfWorkManager uowManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        BpmnProcess process = createProcess(uowManager);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            List<Future<ProcessInstance<BpmnVariables>>> blocking = new ArrayList<>();
+            for (int i = 0; i < INSTANCES; i++) {
+                blocking.add(executor.submit(() -> UnitOfWorkExecutor.executeInUnitOfWork(uowManager, () -> startInstance(process))));
+            }
+            for (Future<ProcessInstance<BpmnVariables>> future : blocking) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            long blockingNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<Future<CompletionStage<ProcessInstance<BpmnVariables>>>> submitted = new ArrayList<>();
+            for (int i = 0; i < INSTANCES; i++) {
+                submitted.add(executor.submit(() -> UnitOfWorkExecutor.executeInUnitOfWorkAsync(uowManager, () -> startInstance(process))));
+            }
+            List<CompletableFuture<ProcessInstance<BpmnVariables>>> stored = new ArrayList<>();
+            for (Future<CompletionStage<ProcessInstance<BpmnVariables>>> future : submitted) {
+                stored.add(future.get(1, TimeUnit.MINUTES).toCompletableFuture());
+            }
+            CompletableFuture.allOf(stored.toArray(new CompletableFuture[0])).get(1, TimeUnit.MINUTES);
+            long asyncNanos = System.nanoTime() - start;
+
+            LOGGER.info("{} threads: blocking {} instances/s, non blocking {} instances/s", threads,
+                    throughput(blockingNanos), throughput(asyncNanos));
+            assertThat(process.instances().size()).isEqualTo(2 * INSTANCES);
+        } finally {
+            executor.shutdownNow();
+            process.instances().values(ProcessInstanceReadMode.MUTABLE).forEach(ProcessInstance::abort);
+        }
+    }
+
+    private ProcessInstance<BpmnVariables> startInstance(BpmnProcess process) {
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+        return processInstance;
+    }
+
+    private long throughput(long nanos) {
+        return INSTANCES * TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+}
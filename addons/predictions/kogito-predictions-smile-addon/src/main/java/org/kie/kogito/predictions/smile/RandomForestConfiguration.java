@@ -25,6 +25,10 @@ public class RandomForestConfiguration {
     private double confidenceThreshold;
     private int numTrees;
     private Map<String, AttributeType> inputFeatures = new HashMap<>();
+    private int retrainObservations = 1;
+    private long retrainIntervalMillis;
+    private int maxObservations;
+    private String modelPath;
 
     public int getNumTrees() {
         return numTrees;
@@ -80,4 +84,57 @@ public class RandomForestConfiguration {
     public void setInputFeatures(Map<String, AttributeType> inputFeatures) {
         this.inputFeatures = inputFeatures;
     }
+
+    /**
+     * Returns the number of observations after which the model is trained again in the background
+     *
+     * @return The number of new observations triggering a training, 1 by default
+     */
+    public int getRetrainObservations() {
+        return retrainObservations;
+    }
+
+    public void setRetrainObservations(int retrainObservations) {
+        this.retrainObservations = retrainObservations;
+    }
+
+    /**
+     * Returns the time after which the model is trained again in the background when new observations were added,
+     * even if there are fewer than {@link #getRetrainObservations()}
+     *
+     * @return The time in milliseconds, 0 to only retrain based on the number of observations
+     */
+    public long getRetrainIntervalMillis() {
+        return retrainIntervalMillis;
+    }
+
+    public void setRetrainIntervalMillis(long retrainIntervalMillis) {
+        this.retrainIntervalMillis = retrainIntervalMillis;
+    }
+
+    /**
+     * Returns the number of most recent observations the model is trained with
+     *
+     * @return The size of the training window, 0 to keep all the observations
+     */
+    public int getMaxObservations() {
+        return maxObservations;
+    }
+
+    public void setMaxObservations(int maxObservations) {
+        this.maxObservations = maxObservations;
+    }
+
+    /**
+     * Returns the file the trained model is saved to, and restored from on startup
+     *
+     * @return The path of the model file, or null to keep the model in memory only
+     */
+    public String getModelPath() {
+        return modelPath;
+    }
+
+    public void setModelPath(String modelPath) {
+        this.modelPath = modelPath;
+    }
 }
@@ -15,14 +15,28 @@
  */
 package org.kie.kogito.predictions.smile;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.text.ParseException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.kie.api.runtime.process.WorkItem;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
@@ -33,35 +47,61 @@ import org.slf4j.LoggerFactory;
 
 import smile.classification.RandomForest;
 import smile.data.Attribute;
-import smile.data.AttributeDataset;
 import smile.data.NominalAttribute;
 import smile.data.NumericAttribute;
 import smile.data.StringAttribute;
 
+/**
+ * Prediction service backed by a random forest trained with the outcomes of completed human tasks.
+ * <p>
+ * The model is trained in the background once enough observations were added, and published as an immutable
+ * snapshot that predictions use without waiting for a training to complete. Only the first prediction, when no model
+ * has been trained yet, trains one on the calling thread.
+ */
 public class SmileRandomForest extends AbstractPredictionEngine implements PredictionService {
 
     public static final String IDENTIFIER = "SMILERandomForest";
     private static final String UNABLE_PARSE_TEXT = "Unable to parse text";
     private static final Logger logger = LoggerFactory.getLogger(SmileRandomForest.class);
 
-    private final AttributeDataset dataset;
     private final Map<String, Attribute> smileAttributes;
+    private final Attribute[] attributes;
     private final Attribute outcomeAttribute;
     private final AttributeType outcomeAttributeType;
     private final int numAttributes;
     private final int numberTrees;
     protected List<String> attributeNames = new ArrayList<>();
 
-    private Set<String> outcomeSet = new HashSet<>();
     private static final int MINIMUM_OBSERVATIONS = 1200;
-    private int observations = 0;
+    private final int retrainObservations;
+    private final long retrainIntervalMillis;
+    private final int maxObservations;
+    private final Path modelPath;
+
+    // guards the training window and the attributes, whose nominal values are added as they are seen
+    private final Deque<Observation> window = new ArrayDeque<>();
+    private volatile int observations = 0;
+    private int pendingObservations;
+    private long lastTraining = System.currentTimeMillis();
+
+    private final AtomicBoolean trainingScheduled = new AtomicBoolean();
+    private final ExecutorService trainer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kogito-smile-trainer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile TrainedModel model;
 
     public SmileRandomForest(RandomForestConfiguration configuration) {
         this(configuration.getInputFeatures(),
                 configuration.getOutcomeName(),
                 configuration.getOutcomeType(),
                 configuration.getConfidenceThreshold(),
-                configuration.getNumTrees());
+                configuration.getNumTrees(),
+                configuration.getRetrainObservations(),
+                configuration.getRetrainIntervalMillis(),
+                configuration.getMaxObservations(),
+                configuration.getModelPath());
     }
 
     public SmileRandomForest(Map<String, AttributeType> inputFeatures,
@@ -69,20 +109,48 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
             AttributeType outputFeatureType,
             double confidenceThreshold,
             int numberTrees) {
+        this(inputFeatures, outputFeatureName, outputFeatureType, confidenceThreshold, numberTrees, 1, 0, 0, null);
+    }
+
+    public SmileRandomForest(Map<String, AttributeType> inputFeatures,
+            String outputFeatureName,
+            AttributeType outputFeatureType,
+            double confidenceThreshold,
+            int numberTrees,
+            int retrainObservations,
+            long retrainIntervalMillis,
+            int maxObservations,
+            String modelPath) {
         super(inputFeatures, outputFeatureName, outputFeatureType, confidenceThreshold);
         this.numberTrees = numberTrees;
+        this.retrainObservations = Math.max(retrainObservations, 1);
+        this.retrainIntervalMillis = retrainIntervalMillis;
+        this.maxObservations = maxObservations;
+        this.modelPath = modelPath == null ? null : Paths.get(modelPath);
+
+        SavedModel saved = restore(inputFeatures, outputFeatureName);
         smileAttributes = new HashMap<>();
         for (Entry<String, AttributeType> inputFeature : inputFeatures.entrySet()) {
             final String name = inputFeature.getKey();
             final AttributeType type = inputFeature.getValue();
-            smileAttributes.put(name, createAttribute(name, type));
+            smileAttributes.put(name, saved == null ? createAttribute(name, type) : saved.attributes.get(name));
             attributeNames.add(name);
         }
         numAttributes = smileAttributes.size();
-        outcomeAttribute = createAttribute(outputFeatureName, outputFeatureType);
+        attributes = new Attribute[numAttributes];
+        for (int i = 0; i < numAttributes; i++) {
+            attributes[i] = smileAttributes.get(attributeNames.get(i));
+        }
+        outcomeAttribute = saved == null ? createAttribute(outputFeatureName, outputFeatureType) : saved.outcomeAttribute;
         outcomeAttributeType = outputFeatureType;
 
-        dataset = new AttributeDataset("dataset", smileAttributes.values().toArray(new Attribute[numAttributes]), outcomeAttribute);
+        if (saved != null) {
+            for (int i = 0; i < saved.labels.length; i++) {
+                window.add(new Observation(saved.features[i], saved.labels[i]));
+            }
+            observations = saved.observations;
+            model = saved.model;
+        }
     }
 
     protected Attribute createAttribute(String name, AttributeType type) {
@@ -108,28 +176,23 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
     }
 
     /**
-     * Add the data provided as a map to a Smile {@link smile.data.Dataset}.
+     * Add the data provided as a map to the observations the model is trained with. When the training window is full,
+     * the oldest observation is dropped.
      *
      * @param data A map containing the input attribute names as keys and the attribute values as values.
      * @param outcome The value of the outcome (output data).
      */
     public void addData(Map<String, Object> data, Object outcome) {
-        final double[] features = new double[numAttributes];
-        int i = 0;
-        for (Entry<String, Attribute> entry : smileAttributes.entrySet()) {
+        synchronized (window) {
+            final double[] features = buildFeatures(data);
             try {
-                features[i] = smileAttributes.get(entry.getKey()).valueOf(data.get(entry.getKey()).toString());
+                window.add(new Observation(features, (int) outcomeAttribute.valueOf(outcome.toString())));
+                if (maxObservations > 0 && window.size() > maxObservations) {
+                    window.removeFirst();
+                }
             } catch (ParseException e) {
                 logger.error(UNABLE_PARSE_TEXT, e);
             }
-            i++;
-        }
-        try {
-            final String outcomeStr = outcome.toString();
-            outcomeSet.add(outcomeStr);
-            dataset.add(features, outcomeAttribute.valueOf(outcomeStr));
-        } catch (ParseException e) {
-            logger.error(UNABLE_PARSE_TEXT, e);
         }
     }
 
@@ -141,12 +204,14 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
      */
     protected double[] buildFeatures(Map<String, Object> data) {
         final double[] features = new double[numAttributes];
-        for (int i = 0; i < numAttributes; i++) {
-            final String attrName = attributeNames.get(i);
-            try {
-                features[i] = smileAttributes.get(attrName).valueOf(data.get(attrName).toString());
-            } catch (ParseException e) {
-                logger.error(UNABLE_PARSE_TEXT, e);
+        synchronized (window) {
+            for (int i = 0; i < numAttributes; i++) {
+                final String attrName = attributeNames.get(i);
+                try {
+                    features[i] = smileAttributes.get(attrName).valueOf(data.get(attrName).toString());
+                } catch (ParseException e) {
+                    logger.error(UNABLE_PARSE_TEXT, e);
+                }
             }
         }
         return features;
@@ -172,25 +237,34 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
     @Override
     public PredictionOutcome predict(WorkItem task, Map<String, Object> inputData) {
         logger.debug("Predicting with input data: {}", inputData);
-        RandomForest model = null;
         if (observations > MINIMUM_OBSERVATIONS) {
             this.confidenceThreshold = 0.75;
         }
 
+        TrainedModel current = model;
+        if (current == null) {
+            retrain();
+            current = model;
+        }
+
         Map<String, Object> outcomes = new HashMap<>();
-        if (outcomeSet.size() >= 2) {
-            model = new RandomForest(dataset, this.numberTrees);
+        if (current != null) {
             final double[] features = buildFeatures(inputData);
-            final double[] posteriori = new double[outcomeSet.size()];
-            double prediction = model.predict(features, posteriori);
+            final double[] posteriori = new double[current.labels.length];
+            int prediction = current.forest.predict(features, posteriori);
 
-            String predictionStr = dataset.responseAttribute().toString(prediction);
+            String predictionStr;
+            synchronized (window) {
+                predictionStr = outcomeAttribute.toString(current.labels[prediction]);
+            }
             outcomes.put(outcomeAttribute.getName(), convertValue(predictionStr, outcomeAttributeType));
-            final double confidence = posteriori[(int) prediction];
+            final double confidence = posteriori[prediction];
             outcomes.put("confidence", confidence);
 
-            logger.debug("task id {}, total {} observations, prediction = {}, confidence = {} (threshold = {})", ((KogitoWorkItem) task).getStringId(), this.observations, predictionStr, confidence,
-                    this.confidenceThreshold);
+            if (logger.isDebugEnabled()) {
+                logger.debug("task id {}, total {} observations, prediction = {}, confidence = {} (threshold = {})", ((KogitoWorkItem) task).getStringId(), this.observations, predictionStr,
+                        confidence, this.confidenceThreshold);
+            }
 
             return new PredictionOutcome(confidence, this.confidenceThreshold, outcomes);
         } else {
@@ -210,8 +284,148 @@ public class SmileRandomForest extends AbstractPredictionEngine implements Predi
     public void train(WorkItem task, Map<String, Object> inputData, Map<String, Object> outputData) {
         logger.debug("Training with input data: {}", inputData);
         logger.debug("Training with output data: {}", outputData);
-        this.observations += 1;
 
-        addData(inputData, outputData.get(outcomeAttribute.getName()));
+        boolean retrain;
+        synchronized (window) {
+            this.observations += 1;
+            addData(inputData, outputData.get(outcomeAttribute.getName()));
+            pendingObservations++;
+            retrain = pendingObservations >= retrainObservations
+                    || (retrainIntervalMillis > 0 && System.currentTimeMillis() - lastTraining >= retrainIntervalMillis);
+        }
+        if (retrain && trainingScheduled.compareAndSet(false, true)) {
+            trainer.execute(() -> {
+                // observations added from now on schedule another training
+                trainingScheduled.set(false);
+                try {
+                    retrain();
+                } catch (RuntimeException e) {
+                    logger.error("Unable to train the random forest model", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Trains a model with the observations in the training window and publishes it, saving it when a model path is
+     * configured. Nothing is published as long as the window holds a single outcome.
+     */
+    private synchronized void retrain() {
+        double[][] features;
+        int[] labels;
+        synchronized (window) {
+            features = new double[window.size()][];
+            labels = new int[window.size()];
+            int i = 0;
+            for (Observation observation : window) {
+                features[i] = observation.features;
+                labels[i] = observation.label;
+                i++;
+            }
+            pendingObservations = 0;
+            lastTraining = System.currentTimeMillis();
+        }
+        TrainedModel trained = TrainedModel.train(attributes, features, labels, numberTrees);
+        if (trained != null) {
+            model = trained;
+            if (modelPath != null) {
+                save(new SavedModel(smileAttributes, outcomeAttribute, features, labels, observations, trained));
+            }
+        }
+    }
+
+    private void save(SavedModel saved) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            synchronized (window) {
+                try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                    out.writeObject(saved);
+                }
+            }
+            Path parent = modelPath.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, modelPath.getFileName().toString(), ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, modelPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Unable to save the random forest model to {}", modelPath, e);
+        }
+    }
+
+    private SavedModel restore(Map<String, AttributeType> inputFeatures, String outputFeatureName) {
+        if (modelPath == null || !Files.exists(modelPath)) {
+            return null;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(Files.readAllBytes(modelPath)))) {
+            SavedModel saved = (SavedModel) in.readObject();
+            if (saved.attributes.keySet().equals(inputFeatures.keySet()) && saved.outcomeAttribute.getName().equals(outputFeatureName)) {
+                return saved;
+            }
+            logger.warn("Ignoring the random forest model saved to {}, it was trained with other features", modelPath);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            logger.warn("Unable to restore the random forest model from {}", modelPath, e);
+        }
+        return null;
+    }
+
+    private static final class Observation {
+
+        private final double[] features;
+        private final int label;
+
+        Observation(double[] features, int label) {
+            this.features = features;
+            this.label = label;
+        }
+    }
+
+    /**
+     * Immutable model published for predictions. The forest is trained with consecutive class indexes, mapped back to
+     * the values of the outcome attribute through {@code labels}, as the training window may not hold all of them.
+     */
+    private static final class TrainedModel implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RandomForest forest;
+        private final int[] labels;
+
+        private TrainedModel(RandomForest forest, int[] labels) {
+            this.forest = forest;
+            this.labels = labels;
+        }
+
+        static TrainedModel train(Attribute[] attributes, double[][] features, int[] labels, int numberTrees) {
+            int[] classes = Arrays.stream(labels).distinct().sorted().toArray();
+            if (classes.length < 2) {
+                return null;
+            }
+            int[] indexes = new int[labels.length];
+            for (int i = 0; i < labels.length; i++) {
+                indexes[i] = Arrays.binarySearch(classes, labels[i]);
+            }
+            return new TrainedModel(new RandomForest(attributes, features, indexes, numberTrees), classes);
+        }
+    }
+
+    private static final class SavedModel implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, Attribute> attributes;
+        private final Attribute outcomeAttribute;
+        private final double[][] features;
+        private final int[] labels;
+        private final int observations;
+        private final TrainedModel model;
+
+        SavedModel(Map<String, Attribute> attributes, Attribute outcomeAttribute, double[][] features, int[] labels, int observations, TrainedModel model) {
+            this.attributes = attributes;
+            this.outcomeAttribute = outcomeAttribute;
+            this.features = features;
+            this.labels = labels;
+            this.observations = observations;
+            this.model = model;
+        }
     }
 }
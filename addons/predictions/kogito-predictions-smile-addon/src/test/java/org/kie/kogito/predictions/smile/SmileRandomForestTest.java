@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.predictions.smile;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.kie.kogito.prediction.api.PredictionOutcome;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SmileRandomForestTest {
+
+    @Test
+    public void testPredictWithTrainingWindow() {
+        SmileRandomForest predictionService = new SmileRandomForest(configuration(10, null));
+        train(predictionService, "john", "approved", 20);
+        train(predictionService, "mary", "rejected", 10);
+
+        // the window only holds the last outcome, so no model can be trained
+        PredictionOutcome outcome = predictionService.predict(null, Collections.singletonMap("ActorId", "john"));
+        assertThat(outcome.getConfidenceLevel()).isZero();
+
+        train(predictionService, "john", "approved", 5);
+        outcome = predictionService.predict(null, Collections.singletonMap("ActorId", "john"));
+        assertThat(outcome.getConfidenceLevel()).isPositive();
+        assertThat(outcome.getData()).containsEntry("output", "approved");
+    }
+
+    @Test
+    public void testModelRestoredFromFile(@TempDir Path folder) {
+        String modelPath = folder.resolve("model.bin").toString();
+        SmileRandomForest trained = new SmileRandomForest(configuration(0, modelPath));
+        train(trained, "john", "approved", 10);
+        train(trained, "mary", "rejected", 10);
+        Map<String, Object> expected = trained.predict(null, Collections.singletonMap("ActorId", "mary")).getData();
+
+        SmileRandomForest restored = new SmileRandomForest(configuration(0, modelPath));
+        PredictionOutcome outcome = restored.predict(null, Collections.singletonMap("ActorId", "mary"));
+        assertThat(outcome.getData()).containsEntry("output", "rejected").isEqualTo(expected);
+    }
+
+    private static RandomForestConfiguration configuration(int maxObservations, String modelPath) {
+        RandomForestConfiguration configuration = new RandomForestConfiguration();
+        configuration.setInputFeatures(Collections.singletonMap("ActorId", AttributeType.NOMINAL));
+        configuration.setOutcomeName("output");
+        configuration.setOutcomeType(AttributeType.NOMINAL);
+        configuration.setConfidenceThreshold(0.7);
+        configuration.setNumTrees(1);
+        // models are only trained by the first prediction
+        configuration.setRetrainObservations(Integer.MAX_VALUE);
+        configuration.setMaxObservations(maxObservations);
+        configuration.setModelPath(modelPath);
+        return configuration;
+    }
+
+    private static void train(SmileRandomForest predictionService, String actor, String output, int times) {
+        for (int i = 0; i < times; i++) {
+            predictionService.train(null, Collections.singletonMap("ActorId", actor), Collections.singletonMap("output", output));
+        }
+    }
+}
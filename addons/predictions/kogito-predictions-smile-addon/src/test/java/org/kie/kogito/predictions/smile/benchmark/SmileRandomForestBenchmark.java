@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.predictions.smile.benchmark;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.prediction.api.PredictionOutcome;
+import org.kie.kogito.predictions.smile.AttributeType;
+import org.kie.kogito.predictions.smile.RandomForestConfiguration;
+import org.kie.kogito.predictions.smile.SmileRandomForest;
+import org.kie.kogito.process.workitems.impl.KogitoWorkItemImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures {@link SmileRandomForest#predict} for a model trained with a growing number of observations.
+ * Run it from the test classpath, e.g. with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.kie.kogito.predictions.smile.benchmark.SmileRandomForestBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SmileRandomForestBenchmark {
+
+    private static final String[] ACTORS = { "john", "mary", "paul", "anna" };
+
+    @Param({ "100", "1000", "10000" })
+    private int observations;
+
+    private SmileRandomForest predictionService;
+    private KogitoWorkItemImpl workItem;
+
+    @Setup
+    public void setup() {
+        RandomForestConfiguration configuration = new RandomForestConfiguration();
+        Map<String, AttributeType> inputFeatures = new HashMap<>();
+        inputFeatures.put("ActorId", AttributeType.NOMINAL);
+        inputFeatures.put("level", AttributeType.NUMERIC);
+        configuration.setInputFeatures(inputFeatures);
+        configuration.setOutcomeName("approved");
+        configuration.setOutcomeType(AttributeType.BOOLEAN);
+        configuration.setConfidenceThreshold(0.7);
+        configuration.setNumTrees(10);
+        predictionService = new SmileRandomForest(configuration);
+
+        for (int i = 0; i < observations; i++) {
+            Map<String, Object> inputs = new HashMap<>();
+            inputs.put("ActorId", ACTORS[i % ACTORS.length]);
+            inputs.put("level", i % 7);
+            predictionService.train(null, inputs, Collections.singletonMap("approved", i % 3 != 0));
+        }
+        workItem = new KogitoWorkItemImpl();
+        workItem.setId("benchmark");
+    }
+
+    @Benchmark
+    public PredictionOutcome predict() {
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put("ActorId", "mary");
+        inputs.put("level", 3);
+        return predictionService.predict(workItem, inputs);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SmileRandomForestBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -15,11 +15,22 @@
  */
 package org.kie.kogito.tracing.decision;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -35,53 +46,233 @@ import org.kie.kogito.tracing.decision.terminationdetector.TerminationDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Collects the {@link EvaluateEvent}s of each evaluation and, once the {@link TerminationDetector} reports it as
+ * terminated, hands them to the {@link Aggregator} to emit the corresponding trace event.
+ * <p>
+ * The events of an evaluation are buffered in a bounded, lock-free queue: evaluations that never terminate (because
+ * they threw or were abandoned), that exceed the maximum number of buffered evaluations or that produce more than
+ * the maximum number of events are evicted, emitting a "not enough data" trace event instead of the complete one.
+ * An evicted evaluation that is still running leaves a tombstone behind, so that its remaining events are dropped
+ * until it terminates instead of being collected as a new, partial evaluation.
+ * Aggregation and encoding run on the given aggregation executor, so that they can be moved off the evaluation thread.
+ * When the executor rejects an aggregation the events of the evaluation are discarded and its "not enough data" trace
+ * event is emitted on the calling thread instead.
+ */
 public class DecisionTracingCollector {
 
+    public static final String MAX_EXECUTIONS_CONFIG_KEY = "kogito.addon.tracing.decision.buffer.maxExecutions";
+    public static final String MAX_EVENTS_PER_EXECUTION_CONFIG_KEY = "kogito.addon.tracing.decision.buffer.maxEventsPerExecution";
+    public static final String EXECUTION_TTL_CONFIG_KEY = "kogito.addon.tracing.decision.buffer.ttlMillis";
+
+    public static final int DEFAULT_MAX_EXECUTIONS = 10000;
+    public static final int DEFAULT_MAX_EVENTS_PER_EXECUTION = 10000;
+    public static final long DEFAULT_EXECUTION_TTL_MILLIS = 60000L;
+
     private static final Logger LOG = LoggerFactory.getLogger(DecisionTracingCollector.class);
 
-    private final Map<String, List<EvaluateEvent>> cacheMap;
-    private final Map<String, TerminationDetector> terminationDetectorMap;
+    private final Object lock = new Object();
+    // both maps are guarded by the lock and iterate in insertion order, so the oldest entries are evicted first
+    private final Map<String, ExecutionBuffer> cacheMap;
+    private final Map<String, ExecutionBuffer> tombstones;
     private final Aggregator aggregator;
     private final Consumer<String> payloadConsumer;
     private final BiFunction<String, String, DMNModel> modelSupplier;
     private final Supplier<TerminationDetector> terminationDetectorSupplier;
     private final ConfigBean configBean;
+    private final Executor aggregationExecutor;
+    private final int maxExecutions;
+    private final int maxEventsPerExecution;
+    private final long executionTtlNanos;
+    private long nextExpirationCheck;
 
     public DecisionTracingCollector(Consumer<String> payloadConsumer, BiFunction<String, String, DMNModel> modelSupplier, ConfigBean configBean) {
         this(new DefaultAggregator(), payloadConsumer, modelSupplier, CounterTerminationDetector::new, configBean);
     }
 
+    public DecisionTracingCollector(
+            Consumer<String> payloadConsumer,
+            BiFunction<String, String, DMNModel> modelSupplier,
+            ConfigBean configBean,
+            Executor aggregationExecutor,
+            int maxExecutions,
+            int maxEventsPerExecution,
+            long executionTtlMillis) {
+        this(new DefaultAggregator(), payloadConsumer, modelSupplier, CounterTerminationDetector::new, configBean,
+                aggregationExecutor, maxExecutions, maxEventsPerExecution, executionTtlMillis);
+    }
+
     public DecisionTracingCollector(
             Aggregator aggregator,
             Consumer<String> payloadConsumer,
             BiFunction<String, String, DMNModel> modelSupplier,
             Supplier<TerminationDetector> terminationDetectorSupplier,
             ConfigBean configBean) {
-        this.cacheMap = new ConcurrentHashMap<>();
-        this.terminationDetectorMap = new ConcurrentHashMap<>();
+        this(aggregator, payloadConsumer, modelSupplier, terminationDetectorSupplier, configBean,
+                Runnable::run, DEFAULT_MAX_EXECUTIONS, DEFAULT_MAX_EVENTS_PER_EXECUTION, DEFAULT_EXECUTION_TTL_MILLIS);
+    }
+
+    public DecisionTracingCollector(
+            Aggregator aggregator,
+            Consumer<String> payloadConsumer,
+            BiFunction<String, String, DMNModel> modelSupplier,
+            Supplier<TerminationDetector> terminationDetectorSupplier,
+            ConfigBean configBean,
+            Executor aggregationExecutor,
+            int maxExecutions,
+            int maxEventsPerExecution,
+            long executionTtlMillis) {
+        if (maxExecutions <= 0 || maxEventsPerExecution <= 0 || executionTtlMillis <= 0) {
+            throw new IllegalArgumentException("Buffer limits and TTL of the decision tracing collector must be positive");
+        }
+        this.cacheMap = new LinkedHashMap<>();
+        this.tombstones = new LinkedHashMap<String, ExecutionBuffer>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExecutionBuffer> eldest) {
+                return size() > maxExecutions;
+            }
+        };
         this.aggregator = aggregator;
         this.payloadConsumer = payloadConsumer;
         this.modelSupplier = modelSupplier;
         this.terminationDetectorSupplier = terminationDetectorSupplier;
         this.configBean = configBean;
+        this.aggregationExecutor = aggregationExecutor;
+        this.maxExecutions = maxExecutions;
+        this.maxEventsPerExecution = maxEventsPerExecution;
+        this.executionTtlNanos = TimeUnit.MILLISECONDS.toNanos(executionTtlMillis);
+        this.nextExpirationCheck = System.nanoTime() + executionTtlNanos;
+    }
+
+    /**
+     * Creates the single threaded executor used by the addons to aggregate and encode trace events off the
+     * evaluation thread, preserving the order in which evaluations terminate. At most queueSize aggregations wait
+     * for it, the following ones are rejected until it catches up.
+     */
+    public static ExecutorService newAggregationExecutor(int queueSize) {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "kogito-tracing-aggregator");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
     }
 
     public void addEvent(EvaluateEvent event) {
         LOG.trace("Received {}(executionId: {}, modelName: {}, modelNamespace: {})", event.getType(), event.getExecutionId(), event.getModelName(), event.getModelNamespace());
 
         String executionId = event.getExecutionId();
-        if (!cacheMap.containsKey(executionId)) {
-            cacheMap.put(executionId, new LinkedList<>());
-            terminationDetectorMap.put(executionId, terminationDetectorSupplier.get());
-            LOG.trace("Added evaluation {} to cache (current size: {})", executionId, cacheMap.size());
+        ExecutionBuffer buffer;
+        List<ExecutionBuffer> evicted = Collections.emptyList();
+        synchronized (lock) {
+            buffer = cacheMap.get(executionId);
+            if (buffer == null) {
+                buffer = tombstones.get(executionId);
+            }
+            if (buffer == null) {
+                buffer = new ExecutionBuffer(event, terminationDetectorSupplier.get());
+                cacheMap.put(executionId, buffer);
+                LOG.trace("Added evaluation {} to cache (current size: {})", executionId, cacheMap.size());
+                evicted = evictIfNeeded();
+            }
         }
+        submitEvicted(evicted);
+
+        if (buffer.add(event, maxEventsPerExecution) && remove(buffer)) {
+            submitAggregation(buffer, buffer.isOverflowed() ? Collections.emptyList() : buffer.getEvents());
+        }
+    }
 
-        cacheMap.get(executionId).add(event);
-        terminationDetectorMap.get(executionId).add(event);
+    /**
+     * Evicts the evaluations that have been buffered for longer than the configured TTL, emitting a "not enough data"
+     * trace event for each of them. It is invoked periodically while new evaluations are collected.
+     */
+    public void evictExpired() {
+        List<ExecutionBuffer> evicted = new ArrayList<>();
+        synchronized (lock) {
+            evictExpired(System.nanoTime(), evicted);
+        }
+        submitEvicted(evicted);
+    }
 
-        if (terminationDetectorMap.get(executionId).isTerminated()) {
-            DMNModel dmnModel = modelSupplier.apply(event.getModelNamespace(), event.getModelName());
-            Optional<String> optPayload = aggregate(dmnModel, executionId, cacheMap.get(executionId));
+    private List<ExecutionBuffer> evictIfNeeded() {
+        List<ExecutionBuffer> evicted = new ArrayList<>();
+        long now = System.nanoTime();
+        if (now - nextExpirationCheck >= 0) {
+            nextExpirationCheck = now + executionTtlNanos;
+            evictExpired(now, evicted);
+        }
+        Iterator<ExecutionBuffer> oldest = cacheMap.values().iterator();
+        while (cacheMap.size() > maxExecutions && oldest.hasNext()) {
+            ExecutionBuffer buffer = oldest.next();
+            oldest.remove();
+            evict(buffer, "exceeding the maximum of " + maxExecutions + " buffered evaluations", now, evicted);
+        }
+        return evicted;
+    }
+
+    private void evictExpired(long now, List<ExecutionBuffer> evicted) {
+        long expiration = now - executionTtlNanos;
+        Iterator<ExecutionBuffer> oldest = cacheMap.values().iterator();
+        while (oldest.hasNext()) {
+            ExecutionBuffer buffer = oldest.next();
+            if (buffer.getCreationTime() - expiration > 0) {
+                break;
+            }
+            oldest.remove();
+            evict(buffer, "expired", now, evicted);
+        }
+        // evaluations that never terminate would otherwise keep their tombstone forever
+        Iterator<ExecutionBuffer> tombstone = tombstones.values().iterator();
+        while (tombstone.hasNext() && tombstone.next().getEvictionTime() - expiration <= 0) {
+            tombstone.remove();
+        }
+    }
+
+    private void evict(ExecutionBuffer buffer, String reason, long now, List<ExecutionBuffer> evicted) {
+        LOG.warn("Evicted incomplete evaluation {} from cache after {} events ({})", buffer.getExecutionId(), buffer.getSize(), reason);
+        buffer.evict(now);
+        tombstones.put(buffer.getExecutionId(), buffer);
+        evicted.add(buffer);
+    }
+
+    /**
+     * Removes the terminated evaluation, returning whether it was still buffered and must be aggregated or it was the
+     * tombstone of an evaluation already evicted.
+     */
+    private boolean remove(ExecutionBuffer buffer) {
+        String executionId = buffer.getExecutionId();
+        synchronized (lock) {
+            if (cacheMap.remove(executionId, buffer)) {
+                LOG.trace("Removed evaluation {} from cache (current size: {})", executionId, cacheMap.size());
+                return true;
+            }
+            if (tombstones.remove(executionId, buffer)) {
+                LOG.trace("Removed tombstone of evicted evaluation {}", executionId);
+            }
+            return false;
+        }
+    }
+
+    private void submitEvicted(List<ExecutionBuffer> evicted) {
+        evicted.forEach(buffer -> submitAggregation(buffer, Collections.emptyList()));
+    }
+
+    private void submitAggregation(ExecutionBuffer buffer, List<EvaluateEvent> events) {
+        String executionId = buffer.getExecutionId();
+        try {
+            aggregationExecutor.execute(() -> aggregateAndConsume(executionId, buffer, events));
+        } catch (RejectedExecutionException e) {
+            // without its events the trace only reports that there is not enough data, which is cheap enough to
+            // be emitted on the evaluation thread
+            LOG.warn("Discarded the events of evaluation {} because the aggregation executor rejected them", executionId);
+            aggregateAndConsume(executionId, buffer, Collections.emptyList());
+        }
+    }
+
+    private void aggregateAndConsume(String executionId, ExecutionBuffer buffer, List<EvaluateEvent> events) {
+        try {
+            DMNModel dmnModel = modelSupplier.apply(buffer.getModelNamespace(), buffer.getModelName());
+            Optional<String> optPayload = aggregate(dmnModel, executionId, events);
 
             if (optPayload.isPresent()) {
                 String payload = optPayload.get();
@@ -90,14 +281,94 @@ public class DecisionTracingCollector {
             } else {
                 LOG.error("Failed aggregating data for evaluation {}", executionId);
             }
-
-            cacheMap.remove(executionId);
-            terminationDetectorMap.remove(executionId);
-            LOG.trace("Removed evaluation {} from cache (current size: {})", executionId, cacheMap.size());
+        } catch (RuntimeException e) {
+            LOG.error(String.format("Failed aggregating data for evaluation %s", executionId), e);
         }
     }
 
     private Optional<String> aggregate(DMNModel model, String executionId, List<EvaluateEvent> events) {
         return aggregator.aggregate(model, executionId, events, configBean).flatMap(CloudEventUtils::encode);
     }
+
+    private static final class ExecutionBuffer {
+
+        private final String executionId;
+        private final String modelNamespace;
+        private final String modelName;
+        private final long creationTime;
+        private final Queue<EvaluateEvent> events;
+        private final AtomicInteger size;
+        private final TerminationDetector terminationDetector;
+        private volatile boolean overflowed;
+        private volatile boolean evicted;
+        private long evictionTime;
+
+        ExecutionBuffer(EvaluateEvent firstEvent, TerminationDetector terminationDetector) {
+            this.executionId = firstEvent.getExecutionId();
+            this.modelNamespace = firstEvent.getModelNamespace();
+            this.modelName = firstEvent.getModelName();
+            this.creationTime = System.nanoTime();
+            this.events = new ConcurrentLinkedQueue<>();
+            this.size = new AtomicInteger();
+            this.terminationDetector = terminationDetector;
+        }
+
+        /**
+         * Appends the event, unless the buffer is full or evicted, and returns whether the evaluation is terminated.
+         * Termination detectors are not thread safe, so they are only updated while holding their monitor, which is
+         * uncontended unless the events of the same evaluation are delivered concurrently.
+         */
+        boolean add(EvaluateEvent event, int maxEvents) {
+            // the events of an evicted evaluation only update the termination detector, to drop its tombstone
+            if (!evicted) {
+                if (size.incrementAndGet() <= maxEvents) {
+                    events.add(event);
+                } else {
+                    overflowed = true;
+                }
+            }
+            synchronized (terminationDetector) {
+                terminationDetector.add(event);
+                return terminationDetector.isTerminated();
+            }
+        }
+
+        void evict(long now) {
+            evicted = true;
+            evictionTime = now;
+            events.clear();
+        }
+
+        String getExecutionId() {
+            return executionId;
+        }
+
+        String getModelNamespace() {
+            return modelNamespace;
+        }
+
+        String getModelName() {
+            return modelName;
+        }
+
+        long getCreationTime() {
+            return creationTime;
+        }
+
+        long getEvictionTime() {
+            return evictionTime;
+        }
+
+        int getSize() {
+            return size.get();
+        }
+
+        boolean isOverflowed() {
+            return overflowed;
+        }
+
+        List<EvaluateEvent> getEvents() {
+            return new ArrayList<>(events);
+        }
+    }
 }
@@ -15,16 +15,25 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Optional;
+import java.util.WeakHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.kie.dmn.api.core.DMNMetadata;
+import org.kie.dmn.api.core.DMNResult;
 import org.kie.dmn.api.core.event.AfterEvaluateBKMEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateAllEvent;
 import org.kie.dmn.api.core.event.BeforeEvaluateBKMEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateDecisionServiceEvent;
 import org.kie.dmn.api.core.event.DMNEvent;
 import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
+import org.kie.kogito.decision.DecisionExecutionIdUtils;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEventType;
+import org.kie.kogito.tracing.decision.sampling.DecisionTracingSampler;
 
 import static org.kie.kogito.explainability.Constants.SKIP_TRACING;
 
@@ -35,11 +44,19 @@ import static org.kie.kogito.explainability.Constants.SKIP_TRACING;
 public class DecisionTracingListener implements DMNRuntimeEventListener {
 
     private Consumer<EvaluateEvent> eventConsumer;
+    private DecisionTracingSampler sampler = DecisionTracingSampler.always();
+    // the sampling decision is taken once per evaluation, whose events all share the same result
+    private final Map<DMNResult, Sampling> samplings = Collections.synchronizedMap(new WeakHashMap<>());
 
     public DecisionTracingListener(Consumer<EvaluateEvent> eventConsumer) {
         this.eventConsumer = eventConsumer;
     }
 
+    public DecisionTracingListener(Consumer<EvaluateEvent> eventConsumer, DecisionTracingSampler sampler) {
+        this.eventConsumer = eventConsumer;
+        this.sampler = sampler;
+    }
+
     protected DecisionTracingListener() {
     }
 
@@ -47,70 +64,112 @@ public class DecisionTracingListener implements DMNRuntimeEventListener {
         this.eventConsumer = eventConsumer;
     }
 
+    protected void setSampler(DecisionTracingSampler sampler) {
+        this.sampler = sampler;
+    }
+
     @Override
     public void beforeEvaluateAll(org.kie.dmn.api.core.event.BeforeEvaluateAllEvent event) {
-        commonHandleEvent(EvaluateEvent::from, event);
+        commonHandleEvent(EvaluateEventType.BEFORE_EVALUATE_ALL, EvaluateEvent::from, event);
     }
 
     @Override
     public void afterEvaluateAll(org.kie.dmn.api.core.event.AfterEvaluateAllEvent event) {
-        commonHandleEvent(EvaluateEvent::from, event);
+        commonHandleEvent(EvaluateEventType.AFTER_EVALUATE_ALL, EvaluateEvent::from, event);
     }
 
     @Override
     public void beforeEvaluateDecision(org.kie.dmn.api.core.event.BeforeEvaluateDecisionEvent event) {
-        commonHandleEvent(EvaluateEvent::from, event);
+        commonHandleEvent(EvaluateEventType.BEFORE_EVALUATE_DECISION, EvaluateEvent::from, event);
     }
 
     @Override
     public void afterEvaluateDecision(org.kie.dmn.api.core.event.AfterEvaluateDecisionEvent event) {
-        commonHandleEvent(EvaluateEvent::from, event);
+        commonHandleEvent(EvaluateEventType.AFTER_EVALUATE_DECISION, EvaluateEvent::from, event);
     }
 
     @Override
     public void beforeEvaluateContextEntry(org.kie.dmn.api.core.event.BeforeEvaluateContextEntryEvent event) {
-        commonHandleEvent(EvaluateEvent::from, event);
+        commonHandleEvent(EvaluateEventType.BEFORE_EVALUATE_CONTEXT_ENTRY, EvaluateEvent::from, event);
     }
 
     @Override
     public void afterEvaluateContextEntry(org.kie.dmn.api.core.event.AfterEvaluateContextEntryEvent event) {
-        commonHandleEvent(EvaluateEvent::from, event);
+        commonHandleEvent(EvaluateEventType.AFTER_EVALUATE_CONTEXT_ENTRY, EvaluateEvent::from, event);
     }
 
     @Override
     public void beforeEvaluateDecisionTable(org.kie.dmn.api.core.event.BeforeEvaluateDecisionTableEvent event) {
-        commonHandleEvent(EvaluateEvent::from, event);
+        commonHandleEvent(EvaluateEventType.BEFORE_EVALUATE_DECISION_TABLE, EvaluateEvent::from, event);
     }
 
     @Override
     public void afterEvaluateDecisionTable(org.kie.dmn.api.core.event.AfterEvaluateDecisionTableEvent event) {
-        commonHandleEvent(EvaluateEvent::from, event);
+        commonHandleEvent(EvaluateEventType.AFTER_EVALUATE_DECISION_TABLE, EvaluateEvent::from, event);
     }
 
     @Override
     public void beforeEvaluateDecisionService(org.kie.dmn.api.core.event.BeforeEvaluateDecisionServiceEvent event) {
-        commonHandleEvent(EvaluateEvent::from, event);
+        commonHandleEvent(EvaluateEventType.BEFORE_EVALUATE_DECISION_SERVICE, EvaluateEvent::from, event);
     }
 
     @Override
     public void afterEvaluateDecisionService(org.kie.dmn.api.core.event.AfterEvaluateDecisionServiceEvent event) {
-        commonHandleEvent(EvaluateEvent::from, event);
+        commonHandleEvent(EvaluateEventType.AFTER_EVALUATE_DECISION_SERVICE, EvaluateEvent::from, event);
     }
 
     @Override
     public void beforeEvaluateBKM(BeforeEvaluateBKMEvent event) {
-        commonHandleEvent(EvaluateEvent::from, event);
+        commonHandleEvent(EvaluateEventType.BEFORE_EVALUATE_BKM, EvaluateEvent::from, event);
     }
 
     @Override
     public void afterEvaluateBKM(AfterEvaluateBKMEvent event) {
-        commonHandleEvent(EvaluateEvent::from, event);
+        commonHandleEvent(EvaluateEventType.AFTER_EVALUATE_BKM, EvaluateEvent::from, event);
     }
 
-    private <T extends DMNEvent> void commonHandleEvent(Function<T, EvaluateEvent> factory, T event) {
-        if (!isTracingEnabled(event.getResult().getContext().getMetadata())) {
+    private <T extends DMNEvent> void commonHandleEvent(EvaluateEventType type, Function<T, EvaluateEvent> factory, T event) {
+        DMNMetadata metadata = event.getResult().getContext().getMetadata();
+        if (isTracingEnabled(metadata)) {
+            return;
+        }
+        if (sampler.isSamplingAll()) {
             eventConsumer.accept(factory.apply(event));
+            return;
+        }
+
+        DMNResult result = event.getResult();
+        Sampling sampling = samplings.computeIfAbsent(result,
+                r -> new Sampling(type, sampler.isSampled(DecisionExecutionIdUtils.get(r.getContext()), modelNameOf(event))));
+        boolean completed = sampling.track(type);
+
+        if (sampling.sampled) {
+            if (sampler.isCaptured(type)) {
+                eventConsumer.accept(factory.apply(event));
+            }
+        } else if (sampler.isAlwaysSampleErrors() && sampling.rootType != null) {
+            // unsampled evaluations only keep their first event, to emit an evaluation level trace if they fail
+            if (sampling.firstEvent == null) {
+                sampling.firstEvent = factory.apply(event);
+            } else if (completed && result.hasErrors()) {
+                eventConsumer.accept(sampling.firstEvent);
+                eventConsumer.accept(factory.apply(event));
+            }
+        }
+
+        if (completed) {
+            samplings.remove(result);
+        }
+    }
+
+    private static String modelNameOf(DMNEvent event) {
+        if (event instanceof BeforeEvaluateAllEvent) {
+            return ((BeforeEvaluateAllEvent) event).getModelName();
+        }
+        if (event instanceof BeforeEvaluateDecisionServiceEvent) {
+            return ((BeforeEvaluateDecisionServiceEvent) event).getDecisionService().getModelName();
         }
+        return null;
     }
 
     private <T extends DMNEvent> boolean isTracingEnabled(DMNMetadata metadata) {
@@ -118,4 +177,38 @@ public class DecisionTracingListener implements DMNRuntimeEventListener {
         return skipTracing.orElse(false);
     }
 
+    /**
+     * Sampling decision of an evaluation, which is completed by the after event matching its first event when the
+     * latter is a {@link EvaluateEventType#BEFORE_EVALUATE_ALL} or {@link EvaluateEventType#BEFORE_EVALUATE_DECISION_SERVICE}.
+     * The decisions of the evaluations that are never completed are forgotten along with their result.
+     */
+    private static final class Sampling {
+
+        private final EvaluateEventType rootType;
+        private final boolean sampled;
+        private int depth;
+        private EvaluateEvent firstEvent;
+
+        Sampling(EvaluateEventType firstType, boolean sampled) {
+            this.rootType = firstType == EvaluateEventType.BEFORE_EVALUATE_ALL || firstType == EvaluateEventType.BEFORE_EVALUATE_DECISION_SERVICE ? firstType : null;
+            this.sampled = sampled;
+        }
+
+        boolean track(EvaluateEventType type) {
+            if (rootType == null) {
+                return false;
+            }
+            if (type == rootType) {
+                depth++;
+            } else if (type == closingType()) {
+                depth--;
+                return depth == 0;
+            }
+            return false;
+        }
+
+        private EvaluateEventType closingType() {
+            return rootType == EvaluateEventType.BEFORE_EVALUATE_ALL ? EvaluateEventType.AFTER_EVALUATE_ALL : EvaluateEventType.AFTER_EVALUATE_DECISION_SERVICE;
+        }
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.tracing.decision.sampling;
+
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEventType;
+
+/**
+ * Level of detail captured for a sampled evaluation.
+ */
+public enum CaptureLevel {
+
+    /**
+     * Captures every evaluation event, including context entries, decision tables and business knowledge models.
+     */
+    FULL,
+
+    /**
+     * Captures only the evaluation and decision level events, i.e. the inputs, outputs and timings of the
+     * evaluation and of its decisions and decision services.
+     */
+    SUMMARY;
+
+    public boolean captures(EvaluateEventType type) {
+        if (this == FULL) {
+            return true;
+        }
+        switch (type) {
+            case BEFORE_EVALUATE_ALL:
+            case AFTER_EVALUATE_ALL:
+            case BEFORE_EVALUATE_DECISION_SERVICE:
+            case AFTER_EVALUATE_DECISION_SERVICE:
+            case BEFORE_EVALUATE_DECISION:
+            case AFTER_EVALUATE_DECISION:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+}
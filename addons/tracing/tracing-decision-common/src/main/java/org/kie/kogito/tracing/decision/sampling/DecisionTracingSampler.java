@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.tracing.decision.sampling;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEventType;
+
+/**
+ * Head-based sampler of the decision tracing addon: it decides whether an evaluation is traced when the evaluation
+ * starts, so that the evaluations that are not sampled don't pay any capture cost.
+ * <p>
+ * The decision is derived from the execution id, when available, so that it is stable for a given evaluation.
+ * The sampling rate can be overridden per model name and, when {@link #isAlwaysSampleErrors()} is enabled,
+ * evaluations that are not sampled but end with errors are still traced, although only at evaluation level.
+ */
+public class DecisionTracingSampler {
+
+    public static final String RATE_CONFIG_KEY = "kogito.addon.tracing.decision.sampling.rate";
+    public static final String MODEL_RATES_CONFIG_KEY = "kogito.addon.tracing.decision.sampling.modelRates";
+    public static final String ALWAYS_SAMPLE_ERRORS_CONFIG_KEY = "kogito.addon.tracing.decision.sampling.alwaysSampleErrors";
+    public static final String CAPTURE_LEVEL_CONFIG_KEY = "kogito.addon.tracing.decision.captureLevel";
+
+    private static final DecisionTracingSampler ALWAYS = new DecisionTracingSampler(1.0, Collections.emptyMap(), false, CaptureLevel.FULL);
+
+    private final double rate;
+    private final Map<String, Double> modelRates;
+    private final boolean alwaysSampleErrors;
+    private final CaptureLevel captureLevel;
+    private final boolean samplingAll;
+
+    public DecisionTracingSampler(double rate, Map<String, Double> modelRates, boolean alwaysSampleErrors, CaptureLevel captureLevel) {
+        checkRate(rate);
+        modelRates.values().forEach(DecisionTracingSampler::checkRate);
+        this.rate = rate;
+        this.modelRates = Collections.unmodifiableMap(new HashMap<>(modelRates));
+        this.alwaysSampleErrors = alwaysSampleErrors;
+        this.captureLevel = captureLevel;
+        this.samplingAll = rate >= 1 && captureLevel == CaptureLevel.FULL && modelRates.values().stream().allMatch(r -> r >= 1);
+    }
+
+    /**
+     * Returns the sampler that traces every evaluation at {@link CaptureLevel#FULL} level.
+     */
+    public static DecisionTracingSampler always() {
+        return ALWAYS;
+    }
+
+    /**
+     * Creates a sampler from its configuration values, where <code>modelRates</code> is a comma separated list of
+     * <code>modelName=rate</code> entries and <code>captureLevel</code> is the (case insensitive) name of a
+     * {@link CaptureLevel}.
+     */
+    public static DecisionTracingSampler of(double rate, String modelRates, boolean alwaysSampleErrors, String captureLevel) {
+        return new DecisionTracingSampler(rate, parseModelRates(modelRates), alwaysSampleErrors, CaptureLevel.valueOf(captureLevel.trim().toUpperCase()));
+    }
+
+    static Map<String, Double> parseModelRates(String modelRates) {
+        Map<String, Double> rates = new HashMap<>();
+        if (modelRates == null || modelRates.trim().isEmpty()) {
+            return rates;
+        }
+        for (String entry : modelRates.split(",")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException(String.format("Invalid entry \"%s\" in %s, expected modelName=rate", entry, MODEL_RATES_CONFIG_KEY));
+            }
+            rates.put(entry.substring(0, separator).trim(), Double.valueOf(entry.substring(separator + 1).trim()));
+        }
+        return rates;
+    }
+
+    private static void checkRate(double rate) {
+        if (!(rate >= 0 && rate <= 1)) {
+            throw new IllegalArgumentException(String.format("Decision tracing sampling rate must be between 0 and 1 (was %s)", rate));
+        }
+    }
+
+    /**
+     * Returns whether every evaluation is traced at {@link CaptureLevel#FULL} level, so that no sampling decision
+     * needs to be tracked.
+     */
+    public boolean isSamplingAll() {
+        return samplingAll;
+    }
+
+    public boolean isSampled(String executionId, String modelName) {
+        double modelRate = modelName == null ? rate : modelRates.getOrDefault(modelName, rate);
+        if (modelRate >= 1) {
+            return true;
+        }
+        if (modelRate <= 0) {
+            return false;
+        }
+        double value = executionId == null
+                ? ThreadLocalRandom.current().nextDouble()
+                : (executionId.hashCode() & Integer.MAX_VALUE) / (Integer.MAX_VALUE + 1.0);
+        return value < modelRate;
+    }
+
+    public boolean isCaptured(EvaluateEventType type) {
+        return captureLevel.captures(type);
+    }
+
+    public boolean isAlwaysSampleErrors() {
+        return alwaysSampleErrors;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public Map<String, Double> getModelRates() {
+        return modelRates;
+    }
+
+    public CaptureLevel getCaptureLevel() {
+        return captureLevel;
+    }
+}
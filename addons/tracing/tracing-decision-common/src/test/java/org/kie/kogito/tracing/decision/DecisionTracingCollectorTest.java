@@ -16,9 +16,16 @@
 package org.kie.kogito.tracing.decision;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -39,6 +46,7 @@ import org.mockito.ArgumentCaptor;
 import io.cloudevents.CloudEvent;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.kie.kogito.decision.DecisionTestUtils.EVALUATE_ALL_EXECUTION_ID;
 import static org.kie.kogito.decision.DecisionTestUtils.EVALUATE_DECISION_SERVICE_EXECUTION_ID;
@@ -46,7 +54,9 @@ import static org.kie.kogito.decision.DecisionTestUtils.createDMNModel;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_ALL_JSON_RESOURCE;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_DECISION_SERVICE_JSON_RESOURCE;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.readEvaluateEventsFromJsonResource;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -122,4 +132,151 @@ class DecisionTracingCollectorTest {
                 .flatMap(CloudEventUtils::encode)
                 .orElseThrow(IllegalStateException::new);
     }
+
+    @Test
+    void testCollectorEvictsExpiredEvaluations() throws Exception {
+        MockDefaultAggregator aggregator = new MockDefaultAggregator();
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        DecisionTracingCollector collector = newCollector(aggregator, payloadConsumer, Runnable::run, 10, 100, 1);
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        evaluateAllEvents.subList(0, 3).forEach(collector::addEvent);
+        verify(payloadConsumer, never()).accept(any());
+
+        Thread.sleep(10);
+        collector.evictExpired();
+
+        assertNotEnoughData(aggregator, EVALUATE_ALL_EXECUTION_ID);
+        verify(payloadConsumer, times(1)).accept(any());
+
+        collector.evictExpired();
+        verify(payloadConsumer, times(1)).accept(any());
+    }
+
+    @Test
+    void testCollectorEvictsOldestEvaluationWhenFull() throws IOException {
+        MockDefaultAggregator aggregator = new MockDefaultAggregator();
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        DecisionTracingCollector collector = newCollector(aggregator, payloadConsumer, Runnable::run, 1, 100, 60000);
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        List<EvaluateEvent> evaluateDecisionServiceEvents = readEvaluateEventsFromJsonResource(EVALUATE_DECISION_SERVICE_JSON_RESOURCE);
+
+        collector.addEvent(evaluateAllEvents.get(0));
+        evaluateDecisionServiceEvents.forEach(collector::addEvent);
+
+        assertNotEnoughData(aggregator, EVALUATE_ALL_EXECUTION_ID);
+        assertEquals(evaluateDecisionServiceEvents.size(), aggregator.getCalls().get(EVALUATE_DECISION_SERVICE_EXECUTION_ID).getLeft().size());
+        verify(payloadConsumer, times(2)).accept(any());
+    }
+
+    @Test
+    void testCollectorDropsRemainingEventsOfEvictedEvaluation() throws IOException {
+        MockDefaultAggregator aggregator = new MockDefaultAggregator();
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        DecisionTracingCollector collector = newCollector(aggregator, payloadConsumer, Runnable::run, 1, 100, 60000);
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        List<EvaluateEvent> evaluateDecisionServiceEvents = readEvaluateEventsFromJsonResource(EVALUATE_DECISION_SERVICE_JSON_RESOURCE);
+
+        collector.addEvent(evaluateAllEvents.get(0));
+        evaluateDecisionServiceEvents.forEach(collector::addEvent);
+        evaluateAllEvents.subList(1, evaluateAllEvents.size()).forEach(collector::addEvent);
+
+        assertNotEnoughData(aggregator, EVALUATE_ALL_EXECUTION_ID);
+        verify(payloadConsumer, times(2)).accept(any());
+
+        // the tombstone is dropped once the evicted evaluation terminates
+        evaluateAllEvents.forEach(collector::addEvent);
+
+        assertEquals(evaluateAllEvents.size(), aggregator.getCalls().get(EVALUATE_ALL_EXECUTION_ID).getLeft().size());
+        verify(payloadConsumer, times(3)).accept(any());
+    }
+
+    @Test
+    void testCollectorStopsBufferingEventsOfTooLargeEvaluations() throws IOException {
+        MockDefaultAggregator aggregator = new MockDefaultAggregator();
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        DecisionTracingCollector collector = newCollector(aggregator, payloadConsumer, Runnable::run, 10, 2, 60000);
+
+        readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE).forEach(collector::addEvent);
+
+        assertNotEnoughData(aggregator, EVALUATE_ALL_EXECUTION_ID);
+        verify(payloadConsumer, times(1)).accept(any());
+    }
+
+    @Test
+    void testCollectorAggregatesOnAggregationExecutor() throws IOException {
+        MockDefaultAggregator aggregator = new MockDefaultAggregator();
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        List<Runnable> tasks = new ArrayList<>();
+        DecisionTracingCollector collector = newCollector(aggregator, payloadConsumer, tasks::add, 10, 100, 60000);
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        evaluateAllEvents.forEach(collector::addEvent);
+
+        assertEquals(1, tasks.size());
+        assertTrue(aggregator.getCalls().isEmpty());
+        verify(payloadConsumer, never()).accept(any());
+
+        tasks.get(0).run();
+
+        assertEquals(evaluateAllEvents.size(), aggregator.getCalls().get(EVALUATE_ALL_EXECUTION_ID).getLeft().size());
+        verify(payloadConsumer, times(1)).accept(any());
+    }
+
+    @Test
+    void testCollectorEmitsNotEnoughDataWhenAggregationIsRejected() throws IOException {
+        MockDefaultAggregator aggregator = new MockDefaultAggregator();
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        DecisionTracingCollector collector = newCollector(aggregator, payloadConsumer, task -> {
+            throw new RejectedExecutionException("full");
+        }, 10, 100, 60000);
+
+        readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE).forEach(collector::addEvent);
+
+        assertNotEnoughData(aggregator, EVALUATE_ALL_EXECUTION_ID);
+        verify(payloadConsumer, times(1)).accept(any());
+    }
+
+    @Test
+    void testCollectorWithConcurrentEvaluations() throws Exception {
+        MockDefaultAggregator aggregator = new MockDefaultAggregator();
+        CountDownLatch payloads = new CountDownLatch(2);
+        ExecutorService aggregationExecutor = Executors.newSingleThreadExecutor();
+        ExecutorService evaluationExecutor = Executors.newFixedThreadPool(2);
+        try {
+            DecisionTracingCollector collector = newCollector(aggregator, payload -> payloads.countDown(), aggregationExecutor, 10, 100, 60000);
+
+            List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+            List<EvaluateEvent> evaluateDecisionServiceEvents = readEvaluateEventsFromJsonResource(EVALUATE_DECISION_SERVICE_JSON_RESOURCE);
+            evaluationExecutor.execute(() -> evaluateAllEvents.forEach(collector::addEvent));
+            evaluationExecutor.execute(() -> evaluateDecisionServiceEvents.forEach(collector::addEvent));
+
+            assertTrue(payloads.await(10, TimeUnit.SECONDS));
+            assertEquals(evaluateAllEvents.size(), aggregator.getCalls().get(EVALUATE_ALL_EXECUTION_ID).getLeft().size());
+            assertEquals(evaluateDecisionServiceEvents.size(), aggregator.getCalls().get(EVALUATE_DECISION_SERVICE_EXECUTION_ID).getLeft().size());
+        } finally {
+            evaluationExecutor.shutdownNow();
+            aggregationExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCollectorRejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> newCollector(new MockDefaultAggregator(), mock(Consumer.class), Runnable::run, 0, 100, 60000));
+        assertThrows(IllegalArgumentException.class, () -> newCollector(new MockDefaultAggregator(), mock(Consumer.class), Runnable::run, 10, 0, 60000));
+        assertThrows(IllegalArgumentException.class, () -> newCollector(new MockDefaultAggregator(), mock(Consumer.class), Runnable::run, 10, 100, 0));
+    }
+
+    private static DecisionTracingCollector newCollector(MockDefaultAggregator aggregator, Consumer<String> payloadConsumer, Executor aggregationExecutor,
+            int maxExecutions, int maxEventsPerExecution, long executionTtlMillis) {
+        return new DecisionTracingCollector(aggregator, payloadConsumer, (namespace, name) -> model, CounterTerminationDetector::new, configBean,
+                aggregationExecutor, maxExecutions, maxEventsPerExecution, executionTtlMillis);
+    }
+
+    private static void assertNotEnoughData(MockDefaultAggregator aggregator, String executionId) {
+        assertTrue(aggregator.getCalls().containsKey(executionId));
+        assertTrue(aggregator.getCalls().get(executionId).getLeft().isEmpty());
+    }
 }
@@ -15,6 +15,7 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +37,8 @@ import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEventType;
 import org.kie.kogito.tracing.decision.mock.MockAfterEvaluateAllEvent;
 import org.kie.kogito.tracing.decision.mock.MockBeforeEvaluateAllEvent;
+import org.kie.kogito.tracing.decision.sampling.CaptureLevel;
+import org.kie.kogito.tracing.decision.sampling.DecisionTracingSampler;
 import org.mockito.ArgumentCaptor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -116,6 +119,43 @@ class DecisionTracingListenerTest {
         testWithRealEvaluateDecisionService(contextVariables, 6);
     }
 
+    @Test
+    void testListenerWithZeroSamplingRateCapturesNothing() {
+        DecisionTracingSampler sampler = new DecisionTracingSampler(0, Collections.emptyMap(), false, CaptureLevel.FULL);
+        testWithRealRuntime(getEvaluateAllContext(), 0, DecisionModel::evaluateAll, sampler);
+        testWithRealRuntime(getEvaluateAllContextForError(), 0, DecisionModel::evaluateAll, sampler);
+    }
+
+    @Test
+    void testListenerWithModelSamplingRateOverride() {
+        DecisionTracingSampler sampler = new DecisionTracingSampler(0, Collections.singletonMap(MODEL_NAME, 1.0), false, CaptureLevel.FULL);
+        List<EvaluateEvent> events = testWithRealRuntime(getEvaluateAllContext(), 14, DecisionModel::evaluateAll, sampler);
+        assertEvaluateAllEvents(events, MODEL_NAMESPACE, MODEL_NAME, TEST_EXECUTION_ID_2);
+
+        sampler = new DecisionTracingSampler(1, Collections.singletonMap(MODEL_NAME, 0.0), false, CaptureLevel.FULL);
+        testWithRealRuntime(getEvaluateAllContext(), 0, DecisionModel::evaluateAll, sampler);
+    }
+
+    @Test
+    void testListenerWithAlwaysSampleErrorsCapturesOnlyFailedEvaluations() {
+        DecisionTracingSampler sampler = new DecisionTracingSampler(0, Collections.emptyMap(), true, CaptureLevel.FULL);
+        testWithRealRuntime(getEvaluateAllContext(), 0, DecisionModel::evaluateAll, sampler);
+
+        List<EvaluateEvent> events = testWithRealRuntime(getEvaluateAllContextForError(), 2, DecisionModel::evaluateAll, sampler);
+        assertEvaluateAllEvents(events, MODEL_NAMESPACE, MODEL_NAME, TEST_EXECUTION_ID_2);
+    }
+
+    @Test
+    void testListenerWithSummaryCaptureLevel() {
+        DecisionTracingSampler sampler = new DecisionTracingSampler(1, Collections.emptyMap(), false, CaptureLevel.SUMMARY);
+        List<EvaluateEvent> events = testWithRealRuntime(getEvaluateAllContext(), 6, DecisionModel::evaluateAll, sampler);
+        assertEvaluateAllEvents(events, MODEL_NAMESPACE, MODEL_NAME, TEST_EXECUTION_ID_2);
+        events.forEach(e -> assertTrue(CaptureLevel.SUMMARY.captures(e.getType())));
+
+        events = testWithRealRuntime(getEvaluateDecisionServiceContext(), 4, (model, context) -> model.evaluateDecisionService(context, DECISION_SERVICE_NODE_NAME), sampler);
+        assertEvaluateDecisionServiceEvents(events, MODEL_NAMESPACE, MODEL_NAME, TEST_EXECUTION_ID_2);
+    }
+
     private static void testWithRealEvaluateAll(Map<String, Object> contextVariables, int expectedEvents) {
         List<EvaluateEvent> events = testWithRealRuntime(contextVariables, expectedEvents, DecisionModel::evaluateAll);
         assertEvaluateAllEvents(events, MODEL_NAMESPACE, MODEL_NAME, TEST_EXECUTION_ID_2);
@@ -127,10 +167,15 @@ class DecisionTracingListenerTest {
     }
 
     private static List<EvaluateEvent> testWithRealRuntime(Map<String, Object> contextVariables, int expectedEvents, BiConsumer<DecisionModel, DMNContext> modelConsumer) {
+        return testWithRealRuntime(contextVariables, expectedEvents, modelConsumer, DecisionTracingSampler.always());
+    }
+
+    private static List<EvaluateEvent> testWithRealRuntime(Map<String, Object> contextVariables, int expectedEvents, BiConsumer<DecisionModel, DMNContext> modelConsumer,
+            DecisionTracingSampler sampler) {
         final DMNRuntime runtime = createDMNRuntime();
 
         Consumer<EvaluateEvent> eventConsumer = mock(Consumer.class);
-        DecisionTracingListener listener = new DecisionTracingListener(eventConsumer);
+        DecisionTracingListener listener = new DecisionTracingListener(eventConsumer, sampler);
         runtime.addListener(listener);
 
         final DecisionModel model = new DmnDecisionModel(runtime, MODEL_NAMESPACE, MODEL_NAME, () -> TEST_EXECUTION_ID_2);
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.tracing.decision.sampling;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEventType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DecisionTracingSamplerTest {
+
+    @Test
+    void testOf() {
+        DecisionTracingSampler sampler = DecisionTracingSampler.of(0.25, " Traffic Violation = 1, loan=0.5 ", true, "summary");
+
+        assertEquals(0.25, sampler.getRate());
+        assertEquals(2, sampler.getModelRates().size());
+        assertEquals(1.0, sampler.getModelRates().get("Traffic Violation"));
+        assertEquals(0.5, sampler.getModelRates().get("loan"));
+        assertTrue(sampler.isAlwaysSampleErrors());
+        assertSame(CaptureLevel.SUMMARY, sampler.getCaptureLevel());
+        assertFalse(sampler.isSamplingAll());
+
+        assertTrue(DecisionTracingSampler.of(1, "", false, "FULL").isSamplingAll());
+        assertTrue(DecisionTracingSampler.always().isSamplingAll());
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> DecisionTracingSampler.of(1.5, null, false, "FULL"));
+        assertThrows(IllegalArgumentException.class, () -> DecisionTracingSampler.of(-0.1, null, false, "FULL"));
+        assertThrows(IllegalArgumentException.class, () -> DecisionTracingSampler.of(1, "model=2", false, "FULL"));
+        assertThrows(IllegalArgumentException.class, () -> DecisionTracingSampler.of(1, "model", false, "FULL"));
+        assertThrows(IllegalArgumentException.class, () -> DecisionTracingSampler.of(1, null, false, "NONE"));
+    }
+
+    @Test
+    void testIsSampled() {
+        DecisionTracingSampler sampler = new DecisionTracingSampler(0.5, Collections.singletonMap("never", 0.0), false, CaptureLevel.FULL);
+
+        String executionId = UUID.randomUUID().toString();
+        boolean sampled = sampler.isSampled(executionId, "model");
+        IntStream.range(0, 10).forEach(i -> assertEquals(sampled, sampler.isSampled(executionId, "model")));
+
+        long sampledCount = IntStream.range(0, 10000).filter(i -> sampler.isSampled(UUID.randomUUID().toString(), null)).count();
+        assertTrue(sampledCount > 4500 && sampledCount < 5500, "Sampled " + sampledCount + " out of 10000 evaluations");
+
+        assertFalse(sampler.isSampled(executionId, "never"));
+    }
+
+    @Test
+    void testSummaryCaptureLevel() {
+        assertTrue(CaptureLevel.SUMMARY.captures(EvaluateEventType.BEFORE_EVALUATE_ALL));
+        assertTrue(CaptureLevel.SUMMARY.captures(EvaluateEventType.AFTER_EVALUATE_DECISION));
+        assertTrue(CaptureLevel.SUMMARY.captures(EvaluateEventType.AFTER_EVALUATE_DECISION_SERVICE));
+        assertFalse(CaptureLevel.SUMMARY.captures(EvaluateEventType.BEFORE_EVALUATE_CONTEXT_ENTRY));
+        assertFalse(CaptureLevel.SUMMARY.captures(EvaluateEventType.AFTER_EVALUATE_DECISION_TABLE));
+        assertFalse(CaptureLevel.SUMMARY.captures(EvaluateEventType.BEFORE_EVALUATE_BKM));
+        for (EvaluateEventType type : EvaluateEventType.values()) {
+            assertTrue(CaptureLevel.FULL.captures(type));
+        }
+    }
+}
@@ -15,11 +15,14 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiFunction;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.Application;
 import org.kie.kogito.conf.ConfigBean;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
@@ -31,22 +34,42 @@ import io.quarkus.vertx.ConsumeEvent;
 public class QuarkusDecisionTracingCollector {
 
     private final DecisionTracingCollector collector;
+    private final ExecutorService aggregationExecutor;
 
     public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final BiFunction<String, String, org.kie.dmn.api.core.DMNModel> modelSupplier) {
         this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean);
+        this.aggregationExecutor = null;
     }
 
-    @Inject
     public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final Application application) {
         this(eventEmitter, configBean, new ApplicationModelSupplier(application));
     }
 
+    @Inject
+    public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final Application application,
+            @ConfigProperty(name = DecisionTracingCollector.MAX_EXECUTIONS_CONFIG_KEY, defaultValue = "10000") int maxExecutions,
+            @ConfigProperty(name = DecisionTracingCollector.MAX_EVENTS_PER_EXECUTION_CONFIG_KEY, defaultValue = "10000") int maxEventsPerExecution,
+            @ConfigProperty(name = DecisionTracingCollector.EXECUTION_TTL_CONFIG_KEY, defaultValue = "60000") long executionTtlMillis) {
+        this.aggregationExecutor = DecisionTracingCollector.newAggregationExecutor(maxExecutions);
+        this.collector = new DecisionTracingCollector(eventEmitter::emit, new ApplicationModelSupplier(application), configBean,
+                aggregationExecutor, maxExecutions, maxEventsPerExecution, executionTtlMillis);
+    }
+
     @ConsumeEvent("kogito-tracing-decision_EvaluateEvent")
     public void onEvent(final EvaluateEvent event) {
         collector.addEvent(event);
     }
+
+    @PreDestroy
+    void shutdown() {
+        if (aggregationExecutor != null) {
+            aggregationExecutor.shutdown();
+        }
+    }
 }
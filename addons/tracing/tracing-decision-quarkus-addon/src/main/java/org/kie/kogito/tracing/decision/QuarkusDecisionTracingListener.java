@@ -15,10 +15,13 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.util.Optional;
+
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.tracing.decision.sampling.DecisionTracingSampler;
 
 import io.vertx.core.eventbus.EventBus;
 
@@ -29,11 +32,31 @@ import io.vertx.core.eventbus.EventBus;
 @ApplicationScoped
 public final class QuarkusDecisionTracingListener extends DecisionTracingListener {
 
+    public QuarkusDecisionTracingListener(
+            EventBus bus,
+            QuarkusDecisionTracingCollector collector,
+            boolean asyncEnabled) {
+        this(bus, collector, asyncEnabled, DecisionTracingSampler.always());
+    }
+
     @Inject
     public QuarkusDecisionTracingListener(
             EventBus bus,
             QuarkusDecisionTracingCollector collector,
-            @ConfigProperty(name = "kogito.addon.tracing.decision.asyncEnabled", defaultValue = "true") boolean asyncEnabled) {
+            @ConfigProperty(name = "kogito.addon.tracing.decision.asyncEnabled", defaultValue = "true") boolean asyncEnabled,
+            @ConfigProperty(name = DecisionTracingSampler.RATE_CONFIG_KEY, defaultValue = "1.0") double samplingRate,
+            @ConfigProperty(name = DecisionTracingSampler.MODEL_RATES_CONFIG_KEY) Optional<String> modelSamplingRates,
+            @ConfigProperty(name = DecisionTracingSampler.ALWAYS_SAMPLE_ERRORS_CONFIG_KEY, defaultValue = "false") boolean alwaysSampleErrors,
+            @ConfigProperty(name = DecisionTracingSampler.CAPTURE_LEVEL_CONFIG_KEY, defaultValue = "FULL") String captureLevel) {
+        this(bus, collector, asyncEnabled, DecisionTracingSampler.of(samplingRate, modelSamplingRates.orElse(null), alwaysSampleErrors, captureLevel));
+    }
+
+    private QuarkusDecisionTracingListener(
+            EventBus bus,
+            QuarkusDecisionTracingCollector collector,
+            boolean asyncEnabled,
+            DecisionTracingSampler sampler) {
+        setSampler(sampler);
         if (asyncEnabled) {
             setEventConsumer(event -> bus.send("kogito-tracing-decision_EvaluateEvent", event));
         } else {
@@ -15,8 +15,11 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiFunction;
 
+import javax.annotation.PreDestroy;
+
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.kogito.Application;
 import org.kie.kogito.conf.ConfigBean;
@@ -26,11 +29,24 @@ import org.kie.kogito.tracing.decision.modelsupplier.ApplicationModelSupplier;
 public class SpringBootDecisionTracingCollector {
 
     private final DecisionTracingCollector collector;
+    private final ExecutorService aggregationExecutor;
 
     public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final BiFunction<String, String, DMNModel> modelSupplier) {
         this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean);
+        this.aggregationExecutor = null;
+    }
+
+    public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final Application application,
+            final int maxExecutions,
+            final int maxEventsPerExecution,
+            final long executionTtlMillis) {
+        this.aggregationExecutor = DecisionTracingCollector.newAggregationExecutor(maxExecutions);
+        this.collector = new DecisionTracingCollector(eventEmitter::emit, new ApplicationModelSupplier(application), configBean,
+                aggregationExecutor, maxExecutions, maxEventsPerExecution, executionTtlMillis);
     }
 
     public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
@@ -42,4 +58,11 @@ public class SpringBootDecisionTracingCollector {
     public void onApplicationEvent(final EvaluateEvent event) {
         collector.addEvent(event);
     }
+
+    @PreDestroy
+    public void shutdown() {
+        if (aggregationExecutor != null) {
+            aggregationExecutor.shutdown();
+        }
+    }
 }
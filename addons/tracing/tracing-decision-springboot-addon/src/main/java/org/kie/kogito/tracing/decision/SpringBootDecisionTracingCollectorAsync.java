@@ -34,6 +34,11 @@ public class SpringBootDecisionTracingCollectorAsync extends SpringBootDecisionT
         super(eventEmitter, configBean, application);
     }
 
+    public SpringBootDecisionTracingCollectorAsync(SpringBootTraceEventEmitter eventEmitter, ConfigBean configBean, Application application,
+            int maxExecutions, int maxEventsPerExecution, long executionTtlMillis) {
+        super(eventEmitter, configBean, application, maxExecutions, maxEventsPerExecution, executionTtlMillis);
+    }
+
     @Override
     @Async("kogitoTracingDecisionAddonTaskExecutor")
     @EventListener
@@ -61,11 +61,14 @@ public class SpringBootDecisionTracingConfiguration {
             final SpringBootTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final Application application,
-            @Value(value = "${kogito.addon.tracing.decision.asyncEnabled:true}") final boolean asyncEnabled) {
+            @Value(value = "${kogito.addon.tracing.decision.asyncEnabled:true}") final boolean asyncEnabled,
+            @Value(value = "${" + DecisionTracingCollector.MAX_EXECUTIONS_CONFIG_KEY + ":10000}") final int maxExecutions,
+            @Value(value = "${" + DecisionTracingCollector.MAX_EVENTS_PER_EXECUTION_CONFIG_KEY + ":10000}") final int maxEventsPerExecution,
+            @Value(value = "${" + DecisionTracingCollector.EXECUTION_TTL_CONFIG_KEY + ":60000}") final long executionTtlMillis) {
         if (asyncEnabled) {
-            return new SpringBootDecisionTracingCollectorAsync(eventEmitter, configBean, application);
+            return new SpringBootDecisionTracingCollectorAsync(eventEmitter, configBean, application, maxExecutions, maxEventsPerExecution, executionTtlMillis);
         } else {
-            return new SpringBootDecisionTracingCollector(eventEmitter, configBean, application);
+            return new SpringBootDecisionTracingCollector(eventEmitter, configBean, application, maxExecutions, maxEventsPerExecution, executionTtlMillis);
         }
     }
 
@@ -15,6 +15,7 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import org.kie.kogito.tracing.decision.sampling.DecisionTracingSampler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
@@ -27,11 +28,31 @@ import org.springframework.stereotype.Component;
 @Component
 public final class SpringBootDecisionTracingListener extends DecisionTracingListener {
 
+    public SpringBootDecisionTracingListener(
+            ApplicationEventPublisher eventPublisher,
+            SpringBootDecisionTracingCollector collector,
+            boolean asyncEnabled) {
+        this(eventPublisher, collector, asyncEnabled, DecisionTracingSampler.always());
+    }
+
     @Autowired
     public SpringBootDecisionTracingListener(
             ApplicationEventPublisher eventPublisher,
             SpringBootDecisionTracingCollector collector,
-            @Value(value = "${kogito.addon.tracing.decision.asyncEnabled:true}") boolean asyncEnabled) {
+            @Value(value = "${kogito.addon.tracing.decision.asyncEnabled:true}") boolean asyncEnabled,
+            @Value(value = "${" + DecisionTracingSampler.RATE_CONFIG_KEY + ":1.0}") double samplingRate,
+            @Value(value = "${" + DecisionTracingSampler.MODEL_RATES_CONFIG_KEY + ":}") String modelSamplingRates,
+            @Value(value = "${" + DecisionTracingSampler.ALWAYS_SAMPLE_ERRORS_CONFIG_KEY + ":false}") boolean alwaysSampleErrors,
+            @Value(value = "${" + DecisionTracingSampler.CAPTURE_LEVEL_CONFIG_KEY + ":FULL}") String captureLevel) {
+        this(eventPublisher, collector, asyncEnabled, DecisionTracingSampler.of(samplingRate, modelSamplingRates, alwaysSampleErrors, captureLevel));
+    }
+
+    private SpringBootDecisionTracingListener(
+            ApplicationEventPublisher eventPublisher,
+            SpringBootDecisionTracingCollector collector,
+            boolean asyncEnabled,
+            DecisionTracingSampler sampler) {
+        setSampler(sampler);
         if (asyncEnabled) {
             setEventConsumer(eventPublisher::publishEvent);
         } else {
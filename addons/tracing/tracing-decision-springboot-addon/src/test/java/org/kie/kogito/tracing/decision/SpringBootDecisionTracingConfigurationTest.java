@@ -33,10 +33,12 @@ class SpringBootDecisionTracingConfigurationTest {
 
         SpringBootDecisionTracingConfiguration config = new SpringBootDecisionTracingConfiguration("localhost:9092", "kogito-tracing-decision", 1, (short) 1);
 
-        SpringBootDecisionTracingCollector asyncCollector = config.collector(mockedEmitter, mockedConfigBean, mockedApplication, true);
+        SpringBootDecisionTracingCollector asyncCollector = config.collector(mockedEmitter, mockedConfigBean, mockedApplication, true, 10000, 10000, 60000L);
         assertTrue(asyncCollector instanceof SpringBootDecisionTracingCollectorAsync);
+        asyncCollector.shutdown();
 
-        SpringBootDecisionTracingCollector syncCollector = config.collector(mockedEmitter, mockedConfigBean, mockedApplication, false);
+        SpringBootDecisionTracingCollector syncCollector = config.collector(mockedEmitter, mockedConfigBean, mockedApplication, false, 10000, 10000, 60000L);
         assertFalse(syncCollector instanceof SpringBootDecisionTracingCollectorAsync);
+        syncCollector.shutdown();
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.context;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds a value bound to the current execution context. The default implementation binds it to the
+ * current thread; other implementations can bind it to a reactive or event loop context so the value
+ * survives hops between threads.
+ */
+public interface ContextCarrier<T> {
+
+    /**
+     * Returns the value bound to the current execution context, or null if none.
+     */
+    T get();
+
+    void set(T value);
+
+    void remove();
+
+    /**
+     * Wraps the given task so that it runs with the value bound when wrapping it, whatever the context it
+     * is executed in; the value previously bound there is restored afterwards.
+     */
+    default Runnable wrap(Runnable task) {
+        Supplier<Void> wrapped = wrap(() -> {
+            task.run();
+            return null;
+        });
+        return wrapped::get;
+    }
+
+    default <R> Supplier<R> wrap(Supplier<R> task) {
+        T captured = get();
+        return () -> {
+            T previous = get();
+            set(captured);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    remove();
+                } else {
+                    set(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.context;
+
+/**
+ * Context carrier bound to the current thread.
+ */
+public class ThreadLocalContextCarrier<T> implements ContextCarrier<T> {
+
+    public static final ContextCarrierFactory FACTORY = new ContextCarrierFactory() {
+
+        @Override
+        public <T> ContextCarrier<T> create() {
+            return new ThreadLocalContextCarrier<>();
+        }
+    };
+
+    private final ThreadLocal<T> value = new ThreadLocal<>();
+
+    @Override
+    public T get() {
+        return value.get();
+    }
+
+    @Override
+    public void set(T value) {
+        this.value.set(value);
+    }
+
+    @Override
+    public void remove() {
+        value.remove();
+    }
+}
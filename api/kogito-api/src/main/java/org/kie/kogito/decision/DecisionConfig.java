@@ -21,4 +21,19 @@ public interface DecisionConfig extends KogitoConfig {
 
     DecisionEventListenerConfig decisionEventListeners();
 
+    /**
+     * @return the configuration of the decision result cache, which caches no model by default
+     */
+    default DecisionResultCacheConfig decisionResultCache() {
+        return DecisionResultCacheConfig.DISABLED;
+    }
+
+    /**
+     * @return the number of input sets of a batch evaluated concurrently, 1 (the default) to evaluate them
+     *         sequentially on the calling thread
+     */
+    default int batchParallelism() {
+        return 1;
+    }
+
 }
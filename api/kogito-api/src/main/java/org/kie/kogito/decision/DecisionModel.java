@@ -15,6 +15,7 @@
  */
 package org.kie.kogito.decision;
 
+import java.util.List;
 import java.util.Map;
 
 import org.kie.dmn.api.core.DMNContext;
@@ -22,6 +23,8 @@ import org.kie.dmn.api.core.DMNModel;
 import org.kie.dmn.api.core.DMNResult;
 import org.kie.dmn.api.core.FEELPropertyAccessible;
 
+import static java.util.stream.Collectors.toList;
+
 public interface DecisionModel {
 
     DMNContext newContext(Map<String, Object> inputSet);
@@ -30,6 +33,14 @@ public interface DecisionModel {
 
     DMNResult evaluateAll(DMNContext context);
 
+    /**
+     * Evaluates a batch of input sets, returning their results in the same order. Implementations may evaluate the
+     * input sets concurrently.
+     */
+    default List<DMNResult> evaluateBatch(List<DMNContext> contexts) {
+        return contexts.stream().map(this::evaluateAll).collect(toList());
+    }
+
     DMNResult evaluateDecisionService(DMNContext context, String decisionServiceName);
 
     DMNModel getDMNModel();
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.decision;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the decision result cache, which memoizes the results of the evaluations of a model by their input
+ * values. It must only be enabled for models whose decisions are pure functions of their inputs.
+ */
+public interface DecisionResultCacheConfig {
+
+    DecisionResultCacheConfig DISABLED = new DecisionResultCacheConfig() {
+        @Override
+        public boolean isEnabled(String modelName) {
+            return false;
+        }
+
+        @Override
+        public int maxSize() {
+            return 0;
+        }
+
+        @Override
+        public Duration timeToLive() {
+            return Duration.ZERO;
+        }
+    };
+
+    /**
+     * @return true if the results of the model with the given name are cached
+     */
+    boolean isEnabled(String modelName);
+
+    /**
+     * @return the maximum number of results cached per model, the least recently used being evicted first
+     */
+    int maxSize();
+
+    /**
+     * @return the time after which a cached result expires, {@link Duration#ZERO} if it never does
+     */
+    Duration timeToLive();
+
+}
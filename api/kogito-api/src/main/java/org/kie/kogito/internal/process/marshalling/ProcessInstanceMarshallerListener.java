@@ -0,0 +1,32 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.internal.process.marshalling;
+
+/**
+ * Notified by the process instance marshaller of each process instance it marshals or unmarshals, e.g. to measure
+ * the cost of persisting process instances. Implementations are discovered with {@link java.util.ServiceLoader}
+ * and are invoked on the thread doing the (un)marshalling, so they are expected to be cheap and thread safe.
+ */
+public interface ProcessInstanceMarshallerListener {
+
+    default void afterMarshal(String processId, long durationNanos, int size) {
+        //NO-OP
+    }
+
+    default void afterUnmarshal(String processId, long durationNanos, int size) {
+        //NO-OP
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Mutable process instances backed by a storage that can be accessed without blocking the calling thread.
+ * The blocking operations inherited from {@link MutableProcessInstances} remain available.
+ * <p>
+ * Each asynchronous write runs in a transaction of its own storage, it does not join a transaction of the caller.
+ * The returned stages may complete on an event loop thread of the storage client (e.g. Vert.x), so the stages that
+ * depend on them must not block, or must be moved to a worker thread by the caller.
+ */
+public interface AsyncMutableProcessInstances<T> extends MutableProcessInstances<T> {
+
+    CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode);
+
+    CompletionStage<Void> createAsync(String id, ProcessInstance<T> instance);
+
+    CompletionStage<Void> updateAsync(String id, ProcessInstance<T> instance);
+
+    CompletionStage<Void> removeAsync(String id);
+
+    /**
+     * Non blocking variant of {@link #batch(List)}; by default each write starts once the previous one completed.
+     */
+    default CompletionStage<Void> batchAsync(List<ProcessInstanceWrite<T>> writes) {
+        CompletionStage<Void> performed = CompletableFuture.completedFuture(null);
+        for (ProcessInstanceWrite<T> write : writes) {
+            switch (write.type()) {
+                case CREATE:
+                    performed = performed.thenCompose(v -> createAsync(write.id(), write.instance()));
+                    break;
+                case UPDATE:
+                    performed = performed.thenCompose(v -> updateAsync(write.id(), write.instance()));
+                    break;
+                case REMOVE:
+                    performed = performed.thenCompose(v -> removeAsync(write.id()));
+                    break;
+            }
+        }
+        return performed;
+    }
+}
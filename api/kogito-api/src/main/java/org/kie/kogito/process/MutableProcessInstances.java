@@ -15,6 +15,8 @@
  */
 package org.kie.kogito.process;
 
+import java.util.List;
+
 public interface MutableProcessInstances<T> extends ProcessInstances<T> {
 
     boolean exists(String id);
@@ -25,6 +27,26 @@ public interface MutableProcessInstances<T> extends ProcessInstances<T> {
 
     void remove(String id);
 
+    /**
+     * Applies, in order, the writes a unit of work collected for this storage. Storages able to send them
+     * in a single round trip should override it; by default each write is applied on its own.
+     */
+    default void batch(List<ProcessInstanceWrite<T>> writes) {
+        for (ProcessInstanceWrite<T> write : writes) {
+            switch (write.type()) {
+                case CREATE:
+                    create(write.id(), write.instance());
+                    break;
+                case UPDATE:
+                    update(write.id(), write.instance());
+                    break;
+                case REMOVE:
+                    remove(write.id());
+                    break;
+            }
+        }
+    }
+
     default boolean isActive(ProcessInstance<T> instance) {
         return instance.status() == ProcessInstance.STATE_ACTIVE || instance.status() == ProcessInstance.STATE_ERROR;
     }
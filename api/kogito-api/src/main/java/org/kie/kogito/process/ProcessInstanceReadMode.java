@@ -19,5 +19,10 @@ package org.kie.kogito.process;
 public enum ProcessInstanceReadMode {
 
     READ_ONLY,
-    MUTABLE
+    MUTABLE,
+    /**
+     * Read only instance that carries only its identity, status and variables, node instances are not rebuilt.
+     * Meant for callers that are only interested in the process instance model.
+     */
+    VARIABLES_ONLY
 }
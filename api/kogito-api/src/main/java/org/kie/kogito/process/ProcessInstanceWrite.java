@@ -0,0 +1,54 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process;
+
+/**
+ * A write of a process instance collected by a unit of work, applied together with the other writes
+ * targeting the same storage through {@link MutableProcessInstances#batch(java.util.List)}.
+ */
+public class ProcessInstanceWrite<T> {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        REMOVE
+    }
+
+    private final Type type;
+    private final ProcessInstance<T> instance;
+
+    public ProcessInstanceWrite(Type type, ProcessInstance<T> instance) {
+        this.type = type;
+        this.instance = instance;
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    public ProcessInstance<T> instance() {
+        return instance;
+    }
+
+    public String id() {
+        return instance.id();
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessInstanceWrite [type=" + type + ", id=" + id() + "]";
+    }
+}
@@ -16,7 +16,10 @@
 package org.kie.kogito.process;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface ProcessInstances<T> {
 
@@ -32,5 +35,44 @@ public interface ProcessInstances<T> {
 
     Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode);
 
+    /**
+     * Returns a page of process instances ordered by their id.
+     *
+     * @param mode read mode of the returned instances
+     * @param offset number of instances to skip
+     * @param limit maximum number of instances to return
+     * @return process instances of the requested page
+     */
+    default Collection<ProcessInstance<T>> values(ProcessInstanceReadMode mode, int offset, int limit) {
+        try (Stream<ProcessInstance<T>> stream = stream(mode)) {
+            return stream.sorted(Comparator.comparing(ProcessInstance::id)).skip(offset).limit(limit).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Returns process instances as a lazily populated stream, implementations should fetch and unmarshall them
+     * while the stream is consumed. The stream might hold resources of the underlying storage (cursors, connections)
+     * so it must be closed, preferably with a try-with-resources statement.
+     *
+     * @param mode read mode of the returned instances
+     * @return stream of process instances
+     */
+    default Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
+        return values(mode).stream();
+    }
+
+    /**
+     * Returns process instances that are waiting for given event type. Implementations that keep track of the
+     * event types each instance is subscribed to should override it to avoid loading every instance, by default
+     * all instances are returned and the ones not waiting for the event simply ignore it.
+     *
+     * @param eventType type of the event (signal) to look up subscribers for
+     * @param mode read mode of the returned instances
+     * @return process instances that might react to the given event type
+     */
+    default Collection<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        return values(mode);
+    }
+
     Integer size();
 }
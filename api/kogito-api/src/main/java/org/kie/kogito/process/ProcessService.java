@@ -19,6 +19,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 import org.kie.kogito.MapOutput;
@@ -34,8 +35,26 @@ public interface ProcessService {
             T model,
             String startFromNodeId);
 
+    /**
+     * Same as {@link #createProcessInstance(Process, String, Model, String)} but persists the new instance
+     * without blocking the calling thread when the process instances storage supports it.
+     */
+    <T extends Model> CompletionStage<ProcessInstance<T>> createProcessInstanceAsync(Process<T> process, String businessKey,
+            T model,
+            String startFromNodeId);
+
     <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process);
 
+    /**
+     * Returns the variables of a page of process instances ordered by id.
+     *
+     * @param process process whose instances are returned
+     * @param offset number of instances to skip
+     * @param limit maximum number of instances to return, values lower than one mean no limit
+     * @return list of process instance outputs
+     */
+    <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, int offset, int limit);
+
     <T extends MappableToModel<R>, R> Optional<R> findById(Process<T> process, String id);
 
     <T extends MappableToModel<R>, R> Optional<R> delete(Process<T> process, String id);
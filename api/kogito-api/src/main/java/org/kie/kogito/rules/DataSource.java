@@ -27,6 +27,13 @@ public interface DataSource<T> extends Iterable<T> {
 
     void subscribe(DataProcessor<T> subscriber);
 
+    /**
+     * Stops propagating the changes of this data source to the given subscriber. Data sources that do not support it
+     * keep propagating their changes, as they did before subscribers could be removed.
+     */
+    default void unsubscribe(DataProcessor<T> subscriber) {
+    }
+
     interface Factory {
         <T> DataStream<T> createStream();
 
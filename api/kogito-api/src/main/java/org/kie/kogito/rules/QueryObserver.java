@@ -0,0 +1,31 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.rules;
+
+import java.util.Map;
+
+/**
+ * Receives the changes of the results of a live query, opened with
+ * {@link RuleUnitInstance#openLiveQuery(String, QueryObserver)}. Each row maps the bindings of the query to their values.
+ */
+public interface QueryObserver {
+
+    void rowInserted(Map<String, Object> row);
+
+    void rowUpdated(Map<String, Object> row);
+
+    void rowDeleted(Map<String, Object> row);
+}
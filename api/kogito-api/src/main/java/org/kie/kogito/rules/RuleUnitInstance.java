@@ -17,18 +17,60 @@ package org.kie.kogito.rules;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
+import org.kie.api.runtime.rule.LiveQuery;
 import org.kie.api.time.SessionClock;
 
-public interface RuleUnitInstance<T extends RuleUnitData> {
+public interface RuleUnitInstance<T extends RuleUnitData> extends AutoCloseable {
 
     RuleUnit<T> unit();
 
     int fire();
 
+    /**
+     * Keeps firing the rules as the data sources of this instance change, blocking the calling thread until
+     * {@link #halt()} is invoked
+     */
+    default void fireUntilHalt() {
+        throw new UnsupportedOperationException("This rule unit instance can not fire until halted");
+    }
+
+    default void halt() {
+        throw new UnsupportedOperationException("This rule unit instance can not fire until halted");
+    }
+
     List<Map<String, Object>> executeQuery(String query);
 
+    /**
+     * Fires the rules and returns the rows of the given query as a lazy stream: each row is converted into a map of
+     * the query bindings only while the stream is consumed, so a limited or short-circuiting consumer doesn't pay
+     * for the rows it skips. The stream must be consumed before closing this instance.
+     * By default the rows are all converted by {@link #executeQuery(String)} first.
+     */
+    default Stream<Map<String, Object>> executeQueryStream(String query) {
+        return executeQuery(query).stream();
+    }
+
     <Q> Q executeQuery(Class<? extends RuleUnitQuery<Q>> query);
 
+    /**
+     * Opens a live query: the observer immediately receives the rows currently matching the query and then only the
+     * rows inserted, updated or deleted by the following firings of the rules, until the returned query or this
+     * instance is closed.
+     */
+    default LiveQuery openLiveQuery(String query, QueryObserver observer) {
+        throw new UnsupportedOperationException("This rule unit instance can not open live queries");
+    }
+
     <T extends SessionClock> T getClock();
+
+    /**
+     * Detaches the data sources of this instance and releases its session, which goes back to the pool of the rule
+     * unit when it has one. The instance must not be used afterwards.
+     * By default there is nothing to release.
+     */
+    @Override
+    default void close() {
+    }
 }
@@ -15,6 +15,9 @@
  */
 package org.kie.kogito.uow;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 /**
  * Unit of Work allows to group related activities and operation
  * into single unit. It it can be then completed or aborted as one
@@ -37,6 +40,23 @@ public interface UnitOfWork {
      */
     void end();
 
+    /**
+     * Completes this unit of work without blocking the calling thread on work that
+     * supports asynchronous execution. By default the unit of work is ended synchronously.
+     * 
+     * @return stage completed once all awaiting work is done
+     */
+    default CompletionStage<Void> endAsync() {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            end();
+            result.complete(null);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
     /**
      * Aborts this unit of work and ignores any awaiting work.
      */
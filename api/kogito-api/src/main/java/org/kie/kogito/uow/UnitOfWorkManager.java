@@ -15,6 +15,8 @@
  */
 package org.kie.kogito.uow;
 
+import org.kie.kogito.context.ContextCarrierFactory;
+import org.kie.kogito.context.ThreadLocalContextCarrier;
 import org.kie.kogito.event.EventManager;
 import org.kie.kogito.uow.events.UnitOfWorkEventListener;
 
@@ -55,4 +57,14 @@ public interface UnitOfWorkManager {
      * @param listener
      */
     void register(UnitOfWorkEventListener listener);
+
+    /**
+     * Returns the factory of the carriers binding the current unit of work, and the state that goes with it,
+     * to the execution context
+     * 
+     * @return context carrier factory, thread bound by default
+     */
+    default ContextCarrierFactory contextCarrierFactory() {
+        return ThreadLocalContextCarrier.FACTORY;
+    }
 }
@@ -15,6 +15,8 @@
  */
 package org.kie.kogito.uow;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 
 /**
@@ -35,6 +37,23 @@ public interface WorkUnit<T> {
      */
     void perform();
 
+    /**
+     * Performs action associated with the work unit without blocking the calling thread.
+     * By default the action is performed synchronously.
+     * 
+     * @return stage completed once the action is done
+     */
+    default CompletionStage<Void> performAsync() {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            perform();
+            result.complete(null);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
     /**
      * Optional abort logic associated with the work unit
      */
@@ -22,6 +22,13 @@ public interface UnitOfWorkEventListener {
         //NO-OP
     }
 
+    /**
+     * Invoked right before the work collected by the unit of work is committed, i.e. before it is ended
+     */
+    default void onBeforeEndEvent(UnitOfWorkEndEvent event) {
+        //NO-OP
+    }
+
     default void onAfterEndEvent(UnitOfWorkEndEvent event) {
         //NO-OP
     }
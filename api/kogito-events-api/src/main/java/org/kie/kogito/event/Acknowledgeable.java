@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Payload of a received event, which is acknowledged to its source once each of the subscribers it was delivered to
+ * acknowledged it, or rejected as soon as one of them did.
+ */
+public class Acknowledgeable<T> {
+
+    private final T payload;
+    private final AtomicInteger pending;
+    private final AtomicBoolean settled = new AtomicBoolean();
+    private final Runnable ack;
+    private final Consumer<Throwable> nack;
+
+    private Acknowledgeable(T payload, int subscribers, Runnable ack, Consumer<Throwable> nack) {
+        this.payload = payload;
+        this.pending = new AtomicInteger(subscribers);
+        this.ack = ack;
+        this.nack = nack;
+    }
+
+    /**
+     * @param subscribers the number of subscribers the event is delivered to, it is acknowledged right away when none
+     */
+    public static <T> Acknowledgeable<T> of(T payload, int subscribers, Runnable ack, Consumer<Throwable> nack) {
+        Acknowledgeable<T> event = new Acknowledgeable<>(payload, subscribers, ack, nack);
+        if (subscribers <= 0) {
+            event.settle(ack);
+        }
+        return event;
+    }
+
+    /**
+     * @return an event which source does not need to be acknowledged, e.g. an event produced by the application itself
+     */
+    public static <T> Acknowledgeable<T> of(T payload) {
+        return of(payload, 0, () -> {
+        }, reason -> {
+        });
+    }
+
+    public T payload() {
+        return payload;
+    }
+
+    public void ack() {
+        if (pending.decrementAndGet() == 0) {
+            settle(ack);
+        }
+    }
+
+    public void nack(Throwable reason) {
+        settle(() -> nack.accept(reason));
+    }
+
+    private void settle(Runnable action) {
+        if (settled.compareAndSet(false, true)) {
+            action.run();
+        }
+    }
+}
@@ -15,7 +15,10 @@
  */
 package org.kie.kogito.event;
 
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Generic receiver for cloud events.
@@ -32,4 +35,33 @@ public interface EventReceiver {
      * @param clazz the type of object the event contains
      */
     <T> void subscribe(Consumer<T> consumer, SubscriptionInfo<T> subscription);
+
+    /**
+     * Subscribes a consumer that handles the events asynchronously: at most {@code maxInFlight} events are requested
+     * until the stages the consumer returned for them complete, and each event is acknowledged to its source once its
+     * stage completed. Receivers that cannot control the demand of their source block the thread delivering the events
+     * while {@code maxInFlight} of them are being handled.
+     *
+     * @param consumer the consumer that will receive the events, returning a stage completing once they are handled
+     * @param subscription the type of object the event contains
+     * @param maxInFlight the maximum number of events delivered and not handled yet
+     */
+    default <T> void subscribe(Function<T, CompletionStage<?>> consumer, SubscriptionInfo<T> subscription, int maxInFlight) {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        subscribe(event -> {
+            inFlight.acquireUninterruptibly();
+            CompletionStage<?> handled;
+            try {
+                handled = consumer.apply(event);
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
+            if (handled != null) {
+                handled.whenComplete((result, error) -> inFlight.release());
+            } else {
+                inFlight.release();
+            }
+        }, subscription);
+    }
 }
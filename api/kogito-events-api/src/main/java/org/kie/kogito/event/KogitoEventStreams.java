@@ -19,4 +19,9 @@ public class KogitoEventStreams {
     public static final String INCOMING = "kogito_incoming_stream";
     public static final String OUTGOING = "kogito_outgoing_stream";
     public static final String PUBLISHER = "kogito_event_publisher";
+    /**
+     * Same events as {@link #PUBLISHER}, as {@link Acknowledgeable} payloads for the subscribers acknowledging them
+     * once handled
+     */
+    public static final String ACKNOWLEDGEABLE_PUBLISHER = "kogito_event_acknowledgeable_publisher";
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcknowledgeableTest {
+
+    private final AtomicInteger acked = new AtomicInteger();
+    private final List<Throwable> rejected = new ArrayList<>();
+
+    @Test
+    void acknowledgedOnceEachSubscriberAcknowledged() {
+        Acknowledgeable<String> event = Acknowledgeable.of("payload", 2, acked::incrementAndGet, rejected::add);
+
+        event.ack();
+        assertThat(acked.get()).isZero();
+        event.ack();
+        assertThat(acked.get()).isEqualTo(1);
+        assertThat(rejected).isEmpty();
+    }
+
+    @Test
+    void acknowledgedRightAwayWithoutSubscribers() {
+        Acknowledgeable.of("payload", 0, acked::incrementAndGet, rejected::add);
+
+        assertThat(acked.get()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedOnceWhenASubscriberRejected() {
+        Acknowledgeable<String> event = Acknowledgeable.of("payload", 2, acked::incrementAndGet, rejected::add);
+
+        event.nack(new IllegalStateException("test"));
+        event.ack();
+        event.ack();
+        event.nack(new IllegalStateException("again"));
+
+        assertThat(acked.get()).isZero();
+        assertThat(rejected).extracting(Throwable::getMessage).containsExactly("test");
+    }
+}
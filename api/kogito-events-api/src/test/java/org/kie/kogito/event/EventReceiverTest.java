@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventReceiverTest {
+
+    @Test
+    void defaultSubscriptionBlocksDeliveryOnceMaxInFlightReached() throws Exception {
+        List<Consumer<String>> consumers = new ArrayList<>();
+        EventReceiver receiver = new EventReceiver() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public <T> void subscribe(Consumer<T> consumer, SubscriptionInfo<T> subscription) {
+                consumers.add((Consumer<String>) consumer);
+            }
+        };
+        List<CompletableFuture<Void>> handled = new ArrayList<>();
+        receiver.subscribe(event -> {
+            CompletableFuture<Void> stage = new CompletableFuture<>();
+            handled.add(stage);
+            return stage;
+        }, new SubscriptionInfo<>(String.class), 1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            consumers.get(0).accept("first");
+            Future<?> second = executor.submit(() -> consumers.get(0).accept("second"));
+            assertThrows(TimeoutException.class, () -> second.get(100, TimeUnit.MILLISECONDS));
+
+            handled.get(0).complete(null);
+            second.get(5, TimeUnit.SECONDS);
+            assertThat(handled).hasSize(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -17,12 +17,19 @@ package org.kie.kogito.services.uow;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 import org.kie.kogito.event.EventBatch;
 import org.kie.kogito.event.EventManager;
+import org.kie.kogito.process.AsyncMutableProcessInstances;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstanceWrite;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.WorkUnit;
 
@@ -31,6 +38,8 @@ import org.kie.kogito.uow.WorkUnit;
  * throughout the life of the unit and invokes all of them at the end
  * when end method is invoked. It does not invoke the work
  * when abort is invoked, only clears the collected items.
+ * Consecutive process instance writes are grouped by storage and
+ * handed to it as one batch.
  *
  */
 public class CollectingUnitOfWork implements UnitOfWork {
@@ -57,14 +66,108 @@ public class CollectingUnitOfWork implements UnitOfWork {
         checkStarted();
         EventBatch batch = eventManager.newBatch();
 
+        Map<MutableProcessInstances<?>, List<ProcessInstanceWorkUnit<?>>> writes = new LinkedHashMap<>();
         for (WorkUnit<?> work : sorted()) {
             batch.append(work.data());
-            work.perform();
+            if (isWrite(work)) {
+                ProcessInstanceWorkUnit<?> write = (ProcessInstanceWorkUnit<?>) work;
+                writes.computeIfAbsent(write.instances(), k -> new ArrayList<>()).add(write);
+            } else {
+                // other work might depend on the writes collected so far
+                performWrites(writes);
+                work.perform();
+            }
         }
+        performWrites(writes);
         eventManager.publish(batch);
         done();
     }
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected void performWrites(Map<MutableProcessInstances<?>, List<ProcessInstanceWorkUnit<?>>> writes) {
+        for (Map.Entry<MutableProcessInstances<?>, List<ProcessInstanceWorkUnit<?>>> entry : writes.entrySet()) {
+            List<ProcessInstanceWorkUnit<?>> units = entry.getValue();
+            if (units.size() == 1) {
+                units.get(0).perform();
+            } else {
+                ((MutableProcessInstances) entry.getKey()).batch(toWrites(units));
+            }
+        }
+        writes.clear();
+    }
+
+    /**
+     * Same as {@link #performWrites(Map)} without blocking on storages supporting non blocking access; each
+     * storage is written once the previous one completed.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    protected CompletionStage<Void> performWritesAsync(Map<MutableProcessInstances<?>, List<ProcessInstanceWorkUnit<?>>> writes) {
+        CompletionStage<Void> performed = CompletableFuture.completedFuture(null);
+        for (Map.Entry<MutableProcessInstances<?>, List<ProcessInstanceWorkUnit<?>>> entry : writes.entrySet()) {
+            List<ProcessInstanceWorkUnit<?>> units = entry.getValue();
+            if (units.size() == 1) {
+                performed = performed.thenCompose(v -> units.get(0).performAsync());
+            } else if (entry.getKey() instanceof AsyncMutableProcessInstances) {
+                performed = performed.thenCompose(v -> ((AsyncMutableProcessInstances) entry.getKey()).batchAsync(toWrites(units)));
+            } else {
+                performed = performed.thenRun(() -> ((MutableProcessInstances) entry.getKey()).batch(toWrites(units)));
+            }
+        }
+        return performed;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static List<ProcessInstanceWrite> toWrites(List<ProcessInstanceWorkUnit<?>> units) {
+        List<ProcessInstanceWrite> batch = new ArrayList<>(units.size());
+        for (ProcessInstanceWorkUnit<?> unit : units) {
+            batch.add(unit.write());
+        }
+        return batch;
+    }
+
+    /**
+     * Performs the work like {@link #end()}, each step starting once the previous one completed. When the work
+     * fails the collected work is compensated here, as the end of the unit of work may already have been notified
+     * and the unit of work can then no longer be aborted.
+     */
+    @Override
+    public CompletionStage<Void> endAsync() {
+        checkStarted();
+        EventBatch batch = eventManager.newBatch();
+        Collection<WorkUnit<?>> sorted = sorted();
+
+        CompletionStage<Void> performed = CompletableFuture.completedFuture(null);
+        Map<MutableProcessInstances<?>, List<ProcessInstanceWorkUnit<?>>> writes = new LinkedHashMap<>();
+        for (WorkUnit<?> work : sorted) {
+            batch.append(work.data());
+            if (isWrite(work)) {
+                ProcessInstanceWorkUnit<?> write = (ProcessInstanceWorkUnit<?>) work;
+                writes.computeIfAbsent(write.instances(), k -> new ArrayList<>()).add(write);
+            } else {
+                // other work might depend on the writes collected so far
+                Map<MutableProcessInstances<?>, List<ProcessInstanceWorkUnit<?>>> pending = new LinkedHashMap<>(writes);
+                writes.clear();
+                performed = performed.thenCompose(v -> performWritesAsync(pending)).thenCompose(v -> work.performAsync());
+            }
+        }
+        performed = performed.thenCompose(v -> performWritesAsync(writes));
+        return performed.whenComplete((v, error) -> {
+            try {
+                if (error == null) {
+                    eventManager.publish(batch);
+                } else {
+                    sorted.forEach(WorkUnit::abort);
+                }
+            } finally {
+                done();
+            }
+        });
+    }
+
+    private static boolean isWrite(WorkUnit<?> work) {
+        return work instanceof ProcessInstanceWorkUnit && ((ProcessInstanceWorkUnit<?>) work).instances() != null;
+    }
+
     @Override
     public void abort() {
         checkStarted();
@@ -15,9 +15,12 @@
  */
 package org.kie.kogito.services.uow;
 
-import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
+import org.kie.kogito.context.ContextCarrier;
+import org.kie.kogito.context.ContextCarrierFactory;
+import org.kie.kogito.context.ThreadLocalContextCarrier;
 import org.kie.kogito.event.EventManager;
 import org.kie.kogito.services.event.impl.BaseEventManager;
 import org.kie.kogito.uow.UnitOfWork;
@@ -30,12 +33,14 @@ import org.kie.kogito.uow.events.UnitOfWorkStartEvent;
 
 /**
  * Default implementation of the UnitOfWorkManager that is backed by
- * thread local to keep the associated unit of work.
+ * a context carrier (thread local by default) to keep the associated unit of work.
  *
  */
 public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
-    // uses thread local to associate unit of works to execution context/thread
-    private ThreadLocal<UnitOfWork> currentUnitOfWork = new ThreadLocal<>();
+    // creates the carriers associating unit of works to execution context/thread
+    private final ContextCarrierFactory contextCarrierFactory;
+    // uses context carrier to associate unit of works to execution context/thread
+    private final ContextCarrier<UnitOfWork> currentUnitOfWork;
     // uses pass through unit of work as fallback if no unit of work has been started
     private UnitOfWork fallbackUnitOfWork = new PassThroughUnitOfWork();
     // factory used to create unit of work 
@@ -43,17 +48,27 @@ public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
 
     private EventManager eventManager = new BaseEventManager();
 
-    private Set<UnitOfWorkEventListener> listeners = new LinkedHashSet<>();
+    // each process registers its own listener, possibly while units of work are ending on other threads
+    private Set<UnitOfWorkEventListener> listeners = new CopyOnWriteArraySet<>();
 
     public DefaultUnitOfWorkManager(UnitOfWorkFactory factory) {
+        this(factory, ThreadLocalContextCarrier.FACTORY);
+    }
+
+    public DefaultUnitOfWorkManager(UnitOfWorkFactory factory, ContextCarrierFactory contextCarrierFactory) {
         super();
         this.factory = factory;
+        this.contextCarrierFactory = contextCarrierFactory;
+        this.currentUnitOfWork = contextCarrierFactory.create();
     }
 
     public DefaultUnitOfWorkManager(UnitOfWork fallbackUnitOfWork, UnitOfWorkFactory factory) {
-        super();
+        this(fallbackUnitOfWork, factory, ThreadLocalContextCarrier.FACTORY);
+    }
+
+    public DefaultUnitOfWorkManager(UnitOfWork fallbackUnitOfWork, UnitOfWorkFactory factory, ContextCarrierFactory contextCarrierFactory) {
+        this(factory, contextCarrierFactory);
         this.fallbackUnitOfWork = fallbackUnitOfWork;
-        this.factory = factory;
     }
 
     @Override
@@ -68,7 +83,7 @@ public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
 
     @Override
     public UnitOfWork newUnitOfWork() {
-        return new ManagedUnitOfWork(factory.create(eventManager), this::onStart, this::onEnd, this::onAbort);
+        return new ManagedUnitOfWork(factory.create(eventManager), this::onStart, this::onBeforeEnd, this::dissociate, this::onEnd, this::onAbort);
     }
 
     protected void onStart(UnitOfWork unit) {
@@ -76,8 +91,15 @@ public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
         listeners.forEach(l -> l.onBeforeStartEvent(new UnitOfWorkStartEvent(unit)));
     }
 
+    protected void onBeforeEnd(UnitOfWork unit) {
+        listeners.forEach(l -> l.onBeforeEndEvent(new UnitOfWorkEndEvent(unit)));
+    }
+
+    /**
+     * Invoked once the work of the unit has been applied, which may happen on a different thread than the one the
+     * unit of work was associated to, so the unit of work has already been dissociated when its work was submitted.
+     */
     protected void onEnd(UnitOfWork unit) {
-        this.dissociate(unit);
         listeners.forEach(l -> l.onAfterEndEvent(new UnitOfWorkEndEvent(unit)));
     }
 
@@ -91,7 +113,20 @@ public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
     }
 
     protected void dissociate(UnitOfWork unit) {
-        currentUnitOfWork.set(null);
+        currentUnitOfWork.remove();
+    }
+
+    /**
+     * Returns the carrier of the current unit of work, e.g. to wrap a task that continues the current
+     * execution on another thread.
+     */
+    public ContextCarrier<UnitOfWork> contextCarrier() {
+        return currentUnitOfWork;
+    }
+
+    @Override
+    public ContextCarrierFactory contextCarrierFactory() {
+        return contextCarrierFactory;
     }
 
     @Override
@@ -15,6 +15,7 @@
  */
 package org.kie.kogito.services.uow;
 
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 
 import org.kie.kogito.uow.UnitOfWork;
@@ -29,13 +30,34 @@ public class ManagedUnitOfWork implements UnitOfWork {
 
     private UnitOfWork delegate;
     private Consumer<UnitOfWork> onStart;
+    private Consumer<UnitOfWork> onBeforeEnd;
+    private Consumer<UnitOfWork> onRelease;
     private Consumer<UnitOfWork> onEnd;
     private Consumer<UnitOfWork> onAbort;
 
     public ManagedUnitOfWork(UnitOfWork delegate, Consumer<UnitOfWork> onStart, Consumer<UnitOfWork> onEnd, Consumer<UnitOfWork> onAbort) {
+        this(delegate, onStart, unit -> {
+        }, onEnd, onAbort);
+    }
+
+    public ManagedUnitOfWork(UnitOfWork delegate, Consumer<UnitOfWork> onStart, Consumer<UnitOfWork> onBeforeEnd, Consumer<UnitOfWork> onEnd,
+            Consumer<UnitOfWork> onAbort) {
+        this(delegate, onStart, onBeforeEnd, unit -> {
+        }, onEnd, onAbort);
+    }
+
+    /**
+     * @param onRelease invoked on the calling thread as soon as the work has been applied or submitted, e.g. to
+     *        dissociate the unit of work from it
+     * @param onEnd invoked once the work has been applied, whether it succeeded or not
+     */
+    public ManagedUnitOfWork(UnitOfWork delegate, Consumer<UnitOfWork> onStart, Consumer<UnitOfWork> onBeforeEnd, Consumer<UnitOfWork> onRelease,
+            Consumer<UnitOfWork> onEnd, Consumer<UnitOfWork> onAbort) {
         super();
         this.delegate = delegate;
         this.onStart = onStart;
+        this.onBeforeEnd = onBeforeEnd;
+        this.onRelease = onRelease;
         this.onEnd = onEnd;
         this.onAbort = onAbort;
     }
@@ -48,8 +70,33 @@ public class ManagedUnitOfWork implements UnitOfWork {
 
     @Override
     public void end() {
-        delegate.end();
-        onEnd.accept(delegate);
+        onBeforeEnd.accept(delegate);
+        try {
+            delegate.end();
+        } finally {
+            onRelease.accept(delegate);
+            onEnd.accept(delegate);
+        }
+    }
+
+    /**
+     * The unit of work is released from the calling thread once its work has been submitted, while the end of the
+     * unit of work is only notified once the returned stage completes, as the remaining work may complete on a
+     * different thread.
+     */
+    @Override
+    public CompletionStage<Void> endAsync() {
+        onBeforeEnd.accept(delegate);
+        CompletionStage<Void> result;
+        try {
+            result = delegate.endAsync();
+        } catch (RuntimeException e) {
+            onEnd.accept(delegate);
+            throw e;
+        } finally {
+            onRelease.accept(delegate);
+        }
+        return result.whenComplete((r, t) -> onEnd.accept(delegate));
     }
 
     @Override
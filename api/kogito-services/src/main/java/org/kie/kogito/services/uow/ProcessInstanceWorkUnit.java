@@ -15,9 +15,13 @@
  */
 package org.kie.kogito.services.uow;
 
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
+import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceWrite;
 import org.kie.kogito.uow.WorkUnit;
 
 public class ProcessInstanceWorkUnit<T> implements WorkUnit<ProcessInstance<T>> {
@@ -25,6 +29,9 @@ public class ProcessInstanceWorkUnit<T> implements WorkUnit<ProcessInstance<T>>
     private ProcessInstance<T> data;
     private Consumer<Object> action;
     private Consumer<Object> compensation;
+    private Function<Object, CompletionStage<Void>> asyncAction;
+    private MutableProcessInstances<T> instances;
+    private ProcessInstanceWrite.Type writeType;
 
     public ProcessInstanceWorkUnit(ProcessInstance<T> data, Consumer<Object> action) {
         this.data = data;
@@ -37,6 +44,35 @@ public class ProcessInstanceWorkUnit<T> implements WorkUnit<ProcessInstance<T>>
         this.compensation = compensation;
     }
 
+    /**
+     * Sets the non blocking variant of the action, used when the unit of work is ended asynchronously.
+     */
+    public ProcessInstanceWorkUnit<T> withAsyncAction(Function<Object, CompletionStage<Void>> asyncAction) {
+        this.asyncAction = asyncAction;
+        return this;
+    }
+
+    /**
+     * Declares the action as the given write to the given storage, so that the unit of work can apply it
+     * together with the other writes to the same storage.
+     */
+    public ProcessInstanceWorkUnit<T> withWrite(MutableProcessInstances<T> instances, ProcessInstanceWrite.Type writeType) {
+        this.instances = instances;
+        this.writeType = writeType;
+        return this;
+    }
+
+    /**
+     * Returns the storage written by the action, or null when the action is not a declared write.
+     */
+    public MutableProcessInstances<T> instances() {
+        return instances;
+    }
+
+    public ProcessInstanceWrite<T> write() {
+        return writeType == null ? null : new ProcessInstanceWrite<>(writeType, data);
+    }
+
     @Override
     public ProcessInstance<T> data() {
         return data;
@@ -47,6 +83,14 @@ public class ProcessInstanceWorkUnit<T> implements WorkUnit<ProcessInstance<T>>
         action.accept(data());
     }
 
+    @Override
+    public CompletionStage<Void> performAsync() {
+        if (asyncAction == null) {
+            return WorkUnit.super.performAsync();
+        }
+        return asyncAction.apply(data());
+    }
+
     @Override
     public void abort() {
         if (compensation != null) {
@@ -15,6 +15,8 @@
  */
 package org.kie.kogito.services.uow;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 
 import org.kie.kogito.process.ProcessInstanceExecutionException;
@@ -48,4 +50,31 @@ public class UnitOfWorkExecutor {
         }
 
     }
+
+    /**
+     * Same as {@link #executeInUnitOfWork(UnitOfWorkManager, Supplier)} but ends the unit of work
+     * asynchronously, so work backed by a non blocking storage does not hold the calling thread.
+     */
+    public static <T> CompletionStage<T> executeInUnitOfWorkAsync(UnitOfWorkManager uowManager, Supplier<T> supplier) {
+        T result;
+        UnitOfWork uow = uowManager.newUnitOfWork();
+
+        try {
+            uow.start();
+
+            result = supplier.get();
+        } catch (ProcessInstanceExecutionException e) {
+            return uow.endAsync().thenApply(v -> {
+                throw e;
+            });
+        } catch (Exception e) {
+            uow.abort();
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+
+        // a failing end compensates the work itself, the unit of work is not aborted once its end is notified
+        return uow.endAsync().thenApply(v -> result);
+    }
 }
@@ -16,12 +16,14 @@
 package org.kie.services.jobs.impl;
 
 import java.time.Duration;
-import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
@@ -35,23 +37,38 @@ import org.kie.kogito.uow.UnitOfWorkManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Jobs service keeping the jobs in memory, in a {@link TimerWheel} whose expired jobs are executed by a pool of
+ * worker threads (a single one by default, so that the jobs are executed sequentially). The size of the pool used by
+ * the process runtimes can be set with the {@value #THREAD_POOL_SIZE_PROPERTY} system property.
+ */
 public class InMemoryJobService implements JobsService {
 
+    public static final String THREAD_POOL_SIZE_PROPERTY = "kogito.jobs.inmemory.threadPoolSize";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryJobService.class);
     private static final String TRIGGER = "timer";
+    private static final long TICK_MILLIS = 10;
 
-    protected final ScheduledThreadPoolExecutor scheduler;
+    protected final TimerWheel timerWheel;
     protected final KogitoProcessRuntime processRuntime;
     protected final UnitOfWorkManager unitOfWorkManager;
 
-    protected ConcurrentHashMap<String, ScheduledFuture<?>> scheduledJobs = new ConcurrentHashMap<>();
+    protected ConcurrentHashMap<String, ScheduledJob> scheduledJobs = new ConcurrentHashMap<>();
 
     public InMemoryJobService(KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
-        this(1, processRuntime, unitOfWorkManager);
+        this(Integer.parseInt(System.getProperty(THREAD_POOL_SIZE_PROPERTY, "1")), processRuntime, unitOfWorkManager);
     }
 
     public InMemoryJobService(int threadPoolSize, KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager) {
-        this.scheduler = new ScheduledThreadPoolExecutor(threadPoolSize);
+        this(processRuntime, unitOfWorkManager, Executors.newFixedThreadPool(threadPoolSize, new WorkerThreadFactory()));
+    }
+
+    /**
+     * Creates a jobs service whose expired jobs are executed by the given executor.
+     */
+    public InMemoryJobService(KogitoProcessRuntime processRuntime, UnitOfWorkManager unitOfWorkManager, Executor workers) {
+        this.timerWheel = new TimerWheel(TICK_MILLIS, TimeUnit.MILLISECONDS, workers, "kogito-jobs-timer");
         this.processRuntime = processRuntime;
         this.unitOfWorkManager = unitOfWorkManager;
     }
@@ -59,35 +76,39 @@ public class InMemoryJobService implements JobsService {
     @Override
     public String scheduleProcessJob(ProcessJobDescription description) {
         LOGGER.debug("ScheduleProcessJob: {}", description);
-        ScheduledFuture<?> future = null;
         if (description.expirationTime().repeatInterval() != null) {
-            future = scheduler.scheduleAtFixedRate(repeatableProcessJobByDescription(description), calculateDelay(description), description.expirationTime().repeatInterval(), TimeUnit.MILLISECONDS);
+            schedule(description.id(), repeatableProcessJobByDescription(description), calculateDelay(description), description.expirationTime().repeatInterval());
         } else {
-            future = scheduler.schedule(processJobByDescription(description), calculateDelay(description), TimeUnit.MILLISECONDS);
+            schedule(description.id(), processJobByDescription(description), calculateDelay(description), null);
         }
-        scheduledJobs.put(description.id(), future);
         return description.id();
     }
 
     @Override
     public String scheduleProcessInstanceJob(ProcessInstanceJobDescription description) {
-        ScheduledFuture<?> future = null;
         if (description.expirationTime().repeatInterval() != null) {
-            future = scheduler.scheduleAtFixedRate(new SignalProcessInstanceOnExpiredTimer(description.id(), description.processInstanceId(), false, description.expirationTime().repeatLimit()),
-                    calculateDelay(description), description.expirationTime().repeatInterval(), TimeUnit.MILLISECONDS);
+            schedule(description.id(), new SignalProcessInstanceOnExpiredTimer(description.id(), description.processInstanceId(), false, description.expirationTime().repeatLimit()),
+                    calculateDelay(description), description.expirationTime().repeatInterval());
         } else {
-            future = scheduler.schedule(new SignalProcessInstanceOnExpiredTimer(description.id(), description
-                    .processInstanceId(), true, 1), calculateDelay(description), TimeUnit.MILLISECONDS);
+            schedule(description.id(), new SignalProcessInstanceOnExpiredTimer(description.id(), description
+                    .processInstanceId(), true, 1), calculateDelay(description), null);
         }
-        scheduledJobs.put(description.id(), future);
         return description.id();
     }
 
+    private void schedule(String id, Runnable job, long delay, Long repeatInterval) {
+        ScheduledJob scheduledJob = new ScheduledJob(id, job, repeatInterval == null ? 0 : TimeUnit.MILLISECONDS.toNanos(repeatInterval));
+        scheduledJobs.put(id, scheduledJob);
+        scheduledJob.schedule(TimeUnit.MILLISECONDS.toNanos(delay));
+    }
+
     @Override
     public boolean cancelJob(String id) {
         LOGGER.debug("Cancel Job: {}", id);
-        if (scheduledJobs.containsKey(id)) {
-            return scheduledJobs.remove(id).cancel(true);
+        ScheduledJob scheduledJob = scheduledJobs.remove(id);
+        if (scheduledJob != null) {
+            scheduledJob.cancel();
+            return true;
         }
 
         return false;
@@ -95,12 +116,11 @@ public class InMemoryJobService implements JobsService {
 
     @Override
     public ZonedDateTime getScheduledTime(String id) {
-        if (scheduledJobs.containsKey(id)) {
-            ScheduledFuture<?> scheduled = scheduledJobs.get(id);
-
-            long remainingTime = scheduled.getDelay(TimeUnit.MILLISECONDS);
+        ScheduledJob scheduledJob = scheduledJobs.get(id);
+        if (scheduledJob != null) {
+            long remainingTime = scheduledJob.getDelay(TimeUnit.MILLISECONDS);
             if (remainingTime > 0) {
-                return ZonedDateTime.from(Instant.ofEpochMilli(System.currentTimeMillis() + remainingTime));
+                return ZonedDateTime.now().plus(remainingTime, ChronoUnit.MILLIS);
             }
         }
 
@@ -171,9 +191,76 @@ public class InMemoryJobService implements JobsService {
     }
 
     private void cancel(String timerId) {
-        ScheduledFuture<?> timer = scheduledJobs.remove(timerId);
+        ScheduledJob timer = scheduledJobs.remove(timerId);
         if (timer != null) {
-            timer.cancel(false);
+            timer.cancel();
+        }
+    }
+
+    /**
+     * A job kept in the timer wheel until it expires; repeatable jobs are scheduled again at a fixed rate once
+     * executed, as long as they are not cancelled.
+     */
+    protected class ScheduledJob implements Runnable {
+
+        private final String id;
+        private final Runnable job;
+        private final long repeatIntervalNanos;
+        private long deadlineNanos;
+        private volatile TimerWheel.Timeout timeout;
+
+        private ScheduledJob(String id, Runnable job, long repeatIntervalNanos) {
+            this.id = id;
+            this.job = job;
+            this.repeatIntervalNanos = repeatIntervalNanos;
+        }
+
+        private void schedule(long delayNanos) {
+            deadlineNanos = System.nanoTime() + delayNanos;
+            timeout = timerWheel.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void cancel() {
+            // not yet set when cancelled while being scheduled, it is then skipped once expired
+            TimerWheel.Timeout current = timeout;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        private long getDelay(TimeUnit unit) {
+            TimerWheel.Timeout current = timeout;
+            return current == null ? 0 : current.getDelay(unit);
+        }
+
+        @Override
+        public void run() {
+            // the job may have been cancelled after expiring, while waiting for a worker
+            if (scheduledJobs.get(id) != this) {
+                return;
+            }
+            job.run();
+            if (repeatIntervalNanos > 0 && scheduledJobs.get(id) == this) {
+                deadlineNanos += repeatIntervalNanos;
+                timeout = timerWheel.schedule(this, deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "ScheduledJob [id=" + id + "]";
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "kogito-jobs-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
         }
     }
 
@@ -209,7 +296,7 @@ public class InMemoryJobService implements JobsService {
                 });
                 limit--;
                 if (limit == 0) {
-                    scheduledJobs.remove(id).cancel(false);
+                    cancel(id);
                 }
                 LOGGER.debug("Job {} completed", id);
             } finally {
@@ -250,7 +337,7 @@ public class InMemoryJobService implements JobsService {
                 });
                 limit--;
                 if (limit == 0) {
-                    scheduledJobs.remove(id).cancel(false);
+                    cancel(id);
                 }
                 LOGGER.debug("Job {} completed", id);
             } finally {
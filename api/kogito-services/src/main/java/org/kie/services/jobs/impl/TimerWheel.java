@@ -0,0 +1,305 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hierarchical timing wheel, made of 4 wheels of 256 slots each covering 256 times the span of the previous one
+ * (plus an overflow list for the longest delays), that expires its timeouts with the precision of one tick.
+ * Scheduling and cancelling a timeout are O(1) and only enqueue it: the wheels are owned by a single thread that,
+ * at every tick, places the new timeouts, unlinks the cancelled ones, cascades the slots of the higher wheels that
+ * are due to the lower ones and expires the whole current slot of the first wheel at once, handing its tasks to the
+ * given executor. The thread is started with the first timeout and parks while there are no pending timeouts.
+ */
+public class TimerWheel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimerWheel.class);
+
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    // the timeouts beyond the last wheel are kept in the first slot of an additional level
+    private static final int OVERFLOW = LEVELS;
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Executor executor;
+    private final String threadName;
+
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile Thread worker;
+    private volatile boolean idle;
+    private volatile boolean stopped;
+
+    // only accessed by the worker thread
+    private final Timeout[][] wheels = new Timeout[LEVELS + 1][WHEEL_SIZE];
+    private long currentTick;
+
+    public TimerWheel(long tickDuration, TimeUnit unit, Executor executor, String threadName) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("The tick duration must be positive");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.startNanos = System.nanoTime();
+        this.executor = executor;
+        this.threadName = threadName;
+    }
+
+    /**
+     * Schedules the task to be executed once the delay has elapsed, not before and at most one tick after it.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (stopped) {
+            throw new IllegalStateException("The timer wheel has been stopped");
+        }
+        // bounded so that the deadline, relative to the creation of the wheel, cannot overflow
+        long delayNanos = Math.min(Math.max(0L, unit.toNanos(delay)), Long.MAX_VALUE / 2);
+        Timeout timeout = new Timeout(this, task, elapsedNanos() + delayNanos);
+        pending.incrementAndGet();
+        scheduled.add(timeout);
+        if (!started.get() && started.compareAndSet(false, true)) {
+            start();
+        } else if (idle) {
+            LockSupport.unpark(worker);
+        }
+        return timeout;
+    }
+
+    /**
+     * Returns the number of timeouts neither expired nor cancelled.
+     */
+    public long size() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the worker thread, the pending timeouts are discarded.
+     */
+    public void stop() {
+        stopped = true;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void start() {
+        Thread thread = new Thread(this::run, threadName);
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    private long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    private void run() {
+        currentTick = elapsedNanos() / tickNanos;
+        while (!stopped) {
+            if (pending.get() == 0 && scheduled.isEmpty()) {
+                drainCancelled();
+                idle = true;
+                if (pending.get() == 0 && scheduled.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                // the wheels are empty, so the ticks elapsed meanwhile can be skipped
+                currentTick = Math.max(currentTick, elapsedNanos() / tickNanos - 1);
+                continue;
+            }
+            long nowTick = elapsedNanos() / tickNanos;
+            while (currentTick < nowTick && !stopped) {
+                currentTick++;
+                tick(currentTick);
+            }
+            long sleepNanos = (currentTick + 1) * tickNanos - elapsedNanos();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+        }
+        scheduled.clear();
+        cancelled.clear();
+        pending.set(0);
+    }
+
+    private void tick(long tick) {
+        drainCancelled();
+        for (Timeout timeout = scheduled.poll(); timeout != null; timeout = scheduled.poll()) {
+            if (!timeout.isCancelled()) {
+                place(timeout, tick);
+            }
+        }
+        cascade(tick);
+        expire(tick);
+    }
+
+    private void drainCancelled() {
+        for (Timeout timeout = cancelled.poll(); timeout != null; timeout = cancelled.poll()) {
+            if (timeout.position >= 0) {
+                unlink(timeout);
+            }
+        }
+    }
+
+    private void cascade(long tick) {
+        // from the highest level, so that the timeouts cascaded to the first slot of a lower wheel are cascaded again
+        for (int level = OVERFLOW; level > 0; level--) {
+            if ((tick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                int slot = level == OVERFLOW ? 0 : (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+                Timeout timeout = wheels[level][slot];
+                wheels[level][slot] = null;
+                while (timeout != null) {
+                    Timeout next = timeout.next;
+                    timeout.prev = null;
+                    timeout.next = null;
+                    timeout.position = -1;
+                    place(timeout, tick);
+                    timeout = next;
+                }
+            }
+        }
+    }
+
+    private void expire(long tick) {
+        int slot = (int) (tick & WHEEL_MASK);
+        Timeout timeout = wheels[0][slot];
+        wheels[0][slot] = null;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.position = -1;
+            if (timeout.expire()) {
+                pending.decrementAndGet();
+                dispatch(timeout.task);
+            }
+            timeout = next;
+        }
+    }
+
+    private void dispatch(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Expired timer task {} rejected by the executor", task, e);
+        }
+    }
+
+    private void place(Timeout timeout, long tick) {
+        // rounded up, so that a timeout never expires before its deadline
+        long deadlineTick = Math.max((timeout.deadlineNanos + tickNanos - 1) / tickNanos, tick);
+        // the lowest wheel whose current revolution includes the deadline
+        int level = 0;
+        while (level < OVERFLOW && (deadlineTick >>> (WHEEL_BITS * (level + 1))) != (tick >>> (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = level == OVERFLOW ? 0 : (int) ((deadlineTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        Timeout head = wheels[level][slot];
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        wheels[level][slot] = timeout;
+        timeout.position = level * WHEEL_SIZE + slot;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            wheels[timeout.position / WHEEL_SIZE][timeout.position % WHEEL_SIZE] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.position = -1;
+    }
+
+    /**
+     * A task scheduled in the wheel.
+     */
+    public static final class Timeout {
+
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final TimerWheel wheel;
+        private final Runnable task;
+        private final long deadlineNanos;
+        private volatile int state;
+
+        // only accessed by the worker thread of the wheel
+        private Timeout prev;
+        private Timeout next;
+        private int position = -1;
+
+        private Timeout(TimerWheel wheel, Runnable task, long deadlineNanos) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Cancels the timeout, returning false if it already expired or was cancelled.
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, WAITING, CANCELLED)) {
+                return false;
+            }
+            wheel.pending.decrementAndGet();
+            wheel.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - wheel.elapsedNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        private boolean expire() {
+            return STATE.compareAndSet(this, WAITING, EXPIRED);
+        }
+    }
+}
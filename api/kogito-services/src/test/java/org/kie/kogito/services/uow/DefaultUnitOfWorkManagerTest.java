@@ -15,21 +15,37 @@
  */
 package org.kie.kogito.services.uow;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.context.ContextCarrier;
+import org.kie.kogito.context.ContextCarrierFactory;
+import org.kie.kogito.process.AsyncMutableProcessInstances;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceWrite;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.WorkUnit;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
 import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+import org.mockito.ArgumentCaptor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class DefaultUnitOfWorkManagerTest {
 
@@ -66,10 +82,46 @@ public class DefaultUnitOfWorkManagerTest {
 
         assertThat(counter.get()).isEqualTo(1);
         verify(listener).onBeforeStartEvent(any());
+        verify(listener).onBeforeEndEvent(any());
         verify(listener).onAfterEndEvent(any());
         verify(listener, never()).onAfterAbortEvent(any());
     }
 
+    @Test
+    public void testUnitOfWorkReleasedWhenWorkFails() {
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+        unit.start();
+        unit.intercept(new BaseWorkUnit(null, (d) -> {
+            throw new IllegalStateException("storage failure");
+        }));
+        assertThrows(IllegalStateException.class, unit::end);
+
+        assertThat(unitOfWorkManager.currentUnitOfWork()).isInstanceOf(PassThroughUnitOfWork.class);
+        verify(listener).onBeforeEndEvent(any());
+        verify(listener).onAfterEndEvent(any());
+    }
+
+    @Test
+    public void testUnitOfWorkBeforeEndEventPrecedesWork() {
+        final AtomicInteger counter = new AtomicInteger(0);
+        final AtomicInteger counterBeforeEnd = new AtomicInteger(-1);
+        unitOfWorkManager.register(new UnitOfWorkEventListener() {
+            @Override
+            public void onBeforeEndEvent(UnitOfWorkEndEvent event) {
+                counterBeforeEnd.set(counter.get());
+            }
+        });
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+        unit.start();
+        unit.intercept(new BaseWorkUnit(counter, (d) -> ((AtomicInteger) d).incrementAndGet()));
+        unit.end();
+
+        assertThat(counterBeforeEnd.get()).isEqualTo(0);
+        assertThat(counter.get()).isEqualTo(1);
+    }
+
     @Test
     public void testUnitOfWorkStartAbort() {
 
@@ -86,6 +138,7 @@ public class DefaultUnitOfWorkManagerTest {
 
         assertThat(counter.get()).isEqualTo(0);
         verify(listener).onBeforeStartEvent(any());
+        verify(listener, never()).onBeforeEndEvent(any());
         verify(listener, never()).onAfterEndEvent(any());
         verify(listener).onAfterAbortEvent(any());
     }
@@ -146,4 +199,198 @@ public class DefaultUnitOfWorkManagerTest {
         assertThat(counter.get()).isEqualTo(1);
         assertThat(picounter.get()).isEqualTo(0);
     }
+
+    @Test
+    public void testUnitOfWorkStartEndAsync() {
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+
+        final AtomicInteger counter = new AtomicInteger(0);
+        final AtomicInteger picounter = new AtomicInteger(0);
+        final CompletableFuture<Void> stored = new CompletableFuture<>();
+
+        BaseWorkUnit dummyWork = new BaseWorkUnit(counter, (d) -> ((AtomicInteger) d).incrementAndGet());
+        ProcessInstanceWorkUnit<?> piWork = new ProcessInstanceWorkUnit<>(null, (d) -> {
+            throw new IllegalStateException("Blocking action must not be used");
+        }).withAsyncAction(d -> stored.thenRun(() -> picounter.set(counter.get())));
+        unit.start();
+        unit.intercept(dummyWork);
+        unit.intercept(piWork);
+        CompletionStage<Void> ended = unit.endAsync();
+
+        // the unit is released from the thread while the process instance is still being stored
+        assertThat(unitOfWorkManager.currentUnitOfWork()).isInstanceOf(PassThroughUnitOfWork.class);
+        assertThat(ended.toCompletableFuture()).isNotDone();
+        assertThat(counter.get()).isZero();
+        verify(listener, never()).onAfterEndEvent(any());
+
+        stored.complete(null);
+
+        assertThat(ended.toCompletableFuture()).isCompleted();
+        assertThat(counter.get()).isEqualTo(1);
+        assertThat(picounter.get()).isZero();
+        verify(listener).onAfterEndEvent(any());
+    }
+
+    @Test
+    public void testUnitOfWorkExecutorAsyncCompensatesOnFailure() {
+
+        final AtomicInteger compensated = new AtomicInteger(0);
+        final CompletableFuture<Void> stored = new CompletableFuture<>();
+
+        CompletionStage<String> result = UnitOfWorkExecutor.executeInUnitOfWorkAsync(unitOfWorkManager, () -> {
+            unitOfWorkManager.currentUnitOfWork().intercept(new ProcessInstanceWorkUnit<>(null, (d) -> {
+            }, (d) -> compensated.incrementAndGet()).withAsyncAction(d -> stored));
+            return "done";
+        });
+        assertThat(result.toCompletableFuture()).isNotDone();
+
+        stored.completeExceptionally(new IllegalStateException("storage failure"));
+
+        assertThat(result.toCompletableFuture()).hasFailedWithThrowableThat().hasMessage("storage failure");
+        assertThat(compensated.get()).isEqualTo(1);
+        // the end has been notified, so the unit of work is not aborted afterwards
+        verify(listener).onAfterEndEvent(any());
+        verify(listener, never()).onAfterAbortEvent(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUnitOfWorkEndBatchesProcessInstanceWrites() {
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+
+        final AtomicInteger counter = new AtomicInteger(0);
+        final AtomicInteger picounter = new AtomicInteger(0);
+        MutableProcessInstances<Object> instances = mock(MutableProcessInstances.class);
+        MutableProcessInstances<Object> otherInstances = mock(MutableProcessInstances.class);
+        ProcessInstance<Object> created = mock(ProcessInstance.class);
+        ProcessInstance<Object> updated = mock(ProcessInstance.class);
+
+        BaseWorkUnit dummyWork = new BaseWorkUnit(counter, (d) -> ((AtomicInteger) d).incrementAndGet());
+        unit.start();
+        unit.intercept(dummyWork);
+        unit.intercept(new ProcessInstanceWorkUnit<>(created, (d) -> {
+            throw new IllegalStateException("Batched write must not be performed on its own");
+        }).withWrite(instances, ProcessInstanceWrite.Type.CREATE));
+        unit.intercept(new ProcessInstanceWorkUnit<>(mock(ProcessInstance.class), (d) -> picounter.incrementAndGet())
+                .withWrite(otherInstances, ProcessInstanceWrite.Type.REMOVE));
+        unit.intercept(new ProcessInstanceWorkUnit<>(updated, (d) -> {
+            throw new IllegalStateException("Batched write must not be performed on its own");
+        }).withWrite(instances, ProcessInstanceWrite.Type.UPDATE));
+        unit.end();
+
+        ArgumentCaptor<List<ProcessInstanceWrite<Object>>> writes = ArgumentCaptor.forClass(List.class);
+        verify(instances).batch(writes.capture());
+        assertThat(writes.getValue()).extracting(ProcessInstanceWrite::type, ProcessInstanceWrite::instance)
+                .containsExactly(tuple(ProcessInstanceWrite.Type.CREATE, created), tuple(ProcessInstanceWrite.Type.UPDATE, updated));
+        // a single write is performed as it is
+        verify(otherInstances, never()).batch(any());
+        assertThat(picounter.get()).isEqualTo(1);
+        assertThat(counter.get()).isEqualTo(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUnitOfWorkEndAsyncBatchesProcessInstanceWrites() {
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+
+        final AtomicInteger counter = new AtomicInteger(0);
+        final CompletableFuture<Void> stored = new CompletableFuture<>();
+        AsyncMutableProcessInstances<Object> instances = mock(AsyncMutableProcessInstances.class);
+        when(instances.batchAsync(any())).thenReturn(stored);
+        ProcessInstance<Object> created = mock(ProcessInstance.class);
+        ProcessInstance<Object> updated = mock(ProcessInstance.class);
+
+        unit.start();
+        unit.intercept(new ProcessInstanceWorkUnit<>(created, (d) -> {
+            throw new IllegalStateException("Batched write must not be performed on its own");
+        }).withWrite(instances, ProcessInstanceWrite.Type.CREATE));
+        unit.intercept(new ProcessInstanceWorkUnit<>(updated, (d) -> {
+            throw new IllegalStateException("Batched write must not be performed on its own");
+        }).withWrite(instances, ProcessInstanceWrite.Type.UPDATE));
+        // lower priority work runs once the writes completed
+        unit.intercept(new BaseWorkUnit(counter, (d) -> ((AtomicInteger) d).incrementAndGet()) {
+            @Override
+            public Integer priority() {
+                return 20;
+            }
+        });
+        CompletionStage<Void> ended = unit.endAsync();
+
+        ArgumentCaptor<List<ProcessInstanceWrite<Object>>> writes = ArgumentCaptor.forClass(List.class);
+        verify(instances).batchAsync(writes.capture());
+        assertThat(writes.getValue()).extracting(ProcessInstanceWrite::type, ProcessInstanceWrite::instance)
+                .containsExactly(tuple(ProcessInstanceWrite.Type.CREATE, created), tuple(ProcessInstanceWrite.Type.UPDATE, updated));
+        verify(instances, never()).batch(any());
+        assertThat(ended.toCompletableFuture()).isNotDone();
+        assertThat(counter.get()).isZero();
+
+        stored.complete(null);
+
+        assertThat(ended.toCompletableFuture()).isCompleted();
+        assertThat(counter.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testUnitOfWorkFollowsContextCarrier() throws Exception {
+
+        // carrier bound to a context shared by several threads, as an event loop or request context would be
+        ContextCarrierFactory sharedContext = new ContextCarrierFactory() {
+
+            @Override
+            public <T> ContextCarrier<T> create() {
+                AtomicReference<T> value = new AtomicReference<>();
+                return new ContextCarrier<T>() {
+
+                    @Override
+                    public T get() {
+                        return value.get();
+                    }
+
+                    @Override
+                    public void set(T newValue) {
+                        value.set(newValue);
+                    }
+
+                    @Override
+                    public void remove() {
+                        value.set(null);
+                    }
+                };
+            }
+        };
+        UnitOfWorkManager manager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory(), sharedContext);
+        assertThat(manager.contextCarrierFactory()).isSameAs(sharedContext);
+
+        UnitOfWork unit = manager.newUnitOfWork();
+        unit.start();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(executor.submit(manager::currentUnitOfWork).get()).isSameAs(((ManagedUnitOfWork) unit).delegate());
+            unit.end();
+            assertThat(executor.submit(manager::currentUnitOfWork).get()).isInstanceOf(PassThroughUnitOfWork.class);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnitOfWorkWrappedForOtherThread() throws Exception {
+
+        DefaultUnitOfWorkManager manager = (DefaultUnitOfWorkManager) unitOfWorkManager;
+        UnitOfWork unit = manager.newUnitOfWork();
+        unit.start();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // thread bound by default, so the unit is only seen by another thread through a wrapped task
+            assertThat(executor.submit(manager::currentUnitOfWork).get()).isInstanceOf(PassThroughUnitOfWork.class);
+            assertThat(executor.submit(manager.contextCarrier().wrap(manager::currentUnitOfWork)::get).get()).isSameAs(((ManagedUnitOfWork) unit).delegate());
+            assertThat(executor.submit(manager::currentUnitOfWork).get()).isInstanceOf(PassThroughUnitOfWork.class);
+        } finally {
+            executor.shutdownNow();
+            unit.end();
+        }
+    }
 }
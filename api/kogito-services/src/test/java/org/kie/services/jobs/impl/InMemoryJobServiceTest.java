@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ProcessInstanceJobDescription;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class InMemoryJobServiceTest {
+
+    private static final String PROCESS_INSTANCE_ID = "processInstanceId";
+
+    private KogitoProcessInstance processInstance;
+    private InMemoryJobService jobService;
+
+    @BeforeEach
+    public void setup() {
+        processInstance = mock(KogitoProcessInstance.class);
+        KogitoProcessRuntime processRuntime = mock(KogitoProcessRuntime.class);
+        when(processRuntime.getProcessInstance(PROCESS_INSTANCE_ID)).thenReturn(processInstance);
+        jobService = new InMemoryJobService(processRuntime, new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory()));
+    }
+
+    @Test
+    public void testProcessInstanceJob() {
+        String jobId = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(500), PROCESS_INSTANCE_ID, "process"));
+
+        assertThat(jobService.getScheduledTime(jobId)).isNotNull();
+        verify(processInstance, timeout(5000)).signalEvent(eq("timerTriggered"), any());
+        verify(processInstance, after(100).times(1)).signalEvent(eq("timerTriggered"), any());
+        assertThat(jobService.getScheduledTime(jobId)).isNull();
+        assertThat(jobService.cancelJob(jobId)).isFalse();
+    }
+
+    @Test
+    public void testRepeatableProcessInstanceJob() {
+        String jobId = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.repeat(10, 20L, 3), PROCESS_INSTANCE_ID, "process"));
+
+        verify(processInstance, timeout(5000).times(3)).signalEvent(eq("timerTriggered"), any());
+        verify(processInstance, after(200).times(3)).signalEvent(eq("timerTriggered"), any());
+        assertThat(jobService.cancelJob(jobId)).isFalse();
+        assertThat(jobService.timerWheel.size()).isZero();
+    }
+
+    @Test
+    public void testThreadPoolSizeProperty() throws InterruptedException {
+        System.setProperty(InMemoryJobService.THREAD_POOL_SIZE_PROPERTY, "2");
+        try {
+            KogitoProcessRuntime processRuntime = mock(KogitoProcessRuntime.class);
+            when(processRuntime.getProcessInstance(PROCESS_INSTANCE_ID)).thenReturn(processInstance);
+            jobService = new InMemoryJobService(processRuntime, new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory()));
+        } finally {
+            System.clearProperty(InMemoryJobService.THREAD_POOL_SIZE_PROPERTY);
+        }
+        // each job waits for the other one, so they only both complete when executed concurrently
+        CountDownLatch running = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            running.countDown();
+            running.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(processInstance).signalEvent(eq("timerTriggered"), any());
+
+        jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(10), PROCESS_INSTANCE_ID, "process"));
+        jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(2, DurationExpirationTime.after(10), PROCESS_INSTANCE_ID, "process"));
+
+        assertThat(running.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void testCancelJob() {
+        String jobId = jobService.scheduleProcessInstanceJob(ProcessInstanceJobDescription.of(1, DurationExpirationTime.after(500), PROCESS_INSTANCE_ID, "process"));
+
+        assertThat(jobService.cancelJob(jobId)).isTrue();
+        verify(processInstance, after(800).never()).signalEvent(eq("timerTriggered"), any());
+        assertThat(jobService.timerWheel.size()).isZero();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimerWheelTest {
+
+    private TimerWheel wheel = new TimerWheel(1, TimeUnit.MILLISECONDS, Runnable::run, "test-timer");
+
+    @AfterEach
+    public void stop() {
+        wheel.stop();
+    }
+
+    @Test
+    public void testExpiresNotBeforeDeadline() throws InterruptedException {
+        // the delays span the first and the second wheel, so the latter are cascaded before expiring
+        long[] delays = { 0, 5, 50, 255, 256, 300, 700 };
+        CountDownLatch latch = new CountDownLatch(delays.length);
+        Map<Long, Long> firedAfter = new ConcurrentHashMap<>();
+        for (long delay : delays) {
+            long scheduledAt = System.nanoTime();
+            wheel.schedule(() -> {
+                firedAfter.put(delay, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - scheduledAt));
+                latch.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long delay : delays) {
+            assertThat(firedAfter.get(delay)).isGreaterThanOrEqualTo(delay);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        List<String> executed = new ArrayList<>();
+        TimerWheel.Timeout cancelled = wheel.schedule(() -> executed.add("cancelled"), 20, TimeUnit.MILLISECONDS);
+        wheel.schedule(() -> {
+            executed.add("kept");
+            fired.countDown();
+        }, 40, TimeUnit.MILLISECONDS);
+
+        assertThat(cancelled.cancel()).isTrue();
+        assertThat(cancelled.cancel()).isFalse();
+        assertThat(cancelled.isCancelled()).isTrue();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).containsExactly("kept");
+    }
+
+    @Test
+    public void testLongDelays() {
+        TimerWheel.Timeout hour = wheel.schedule(() -> {
+        }, 1, TimeUnit.HOURS);
+        TimerWheel.Timeout year = wheel.schedule(() -> {
+        }, 365, TimeUnit.DAYS);
+
+        assertThat(hour.getDelay(TimeUnit.MINUTES)).isBetween(59L, 60L);
+        assertThat(year.getDelay(TimeUnit.DAYS)).isBetween(364L, 365L);
+        assertThat(wheel.size()).isEqualTo(2);
+        assertThat(hour.cancel()).isTrue();
+        assertThat(year.cancel()).isTrue();
+        assertThat(wheel.size()).isZero();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.services.jobs.impl.benchmark;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.services.jobs.impl.TimerWheel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures scheduling and then cancelling a large number of pending timers, spread over the next hour as process
+ * timers usually are, with the {@link TimerWheel} used by the in memory jobs service and with the
+ * {@link ScheduledThreadPoolExecutor} it replaced.
+ * Run it from this module folder, e.g. with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.kie.services.jobs.impl.benchmark.TimerWheelBenchmark}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimerWheelBenchmark {
+
+    private static final Runnable NOOP = () -> {
+    };
+
+    @Param({ "1000000" })
+    private int timers;
+
+    private long[] delays;
+    private TimerWheel timerWheel;
+    private ScheduledThreadPoolExecutor executor;
+
+    @Setup
+    public void setup() {
+        delays = new long[timers];
+        long hour = TimeUnit.HOURS.toMillis(1);
+        for (int i = 0; i < timers; i++) {
+            delays[i] = 1000 + (i * 7919L) % hour;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        timerWheel = new TimerWheel(10, TimeUnit.MILLISECONDS, Runnable::run, "benchmark-timer");
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        timerWheel.stop();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public long timerWheel() {
+        TimerWheel.Timeout[] timeouts = new TimerWheel.Timeout[timers];
+        for (int i = 0; i < timers; i++) {
+            timeouts[i] = timerWheel.schedule(NOOP, delays[i], TimeUnit.MILLISECONDS);
+        }
+        for (TimerWheel.Timeout timeout : timeouts) {
+            timeout.cancel();
+        }
+        return timerWheel.size();
+    }
+
+    @Benchmark
+    public int scheduledThreadPoolExecutor() {
+        ScheduledFuture<?>[] futures = new ScheduledFuture<?>[timers];
+        for (int i = 0; i < timers; i++) {
+            futures[i] = executor.schedule(NOOP, delays[i], TimeUnit.MILLISECONDS);
+        }
+        for (ScheduledFuture<?> future : futures) {
+            future.cancel(false);
+        }
+        return executor.getQueue().size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TimerWheelBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -16,6 +16,15 @@
 package org.kie.kogito.dmn;
 
 import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.kie.api.runtime.KieRuntimeFactory;
@@ -25,6 +34,8 @@ import org.kie.kogito.ExecutionIdSupplier;
 import org.kie.kogito.decision.DecisionConfig;
 import org.kie.kogito.decision.DecisionModel;
 import org.kie.kogito.decision.DecisionModels;
+import org.kie.kogito.decision.DecisionResultCache;
+import org.kie.kogito.decision.DecisionResultCacheConfig;
 
 public abstract class AbstractDecisionModels implements DecisionModels {
 
@@ -32,6 +43,15 @@ public abstract class AbstractDecisionModels implements DecisionModels {
     private static DMNRuntime dmnRuntime = null;
     private static ExecutionIdSupplier execIdSupplier = null;
     private static Function<DecisionModel, DecisionModel> decisionModelTransformer = null;
+    // outlives the runtime, so that the cache statistics can be monitored across hot reloads
+    private static final Map<List<String>, DmnDecisionResultCache> resultCaches = new ConcurrentHashMap<>();
+    // shared by the applications configured with the same parallelism, as they outlive hot reloads as well
+    private static final Map<Integer, Executor> batchExecutors = new ConcurrentHashMap<>();
+    // bounds the input sets waiting for a thread, the calling thread evaluates the ones exceeding it
+    private static final int BATCH_QUEUE_SIZE_PER_THREAD = 16;
+
+    private DecisionResultCacheConfig resultCacheConfig;
+    private Executor batchExecutor;
 
     protected static void init(Function<String, KieRuntimeFactory> sKieRuntimeFactoryFunction,
             ExecutionIdSupplier executionIdSupplier,
@@ -39,13 +59,20 @@ public abstract class AbstractDecisionModels implements DecisionModels {
             Reader... readers) {
         DMNKogitoCallbacks.beforeAbstractDecisionModelsInit(sKieRuntimeFactoryFunction, executionIdSupplier, decisionModelTransformerInit, readers);
         dmnRuntime = DMNKogito.createGenericDMNRuntime(sKieRuntimeFactoryFunction, readers);
+        resultCaches.values().forEach(DecisionResultCache::invalidateAll);
         execIdSupplier = executionIdSupplier;
         decisionModelTransformer = decisionModelTransformerInit;
         DMNKogitoCallbacks.afterAbstractDecisionModelsInit(dmnRuntime);
     }
 
     public DecisionModel getDecisionModel(String namespace, String name) {
-        DecisionModel model = new DmnDecisionModel(dmnRuntime, namespace, name, execIdSupplier);
+        DecisionModel model = new DmnDecisionModel(dmnRuntime, namespace, name, execIdSupplier, batchExecutor);
+        // each traced evaluation has its own execution id, so its result can not be reused
+        if (execIdSupplier == null && resultCacheConfig != null && resultCacheConfig.isEnabled(name)) {
+            DmnDecisionResultCache cache = resultCaches.computeIfAbsent(Arrays.asList(namespace, name),
+                    k -> new DmnDecisionResultCache(resultCacheConfig.maxSize(), resultCacheConfig.timeToLive()));
+            model = new CachedDmnDecisionModel(model, cache);
+        }
         return decisionModelTransformer == null
                 ? model
                 : decisionModelTransformer.apply(model);
@@ -60,7 +87,25 @@ public abstract class AbstractDecisionModels implements DecisionModels {
     }
 
     protected void initApplication(Application app) {
-        app.config().get(DecisionConfig.class).decisionEventListeners().listeners().forEach(dmnRuntime::addListener);
+        DecisionConfig decisionConfig = app.config().get(DecisionConfig.class);
+        decisionConfig.decisionEventListeners().listeners().forEach(dmnRuntime::addListener);
+        resultCacheConfig = decisionConfig.decisionResultCache();
+        int batchParallelism = decisionConfig.batchParallelism();
+        batchExecutor = batchParallelism > 1 ? batchExecutors.computeIfAbsent(batchParallelism, AbstractDecisionModels::newBatchExecutor) : null;
+    }
+
+    static Executor newBatchExecutor(int parallelism) {
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(parallelism * BATCH_QUEUE_SIZE_PER_THREAD),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "kogito-decision-batch-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     protected static java.io.InputStreamReader readResource(java.io.InputStream stream) {
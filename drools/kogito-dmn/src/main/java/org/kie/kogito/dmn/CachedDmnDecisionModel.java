@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.dmn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.FEELPropertyAccessible;
+import org.kie.kogito.decision.CachedDecisionModel;
+import org.kie.kogito.decision.DecisionModel;
+import org.kie.kogito.decision.DecisionResultCache;
+
+/**
+ * Serves the results of the given decision model from a {@link DmnDecisionResultCache}. Results served from the cache
+ * are shared by the callers and do not notify the runtime event listeners.
+ */
+public class CachedDmnDecisionModel implements CachedDecisionModel {
+
+    private final DecisionModel decisionModel;
+    private final DmnDecisionResultCache cache;
+
+    public CachedDmnDecisionModel(DecisionModel decisionModel, DmnDecisionResultCache cache) {
+        this.decisionModel = decisionModel;
+        this.cache = cache;
+    }
+
+    @Override
+    public DMNContext newContext(Map<String, Object> inputSet) {
+        return decisionModel.newContext(inputSet);
+    }
+
+    @Override
+    public DMNContext newContext(FEELPropertyAccessible inputSet) {
+        return decisionModel.newContext(inputSet);
+    }
+
+    @Override
+    public DMNResult evaluateAll(DMNContext context) {
+        return evaluate(cache.keyOf(null, context), () -> decisionModel.evaluateAll(context));
+    }
+
+    @Override
+    public List<DMNResult> evaluateBatch(List<DMNContext> contexts) {
+        DMNResult[] results = new DMNResult[contexts.size()];
+        List<Integer> missing = new ArrayList<>();
+        List<Optional<Object>> missingKeys = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            Optional<Object> key = cache.keyOf(null, contexts.get(i));
+            results[i] = key.map(cache::get).orElse(null);
+            if (results[i] == null) {
+                missing.add(i);
+                missingKeys.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<DMNContext> missingContexts = new ArrayList<>(missing.size());
+            missing.forEach(i -> missingContexts.add(contexts.get(i)));
+            List<DMNResult> evaluated = decisionModel.evaluateBatch(missingContexts);
+            for (int i = 0; i < missing.size(); i++) {
+                DMNResult result = evaluated.get(i);
+                missingKeys.get(i).ifPresent(key -> cache.put(key, result));
+                results[missing.get(i)] = result;
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public DMNResult evaluateDecisionService(DMNContext context, String decisionServiceName) {
+        return evaluate(cache.keyOf(decisionServiceName, context), () -> decisionModel.evaluateDecisionService(context, decisionServiceName));
+    }
+
+    private DMNResult evaluate(Optional<Object> key, Supplier<DMNResult> evaluation) {
+        if (!key.isPresent()) {
+            return evaluation.get();
+        }
+        DMNResult result = cache.get(key.get());
+        if (result == null) {
+            result = evaluation.get();
+            cache.put(key.get(), result);
+        }
+        return result;
+    }
+
+    @Override
+    public DMNModel getDMNModel() {
+        return decisionModel.getDMNModel();
+    }
+
+    @Override
+    public DecisionResultCache resultCache() {
+        return cache;
+    }
+}
@@ -18,6 +18,7 @@ package org.kie.kogito.dmn;
 import java.io.Reader;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -44,6 +45,8 @@ import org.slf4j.LoggerFactory;
 public class DMNKogito {
 
     private static final Logger LOG = LoggerFactory.getLogger(DMNKogito.class);
+    // the accessors cached before the first runtime is created can not belong to reloaded classes
+    private static final AtomicBoolean runtimeCreated = new AtomicBoolean();
 
     private DMNKogito() {
         // intentionally private.
@@ -61,7 +64,9 @@ public class DMNKogito {
     public static DMNRuntime createGenericDMNRuntime(Function<String, KieRuntimeFactory> kiePMMLRuntimeFactoryFunction, Reader... readers) {
         DMNKogitoCallbacks.beforeCreateGenericDMNRuntime(kiePMMLRuntimeFactoryFunction, readers);
         List<Resource> resources = Stream.of(readers).map(ReaderResource::new).collect(Collectors.toList());
-        EvalHelper.clearGenericAccessorCache(); // KOGITO-3325 DMN hot reload manage accessor cache when stronglytyped
+        if (runtimeCreated.getAndSet(true)) {
+            EvalHelper.clearGenericAccessorCache(); // KOGITO-3325 DMN hot reload manage accessor cache when stronglytyped
+        }
         DMNRuntime dmnRuntime = DMNRuntimeBuilder.fromDefaults()
                 .setKieRuntimeFactoryFunction(kiePMMLRuntimeFactoryFunction)
                 .buildConfiguration()
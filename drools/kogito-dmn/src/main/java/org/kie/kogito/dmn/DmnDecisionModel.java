@@ -16,7 +16,11 @@
 package org.kie.kogito.dmn;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import org.kie.dmn.api.core.DMNContext;
 import org.kie.dmn.api.core.DMNModel;
@@ -27,19 +31,31 @@ import org.kie.kogito.ExecutionIdSupplier;
 import org.kie.kogito.decision.DecisionExecutionIdUtils;
 import org.kie.kogito.decision.DecisionModel;
 
+import static java.util.stream.Collectors.toList;
+
 public class DmnDecisionModel implements DecisionModel {
 
     private final DMNRuntime dmnRuntime;
     private final ExecutionIdSupplier execIdSupplier;
     private final DMNModel dmnModel;
+    private final Executor batchExecutor;
 
     public DmnDecisionModel(DMNRuntime dmnRuntime, String namespace, String name) {
         this(dmnRuntime, namespace, name, null);
     }
 
     public DmnDecisionModel(DMNRuntime dmnRuntime, String namespace, String name, ExecutionIdSupplier execIdSupplier) {
+        this(dmnRuntime, namespace, name, execIdSupplier, null);
+    }
+
+    /**
+     * @param batchExecutor the executor evaluating the input sets of a batch concurrently, null to evaluate them
+     *        sequentially on the calling thread
+     */
+    public DmnDecisionModel(DMNRuntime dmnRuntime, String namespace, String name, ExecutionIdSupplier execIdSupplier, Executor batchExecutor) {
         this.dmnRuntime = dmnRuntime;
         this.execIdSupplier = execIdSupplier;
+        this.batchExecutor = batchExecutor;
         this.dmnModel = dmnRuntime.getModel(namespace, name);
         if (dmnModel == null) {
             throw new IllegalStateException("DMN model '" + name + "' not found with namespace '" + namespace + "' in the inherent DMNRuntime.");
@@ -61,6 +77,25 @@ public class DmnDecisionModel implements DecisionModel {
         return dmnRuntime.evaluateAll(dmnModel, injectExecutionId(context));
     }
 
+    /**
+     * Evaluates the input sets sequentially on the calling thread, or concurrently on the batch executor when one is
+     * given, the runtime being shared by concurrent requests anyway
+     */
+    @Override
+    public List<DMNResult> evaluateBatch(List<DMNContext> contexts) {
+        if (batchExecutor == null) {
+            return DecisionModel.super.evaluateBatch(contexts);
+        }
+        List<CompletableFuture<DMNResult>> results = contexts.stream()
+                .map(context -> CompletableFuture.supplyAsync(() -> evaluateAll(context), batchExecutor))
+                .collect(toList());
+        try {
+            return results.stream().map(CompletableFuture::join).collect(toList());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
     @Override
     public DMNResult evaluateDecisionService(DMNContext context, String decisionServiceName) {
         return dmnRuntime.evaluateDecisionService(dmnModel, injectExecutionId(context), decisionServiceName);
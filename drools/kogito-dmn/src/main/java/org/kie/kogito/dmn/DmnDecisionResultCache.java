@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.dmn;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalAmount;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.FEELPropertyAccessible;
+import org.kie.dmn.feel.util.EvalHelper;
+import org.kie.kogito.decision.DecisionResultCache;
+
+/**
+ * Least recently used cache of the results of a decision model, keyed on a canonical form of the input values:
+ * numbers are compared by their value and structures (contexts, lists, strongly typed inputs) by their content.
+ * Inputs holding values of any other type have no reliable equality, so their evaluations bypass the cache.
+ */
+public class DmnDecisionResultCache implements DecisionResultCache {
+
+    private static final Object NOT_CACHEABLE = new Object();
+
+    private final int maxSize;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+    private final Map<Object, CachedResult> results;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public DmnDecisionResultCache(int maxSize, Duration timeToLive) {
+        this(maxSize, timeToLive, System::nanoTime);
+    }
+
+    DmnDecisionResultCache(int maxSize, Duration timeToLive, LongSupplier nanoClock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maximum size of a decision result cache must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.nanoClock = nanoClock;
+        this.results = new LinkedHashMap<Object, CachedResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, CachedResult> eldest) {
+                return size() > DmnDecisionResultCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param decisionServiceName the evaluated decision service, null when evaluating the whole model
+     * @return the key of the evaluation of the given context, empty if it can not be cached
+     */
+    public Optional<Object> keyOf(String decisionServiceName, DMNContext context) {
+        Object inputs = canonical(context.getAll());
+        return inputs == NOT_CACHEABLE ? Optional.empty() : Optional.of(Arrays.asList(decisionServiceName, inputs));
+    }
+
+    /**
+     * @return the result cached with the given key, null if none or expired
+     */
+    public DMNResult get(Object key) {
+        CachedResult cached;
+        synchronized (results) {
+            cached = results.get(key);
+            if (cached != null && timeToLiveNanos > 0 && cached.isExpiredAt(nanoClock.getAsLong())) {
+                results.remove(key);
+                cached = null;
+            }
+        }
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.result;
+    }
+
+    /**
+     * Caches the given result, unless it has errors which might not be a function of the inputs only
+     */
+    public void put(Object key, DMNResult result) {
+        if (result.hasErrors()) {
+            return;
+        }
+        long expiration = nanoClock.getAsLong() + timeToLiveNanos;
+        synchronized (results) {
+            results.put(key, new CachedResult(result, expiration));
+        }
+    }
+
+    @Override
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long missCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public long size() {
+        synchronized (results) {
+            return results.size();
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (results) {
+            results.clear();
+        }
+    }
+
+    private static Object canonical(Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean || value instanceof TemporalAccessor || value instanceof TemporalAmount) {
+            return value;
+        }
+        if (value instanceof Number) {
+            BigDecimal number = EvalHelper.getBigDecimalOrNull(value);
+            return number != null ? number.stripTrailingZeros() : NOT_CACHEABLE;
+        }
+        if (value instanceof FEELPropertyAccessible) {
+            return canonical(((FEELPropertyAccessible) value).allFEELProperties());
+        }
+        if (value instanceof Map) {
+            Map<Object, Object> map = new HashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                Object entryValue = canonical(entry.getValue());
+                if (entryValue == NOT_CACHEABLE) {
+                    return NOT_CACHEABLE;
+                }
+                map.put(entry.getKey(), entryValue);
+            }
+            return map;
+        }
+        if (value instanceof Collection) {
+            List<Object> list = new ArrayList<>();
+            for (Object element : (Collection<?>) value) {
+                Object canonicalElement = canonical(element);
+                if (canonicalElement == NOT_CACHEABLE) {
+                    return NOT_CACHEABLE;
+                }
+                list.add(canonicalElement);
+            }
+            return value instanceof Set ? new HashSet<>(list) : list;
+        }
+        return NOT_CACHEABLE;
+    }
+
+    private static class CachedResult {
+
+        private final DMNResult result;
+        private final long expiration;
+
+        private CachedResult(DMNResult result, long expiration) {
+            this.result = result;
+            this.expiration = expiration;
+        }
+
+        private boolean isExpiredAt(long now) {
+            return now - expiration >= 0;
+        }
+    }
+}
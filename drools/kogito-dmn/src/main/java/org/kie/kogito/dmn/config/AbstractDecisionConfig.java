@@ -23,17 +23,40 @@ import java.util.stream.StreamSupport;
 
 import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
 import org.kie.kogito.decision.DecisionEventListenerConfig;
+import org.kie.kogito.decision.DecisionResultCacheConfig;
 
 import static java.util.stream.Collectors.toList;
 
 public abstract class AbstractDecisionConfig implements org.kie.kogito.decision.DecisionConfig {
 
     private final DecisionEventListenerConfig decisionEventListener;
+    private final DecisionResultCacheConfig decisionResultCache;
+    private final int batchParallelism;
 
     protected AbstractDecisionConfig(
             Iterable<DecisionEventListenerConfig> decisionEventListenerConfigs,
             Iterable<DMNRuntimeEventListener> dmnRuntimeEventListeners) {
+        this(decisionEventListenerConfigs, dmnRuntimeEventListeners, new StaticDecisionResultCacheConfig());
+    }
+
+    protected AbstractDecisionConfig(
+            Iterable<DecisionEventListenerConfig> decisionEventListenerConfigs,
+            Iterable<DMNRuntimeEventListener> dmnRuntimeEventListeners,
+            DecisionResultCacheConfig decisionResultCache) {
+        this(decisionEventListenerConfigs, dmnRuntimeEventListeners, decisionResultCache, 1);
+    }
+
+    protected AbstractDecisionConfig(
+            Iterable<DecisionEventListenerConfig> decisionEventListenerConfigs,
+            Iterable<DMNRuntimeEventListener> dmnRuntimeEventListeners,
+            DecisionResultCacheConfig decisionResultCache,
+            int batchParallelism) {
+        if (batchParallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism of the batch evaluations must be positive: " + batchParallelism);
+        }
         this.decisionEventListener = extractDecisionEventListenerConfig(decisionEventListenerConfigs, dmnRuntimeEventListeners);
+        this.decisionResultCache = decisionResultCache;
+        this.batchParallelism = batchParallelism;
     }
 
     @Override
@@ -41,6 +64,16 @@ public abstract class AbstractDecisionConfig implements org.kie.kogito.decision.
         return decisionEventListener;
     }
 
+    @Override
+    public DecisionResultCacheConfig decisionResultCache() {
+        return decisionResultCache;
+    }
+
+    @Override
+    public int batchParallelism() {
+        return batchParallelism;
+    }
+
     private DecisionEventListenerConfig extractDecisionEventListenerConfig(
             Iterable<DecisionEventListenerConfig> decisionEventListenerConfigs,
             Iterable<DMNRuntimeEventListener> dmnRuntimeEventListeners) {
@@ -17,13 +17,20 @@ package org.kie.kogito.dmn.config;
 
 import org.kie.kogito.decision.DecisionConfig;
 import org.kie.kogito.decision.DecisionEventListenerConfig;
+import org.kie.kogito.decision.DecisionResultCacheConfig;
 
 public class StaticDecisionConfig implements DecisionConfig {
 
     private final DecisionEventListenerConfig decisionEventListenerConfig;
+    private final DecisionResultCacheConfig decisionResultCacheConfig;
 
-    public StaticDecisionConfig(DecisionEventListenerConfig decisionEventListenerConfig) {
+    public StaticDecisionConfig(DecisionEventListenerConfig decisionEventListenerConfig, DecisionResultCacheConfig decisionResultCacheConfig) {
         this.decisionEventListenerConfig = decisionEventListenerConfig;
+        this.decisionResultCacheConfig = decisionResultCacheConfig;
+    }
+
+    public StaticDecisionConfig(DecisionEventListenerConfig decisionEventListenerConfig) {
+        this(decisionEventListenerConfig, new StaticDecisionResultCacheConfig());
     }
 
     public StaticDecisionConfig() {
@@ -35,4 +42,9 @@ public class StaticDecisionConfig implements DecisionConfig {
         return decisionEventListenerConfig;
     }
 
+    @Override
+    public DecisionResultCacheConfig decisionResultCache() {
+        return decisionResultCacheConfig;
+    }
+
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.dmn.config;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.kie.kogito.decision.DecisionResultCacheConfig;
+
+import static java.util.stream.Collectors.toSet;
+
+public class StaticDecisionResultCacheConfig implements DecisionResultCacheConfig {
+
+    public static final String ALL_MODELS = "*";
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final Set<String> modelNames;
+    private final int maxSize;
+    private final Duration timeToLive;
+
+    public StaticDecisionResultCacheConfig() {
+        this(Collections.emptySet(), DEFAULT_MAX_SIZE, Duration.ZERO);
+    }
+
+    public StaticDecisionResultCacheConfig(Collection<String> modelNames, int maxSize, Duration timeToLive) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maximum size of a decision result cache must be positive: " + maxSize);
+        }
+        if (timeToLive.isNegative()) {
+            throw new IllegalArgumentException("The time to live of a decision result cache must not be negative: " + timeToLive);
+        }
+        this.modelNames = new HashSet<>(modelNames);
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * @param modelNames comma separated names of the cached models, {@value #ALL_MODELS} for all of them
+     */
+    public static StaticDecisionResultCacheConfig of(String modelNames, int maxSize, long timeToLiveMillis) {
+        Set<String> names = Collections.emptySet();
+        if (modelNames != null) {
+            names = Stream.of(modelNames.split(","))
+                    .map(String::trim)
+                    .filter(name -> !name.isEmpty())
+                    .collect(toSet());
+        }
+        return new StaticDecisionResultCacheConfig(names, maxSize, Duration.ofMillis(timeToLiveMillis));
+    }
+
+    @Override
+    public boolean isEnabled(String modelName) {
+        return modelNames.contains(ALL_MODELS) || modelNames.contains(modelName);
+    }
+
+    @Override
+    public int maxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public Duration timeToLive() {
+        return timeToLive;
+    }
+}
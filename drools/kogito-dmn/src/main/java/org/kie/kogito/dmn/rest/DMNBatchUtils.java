@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.dmn.rest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.kogito.decision.DecisionModel;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Internal Utility class.<br/>
+ * Used by the generated batch endpoints to evaluate a stream of input sets, encoded either as a JSON array or as
+ * newline delimited JSON, writing a {@link KogitoDMNResult} per input set with the same encoding and in the same order.
+ * The input sets are read and evaluated in chunks with {@link DecisionModel#evaluateBatch(List)}, and the results of a
+ * chunk are flushed before reading the next one, so a batch is never held in memory as a whole.
+ */
+public class DMNBatchUtils {
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    static final int CHUNK_SIZE = 256;
+
+    /**
+     * Internal Utility method.<br/>
+     * Evaluates the input sets of a JSON array, writing their results as a JSON array
+     */
+    public static <T> void evaluateJSONArray(DecisionModel decision, ObjectMapper mapper, TypeReference<T> inputType, Function<T, DMNContext> contextBuilder,
+            InputStream input, OutputStream output) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(input).disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+                JsonGenerator generator = mapper.getFactory().createGenerator(output).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("The batch of input sets must be a JSON array");
+            }
+            generator.writeStartArray();
+            List<DMNContext> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == null) {
+                    throw new IllegalArgumentException("The JSON array of input sets is not terminated");
+                }
+                chunk.add(contextBuilder.apply(mapper.readValue(parser, inputType)));
+                if (chunk.size() == CHUNK_SIZE) {
+                    for (KogitoDMNResult result : evaluate(decision, chunk)) {
+                        mapper.writeValue(generator, result);
+                    }
+                    generator.flush();
+                }
+            }
+            for (KogitoDMNResult result : evaluate(decision, chunk)) {
+                mapper.writeValue(generator, result);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Internal Utility method.<br/>
+     * Evaluates the input sets of a newline delimited JSON stream, writing their results as newline delimited JSON
+     */
+    public static <T> void evaluateNDJSON(DecisionModel decision, ObjectMapper mapper, TypeReference<T> inputType, Function<T, DMNContext> contextBuilder,
+            InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        List<DMNContext> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            chunk.add(contextBuilder.apply(mapper.readValue(line, inputType)));
+            if (chunk.size() == CHUNK_SIZE) {
+                writeLines(mapper, evaluate(decision, chunk), writer);
+            }
+        }
+        writeLines(mapper, evaluate(decision, chunk), writer);
+    }
+
+    private static List<KogitoDMNResult> evaluate(DecisionModel decision, List<DMNContext> chunk) {
+        DMNModel model = decision.getDMNModel();
+        List<KogitoDMNResult> results = new ArrayList<>(chunk.size());
+        for (DMNResult result : decision.evaluateBatch(chunk)) {
+            results.add(new KogitoDMNResult(model.getNamespace(), model.getName(), result));
+        }
+        chunk.clear();
+        return results;
+    }
+
+    private static void writeLines(ObjectMapper mapper, List<KogitoDMNResult> results, Writer writer) throws IOException {
+        for (KogitoDMNResult result : results) {
+            writer.write(mapper.writeValueAsString(result));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private DMNBatchUtils() {
+        // intentionally private.
+    }
+}
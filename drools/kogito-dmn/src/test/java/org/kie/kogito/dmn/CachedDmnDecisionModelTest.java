@@ -0,0 +1,220 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.dmn;
+
+import java.io.InputStreamReader;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNMessage.Severity;
+import org.kie.dmn.api.core.DMNMessageType;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.core.impl.DMNResultImpl;
+import org.kie.kogito.decision.DecisionModel;
+import org.kie.kogito.dmn.config.StaticDecisionResultCacheConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CachedDmnDecisionModelTest {
+
+    private static final String NAMESPACE = "https://github.com/kiegroup/drools/kie-dmn/_A4BCA8B8-CF08-433F-93B2-A2598F19ECFF";
+    private static final String NAME = "Traffic Violation";
+    private static final String SUSPENDED = "Should the driver be suspended?";
+
+    private static DMNRuntime runtime;
+    private static DecisionModel decisionModel;
+
+    private final AtomicLong clock = new AtomicLong();
+    private DmnDecisionResultCache cache;
+    private CachedDmnDecisionModel cachedModel;
+
+    @BeforeAll
+    public static void setupModel() {
+        runtime = DMNKogito.createGenericDMNRuntime(new InputStreamReader(DMNKogitoTest.class.getResourceAsStream("TrafficViolation.dmn")));
+        decisionModel = new DmnDecisionModel(runtime, NAMESPACE, NAME);
+    }
+
+    @BeforeEach
+    public void setup() {
+        cache = new DmnDecisionResultCache(2, Duration.ofSeconds(10), clock::get);
+        cachedModel = new CachedDmnDecisionModel(decisionModel, cache);
+    }
+
+    @Test
+    public void testHitReturnsCachedResult() {
+        DMNResult first = cachedModel.evaluateAll(context(140, 5));
+        DMNResult second = cachedModel.evaluateAll(context(140, 5));
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getDecisionResultByName(SUSPENDED).getResult()).isEqualTo("No");
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testNumbersAreComparedByValue() {
+        DMNResult first = cachedModel.evaluateAll(context(140, 5));
+
+        assertThat(cachedModel.evaluateAll(context(140.0, 5L))).isSameAs(first);
+        assertThat(cachedModel.evaluateAll(context(141, 5))).isNotSameAs(first);
+    }
+
+    @Test
+    public void testDecisionServicesAreCachedSeparately() {
+        Object wholeModel = cache.keyOf(null, context(140, 5)).get();
+        Object decisionService = cache.keyOf("service", context(140, 5)).get();
+
+        assertThat(decisionService).isNotEqualTo(wholeModel);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        DMNResult first = cachedModel.evaluateAll(context(140, 1));
+        cachedModel.evaluateAll(context(140, 2));
+        cachedModel.evaluateAll(context(140, 1));
+        cachedModel.evaluateAll(context(140, 3));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cachedModel.evaluateAll(context(140, 1))).isSameAs(first);
+        cachedModel.evaluateAll(context(140, 2));
+        assertThat(cache.missCount()).isEqualTo(4);
+    }
+
+    @Test
+    public void testExpiredResultsAreEvaluatedAgain() {
+        DMNResult first = cachedModel.evaluateAll(context(140, 5));
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(cachedModel.evaluateAll(context(140, 5))).isSameAs(first);
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(cachedModel.evaluateAll(context(140, 5))).isNotSameAs(first);
+    }
+
+    @Test
+    public void testNoTimeToLive() {
+        cache = new DmnDecisionResultCache(2, Duration.ZERO, clock::get);
+        Object key = cache.keyOf(null, context(140, 5)).get();
+        DMNResult result = decisionModel.evaluateAll(context(140, 5));
+        cache.put(key, result);
+        clock.set(Long.MAX_VALUE);
+
+        assertThat(cache.get(key)).isSameAs(result);
+    }
+
+    @Test
+    public void testResultsWithErrorsAreNotCached() {
+        DMNResultImpl result = new DMNResultImpl(decisionModel.getDMNModel());
+        result.addMessage(Severity.ERROR, "error", DMNMessageType.ERROR_EVAL_NODE, null);
+        Object key = cache.keyOf(null, context(140, 5)).get();
+        cache.put(key, result);
+
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testUncacheableInputsBypassTheCache() {
+        DMNContext context = context(140, 5);
+        context.set("Unknown", new Object());
+
+        assertThat(cache.keyOf(null, context)).isEmpty();
+        assertThat(cachedModel.evaluateAll(context).getDecisionResultByName(SUSPENDED).getResult()).isEqualTo("No");
+        assertThat(cache.size()).isZero();
+        assertThat(cache.missCount()).isZero();
+    }
+
+    @Test
+    public void testEvaluateBatchEvaluatesMissesOnly() {
+        DMNResult cached = cachedModel.evaluateAll(context(140, 15));
+        List<DMNResult> results = cachedModel.evaluateBatch(Arrays.asList(context(140, 5), context(140, 15), context(140, 5)));
+
+        assertThat(results).hasSize(3);
+        assertThat(results.get(1)).isSameAs(cached);
+        assertThat(results.get(0).getDecisionResultByName(SUSPENDED).getResult()).isEqualTo("No");
+        assertThat(results.get(1).getDecisionResultByName(SUSPENDED).getResult()).isEqualTo("Yes");
+        assertThat(results.get(2).getDecisionResultByName(SUSPENDED).getResult()).isEqualTo("No");
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testEvaluateBatchOnExecutor() {
+        DecisionModel parallelModel = new DmnDecisionModel(runtime, NAMESPACE, NAME, null,
+                AbstractDecisionModels.newBatchExecutor(2));
+        List<DMNContext> contexts = Arrays.asList(context(140, 5), context(140, 15), context(100, 5), context(140, 15));
+
+        List<DMNResult> results = parallelModel.evaluateBatch(contexts);
+
+        assertThat(results).extracting(result -> result.getDecisionResultByName(SUSPENDED).getResult())
+                .containsExactly("No", "Yes", "No", "Yes");
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        DMNResult first = cachedModel.evaluateAll(context(140, 5));
+        cache.invalidateAll();
+
+        assertThat(cache.size()).isZero();
+        assertThat(cachedModel.evaluateAll(context(140, 5))).isNotSameAs(first);
+    }
+
+    @Test
+    public void testInvalidMaxSize() {
+        assertThatThrownBy(() -> new DmnDecisionResultCache(0, Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testConfig() {
+        StaticDecisionResultCacheConfig config = StaticDecisionResultCacheConfig.of(" Traffic Violation, other ,", 10, 500);
+        assertThat(config.isEnabled("Traffic Violation")).isTrue();
+        assertThat(config.isEnabled("other")).isTrue();
+        assertThat(config.isEnabled("")).isFalse();
+        assertThat(config.maxSize()).isEqualTo(10);
+        assertThat(config.timeToLive()).isEqualTo(Duration.ofMillis(500));
+
+        assertThat(StaticDecisionResultCacheConfig.of("*", 10, 0).isEnabled("any")).isTrue();
+        assertThat(StaticDecisionResultCacheConfig.of(null, 10, 0).isEnabled("any")).isFalse();
+        assertThat(new StaticDecisionResultCacheConfig().isEnabled("any")).isFalse();
+    }
+
+    @Test
+    public void testInvalidConfig() {
+        assertThatThrownBy(() -> StaticDecisionResultCacheConfig.of("*", 0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StaticDecisionResultCacheConfig.of("*", 10, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static DMNContext context(Number actualSpeed, Number points) {
+        Map<String, Object> violation = new HashMap<>();
+        violation.put("Type", "speed");
+        violation.put("Actual Speed", actualSpeed);
+        violation.put("Speed Limit", 100);
+        Map<String, Object> input = new HashMap<>();
+        input.put("Driver", Collections.singletonMap("Points", points));
+        input.put("Violation", violation);
+        return decisionModel.newContext(input);
+    }
+}
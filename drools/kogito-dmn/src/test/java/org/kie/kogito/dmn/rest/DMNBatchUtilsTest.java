@@ -0,0 +1,160 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.dmn.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.kogito.decision.DecisionModel;
+import org.kie.kogito.dmn.DMNKogito;
+import org.kie.kogito.dmn.DMNKogitoTest;
+import org.kie.kogito.dmn.DmnDecisionModel;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DMNBatchUtilsTest {
+
+    private static final TypeReference<Map<String, Object>> INPUT_TYPE = new TypeReference<Map<String, Object>>() {
+    };
+    private static final String SUSPENDED = "Should the driver be suspended?";
+    // spans more than one chunk
+    private static final int BATCH_SIZE = DMNBatchUtils.CHUNK_SIZE + 10;
+
+    private static DMNRuntime runtime;
+    private static DecisionModel decisionModel;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @BeforeAll
+    public static void setup() {
+        runtime = DMNKogito.createGenericDMNRuntime(new InputStreamReader(DMNKogitoTest.class.getResourceAsStream("TrafficViolation.dmn")));
+        decisionModel = new DmnDecisionModel(runtime,
+                "https://github.com/kiegroup/drools/kie-dmn/_A4BCA8B8-CF08-433F-93B2-A2598F19ECFF",
+                "Traffic Violation");
+    }
+
+    @Test
+    public void testEvaluateBatchKeepsOrder() {
+        List<DMNContext> contexts = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            contexts.add(DMNJSONUtils.ctx(decisionModel, input(i)));
+        }
+        List<DMNResult> results = decisionModel.evaluateBatch(contexts);
+        assertThat(results).hasSize(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            assertThat(results.get(i).getDecisionResultByName(SUSPENDED).getResult()).isEqualTo(expected(i));
+        }
+    }
+
+    @Test
+    public void testEvaluateBatchOnExecutorKeepsOrder() {
+        ExecutorService batchExecutor = Executors.newFixedThreadPool(4);
+        try {
+            DecisionModel concurrentModel = new DmnDecisionModel(runtime,
+                    "https://github.com/kiegroup/drools/kie-dmn/_A4BCA8B8-CF08-433F-93B2-A2598F19ECFF", "Traffic Violation", null, batchExecutor);
+            List<DMNContext> contexts = new ArrayList<>();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                contexts.add(DMNJSONUtils.ctx(concurrentModel, input(i)));
+            }
+            List<DMNResult> results = concurrentModel.evaluateBatch(contexts);
+            assertThat(results).hasSize(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                assertThat(results.get(i).getDecisionResultByName(SUSPENDED).getResult()).isEqualTo(expected(i));
+            }
+        } finally {
+            batchExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEvaluateJSONArray() throws IOException {
+        List<Map<String, Object>> inputs = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            inputs.add(input(i));
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DMNBatchUtils.evaluateJSONArray(decisionModel, mapper, INPUT_TYPE, variables -> DMNJSONUtils.ctx(decisionModel, variables),
+                new ByteArrayInputStream(mapper.writeValueAsBytes(inputs)), output);
+
+        JsonNode results = mapper.readTree(output.toByteArray());
+        assertThat(results.size()).isEqualTo(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            assertThat(results.get(i).get("dmnContext").get(SUSPENDED).asText()).isEqualTo(expected(i));
+        }
+    }
+
+    @Test
+    public void testEvaluateNDJSON() throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            lines.append(mapper.writeValueAsString(input(i))).append('\n');
+        }
+        // blank lines are skipped
+        lines.append('\n');
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DMNBatchUtils.evaluateNDJSON(decisionModel, mapper, INPUT_TYPE, variables -> DMNJSONUtils.ctx(decisionModel, variables),
+                new ByteArrayInputStream(lines.toString().getBytes(StandardCharsets.UTF_8)), output);
+
+        String[] results = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertThat(results).hasSize(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            assertThat(mapper.readTree(results[i]).get("dmnContext").get(SUSPENDED).asText()).isEqualTo(expected(i));
+        }
+    }
+
+    @Test
+    public void testEvaluateNotAnArray() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> DMNBatchUtils.evaluateJSONArray(decisionModel, mapper, INPUT_TYPE, variables -> DMNJSONUtils.ctx(decisionModel, variables),
+                new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)), output))
+                        .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Map<String, Object> input(int i) {
+        Map<String, Object> input = new HashMap<>();
+        input.put("Driver", Collections.singletonMap("Points", i % 20));
+        Map<String, Object> violation = new HashMap<>();
+        violation.put("Type", "speed");
+        violation.put("Actual Speed", 140);
+        violation.put("Speed Limit", 100);
+        input.put("Violation", violation);
+        return input;
+    }
+
+    private static String expected(int i) {
+        // a violation of 40 km/h above the limit costs 7 points, the licence is suspended from 20 points
+        return i % 20 + 7 >= 20 ? "Yes" : "No";
+    }
+}
@@ -15,14 +15,38 @@
  */
 package org.kie.kogito.rules.units;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.drools.core.common.BaseNode;
+import org.drools.core.common.InternalWorkingMemoryEntryPoint;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.reteoo.QueryTerminalNode;
+import org.drools.core.rule.Declaration;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.rule.EntryPoint;
+import org.kie.api.runtime.rule.LiveQuery;
+import org.kie.api.runtime.rule.QueryResults;
+import org.kie.api.runtime.rule.QueryResultsRow;
+import org.kie.api.runtime.rule.Row;
+import org.kie.api.runtime.rule.ViewChangedEventListener;
 import org.kie.api.time.SessionClock;
+import org.kie.kogito.rules.DataProcessor;
 import org.kie.kogito.rules.DataSource;
+import org.kie.kogito.rules.QueryObserver;
 import org.kie.kogito.rules.RuleUnit;
 import org.kie.kogito.rules.RuleUnitData;
 import org.kie.kogito.rules.RuleUnitInstance;
@@ -30,9 +54,31 @@ import org.kie.kogito.rules.RuleUnitQuery;
 
 public class AbstractRuleUnitInstance<T extends RuleUnitData> implements RuleUnitInstance<T> {
 
+    private static final ClassValue<UnitField[]> UNIT_FIELDS = new ClassValue<UnitField[]>() {
+        @Override
+        protected UnitField[] computeValue(Class<?> type) {
+            return Arrays.stream(type.getDeclaredFields()).map(f -> new UnitField(type, f)).toArray(UnitField[]::new);
+        }
+    };
+
+    private static final ClassValue<Constructor<?>> QUERY_CONSTRUCTORS = new ClassValue<Constructor<?>>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                return type.getConstructor(RuleUnitInstance.class);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException("Query " + type.getCanonicalName() + " has no constructor accepting a RuleUnitInstance", e);
+            }
+        }
+    };
+
     private final T unitMemory;
     private final RuleUnit<T> unit;
     private final KieSession runtime;
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    // live queries may be opened and closed by their observers while the rules are fired on another thread
+    private final List<LiveQuery> liveQueries = new CopyOnWriteArrayList<>();
+    private boolean closed;
 
     public AbstractRuleUnitInstance(RuleUnit<T> unit, T unitMemory, KieSession runtime) {
         this.unit = unit;
@@ -46,20 +92,83 @@ public class AbstractRuleUnitInstance<T extends RuleUnitData> implements RuleUni
         return runtime.fireAllRules();
     }
 
+    @Override
+    public void fireUntilHalt() {
+        runtime.fireUntilHalt();
+    }
+
+    @Override
+    public void halt() {
+        runtime.halt();
+    }
+
     @Override
     public List<Map<String, Object>> executeQuery(String query) {
         fire();
         return runtime.getQueryResults(query).toList();
     }
 
+    @Override
+    public Stream<Map<String, Object>> executeQueryStream(String query) {
+        fire();
+        QueryResults results = runtime.getQueryResults(query);
+        String[] identifiers = results.getIdentifiers();
+        Spliterator<QueryResultsRow> rows = Spliterators.spliterator(results.iterator(), results.size(), Spliterator.ORDERED);
+        return StreamSupport.stream(rows, false).map(row -> toMap(row::get, identifiers));
+    }
+
+    @Override
+    public LiveQuery openLiveQuery(String query, QueryObserver observer) {
+        String[] identifiers = queryIdentifiers(query);
+        ObservedQuery observedQuery = new ObservedQuery(observer, identifiers);
+        observedQuery.liveQuery = runtime.openLiveQuery(query, new Object[0], observedQuery);
+        liveQueries.add(observedQuery);
+        return () -> {
+            if (liveQueries.remove(observedQuery)) {
+                observedQuery.close();
+            }
+        };
+    }
+
+    /**
+     * Resolves the bindings of a query from its definition, as its results would, without executing it
+     */
+    private String[] queryIdentifiers(String query) {
+        BaseNode[] nodes = ((InternalKnowledgeBase) runtime.getKieBase()).getReteooBuilder().getTerminalNodesForQuery(query);
+        if (nodes == null || nodes.length == 0) {
+            throw new IllegalArgumentException("Query '" + query + "' does not exist");
+        }
+        QueryTerminalNode node = (QueryTerminalNode) nodes[0];
+        Set<String> identifiers = new LinkedHashSet<>();
+        for (Declaration parameter : node.getQuery().getParameters()) {
+            identifiers.add(parameter.getIdentifier());
+        }
+        for (Declaration declaration : node.getSubRule().getOuterDeclarations().values()) {
+            identifiers.add(declaration.getIdentifier());
+        }
+        return identifiers.toArray(new String[0]);
+    }
+
+    private static Map<String, Object> toMap(Function<String, Object> row, String[] identifiers) {
+        Map<String, Object> map = new HashMap<>();
+        for (String identifier : identifiers) {
+            map.put(identifier, row.apply(identifier));
+        }
+        return map;
+    }
+
     @Override
     public <Q> Q executeQuery(Class<? extends RuleUnitQuery<Q>> query) {
         return createRuleUnitQuery(query).execute();
     }
 
+    /**
+     * Reflective fallback, generated rule unit instances override it with a factory of their queries
+     */
+    @SuppressWarnings("unchecked")
     protected <Q> RuleUnitQuery<Q> createRuleUnitQuery(Class<? extends RuleUnitQuery<Q>> query) {
         try {
-            return query.getConstructor(RuleUnitInstance.class).newInstance(this);
+            return (RuleUnitQuery<Q>) QUERY_CONSTRUCTORS.get(query).newInstance(this);
         } catch (ReflectiveOperationException e) {
             throw new RuntimeException(e);
         }
@@ -79,27 +188,122 @@ public class AbstractRuleUnitInstance<T extends RuleUnitData> implements RuleUni
         return unitMemory;
     }
 
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Subscription subscription : subscriptions) {
+            subscription.unsubscribe();
+        }
+        subscriptions.clear();
+        for (LiveQuery liveQuery : liveQueries) {
+            liveQuery.close();
+        }
+        liveQueries.clear();
+        // a pooled session is reset and returned to the pool instead of being destroyed,
+        // but that reset only clears the default entry point
+        for (EntryPoint entryPoint : runtime.getEntryPoints()) {
+            ((InternalWorkingMemoryEntryPoint) entryPoint).reset();
+        }
+        runtime.dispose();
+    }
+
+    /**
+     * Propagates the changes of the given data source to the entry point until this instance is closed
+     */
+    protected <D> void subscribe(DataSource<D> dataSource, EntryPoint entryPoint) {
+        DataProcessor<D> processor = new EntryPointDataProcessor(entryPoint);
+        dataSource.subscribe(processor);
+        subscriptions.add(new Subscription(dataSource, processor));
+    }
+
+    /**
+     * Reflective fallback, generated rule unit instances override it with a binder of the unit fields
+     */
     protected void bind(KieSession runtime, T workingMemory) {
+        Map<String, Class<?>> globals = ((InternalKnowledgeBase) runtime.getKieBase()).getGlobals();
         try {
-            for (Field f : workingMemory.getClass().getDeclaredFields()) {
-                f.setAccessible(true);
-                Object v = null;
-                v = f.get(workingMemory);
-                String dataSourceName = String.format(
-                        "%s.%s", workingMemory.getClass().getCanonicalName(), f.getName());
+            for (UnitField f : UNIT_FIELDS.get(workingMemory.getClass())) {
+                Object v = f.field.get(workingMemory);
                 if (v instanceof DataSource) {
-                    DataSource<?> o = (DataSource<?>) v;
-                    EntryPoint ep = runtime.getEntryPoint(dataSourceName);
-                    o.subscribe(new EntryPointDataProcessor(ep));
+                    subscribe((DataSource<?>) v, runtime.getEntryPoint(f.dataSourceName));
                 }
-                try {
-                    runtime.setGlobal(dataSourceName, v);
-                } catch (RuntimeException e) {
-                    // ignore if the global doesn't exist
+                if (globals.containsKey(f.dataSourceName)) {
+                    runtime.setGlobal(f.dataSourceName, v);
                 }
             }
         } catch (IllegalAccessException e) {
             throw new Error(e);
         }
     }
+
+    private static class UnitField {
+
+        private final Field field;
+        private final String dataSourceName;
+
+        private UnitField(Class<?> unitClass, Field field) {
+            field.setAccessible(true);
+            this.field = field;
+            this.dataSourceName = unitClass.getCanonicalName() + "." + field.getName();
+        }
+    }
+
+    private static class Subscription {
+
+        private final DataSource dataSource;
+        private final DataProcessor processor;
+
+        private Subscription(DataSource dataSource, DataProcessor processor) {
+            this.dataSource = dataSource;
+            this.processor = processor;
+        }
+
+        private void unsubscribe() {
+            dataSource.unsubscribe(processor);
+        }
+    }
+
+    private static class ObservedQuery implements ViewChangedEventListener, LiveQuery {
+
+        private final QueryObserver observer;
+        private final String[] identifiers;
+        private LiveQuery liveQuery;
+        private volatile boolean closed;
+
+        private ObservedQuery(QueryObserver observer, String[] identifiers) {
+            this.observer = observer;
+            this.identifiers = identifiers;
+        }
+
+        @Override
+        public void rowInserted(Row row) {
+            if (!closed) {
+                observer.rowInserted(toMap(row::get, identifiers));
+            }
+        }
+
+        @Override
+        public void rowDeleted(Row row) {
+            if (!closed) {
+                observer.rowDeleted(toMap(row::get, identifiers));
+            }
+        }
+
+        @Override
+        public void rowUpdated(Row row) {
+            if (!closed) {
+                observer.rowUpdated(toMap(row::get, identifiers));
+            }
+        }
+
+        @Override
+        public void close() {
+            // closing the live query deletes all its rows, which are not changes of the query results
+            closed = true;
+            liveQuery.close();
+        }
+    }
 }
@@ -90,6 +90,15 @@ public class FieldDataStore<T> implements SingletonStore<T>,
         }
     }
 
+    @Override
+    public void unsubscribe(DataProcessor processor) {
+        if (processor instanceof EntryPointDataProcessor) {
+            entryPointSubscribers.remove(processor);
+        } else {
+            subscribers.remove(processor);
+        }
+    }
+
     @Override
     public void update(KogitoInternalFactHandle fh, Object obj, BitMask mask, Class<?> modifiedClass, Activation activation) {
         DataHandle dh = ((KogitoInternalFactHandle) fh).getDataHandle();
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.rules.units;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kie.api.runtime.rule.LiveQuery;
+import org.kie.kogito.rules.QueryObserver;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Publishes the changes of the results of a live query to reactive streams subscribers, e.g. to stream them as server
+ * sent events or to a messaging emitter. Each subscriber opens its own live query, so it first receives the current
+ * results as inserted rows. The changes are buffered until they are requested, and a subscriber falling behind by more
+ * than the buffer size is terminated with an error instead of slowing down the firing of the rules.
+ * The publisher is only known to its managed instance while it has subscribers, so that the publishers whose
+ * subscribers all cancelled or terminated can be garbage collected.
+ */
+class LiveQueryPublisher implements Publisher<QueryChange> {
+
+    private final ManagedRuleUnitInstance<?> owner;
+    private final String query;
+    private final int bufferSize;
+    private final Set<LiveQuerySubscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    LiveQueryPublisher(ManagedRuleUnitInstance<?> owner, String query, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size of a live query publisher must be positive: " + bufferSize);
+        }
+        this.owner = owner;
+        this.query = query;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super QueryChange> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("The subscriber of a live query publisher must not be null");
+        }
+        LiveQuerySubscription subscription = new LiveQuerySubscription(subscriber);
+        boolean open;
+        synchronized (this) {
+            subscriptions.add(subscription);
+            open = owner.register(this);
+        }
+        subscriber.onSubscribe(subscription);
+        if (!open) {
+            subscription.complete();
+            return;
+        }
+        try {
+            subscription.open();
+        } catch (RuntimeException e) {
+            subscription.fail(e);
+        }
+    }
+
+    /**
+     * Completes the subscribers once the instance is closed, which also closes their live queries
+     */
+    void complete() {
+        subscriptions.forEach(LiveQuerySubscription::complete);
+    }
+
+    private synchronized void remove(LiveQuerySubscription subscription) {
+        if (subscriptions.remove(subscription) && subscriptions.isEmpty()) {
+            owner.unregister(this);
+        }
+    }
+
+    private class LiveQuerySubscription implements Subscription, QueryObserver {
+
+        private final Subscriber<? super QueryChange> subscriber;
+        private final Queue<QueryChange> buffer = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger buffered = new AtomicInteger();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile LiveQuery liveQuery;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private volatile Throwable error;
+
+        LiveQuerySubscription(Subscriber<? super QueryChange> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void open() {
+            liveQuery = owner.instance().openLiveQuery(query, this);
+            if (cancelled || done) {
+                closeLiveQuery();
+            }
+        }
+
+        @Override
+        public void rowInserted(Map<String, Object> row) {
+            push(new QueryChange(QueryChange.Type.INSERTED, row));
+        }
+
+        @Override
+        public void rowUpdated(Map<String, Object> row) {
+            push(new QueryChange(QueryChange.Type.UPDATED, row));
+        }
+
+        @Override
+        public void rowDeleted(Map<String, Object> row) {
+            push(new QueryChange(QueryChange.Type.DELETED, row));
+        }
+
+        private void push(QueryChange change) {
+            if (done || cancelled) {
+                return;
+            }
+            if (buffered.incrementAndGet() > bufferSize) {
+                fail(new IllegalStateException("The subscriber of live query " + query + " fell behind by more than " + bufferSize + " changes"));
+                return;
+            }
+            buffer.add(change);
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("The number of requested changes must be positive: " + n));
+                return;
+            }
+            requested.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            closeLiveQuery();
+            remove(this);
+        }
+
+        void complete() {
+            done = true;
+            drain();
+        }
+
+        void fail(Throwable failure) {
+            error = failure;
+            done = true;
+            closeLiveQuery();
+            drain();
+        }
+
+        private void closeLiveQuery() {
+            LiveQuery opened = liveQuery;
+            if (opened != null) {
+                opened.close();
+            }
+        }
+
+        /**
+         * Delivers the buffered changes as long as they are requested, on whichever thread pushed or requested them
+         * last, never concurrently.
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                long r = requested.get();
+                long emitted = 0;
+                while (emitted != r) {
+                    boolean terminated = done;
+                    QueryChange change = buffer.poll();
+                    if (checkTerminated(terminated, change == null)) {
+                        return;
+                    }
+                    if (change == null) {
+                        break;
+                    }
+                    buffered.decrementAndGet();
+                    subscriber.onNext(change);
+                    emitted++;
+                }
+                if (emitted == r && checkTerminated(done, buffer.isEmpty())) {
+                    return;
+                }
+                if (emitted != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private boolean checkTerminated(boolean terminated, boolean empty) {
+            if (cancelled) {
+                buffer.clear();
+                return true;
+            }
+            if (terminated && (error != null || empty)) {
+                buffer.clear();
+                cancelled = true;
+                remove(this);
+                if (error != null) {
+                    subscriber.onError(error);
+                } else {
+                    subscriber.onComplete();
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+}
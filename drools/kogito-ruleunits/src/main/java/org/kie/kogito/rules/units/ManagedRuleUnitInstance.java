@@ -0,0 +1,169 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.rules.units;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.api.runtime.rule.LiveQuery;
+import org.kie.kogito.event.EventReceiver;
+import org.kie.kogito.event.SubscriptionInfo;
+import org.kie.kogito.rules.DataStream;
+import org.kie.kogito.rules.QueryObserver;
+import org.kie.kogito.rules.RuleUnitData;
+import org.kie.kogito.rules.RuleUnitInstance;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a rule unit instance alive and fires its rules on a dedicated thread, so that the data appended to its data
+ * streams (e.g. by a message consumer) are evaluated without creating a new instance per batch of data.
+ * With a positive fire interval the rules are fired at that cadence, evaluating what was appended in the meantime as a
+ * single micro-batch, otherwise they are fired as soon as the data change with {@link RuleUnitInstance#fireUntilHalt()}.
+ * The data can be ingested from a transport, e.g. Kafka or CloudEvents, with {@link #ingest(EventReceiver, SubscriptionInfo, DataStream)}.
+ * The changes of the query results can be pushed to the interested parties with
+ * {@link #openLiveQuery(String, QueryObserver)}, whose observers are notified on the firing thread, or streamed, e.g. as
+ * server sent events, with {@link #publishLiveQuery(String, int)}.
+ */
+public class ManagedRuleUnitInstance<T extends RuleUnitData> implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ManagedRuleUnitInstance.class);
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 10000;
+
+    private final RuleUnitInstance<T> instance;
+    private final long fireIntervalMillis;
+    private final ScheduledExecutorService firer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kogito-rule-unit-firer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Set<LiveQueryPublisher> publishers = ConcurrentHashMap.newKeySet();
+    private boolean started;
+    private volatile boolean closed;
+
+    public ManagedRuleUnitInstance(RuleUnitInstance<T> instance, long fireIntervalMillis) {
+        this.instance = instance;
+        this.fireIntervalMillis = fireIntervalMillis;
+    }
+
+    public synchronized ManagedRuleUnitInstance<T> start() {
+        if (started) {
+            throw new IllegalStateException("The rule unit instance is already started");
+        }
+        started = true;
+        if (fireIntervalMillis > 0) {
+            firer.scheduleWithFixedDelay(this::fire, 0, fireIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            firer.execute(instance::fireUntilHalt);
+        }
+        return this;
+    }
+
+    private void fire() {
+        try {
+            instance.fire();
+        } catch (RuntimeException e) {
+            // an exception would cancel the following firings
+            LOGGER.error("Error firing the rules of the rule unit instance", e);
+        }
+    }
+
+    public LiveQuery openLiveQuery(String query, QueryObserver observer) {
+        return instance.openLiveQuery(query, observer);
+    }
+
+    /**
+     * Appends the events received by the given receiver to the data stream, so that they are evaluated by the
+     * following firing. The events received once this instance is closed are dropped.
+     */
+    public <E> ManagedRuleUnitInstance<T> ingest(EventReceiver receiver, SubscriptionInfo<E> subscription, DataStream<E> stream) {
+        receiver.subscribe(event -> {
+            if (closed) {
+                LOGGER.debug("Dropped event received after closing the rule unit instance: {}", event);
+            } else {
+                stream.append(event);
+            }
+        }, subscription);
+        return this;
+    }
+
+    /**
+     * Returns a publisher of the changes of the results of the given query, opening a live query for each of its
+     * subscribers, which are completed once this instance is closed. The changes are delivered on the firing thread as
+     * they are requested, up to bufferSize changes are kept for each subscriber meanwhile.
+     */
+    public Publisher<QueryChange> publishLiveQuery(String query, int bufferSize) {
+        return new LiveQueryPublisher(this, query, bufferSize);
+    }
+
+    /**
+     * Keeps track of a publisher as long as it has subscribers, returns false once this instance is closed
+     */
+    boolean register(LiveQueryPublisher publisher) {
+        publishers.add(publisher);
+        return !closed;
+    }
+
+    void unregister(LiveQueryPublisher publisher) {
+        publishers.remove(publisher);
+    }
+
+    // for testing purpose
+    Set<LiveQueryPublisher> publishers() {
+        return Collections.unmodifiableSet(publishers);
+    }
+
+    public RuleUnitInstance<T> instance() {
+        return instance;
+    }
+
+    /**
+     * Stops firing the rules and closes the managed instance
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        firer.shutdown();
+        try {
+            long timeout = System.currentTimeMillis() + CLOSE_TIMEOUT_MILLIS;
+            halt();
+            while (!firer.awaitTermination(100, TimeUnit.MILLISECONDS)) {
+                if (System.currentTimeMillis() > timeout) {
+                    LOGGER.warn("The rules of the rule unit instance are still firing, closing it anyway");
+                    break;
+                }
+                // the firing thread might not have entered fireUntilHalt yet when it was first halted
+                halt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        instance.close();
+        publishers.forEach(LiveQueryPublisher::complete);
+    }
+
+    private void halt() {
+        if (fireIntervalMillis <= 0) {
+            instance.halt();
+        }
+    }
+}
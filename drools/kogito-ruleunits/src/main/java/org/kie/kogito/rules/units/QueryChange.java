@@ -0,0 +1,51 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.rules.units;
+
+import java.util.Map;
+
+/**
+ * A change of the results of a live query, as published by {@link ManagedRuleUnitInstance#publishLiveQuery(String, int)}.
+ */
+public class QueryChange {
+
+    public enum Type {
+        INSERTED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Map<String, Object> row;
+
+    public QueryChange(Type type, Map<String, Object> row) {
+        this.type = type;
+        this.row = row;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Map<String, Object> getRow() {
+        return row;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryChange{type=" + type + ", row=" + row + "}";
+    }
+}
@@ -25,6 +25,6 @@ public class SessionRuleUnitInstance extends AbstractRuleUnitInstance<SessionDat
     }
 
     protected void bind(KieSession runtime, SessionData memory) {
-        memory.getDataSource().subscribe(new EntryPointDataProcessor(runtime));
+        subscribe(memory.getDataSource(), runtime);
     }
 }
\ No newline at end of file
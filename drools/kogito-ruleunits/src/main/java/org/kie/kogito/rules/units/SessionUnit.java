@@ -16,10 +16,13 @@
 package org.kie.kogito.rules.units;
 
 import org.kie.kogito.rules.RuleUnit;
+import org.kie.kogito.rules.RuleUnitInstance;
 
 public abstract class SessionUnit implements RuleUnit<SessionData> {
 
     public void evaluate(SessionData data) {
-        createInstance(data).fire();
+        try (RuleUnitInstance<SessionData> instance = createInstance(data)) {
+            instance.fire();
+        }
     }
 }
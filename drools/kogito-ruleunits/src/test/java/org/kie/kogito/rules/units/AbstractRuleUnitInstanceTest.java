@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.rules.units;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.EntryPoint;
+import org.kie.api.runtime.rule.QueryResults;
+import org.kie.api.runtime.rule.QueryResultsRow;
+import org.kie.kogito.rules.DataSource;
+import org.kie.kogito.rules.DataStream;
+import org.kie.kogito.rules.RuleUnitData;
+import org.kie.kogito.rules.RuleUnitInstance;
+import org.kie.kogito.rules.RuleUnitQuery;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AbstractRuleUnitInstanceTest {
+
+    private static final String PREFIX = Unit.class.getCanonicalName() + ".";
+
+    private KieSession session;
+    private EntryPoint entryPoint;
+
+    @BeforeEach
+    public void setup() {
+        InternalKnowledgeBase kieBase = mock(InternalKnowledgeBase.class);
+        when(kieBase.getGlobals()).thenReturn(Collections.singletonMap(PREFIX + "number", Integer.class));
+        entryPoint = mock(EntryPoint.class);
+        session = mock(KieSession.class);
+        when(session.getKieBase()).thenReturn(kieBase);
+        when(session.getEntryPoint(PREFIX + "strings")).thenReturn(entryPoint);
+    }
+
+    @Test
+    public void testReflectiveBind() {
+        Unit unit = new Unit();
+        new AbstractRuleUnitInstance<>(null, unit, session);
+
+        verify(session).setGlobal(PREFIX + "number", 42);
+        verify(session, never()).setGlobal(eq(PREFIX + "strings"), any());
+
+        unit.strings.append("hello");
+        verify(entryPoint).insert("hello");
+    }
+
+    @Test
+    public void testCloseUnsubscribes() {
+        Unit unit = new Unit();
+        new AbstractRuleUnitInstance<>(null, unit, session).close();
+
+        verify(session).dispose();
+        unit.strings.append("hello");
+        verify(entryPoint, never()).insert(any());
+    }
+
+    @Test
+    public void testReflectiveQuery() {
+        RuleUnitInstance<Unit> instance = new AbstractRuleUnitInstance<>(null, new Unit(), session);
+        assertEquals("query", instance.executeQuery(Query.class));
+    }
+
+    @Test
+    public void testQueryStreamMapsRowsLazily() {
+        QueryResultsRow first = mock(QueryResultsRow.class);
+        when(first.get("$name")).thenReturn("Mario");
+        QueryResultsRow second = mock(QueryResultsRow.class);
+        QueryResults results = mock(QueryResults.class);
+        when(results.getIdentifiers()).thenReturn(new String[] { "$name" });
+        when(results.size()).thenReturn(2);
+        when(results.iterator()).thenReturn(Arrays.asList(first, second).iterator());
+        when(session.getQueryResults("FindNames")).thenReturn(results);
+
+        RuleUnitInstance<Unit> instance = new AbstractRuleUnitInstance<>(null, new Unit(), session);
+        List<Map<String, Object>> rows = instance.executeQueryStream("FindNames").limit(1).collect(toList());
+
+        assertEquals(Collections.singletonList(Collections.singletonMap("$name", "Mario")), rows);
+        verify(session).fireAllRules();
+        verify(second, never()).get(any());
+    }
+
+    public static class Unit implements RuleUnitData {
+
+        private final DataStream<String> strings = DataSource.createStream();
+        private final Integer number = 42;
+    }
+
+    public static class Query implements RuleUnitQuery<String> {
+
+        public Query(RuleUnitInstance<Unit> instance) {
+        }
+
+        @Override
+        public String execute() {
+            return "query";
+        }
+    }
+}
@@ -45,6 +45,16 @@ public class ListDataStreamTest {
         assertEquals(3, counter.count);
     }
 
+    @Test
+    public void testUnsubscribe() {
+        Counter counter = new Counter();
+        ListDataStream<Integer> integers = ListDataStream.create(1);
+        integers.subscribe(counter);
+        integers.unsubscribe(counter);
+        integers.append(10);
+        assertEquals(1, counter.count);
+    }
+
     private static class Counter<T> implements DataProcessor<T> {
 
         int count = 0;
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.rules.units;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.kie.api.runtime.rule.LiveQuery;
+import org.kie.kogito.event.EventReceiver;
+import org.kie.kogito.event.SubscriptionInfo;
+import org.kie.kogito.rules.DataStream;
+import org.kie.kogito.rules.QueryObserver;
+import org.kie.kogito.rules.RuleUnitData;
+import org.kie.kogito.rules.RuleUnitInstance;
+import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ManagedRuleUnitInstanceTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFireAtCadence() throws InterruptedException {
+        RuleUnitInstance<RuleUnitData> instance = mock(RuleUnitInstance.class);
+        CountDownLatch firings = new CountDownLatch(3);
+        when(instance.fire()).thenAnswer(invocation -> {
+            firings.countDown();
+            if (firings.getCount() == 1) {
+                throw new IllegalStateException("failing firing");
+            }
+            return 0;
+        });
+
+        try (ManagedRuleUnitInstance<RuleUnitData> managed = new ManagedRuleUnitInstance<>(instance, 10).start()) {
+            // a failing firing doesn't cancel the following ones
+            assertThat(firings.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        verify(instance, never()).fireUntilHalt();
+        verify(instance, never()).halt();
+        verify(instance).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFireUntilHalt() throws InterruptedException {
+        RuleUnitInstance<RuleUnitData> instance = mock(RuleUnitInstance.class);
+        CountDownLatch firing = new CountDownLatch(1);
+        CountDownLatch halted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firing.countDown();
+            halted.await();
+            return null;
+        }).when(instance).fireUntilHalt();
+        doAnswer(invocation -> {
+            halted.countDown();
+            return null;
+        }).when(instance).halt();
+
+        try (ManagedRuleUnitInstance<RuleUnitData> managed = new ManagedRuleUnitInstance<>(instance, 0).start()) {
+            assertThat(firing.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        verify(instance, atLeastOnce()).halt();
+        verify(instance).close();
+        verify(instance, never()).fire();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIngestUntilClosed() {
+        RuleUnitInstance<RuleUnitData> instance = mock(RuleUnitInstance.class);
+        EventReceiver receiver = mock(EventReceiver.class);
+        DataStream<String> stream = mock(DataStream.class);
+        SubscriptionInfo<String> subscription = new SubscriptionInfo<>(String.class);
+
+        ManagedRuleUnitInstance<RuleUnitData> managed = new ManagedRuleUnitInstance<>(instance, 10).ingest(receiver, subscription, stream);
+        ArgumentCaptor<Consumer<String>> consumer = ArgumentCaptor.forClass(Consumer.class);
+        verify(receiver).subscribe(consumer.capture(), eq(subscription));
+
+        consumer.getValue().accept("first");
+        managed.close();
+        consumer.getValue().accept("second");
+
+        verify(stream).append("first");
+        verify(stream, never()).append("second");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPublishLiveQueryChangesAsRequested() {
+        RuleUnitInstance<RuleUnitData> instance = mock(RuleUnitInstance.class);
+        LiveQuery liveQuery = mock(LiveQuery.class);
+        ArgumentCaptor<QueryObserver> observer = ArgumentCaptor.forClass(QueryObserver.class);
+        when(instance.openLiveQuery(eq("FindAdults"), observer.capture())).thenReturn(liveQuery);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        ManagedRuleUnitInstance<RuleUnitData> managed = new ManagedRuleUnitInstance<>(instance, 10);
+        managed.publishLiveQuery("FindAdults", 10).subscribe(subscriber);
+        observer.getValue().rowInserted(Collections.singletonMap("$name", "Mario"));
+        observer.getValue().rowDeleted(Collections.singletonMap("$name", "Mario"));
+        assertThat(subscriber.changes).isEmpty();
+
+        subscriber.subscription.request(1);
+        assertThat(subscriber.changes).extracting(QueryChange::getType).containsExactly(QueryChange.Type.INSERTED);
+
+        subscriber.subscription.request(1);
+        assertThat(subscriber.changes).extracting(QueryChange::getType).containsExactly(QueryChange.Type.INSERTED, QueryChange.Type.DELETED);
+
+        managed.close();
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPublishLiveQueryFailsSubscriberFallingBehind() {
+        RuleUnitInstance<RuleUnitData> instance = mock(RuleUnitInstance.class);
+        LiveQuery liveQuery = mock(LiveQuery.class);
+        ArgumentCaptor<QueryObserver> observer = ArgumentCaptor.forClass(QueryObserver.class);
+        when(instance.openLiveQuery(eq("FindAdults"), observer.capture())).thenReturn(liveQuery);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        try (ManagedRuleUnitInstance<RuleUnitData> managed = new ManagedRuleUnitInstance<>(instance, 10)) {
+            managed.publishLiveQuery("FindAdults", 1).subscribe(subscriber);
+            observer.getValue().rowInserted(Collections.singletonMap("$name", "Mario"));
+            observer.getValue().rowInserted(Collections.singletonMap("$name", "Sofia"));
+        }
+
+        assertThat(subscriber.error).isInstanceOf(IllegalStateException.class);
+        assertThat(subscriber.changes).isEmpty();
+        assertThat(subscriber.completed).isFalse();
+        verify(liveQuery).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testPublishLiveQueryForgetsPublisherWithoutSubscribers() {
+        RuleUnitInstance<RuleUnitData> instance = mock(RuleUnitInstance.class);
+        LiveQuery liveQuery = mock(LiveQuery.class);
+        when(instance.openLiveQuery(eq("FindAdults"), any())).thenReturn(liveQuery);
+        RecordingSubscriber first = new RecordingSubscriber();
+        RecordingSubscriber second = new RecordingSubscriber();
+
+        try (ManagedRuleUnitInstance<RuleUnitData> managed = new ManagedRuleUnitInstance<>(instance, 10)) {
+            Publisher<QueryChange> publisher = managed.publishLiveQuery("FindAdults", 10);
+            assertThat(managed.publishers()).isEmpty();
+
+            publisher.subscribe(first);
+            publisher.subscribe(second);
+            assertThat(managed.publishers()).hasSize(1);
+
+            first.subscription.cancel();
+            assertThat(managed.publishers()).hasSize(1);
+
+            second.subscription.cancel();
+            assertThat(managed.publishers()).isEmpty();
+        }
+
+        assertThat(first.completed).isFalse();
+        assertThat(second.completed).isFalse();
+        verify(liveQuery, times(2)).close();
+    }
+
+    private static class RecordingSubscriber implements Subscriber<QueryChange> {
+
+        private final List<QueryChange> changes = new ArrayList<>();
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(QueryChange change) {
+            changes.add(change);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -120,6 +120,39 @@ public class GrafanaConfigurationWriter {
         return serialize(jgrafana);
     }
 
+    /**
+     * Generates an operational process dashboard from a given dashboard template.
+     *
+     * @param templatePath: The path to the dashboard template. It must be a valid grafana dashboard in JSON format.
+     * @param processId: The id of the process.
+     * @return: The customized template containing also the panels profiling the nodes of the process, its
+     *          persistence and the unit of work commits.
+     */
+    public static String generateOperationalProcessDashboard(String templatePath, String dashboardName, String processId, boolean generateAuditLink) {
+        String template = readStandardDashboard(templatePath);
+        template = customizeTemplate(template, processId);
+
+        JGrafana jgrafana = initialize(template, String.format("%s - Operational Dashboard", dashboardName), generateAuditLink);
+
+        String process = "{process_id=\"" + processId + "\"}";
+        jgrafana.addPanel(PanelType.GRAPH, "Running instances",
+                "kie_process_instance_running_total" + process);
+        jgrafana.addPanel(PanelType.GRAPH, "Node duration (95th percentile)",
+                "histogram_quantile(0.95, sum by (le, node_name) (rate(kie_process_node_duration_seconds_bucket" + process + "[1m])))");
+        jgrafana.addPanel(PanelType.TABLE, "Hot nodes (seconds spent per second)",
+                "topk(10, sum by (node_name, node_type) (rate(kie_process_node_duration_seconds_sum" + process + "[5m])))");
+        jgrafana.addPanel(PanelType.GRAPH, "Marshalling duration (average)",
+                "sum by (operation) (rate(kie_process_instance_marshalling_seconds_sum" + process + "[1m]))"
+                        + " / sum by (operation) (rate(kie_process_instance_marshalling_seconds_count" + process + "[1m]))");
+        jgrafana.addPanel(PanelType.GRAPH, "Marshalled size (average bytes)",
+                "sum by (operation) (rate(kie_process_instance_marshalling_size_bytes_sum" + process + "[1m]))"
+                        + " / sum by (operation) (rate(kie_process_instance_marshalling_size_bytes_count" + process + "[1m]))");
+        jgrafana.addPanel(PanelType.GRAPH, "Unit of work commit duration (95th percentile)",
+                "histogram_quantile(0.95, sum by (le) (rate(kie_unit_of_work_commit_seconds_bucket[1m])))");
+
+        return serialize(jgrafana);
+    }
+
     private static JGrafana initialize(String template, String name, boolean generateAuditLink) {
         JGrafana jgrafana;
         try {
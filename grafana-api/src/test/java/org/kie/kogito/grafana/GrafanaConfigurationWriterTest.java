@@ -15,11 +15,13 @@
  */
 package org.kie.kogito.grafana;
 
+import java.io.IOException;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.grafana.model.panel.GrafanaPanel;
 
 public class GrafanaConfigurationWriterTest {
 
@@ -43,4 +45,19 @@ public class GrafanaConfigurationWriterTest {
 
         Assertions.assertEquals(expected, dashboardName);
     }
+
+    @Test
+    public void testGenerateOperationalProcessDashboard() throws IOException {
+        String dashboard = GrafanaConfigurationWriter.generateOperationalProcessDashboard(
+                "/org/kie/kogito/grafana/test_dashboard.json", "myProcess", "myProcess", false);
+
+        JGrafana jgrafana = JGrafana.parse(dashboard);
+        Assertions.assertEquals("myProcess - Operational Dashboard", jgrafana.getDashboard().title);
+        GrafanaPanel nodeDuration = jgrafana.getPanelByTitle("Node duration (95th percentile)");
+        Assertions.assertNotNull(nodeDuration);
+        Assertions.assertTrue(nodeDuration.targets.get(0).expr.contains("kie_process_node_duration_seconds_bucket{process_id=\"myProcess\"}"));
+        Assertions.assertNotNull(jgrafana.getPanelByTitle("Hot nodes (seconds spent per second)"));
+        Assertions.assertNotNull(jgrafana.getPanelByTitle("Marshalling duration (average)"));
+        Assertions.assertNotNull(jgrafana.getPanelByTitle("Unit of work commit duration (95th percentile)"));
+    }
 }
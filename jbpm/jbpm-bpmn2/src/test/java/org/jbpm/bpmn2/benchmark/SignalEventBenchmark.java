@@ -0,0 +1,105 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.bpmn2.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.io.impl.ByteArrayResource;
+import org.kie.api.io.Resource;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.bpmn2.BpmnProcess;
+import org.kie.kogito.process.bpmn2.BpmnVariables;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the dispatching of signals to an active instance of a generated process made of a parallel gateway
+ * leading to many intermediate signal catch events, all of them waiting.
+ * Run it from the test classpath, e.g. with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.jbpm.bpmn2.benchmark.SignalEventBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SignalEventBenchmark {
+
+    @Param({ "10", "150" })
+    private int nodes;
+
+    private org.jbpm.workflow.instance.WorkflowProcessInstance processInstance;
+
+    @Setup
+    public void setup() {
+        BpmnProcess process = BpmnProcess.from(generate(nodes)).get(0);
+        ProcessInstance<BpmnVariables> instance = process.createInstance(BpmnVariables.create());
+        instance.start();
+        processInstance = ((AbstractProcessInstance<?>) instance).internalGetProcessInstance();
+    }
+
+    /**
+     * A signal no node waits for, the most common case for an instance receiving broadcast signals.
+     */
+    @Benchmark
+    public void signalUnrelatedEvent() {
+        processInstance.signalEvent("Unrelated", null);
+    }
+
+    static Resource generate(int nodes) {
+        StringBuilder bpmn = new StringBuilder();
+        bpmn.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<definitions id=\"Definition\" targetNamespace=\"http://www.example.org/benchmark\"")
+                .append(" xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\"")
+                .append(" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">\n")
+                .append("  <process processType=\"Private\" isExecutable=\"true\" id=\"SignalEventBenchmark\" name=\"SignalEventBenchmark\">\n")
+                .append("    <startEvent id=\"_start\" name=\"Start\"/>\n")
+                .append("    <parallelGateway id=\"_split\" name=\"Split\" gatewayDirection=\"Diverging\"/>\n")
+                .append("    <sequenceFlow id=\"_start-_split\" sourceRef=\"_start\" targetRef=\"_split\"/>\n");
+        for (int i = 0; i < nodes; i++) {
+            bpmn.append("    <intermediateCatchEvent id=\"_catch").append(i).append("\" name=\"Catch").append(i).append("\">\n")
+                    .append("      <signalEventDefinition signalRef=\"Signal").append(i).append("\"/>\n")
+                    .append("    </intermediateCatchEvent>\n")
+                    .append("    <endEvent id=\"_end").append(i).append("\" name=\"End").append(i).append("\"/>\n")
+                    .append("    <sequenceFlow id=\"_split-_catch").append(i).append("\" sourceRef=\"_split\" targetRef=\"_catch").append(i).append("\"/>\n")
+                    .append("    <sequenceFlow id=\"_catch").append(i).append("-_end").append(i).append("\" sourceRef=\"_catch").append(i)
+                    .append("\" targetRef=\"_end").append(i).append("\"/>\n");
+        }
+        bpmn.append("  </process>\n")
+                .append("</definitions>\n");
+        Resource resource = new ByteArrayResource(bpmn.toString().getBytes());
+        resource.setSourcePath("SignalEventBenchmark.bpmn2");
+        return resource;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SignalEventBenchmark.class.getSimpleName()).build()).run();
+    }
+}
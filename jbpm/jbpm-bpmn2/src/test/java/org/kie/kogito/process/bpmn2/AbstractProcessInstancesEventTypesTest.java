@@ -0,0 +1,117 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.bpmn2;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.auth.IdentityProviders;
+import org.kie.kogito.auth.SecurityPolicy;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstances;
+import org.kie.kogito.process.WorkItem;
+import org.kie.kogito.process.impl.Sig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.kie.kogito.process.ProcessInstance.STATE_ACTIVE;
+import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
+import static org.kie.kogito.process.ProcessInstanceReadMode.READ_ONLY;
+
+/**
+ * Contract every persistence addon has to honour for {@link ProcessInstances#waitingForEventType}:
+ * only instances currently able to react to a signal are returned, so process level signals
+ * no longer load every stored instance.
+ */
+public abstract class AbstractProcessInstancesEventTypesTest {
+
+    private static final String SIGNAL = "MySignal";
+
+    private SecurityPolicy securityPolicy = SecurityPolicy.of(IdentityProviders.of("john"));
+
+    /**
+     * Sets the process instances factory of the given process and configures it.
+     */
+    protected abstract void configure(BpmnProcess process);
+
+    /**
+     * Drops the event types index of the given process, leaving its stored instances as they were before the index
+     * existed. Storages that cannot do it skip the tests relying on it.
+     */
+    protected void dropEventTypesIndex(BpmnProcess process) {
+        assumeTrue(false, "Dropping the event types index is not supported");
+    }
+
+    /**
+     * Runs the given assertion once the storage reflects the latest writes; storages that are
+     * eventually consistent should retry it.
+     */
+    protected void awaitStored(Runnable assertion) {
+        assertion.run();
+    }
+
+    @Test
+    void testSignalOnlyReachesWaitingInstances() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-IntermediateCatchSignalBetweenUserTasks.bpmn2")).get(0);
+        configure(process);
+        process.instances().values(MUTABLE).forEach(ProcessInstance::abort);
+
+        ProcessInstance<BpmnVariables> atTask = process.createInstance(BpmnVariables.create());
+        atTask.start();
+        ProcessInstance<BpmnVariables> atSignal = process.createInstance(BpmnVariables.create());
+        atSignal.start();
+        atSignal.completeWorkItem(atSignal.workItems(securityPolicy).get(0).getId(), null, securityPolicy);
+        assertThat(atSignal.status()).isEqualTo(STATE_ACTIVE);
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        awaitStored(() -> assertThat(instances.waitingForEventType(SIGNAL, READ_ONLY)).extracting(ProcessInstance::id).containsExactly(atSignal.id()));
+
+        process.send(Sig.of(SIGNAL, null));
+
+        awaitStored(() -> {
+            assertThat(instances.waitingForEventType(SIGNAL, READ_ONLY)).isEmpty();
+            assertThat(instances.findById(atSignal.id(), READ_ONLY))
+                    .hasValueSatisfying(pi -> assertThat(pi.workItems(securityPolicy)).extracting(WorkItem::getName).containsExactly("User Task 2"));
+            assertThat(instances.findById(atTask.id(), READ_ONLY))
+                    .hasValueSatisfying(pi -> assertThat(pi.workItems(securityPolicy)).extracting(WorkItem::getName).containsExactly("User Task 1"));
+        });
+
+        instances.values(MUTABLE).forEach(ProcessInstance::abort);
+    }
+
+    @Test
+    void testSignalReachesInstancesStoredBeforeIndexing() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-IntermediateCatchSignalBetweenUserTasks.bpmn2")).get(0);
+        configure(process);
+        process.instances().values(MUTABLE).forEach(ProcessInstance::abort);
+
+        ProcessInstance<BpmnVariables> atSignal = process.createInstance(BpmnVariables.create());
+        atSignal.start();
+        atSignal.completeWorkItem(atSignal.workItems(securityPolicy).get(0).getId(), null, securityPolicy);
+        assertThat(atSignal.status()).isEqualTo(STATE_ACTIVE);
+
+        dropEventTypesIndex(process);
+        configure(process);
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        awaitStored(() -> assertThat(instances.findById(atSignal.id(), READ_ONLY)).isPresent());
+
+        process.send(Sig.of(SIGNAL, null));
+
+        awaitStored(() -> assertThat(instances.findById(atSignal.id(), READ_ONLY))
+                .hasValueSatisfying(pi -> assertThat(pi.workItems(securityPolicy)).extracting(WorkItem::getName).containsExactly("User Task 2")));
+
+        instances.values(MUTABLE).forEach(ProcessInstance::abort);
+    }
+}
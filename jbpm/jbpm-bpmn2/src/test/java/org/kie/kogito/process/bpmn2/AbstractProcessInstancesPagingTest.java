@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.bpmn2;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstances;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.kie.kogito.process.ProcessInstance.STATE_ACTIVE;
+import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
+import static org.kie.kogito.process.ProcessInstanceReadMode.READ_ONLY;
+import static org.kie.kogito.process.ProcessInstanceReadMode.VARIABLES_ONLY;
+
+/**
+ * Contract every persistence addon has to honour for {@link ProcessInstances#values(org.kie.kogito.process.ProcessInstanceReadMode, int, int)}
+ * and {@link ProcessInstances#stream}: pages are ordered by id and variables only reads restore the variables
+ * of the instances without connecting them.
+ */
+public abstract class AbstractProcessInstancesPagingTest {
+
+    /**
+     * Sets the process instances factory of the given process and configures it.
+     */
+    protected abstract void configure(BpmnProcess process);
+
+    private BpmnProcess createProcess() {
+        BpmnProcess process = BpmnProcess.from(new ClassPathResource("BPMN2-UserTask.bpmn2")).get(0);
+        configure(process);
+        process.instances().values(MUTABLE).forEach(ProcessInstance::abort);
+        return process;
+    }
+
+    @Test
+    void testValuesPage() {
+        BpmnProcess process = createProcess();
+        for (int i = 0; i < 3; i++) {
+            process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test" + i))).start();
+        }
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        assertThat(instances.size()).isEqualTo(3);
+        List<String> ids = instances.values().stream().map(ProcessInstance::id).sorted().collect(Collectors.toList());
+
+        assertThat(instances.values(READ_ONLY, 0, 2)).extracting(ProcessInstance::id).containsExactly(ids.get(0), ids.get(1));
+        assertThat(instances.values(READ_ONLY, 2, 2)).extracting(ProcessInstance::id).containsExactly(ids.get(2));
+        assertThat(instances.values(READ_ONLY, 3, 2)).isEmpty();
+        assertThat(instances.values(VARIABLES_ONLY, 1, 1)).singleElement()
+                .satisfies(pi -> assertThat(pi.id()).isEqualTo(ids.get(1)))
+                .satisfies(pi -> assertThat(pi.variables().toMap()).containsKey("test"));
+
+        instances.values(MUTABLE).forEach(ProcessInstance::abort);
+        assertThat(instances.size()).isZero();
+    }
+
+    @Test
+    void testStreamVariablesOnly() {
+        BpmnProcess process = createProcess();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        try (Stream<ProcessInstance<BpmnVariables>> stream = instances.stream(VARIABLES_ONLY)) {
+            List<ProcessInstance<BpmnVariables>> found = stream.collect(Collectors.toList());
+            assertThat(found).hasSize(1);
+            ProcessInstance<BpmnVariables> pi = found.get(0);
+            assertThat(pi.id()).isEqualTo(processInstance.id());
+            assertThat(pi.status()).isEqualTo(STATE_ACTIVE);
+            assertThat(pi.variables().toMap()).containsEntry("test", "test");
+            assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(pi::abort);
+        }
+
+        processInstance.abort();
+        assertThat(instances.size()).isZero();
+    }
+}
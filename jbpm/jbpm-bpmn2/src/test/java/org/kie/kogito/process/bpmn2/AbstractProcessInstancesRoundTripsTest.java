@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.process.bpmn2;
+
+import org.drools.core.io.impl.ClassPathResource;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.auth.IdentityProviders;
+import org.kie.kogito.auth.SecurityPolicy;
+import org.kie.kogito.process.ProcessConfig;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.WorkItem;
+import org.kie.kogito.process.impl.DefaultProcessEventListenerConfig;
+import org.kie.kogito.process.impl.DefaultWorkItemHandlerConfig;
+import org.kie.kogito.process.impl.Sig;
+import org.kie.kogito.process.impl.StaticProcessConfig;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.process.ProcessInstance.STATE_ACTIVE;
+import static org.kie.kogito.process.ProcessInstanceReadMode.MUTABLE;
+import static org.kie.kogito.process.ProcessInstanceReadMode.READ_ONLY;
+
+/**
+ * Counts the round trips a persistence addon performs for {@link ProcessInstance#start()} and
+ * {@link org.kie.kogito.process.Process#send} and checks that an instance written by the addon is not read back
+ * by id within the unit of work that wrote it, while a later unit of work reads it from the storage again. The
+ * writes collected by a unit of work for several instances must be sent as a batch.
+ */
+public abstract class AbstractProcessInstancesRoundTripsTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractProcessInstancesRoundTripsTest.class);
+
+    private static final String SIGNAL = "MySignal";
+
+    private static final int BATCHED_INSTANCES = 20;
+
+    private SecurityPolicy securityPolicy = SecurityPolicy.of(IdentityProviders.of("john"));
+
+    /**
+     * Sets the process instances factory of the given process and configures it.
+     */
+    protected abstract void configure(BpmnProcess process);
+
+    /**
+     * Returns the number of statements sent to the storage so far.
+     */
+    protected abstract long roundTrips();
+
+    /**
+     * Returns the number of process instances read by id from the storage so far.
+     */
+    protected abstract long readsById();
+
+    @Test
+    void testWrittenInstancesAreReadBackOnlyByLaterUnitsOfWork() {
+        UnitOfWorkManager uowManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        ProcessConfig config = new StaticProcessConfig(new DefaultWorkItemHandlerConfig(), new DefaultProcessEventListenerConfig(), uowManager, null);
+        BpmnProcess process = BpmnProcess.from(config, new ClassPathResource("BPMN2-IntermediateCatchSignalBetweenUserTasks.bpmn2")).get(0);
+        configure(process);
+        process.instances().values(MUTABLE).forEach(ProcessInstance::abort);
+
+        long roundTrips = roundTrips();
+        long readsById = readsById();
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create());
+        WorkItem workItem = UnitOfWorkExecutor.executeInUnitOfWork(uowManager, () -> {
+            processInstance.start();
+            return processInstance.workItems(securityPolicy).get(0);
+        });
+        LOGGER.info("start(): {} round trips, {} reads by id", roundTrips() - roundTrips, readsById() - readsById);
+        assertThat(readsById()).isEqualTo(readsById);
+
+        roundTrips = roundTrips();
+        UnitOfWorkExecutor.executeInUnitOfWork(uowManager, () -> {
+            processInstance.completeWorkItem(workItem.getId(), null, securityPolicy);
+            return null;
+        });
+        assertThat(processInstance.status()).isEqualTo(STATE_ACTIVE);
+        LOGGER.info("completeWorkItem(): {} round trips, {} reads by id", roundTrips() - roundTrips, readsById() - readsById);
+        // the unit of work that wrote the instance is over, so it is reloaded from the storage
+        assertThat(readsById()).isEqualTo(readsById + 1);
+
+        readsById = readsById();
+        roundTrips = roundTrips();
+        UnitOfWorkExecutor.executeInUnitOfWork(uowManager, () -> {
+            process.send(Sig.of(SIGNAL, null));
+            return null;
+        });
+        LOGGER.info("send(): {} round trips, {} reads by id", roundTrips() - roundTrips, readsById() - readsById);
+        assertThat(readsById()).isEqualTo(readsById);
+
+        assertThat(process.instances().findById(processInstance.id(), READ_ONLY))
+                .hasValueSatisfying(pi -> assertThat(pi.workItems(securityPolicy)).extracting(WorkItem::getName).containsExactly("User Task 2"));
+
+        process.instances().values(MUTABLE).forEach(ProcessInstance::abort);
+    }
+
+    @Test
+    void testSignalledInstancesAreWrittenAsOneBatch() {
+        UnitOfWorkManager uowManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        ProcessConfig config = new StaticProcessConfig(new DefaultWorkItemHandlerConfig(), new DefaultProcessEventListenerConfig(), uowManager, null);
+        BpmnProcess process = BpmnProcess.from(config, new ClassPathResource("BPMN2-IntermediateCatchSignalBetweenUserTasks.bpmn2")).get(0);
+        configure(process);
+        process.instances().values(MUTABLE).forEach(ProcessInstance::abort);
+
+        for (int i = 0; i < BATCHED_INSTANCES; i++) {
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create());
+            processInstance.start();
+            processInstance.completeWorkItem(processInstance.workItems(securityPolicy).get(0).getId(), null, securityPolicy);
+        }
+
+        long roundTrips = roundTrips();
+        UnitOfWorkExecutor.executeInUnitOfWork(uowManager, () -> {
+            process.send(Sig.of(SIGNAL, null));
+            return null;
+        });
+        LOGGER.info("send() to {} instances in a unit of work: {} round trips", BATCHED_INSTANCES, roundTrips() - roundTrips);
+        assertThat(roundTrips() - roundTrips).isLessThan(BATCHED_INSTANCES);
+
+        assertThat(process.instances().values(READ_ONLY)).hasSize(BATCHED_INSTANCES)
+                .allSatisfy(pi -> assertThat(pi.workItems(securityPolicy)).extracting(WorkItem::getName).containsExactly("User Task 2"));
+
+        process.instances().values(MUTABLE).forEach(ProcessInstance::abort);
+    }
+}
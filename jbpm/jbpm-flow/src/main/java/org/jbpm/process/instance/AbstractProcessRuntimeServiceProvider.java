@@ -26,9 +26,14 @@ import org.kie.kogito.internal.process.runtime.KogitoWorkItemManager;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.process.ProcessEventListenerConfig;
 import org.kie.kogito.process.WorkItemHandlerConfig;
+import org.kie.kogito.services.uow.PassThroughUnitOfWork;
 import org.kie.kogito.signal.SignalManager;
 import org.kie.kogito.signal.SignalManagerHub;
+import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
 import org.kie.services.signal.LightSignalManager;
 
 public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServiceProvider {
@@ -46,7 +51,20 @@ public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServ
             SignalManagerHub compositeSignalManager,
             UnitOfWorkManager unitOfWorkManager) {
         this.unitOfWorkManager = unitOfWorkManager;
-        processInstanceManager = new DefaultProcessInstanceManager();
+        DefaultProcessInstanceManager defaultProcessInstanceManager = new DefaultProcessInstanceManager(() -> executionKey(unitOfWorkManager));
+        // the unit of work is dissociated from its execution context when it ends, so are its locked instances
+        unitOfWorkManager.register(new UnitOfWorkEventListener() {
+            @Override
+            public void onAfterEndEvent(UnitOfWorkEndEvent event) {
+                defaultProcessInstanceManager.releaseProcessInstances(event.getUnitOfWork());
+            }
+
+            @Override
+            public void onAfterAbortEvent(UnitOfWorkAbortEvent event) {
+                defaultProcessInstanceManager.releaseProcessInstances(event.getUnitOfWork());
+            }
+        });
+        processInstanceManager = defaultProcessInstanceManager;
         signalManager = new LightSignalManager(
                 id -> Optional.ofNullable(
                         processInstanceManager.getProcessInstance(id)),
@@ -65,6 +83,15 @@ public class AbstractProcessRuntimeServiceProvider implements ProcessRuntimeServ
         }
     }
 
+    /**
+     * Locked instances belong to the current unit of work, which is carried with them when the execution moves to
+     * another thread; without a unit of work they belong to the current thread.
+     */
+    private static Object executionKey(UnitOfWorkManager unitOfWorkManager) {
+        UnitOfWork unitOfWork = unitOfWorkManager.currentUnitOfWork();
+        return unitOfWork instanceof PassThroughUnitOfWork ? Thread.currentThread().getId() : unitOfWork;
+    }
+
     @Override
     public JobsService getJobsService() {
         return jobsService;
@@ -18,18 +18,38 @@ package org.jbpm.process.instance.impl;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.jbpm.process.instance.ProcessInstanceManager;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 
 public class DefaultProcessInstanceManager implements ProcessInstanceManager {
 
-    private Map<String, KogitoProcessInstance> processInstances = new ConcurrentHashMap<>();
+    private Map<Object, KogitoProcessInstance> processInstances = new ConcurrentHashMap<>();
+    // the keys of the locked instances of each execution, so that they are released without scanning every instance
+    private final Map<Object, Set<LockedKey>> lockedKeys = new ConcurrentHashMap<>();
+
+    // identifies the execution owning the instances when they are locked
+    private final Supplier<Object> executionKey;
 
     private boolean lock = false;
 
+    public DefaultProcessInstanceManager() {
+        this(() -> Thread.currentThread().getId());
+    }
+
+    /**
+     * @param executionKey returns the key of the current execution, e.g. its unit of work, that owns the instances
+     *        added while they are locked
+     */
+    public DefaultProcessInstanceManager(Supplier<Object> executionKey) {
+        this.executionKey = executionKey;
+    }
+
     public void addProcessInstance(KogitoProcessInstance processInstance) {
         String id = UUID.randomUUID().toString();
         ((org.jbpm.process.instance.ProcessInstance) processInstance).setId(id);
@@ -37,11 +57,11 @@ public class DefaultProcessInstanceManager implements ProcessInstanceManager {
     }
 
     public void internalAddProcessInstance(KogitoProcessInstance processInstance) {
-        if (lock) {
-            processInstances.put(processInstance.getStringId() + "_" + Thread.currentThread().getId(), processInstance);
-        } else {
-            processInstances.put(processInstance.getStringId(), processInstance);
+        Object key = key(processInstance.getStringId());
+        if (key instanceof LockedKey) {
+            lockedKeys.computeIfAbsent(((LockedKey) key).owner, owner -> ConcurrentHashMap.newKeySet()).add((LockedKey) key);
         }
+        processInstances.put(key, processInstance);
     }
 
     public Collection<KogitoProcessInstance> getProcessInstances() {
@@ -49,19 +69,11 @@ public class DefaultProcessInstanceManager implements ProcessInstanceManager {
     }
 
     public KogitoProcessInstance getProcessInstance(String id) {
-        if (lock) {
-            return processInstances.get(id + "_" + Thread.currentThread().getId());
-        } else {
-            return processInstances.get(id);
-        }
+        return processInstances.get(key(id));
     }
 
     public KogitoProcessInstance getProcessInstance(String id, boolean readOnly) {
-        if (lock) {
-            return processInstances.get(id + "_" + Thread.currentThread().getId());
-        } else {
-            return processInstances.get(id);
-        }
+        return processInstances.get(key(id));
     }
 
     public void removeProcessInstance(KogitoProcessInstance processInstance) {
@@ -69,15 +81,26 @@ public class DefaultProcessInstanceManager implements ProcessInstanceManager {
     }
 
     public void internalRemoveProcessInstance(KogitoProcessInstance processInstance) {
-        if (lock) {
-            processInstances.remove(processInstance.getStringId() + "_" + Thread.currentThread().getId());
-        } else {
-            processInstances.remove(processInstance.getStringId());
+        Object key = key(processInstance.getStringId());
+        processInstances.remove(key);
+        if (key instanceof LockedKey) {
+            lockedKeys.computeIfPresent(((LockedKey) key).owner, (owner, keys) -> keys.remove(key) && keys.isEmpty() ? null : keys);
+        }
+    }
+
+    /**
+     * Removes the locked instances owned by the given execution, once it is over.
+     */
+    public void releaseProcessInstances(Object owner) {
+        Set<LockedKey> keys = lockedKeys.remove(owner);
+        if (keys != null) {
+            keys.forEach(processInstances::remove);
         }
     }
 
     public void clearProcessInstances() {
         processInstances.clear();
+        lockedKeys.clear();
     }
 
     public void clearProcessInstancesState() {
@@ -87,4 +110,39 @@ public class DefaultProcessInstanceManager implements ProcessInstanceManager {
     public void setLock(boolean lock) {
         this.lock = lock;
     }
+
+    private Object key(String id) {
+        if (!lock) {
+            return id;
+        }
+        return new LockedKey(id, executionKey.get());
+    }
+
+    private static class LockedKey {
+
+        private final String id;
+        private final Object owner;
+
+        private LockedKey(String id, Object owner) {
+            this.id = id;
+            this.owner = owner;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, owner);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof LockedKey)) {
+                return false;
+            }
+            LockedKey other = (LockedKey) obj;
+            return id.equals(other.id) && owner.equals(other.owner);
+        }
+    }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.core.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jbpm.process.core.event.BroadcastEventTypeFilter;
+import org.jbpm.process.core.event.EventFilter;
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.process.core.event.NonAcceptingEventTypeFilter;
+import org.jbpm.workflow.core.node.CompositeNode;
+import org.jbpm.workflow.core.node.EventNode;
+import org.jbpm.workflow.core.node.EventNodeInterface;
+import org.jbpm.workflow.core.node.EventSubProcessNode;
+import org.kie.api.definition.process.Node;
+
+/**
+ * Index of the top level nodes of a process definition by the event types they can accept, so that a signal
+ * only evaluates the nodes that may be interested in it. Nodes whose event types cannot be known statically
+ * (variable expressions, broadcast filters, unknown node types) are candidates for every signal.
+ * The candidates keep the definition order of the nodes.
+ */
+public class EventTypeNodeIndex {
+
+    private static final String EXPRESSION_START = "#{";
+
+    private final Map<String, List<Node>> eventNodes = new HashMap<>();
+    private final List<Node> anyEventNodes;
+    private final Map<String, List<Node>> dynamicNodes = new HashMap<>();
+    private final List<Node> anyDynamicNodes;
+    private final Map<Node, Set<String>> staticEvents = new IdentityHashMap<>();
+
+    public EventTypeNodeIndex(Node[] nodes) {
+        Map<String, Set<Node>> byType = new HashMap<>();
+        Set<Node> unknown = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Node node : nodes) {
+            if (node instanceof EventNodeInterface) {
+                Set<String> types = new HashSet<>();
+                if (collectEventTypes(node, types)) {
+                    for (String type : types) {
+                        byType.computeIfAbsent(type, k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(node);
+                    }
+                } else {
+                    unknown.add(node);
+                }
+            }
+            if (node instanceof EventSubProcessNode && isStatic(((EventSubProcessNode) node).getEvents())) {
+                staticEvents.put(node, new HashSet<>(((EventSubProcessNode) node).getEvents()));
+            }
+        }
+        anyEventNodes = select(nodes, Collections.emptySet(), unknown);
+        byType.forEach((type, accepting) -> eventNodes.put(type, select(nodes, accepting, unknown)));
+
+        // dynamic processes trigger the nodes without incoming connections named as the signal, and pass it to composite nodes
+        Map<String, Set<Node>> byName = new HashMap<>();
+        Set<Node> composites = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Node node : nodes) {
+            if (node.getName() != null && node.getIncomingConnections().isEmpty()) {
+                byName.computeIfAbsent(node.getName(), k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(node);
+            }
+            if (node instanceof CompositeNode) {
+                composites.add(node);
+            }
+        }
+        anyDynamicNodes = select(nodes, Collections.emptySet(), composites);
+        byName.forEach((name, named) -> dynamicNodes.put(name, select(nodes, named, composites)));
+    }
+
+    /**
+     * Returns the nodes that may accept an event of the given type.
+     */
+    public List<Node> eventNodes(String type) {
+        return eventNodes.getOrDefault(type, anyEventNodes);
+    }
+
+    /**
+     * Returns the nodes a dynamic process may trigger, or pass the event to, for an event of the given type.
+     */
+    public List<Node> dynamicNodes(String type) {
+        return dynamicNodes.getOrDefault(type, anyDynamicNodes);
+    }
+
+    /**
+     * Returns the event types of the given event sub process, or null when they contain variable expressions
+     * to be resolved against the process instance.
+     */
+    public Set<String> staticEvents(EventSubProcessNode node) {
+        return staticEvents.get(node);
+    }
+
+    private static List<Node> select(Node[] nodes, Set<Node> matching, Set<Node> any) {
+        List<Node> selected = new ArrayList<>();
+        for (Node node : nodes) {
+            if (matching.contains(node) || any.contains(node)) {
+                selected.add(node);
+            }
+        }
+        return Collections.unmodifiableList(selected);
+    }
+
+    /**
+     * Adds the event types the given node can accept; returns false when they cannot be known statically.
+     */
+    private static boolean collectEventTypes(Node node, Set<String> types) {
+        if (node instanceof EventNode) {
+            List<EventFilter> filters = ((EventNode) node).getEventFilters();
+            if (filters.isEmpty()) {
+                return false;
+            }
+            for (EventFilter filter : filters) {
+                if (!collectEventTypes(filter, types)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (node instanceof CompositeNode) {
+            if (node instanceof EventSubProcessNode) {
+                List<String> events = ((EventSubProcessNode) node).getEvents();
+                if (!isStatic(events)) {
+                    return false;
+                }
+                types.addAll(events);
+            }
+            for (Node child : ((CompositeNode) node).internalGetNodes()) {
+                if (child instanceof EventNodeInterface && !collectEventTypes(child, types)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean collectEventTypes(EventFilter filter, Set<String> types) {
+        if (filter instanceof NonAcceptingEventTypeFilter) {
+            return true;
+        }
+        if (filter instanceof BroadcastEventTypeFilter || !(filter instanceof EventTypeFilter)) {
+            return false;
+        }
+        String type = ((EventTypeFilter) filter).getType();
+        if (type == null) {
+            return true;
+        }
+        if (type.contains(EXPRESSION_START)) {
+            return false;
+        }
+        types.add(type);
+        return true;
+    }
+
+    private static boolean isStatic(List<String> events) {
+        for (String event : events) {
+            if (event == null || event.contains(EXPRESSION_START)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
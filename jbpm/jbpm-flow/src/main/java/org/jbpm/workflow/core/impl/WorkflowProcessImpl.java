@@ -47,6 +47,8 @@ public class WorkflowProcessImpl extends ProcessImpl implements WorkflowProcess,
     private boolean autoComplete = false;
     private boolean dynamic = false;
     private org.jbpm.workflow.core.NodeContainer nodeContainer;
+    // built on first use and dropped whenever nodes are added or removed
+    private transient volatile EventTypeNodeIndex eventTypeNodeIndex;
 
     private transient BiFunction<String, ProcessInstance, String> expressionEvaluator = (expression, p) -> {
 
@@ -109,11 +111,22 @@ public class WorkflowProcessImpl extends ProcessImpl implements WorkflowProcess,
     public void removeNode(final org.kie.api.definition.process.Node node) {
         nodeContainer.removeNode(node);
         ((Node) node).setParentContainer(null);
+        eventTypeNodeIndex = null;
     }
 
     public void addNode(final org.kie.api.definition.process.Node node) {
         nodeContainer.addNode(node);
         ((Node) node).setParentContainer(this);
+        eventTypeNodeIndex = null;
+    }
+
+    public EventTypeNodeIndex getEventTypeNodeIndex() {
+        EventTypeNodeIndex index = eventTypeNodeIndex;
+        if (index == null) {
+            index = new EventTypeNodeIndex(getNodes());
+            eventTypeNodeIndex = index;
+        }
+        return index;
     }
 
     public boolean isAutoComplete() {
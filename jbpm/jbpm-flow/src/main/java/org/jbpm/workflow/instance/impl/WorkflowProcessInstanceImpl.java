@@ -16,6 +16,7 @@
 package org.jbpm.workflow.instance.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -49,7 +50,9 @@ import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.util.PatternConstants;
 import org.jbpm.workflow.core.DroolsAction;
 import org.jbpm.workflow.core.Node;
+import org.jbpm.workflow.core.impl.EventTypeNodeIndex;
 import org.jbpm.workflow.core.impl.NodeImpl;
+import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
 import org.jbpm.workflow.core.node.ActionNode;
 import org.jbpm.workflow.core.node.BoundaryEventNode;
 import org.jbpm.workflow.core.node.CompositeNode;
@@ -618,14 +621,15 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                         listener.signalEvent(type, event);
                     }
                 }
-                for (org.kie.api.definition.process.Node node : getWorkflowProcess().getNodes()) {
+                EventTypeNodeIndex index = getWorkflowProcess() instanceof WorkflowProcessImpl ? ((WorkflowProcessImpl) getWorkflowProcess()).getEventTypeNodeIndex() : null;
+                for (org.kie.api.definition.process.Node node : index == null ? Arrays.asList(getWorkflowProcess().getNodes()) : index.eventNodes(type)) {
                     if (node instanceof EventNodeInterface
                             && ((EventNodeInterface) node).acceptsEvent(type, event, getResolver(node, currentView))) {
                         if (node instanceof EventNode && ((EventNode) node).getFrom() == null) {
                             EventNodeInstance eventNodeInstance = (EventNodeInstance) getNodeInstance(node);
                             eventNodeInstance.signalEvent(type, event);
                         } else {
-                            if (node instanceof EventSubProcessNode && (resolveVariables(((EventSubProcessNode) node).getEvents()).contains(type))) {
+                            if (node instanceof EventSubProcessNode && isTriggeredBy((EventSubProcessNode) node, type, index)) {
                                 EventSubProcessNodeInstance eventNodeInstance = (EventSubProcessNodeInstance) getNodeInstance(node);
                                 eventNodeInstance.signalEvent(type, event);
                             } else {
@@ -640,7 +644,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
                     }
                 }
                 if (((org.jbpm.workflow.core.WorkflowProcess) getWorkflowProcess()).isDynamic()) {
-                    for (org.kie.api.definition.process.Node node : getWorkflowProcess().getNodes()) {
+                    for (org.kie.api.definition.process.Node node : index == null ? Arrays.asList(getWorkflowProcess().getNodes()) : index.dynamicNodes(type)) {
                         if (type.equals(node.getName()) && node.getIncomingConnections().isEmpty()) {
                             NodeInstance nodeInstance = getNodeInstance(node);
                             if (event != null) {
@@ -668,6 +672,14 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         }
     }
 
+    private boolean isTriggeredBy(EventSubProcessNode node, String type, EventTypeNodeIndex index) {
+        Set<String> events = index == null ? null : index.staticEvents(node);
+        if (events != null) {
+            return events.contains(type);
+        }
+        return resolveVariables(node.getEvents()).contains(type);
+    }
+
     private Function<String, String> getResolver(org.kie.api.definition.process.Node node, List<NodeInstance> currentView) {
         if (node instanceof DynamicNode) {
             // special handling for dynamic node to allow to resolve variables from individual node instances of the dynamic node
@@ -770,6 +782,33 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         return externalEventListeners.keySet().stream().map(this::resolveVariable).collect(Collectors.toList()).toArray(new String[externalEventListeners.size()]);
     }
 
+    /**
+     * Returns all event types this process instance reacts to when signaled: the ones of both internal and
+     * external listeners plus the ones of event nodes and ad hoc fragments that are triggered without being active.
+     * Variable expressions are resolved against the current state of the process instance.
+     *
+     * @return event types this process instance is waiting for
+     */
+    public Set<String> getSignalEventTypes() {
+        Set<String> types = new LinkedHashSet<>(Arrays.asList(getEventTypes()));
+        eventListeners.keySet().stream().map(this::resolveVariable).forEach(types::add);
+        collectSignalEventTypes(getWorkflowProcess(), types);
+        return types;
+    }
+
+    private void collectSignalEventTypes(NodeContainer container, Set<String> types) {
+        for (org.kie.api.definition.process.Node node : container.getNodes()) {
+            if (node instanceof EventNode && ((EventNode) node).getFrom() == null) {
+                types.add(resolveVariable(((EventNode) node).getType()));
+            } else if (container instanceof DynamicNode && node.getIncomingConnections().isEmpty()) {
+                types.add(node.getName());
+            }
+            if (node instanceof NodeContainer) {
+                collectSignalEventTypes((NodeContainer) node, types);
+            }
+        }
+    }
+
     @Override
     public Set<EventDescription<?>> getEventDescriptions() {
         if (getState() == KogitoProcessInstance.STATE_COMPLETED || getState() == KogitoProcessInstance.STATE_ABORTED) {
@@ -183,8 +183,9 @@ public class RuleSetNodeInstance extends StateBasedNodeInstance implements Event
                 KogitoProcessContextImpl context = new KogitoProcessContextImpl(getProcessInstance().getKnowledgeRuntime());
                 context.setNodeInstance(this);
                 RuleUnitData model = factory.bind(context);
-                RuleUnitInstance<RuleUnitData> instance = factory.unit().createInstance(model);
-                instance.fire();
+                try (RuleUnitInstance<RuleUnitData> instance = factory.unit().createInstance(model)) {
+                    instance.fire();
+                }
                 factory.unbind(context, model);
                 triggerCompleted();
             } else {
@@ -125,7 +125,12 @@ public abstract class AbstractProcess<T extends Model> implements Process<T> {
 
     @Override
     public <S> void send(Signal<S> signal) {
-        instances().values(ProcessInstanceReadMode.MUTABLE).forEach(pi -> pi.send(signal));
+        if (((WorkflowProcessImpl) process()).isDynamic()) {
+            // ad hoc fragments of dynamic processes can be triggered by any signal, so no instance can be skipped
+            instances().values(ProcessInstanceReadMode.MUTABLE).forEach(pi -> pi.send(signal));
+        } else {
+            instances().waitingForEventType(signal.channel(), ProcessInstanceReadMode.MUTABLE).forEach(pi -> pi.send(signal));
+        }
     }
 
     public Process<T> configure() {
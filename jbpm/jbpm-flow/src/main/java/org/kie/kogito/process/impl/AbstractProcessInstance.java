@@ -25,6 +25,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -49,6 +51,7 @@ import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
 import org.kie.kogito.internal.process.runtime.KogitoWorkItem;
 import org.kie.kogito.internal.process.runtime.WorkItemNotFoundException;
+import org.kie.kogito.process.AsyncMutableProcessInstances;
 import org.kie.kogito.process.EventDescription;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.NodeInstanceNotFoundException;
@@ -57,6 +60,7 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessError;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceNotFoundException;
+import org.kie.kogito.process.ProcessInstanceWrite;
 import org.kie.kogito.process.Signal;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.flexible.AdHocFragment;
@@ -64,6 +68,7 @@ import org.kie.kogito.process.flexible.Milestone;
 import org.kie.kogito.process.workitem.Policy;
 import org.kie.kogito.process.workitem.Transition;
 import org.kie.kogito.services.uow.ProcessInstanceWorkUnit;
+import org.kie.kogito.uow.UnitOfWork;
 
 public abstract class AbstractProcessInstance<T extends Model> implements ProcessInstance<T> {
 
@@ -189,6 +194,29 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         this.processInstance = processInstance;
     }
 
+    /**
+     * Returns the unit of work currently associated with the runtime of this process instance, so persistence
+     * implementations can tell whether a reload still happens within the unit of work that wrote the instance.
+     *
+     * @return current unit of work, null when the process instance is not connected to a runtime
+     */
+    public UnitOfWork internalGetUnitOfWork() {
+        return rt == null ? null : rt.getUnitOfWorkManager().currentUnitOfWork();
+    }
+
+    /**
+     * Returns the event types this process instance is currently waiting for, so persistence implementations can
+     * index them and look up only the subscribed instances when a signal is sent to the whole process.
+     *
+     * @return event types this process instance is waiting for, empty when it is not active or disconnected
+     */
+    public Set<String> internalGetEventTypes() {
+        if (processInstance == null || !((MutableProcessInstances<T>) process.instances()).isActive(this)) {
+            return Collections.emptySet();
+        }
+        return ((WorkflowProcessInstanceImpl) processInstance).getSignalEventTypes();
+    }
+
     public void internalRemoveProcessInstance(Consumer<AbstractProcessInstance<?>> reloadSupplier) {
         this.reloadSupplier = reloadSupplier;
         this.status = processInstance.getState();
@@ -223,7 +251,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         this.id = processInstance.getStringId();
         addCompletionEventListener();
         KogitoProcessInstance processInstance = getProcessRuntime().getKogitoProcessRuntime().startProcessInstance(this.id, trigger);
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).create(pi.id(), pi));
+        addCreateToUnitOfWork();
         unbind(variables, processInstance.getVariables());
         if (this.processInstance != null) {
             this.status = this.processInstance.getState();
@@ -235,13 +263,50 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         getProcessRuntime().getUnitOfWorkManager().currentUnitOfWork().intercept(new ProcessInstanceWorkUnit(this, action));
     }
 
+    /**
+     * Adds the given action to the current unit of work; the asynchronous variant is only used when the
+     * process instances storage supports non blocking access.
+     */
+    protected void addToUnitOfWork(Consumer<ProcessInstance<T>> action, BiFunction<AsyncMutableProcessInstances<T>, ProcessInstance<T>, CompletionStage<Void>> asyncAction) {
+        addToUnitOfWork(null, action, asyncAction);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void addToUnitOfWork(ProcessInstanceWrite.Type writeType, Consumer<ProcessInstance<T>> action,
+            BiFunction<AsyncMutableProcessInstances<T>, ProcessInstance<T>, CompletionStage<Void>> asyncAction) {
+        ProcessInstanceWorkUnit workUnit = new ProcessInstanceWorkUnit(this, action);
+        if (process.instances() instanceof AsyncMutableProcessInstances) {
+            AsyncMutableProcessInstances<T> instances = (AsyncMutableProcessInstances<T>) process.instances();
+            workUnit.withAsyncAction(pi -> asyncAction.apply(instances, (ProcessInstance<T>) pi));
+        }
+        if (writeType != null) {
+            workUnit.withWrite((MutableProcessInstances<T>) process.instances(), writeType);
+        }
+        getProcessRuntime().getUnitOfWorkManager().currentUnitOfWork().intercept(workUnit);
+    }
+
+    private void addCreateToUnitOfWork() {
+        addToUnitOfWork(ProcessInstanceWrite.Type.CREATE, pi -> ((MutableProcessInstances<T>) process.instances()).create(pi.id(), pi),
+                (instances, pi) -> instances.createAsync(pi.id(), pi));
+    }
+
+    private void addUpdateToUnitOfWork() {
+        addToUnitOfWork(ProcessInstanceWrite.Type.UPDATE, pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi),
+                (instances, pi) -> instances.updateAsync(pi.id(), pi));
+    }
+
+    private void addRemoveToUnitOfWork() {
+        addToUnitOfWork(ProcessInstanceWrite.Type.REMOVE, pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id()),
+                (instances, pi) -> instances.removeAsync(pi.id()));
+    }
+
     @Override
     public void abort() {
         String pid = processInstance().getStringId();
         unbind(variables, processInstance().getVariables());
         getProcessRuntime().getKogitoProcessRuntime().abortProcessInstance(pid);
         this.status = processInstance.getState();
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id()));
+        addRemoveToUnitOfWork();
     }
 
     private InternalProcessRuntime getProcessRuntime() {
@@ -313,7 +378,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
             processInstance().setVariable(entry.getKey(), entry.getValue());
         }
         this.variables.update(map);
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addUpdateToUnitOfWork();
         return variables;
     }
 
@@ -363,7 +428,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
         nodeInstanceContainerNode.getNodeInstance(node).trigger(null, Node.CONNECTION_DEFAULT_TYPE);
 
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addUpdateToUnitOfWork();
     }
 
     @Override
@@ -455,7 +520,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
     public <R> R updateWorkItem(String id, Function<KogitoWorkItem, R> updater, Policy<?>... policies) {
         R result = getProcessRuntime().getKogitoProcessRuntime().getKogitoWorkItemManager().updateWorkItem(id, updater,
                 policies);
-        addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+        addUpdateToUnitOfWork();
         return result;
     }
 
@@ -490,9 +555,9 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         if (processInstance.getState() != KogitoProcessInstance.STATE_ACTIVE && processInstance.getState() != KogitoProcessInstance.STATE_ERROR) {
             removeCompletionListener();
             syncProcessInstance(processInstance);
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).remove(pi.id()));
+            addRemoveToUnitOfWork();
         } else {
-            addToUnitOfWork(pi -> ((MutableProcessInstances<T>) process.instances()).update(pi.id(), pi));
+            addUpdateToUnitOfWork();
         }
         unbind(this.variables, processInstance().getVariables());
         this.status = processInstance.getState();
@@ -20,8 +20,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.jbpm.process.instance.impl.humantask.HumanTaskHelper;
 import org.jbpm.process.instance.impl.humantask.HumanTaskTransition;
@@ -55,23 +57,49 @@ public class ProcessServiceImpl implements ProcessService {
     public <T extends Model> ProcessInstance<T> createProcessInstance(Process<T> process, String businessKey,
             T model,
             String startFromNodeId) {
-        return UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
-            ProcessInstance<T> pi = process.createInstance(businessKey, model);
-            if (startFromNodeId != null) {
-                pi.startFrom(startFromNodeId);
-            } else {
-                pi.start();
-            }
-            return pi;
-        });
+        return UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(),
+                () -> startProcessInstance(process, businessKey, model, startFromNodeId));
+    }
+
+    @Override
+    public <T extends Model> CompletionStage<ProcessInstance<T>> createProcessInstanceAsync(Process<T> process, String businessKey,
+            T model,
+            String startFromNodeId) {
+        return UnitOfWorkExecutor.executeInUnitOfWorkAsync(application.unitOfWorkManager(),
+                () -> startProcessInstance(process, businessKey, model, startFromNodeId));
+    }
+
+    private <T extends Model> ProcessInstance<T> startProcessInstance(Process<T> process, String businessKey, T model, String startFromNodeId) {
+        ProcessInstance<T> pi = process.createInstance(businessKey, model);
+        if (startFromNodeId != null) {
+            pi.startFrom(startFromNodeId);
+        } else {
+            pi.start();
+        }
+        return pi;
     }
 
     @Override
     public <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process) {
-        return process.instances().values().stream()
-                .map(ProcessInstance::variables)
-                .map(MappableToModel::toModel)
-                .collect(Collectors.toList());
+        return getProcessInstanceOutput(process, 0, 0);
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, int offset, int limit) {
+        // only variables are needed so node instances are never rebuilt
+        if (offset > 0 || limit > 0) {
+            return process.instances().values(ProcessInstanceReadMode.VARIABLES_ONLY, Math.max(offset, 0), limit > 0 ? limit : Integer.MAX_VALUE)
+                    .stream()
+                    .map(ProcessInstance::variables)
+                    .map(MappableToModel::toModel)
+                    .collect(Collectors.toList());
+        }
+        try (Stream<ProcessInstance<T>> instances = process.instances().stream(ProcessInstanceReadMode.VARIABLES_ONLY)) {
+            return instances
+                    .map(ProcessInstance::variables)
+                    .map(MappableToModel::toModel)
+                    .collect(Collectors.toList());
+        }
     }
 
     @Override
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.workflow.core.impl;
+
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.workflow.core.node.ActionNode;
+import org.jbpm.workflow.core.node.BoundaryEventNode;
+import org.jbpm.workflow.core.node.EventNode;
+import org.jbpm.workflow.core.node.EventSubProcessNode;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EventTypeNodeIndexTest {
+
+    @Test
+    public void testEventNodesByType() {
+        RuleFlowProcess process = new RuleFlowProcess();
+
+        ActionNode actionNode = new ActionNode();
+        actionNode.setId(1);
+        actionNode.setName("Action");
+        process.addNode(actionNode);
+
+        EventNode staticEvent = new EventNode();
+        staticEvent.setId(2);
+        staticEvent.addEventFilter(filter("A"));
+        process.addNode(staticEvent);
+
+        BoundaryEventNode variableEvent = new BoundaryEventNode();
+        variableEvent.setId(3);
+        variableEvent.addEventFilter(filter("Message-#{correlation}"));
+        process.addNode(variableEvent);
+
+        EventSubProcessNode eventSubProcess = new EventSubProcessNode();
+        eventSubProcess.setId(4);
+        eventSubProcess.addEvent(filter("B"));
+        process.addNode(eventSubProcess);
+
+        EventTypeNodeIndex index = process.getEventTypeNodeIndex();
+        assertThat(index.eventNodes("A")).containsExactly(staticEvent, variableEvent);
+        assertThat(index.eventNodes("B")).containsExactly(variableEvent, eventSubProcess);
+        assertThat(index.eventNodes("C")).containsExactly(variableEvent);
+        assertThat(index.staticEvents(eventSubProcess)).containsExactly("B");
+
+        // the index follows the nodes of the process
+        EventNode anyEvent = new EventNode();
+        anyEvent.setId(5);
+        process.addNode(anyEvent);
+        assertThat(process.getEventTypeNodeIndex()).isNotSameAs(index);
+        assertThat(process.getEventTypeNodeIndex().eventNodes("C")).containsExactly(variableEvent, anyEvent);
+    }
+
+    @Test
+    public void testDynamicNodesByName() {
+        RuleFlowProcess process = new RuleFlowProcess();
+        process.setDynamic(true);
+
+        ActionNode adHoc = new ActionNode();
+        adHoc.setId(1);
+        adHoc.setName("AdHoc");
+        process.addNode(adHoc);
+
+        EventSubProcessNode composite = new EventSubProcessNode();
+        composite.setId(2);
+        composite.setName("Composite");
+        process.addNode(composite);
+
+        EventTypeNodeIndex index = process.getEventTypeNodeIndex();
+        assertThat(index.dynamicNodes("AdHoc")).containsExactly(adHoc, composite);
+        assertThat(index.dynamicNodes("Other")).containsExactly(composite);
+    }
+
+    private static EventTypeFilter filter(String type) {
+        EventTypeFilter filter = new EventTypeFilter();
+        filter.setType(type);
+        return filter;
+    }
+}
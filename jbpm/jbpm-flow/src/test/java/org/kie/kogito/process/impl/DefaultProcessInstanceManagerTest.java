@@ -17,10 +17,17 @@
 package org.kie.kogito.process.impl;
 
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.jbpm.process.instance.impl.DefaultProcessInstanceManager;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.context.ThreadLocalContextCarrier;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
+import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
+import org.kie.kogito.uow.UnitOfWork;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -53,4 +60,73 @@ public class DefaultProcessInstanceManagerTest {
         pim.clearProcessInstances();
     }
 
+    @Test
+    public void testLockedProcessInstanceFollowsContextCarrier() throws Exception {
+        ThreadLocalContextCarrier<Object> executionKey = new ThreadLocalContextCarrier<>();
+        executionKey.set(UUID.randomUUID().toString());
+        DefaultProcessInstanceManager pim = new DefaultProcessInstanceManager(executionKey::get);
+        final String instanceId = UUID.randomUUID().toString();
+        KogitoProcessInstance kpi = mock(KogitoProcessInstance.class);
+        when(kpi.getStringId()).thenReturn(instanceId);
+
+        pim.setLock(true);
+        pim.internalAddProcessInstance(kpi);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // a locked instance belongs to the execution context that added it
+            assertThat(executor.submit(() -> pim.getProcessInstance(instanceId)).get()).isNull();
+            assertThat(executor.submit(executionKey.wrap(() -> pim.getProcessInstance(instanceId))::get).get()).isSameAs(kpi);
+        } finally {
+            executor.shutdownNow();
+        }
+        pim.removeProcessInstance(kpi);
+        assertThat(pim.getProcessInstances()).isEmpty();
+    }
+
+    @Test
+    public void testReleaseOnlyProcessInstancesOfOwner() {
+        AtomicReference<Object> owner = new AtomicReference<>("first");
+        DefaultProcessInstanceManager pim = new DefaultProcessInstanceManager(owner::get);
+        KogitoProcessInstance first = mock(KogitoProcessInstance.class);
+        when(first.getStringId()).thenReturn(UUID.randomUUID().toString());
+        KogitoProcessInstance second = mock(KogitoProcessInstance.class);
+        when(second.getStringId()).thenReturn(UUID.randomUUID().toString());
+
+        pim.setLock(true);
+        pim.internalAddProcessInstance(first);
+        owner.set("second");
+        pim.internalAddProcessInstance(second);
+
+        pim.releaseProcessInstances("first");
+        assertThat(pim.getProcessInstances()).containsExactly(second);
+        pim.releaseProcessInstances("second");
+        assertThat(pim.getProcessInstances()).isEmpty();
+    }
+
+    @Test
+    public void testLockedProcessInstanceBelongsToUnitOfWork() throws Exception {
+        DefaultUnitOfWorkManager uowManager = new DefaultUnitOfWorkManager(new CollectingUnitOfWorkFactory());
+        ConfiguredProcessServices services =
+                new ConfiguredProcessServices(new StaticProcessConfig(new DefaultWorkItemHandlerConfig(), new DefaultProcessEventListenerConfig(), uowManager, null));
+        DefaultProcessInstanceManager pim = (DefaultProcessInstanceManager) services.getProcessInstanceManager();
+        final String instanceId = UUID.randomUUID().toString();
+        KogitoProcessInstance kpi = mock(KogitoProcessInstance.class);
+        when(kpi.getStringId()).thenReturn(instanceId);
+
+        pim.setLock(true);
+        UnitOfWork uow = uowManager.newUnitOfWork();
+        uow.start();
+        pim.internalAddProcessInstance(kpi);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // the instance follows the unit of work to the thread it is carried to
+            assertThat(executor.submit(() -> pim.getProcessInstance(instanceId)).get()).isNull();
+            assertThat(executor.submit(uowManager.contextCarrier().wrap(() -> pim.getProcessInstance(instanceId))::get).get()).isSameAs(kpi);
+        } finally {
+            executor.shutdownNow();
+        }
+        uow.end();
+        // and is released when the unit of work ends
+        assertThat(pim.getProcessInstances()).isEmpty();
+    }
 }
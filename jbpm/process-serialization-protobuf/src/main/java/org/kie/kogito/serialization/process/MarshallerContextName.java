@@ -23,6 +23,7 @@ public final class MarshallerContextName<T> {
     public static final MarshallerContextName<String> MARSHALLER_FORMAT = new MarshallerContextName<>("FORMAT");
     public static final MarshallerContextName<Process<?>> MARSHALLER_PROCESS = new MarshallerContextName<>("PROCESS");
     public static final MarshallerContextName<Boolean> MARSHALLER_INSTANCE_READ_ONLY = new MarshallerContextName<>("READ_ONLY");
+    public static final MarshallerContextName<Boolean> MARSHALLER_INSTANCE_VARIABLES_ONLY = new MarshallerContextName<>("VARIABLES_ONLY");
 
     private String name;
 
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.serialization.process;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Decides, for process instance stores keeping an append log of deltas next to a snapshot, whether an update is
+ * appended as a delta or written as a new snapshot that replaces the log.
+ * <p>
+ * Deltas are computed against the last state written by this tracker, kept in memory within a bounded size. When that
+ * state is not known, for example after a restart or once it has been evicted, a snapshot is written, so the stored
+ * log never has to be read back. A delta relies on being appended right after the state it was computed from: each
+ * change carries a new random revision together with the revision of the state it was computed from, so stores shared
+ * by several nodes can append a delta only while the stored revision is still its base, and write the state in full
+ * otherwise.
+ */
+public class ProcessInstanceDeltaTracker {
+
+    private static final long DEFAULT_MAX_RETAINED_BYTES = 64L * 1024 * 1024;
+
+    private final ProcessInstanceMarshallerService marshaller;
+    private final int snapshotInterval;
+    private final long maxRetainedBytes;
+
+    private final Map<String, byte[]> states = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Integer> sequences = new LinkedHashMap<>();
+    private final Map<String, String> revisions = new LinkedHashMap<>();
+    private long retainedBytes;
+
+    /**
+     * @param snapshotInterval maximum number of deltas appended after a snapshot, delta persistence is disabled when
+     *        it is zero or negative
+     */
+    public ProcessInstanceDeltaTracker(ProcessInstanceMarshallerService marshaller, int snapshotInterval) {
+        this(marshaller, snapshotInterval, DEFAULT_MAX_RETAINED_BYTES);
+    }
+
+    public ProcessInstanceDeltaTracker(ProcessInstanceMarshallerService marshaller, int snapshotInterval, long maxRetainedBytes) {
+        this.marshaller = marshaller;
+        this.snapshotInterval = snapshotInterval;
+        this.maxRetainedBytes = maxRetainedBytes;
+    }
+
+    public boolean isEnabled() {
+        return snapshotInterval > 0;
+    }
+
+    /**
+     * Returns how the given state of a process instance should be written. The caller is expected to report the
+     * outcome through {@link #written(String, byte[], Change)} or {@link #forget(String)}.
+     */
+    public Change change(String id, byte[] state) {
+        byte[] stored;
+        int sequence;
+        String base;
+        synchronized (this) {
+            stored = states.get(id);
+            sequence = sequences.getOrDefault(id, 0) + 1;
+            base = revisions.get(id);
+        }
+        if (stored == null || sequence > snapshotInterval) {
+            return snapshot(state);
+        }
+        byte[] delta = marshaller.marshallProcessInstanceDelta(stored, state);
+        // a delta as large as the state only slows down reads
+        return delta.length < state.length ? new Change(delta, sequence, newRevision(), base) : snapshot(state);
+    }
+
+    /**
+     * Returns the change writing the given state in full, as done when the process instance is created or when the
+     * stored state is not the one a delta was computed from.
+     */
+    public Change snapshot(byte[] state) {
+        return new Change(state, 0, newRevision(), null);
+    }
+
+    private String newRevision() {
+        return isEnabled() ? UUID.randomUUID().toString() : null;
+    }
+
+    /**
+     * Remembers the state of a process instance once it has been stored as the given change, or as a snapshot when
+     * the change is {@code null}, as done when the instance is created.
+     */
+    public synchronized void written(String id, byte[] state, Change change) {
+        if (!isEnabled()) {
+            return;
+        }
+        forget(id);
+        states.put(id, state);
+        sequences.put(id, change == null ? 0 : change.sequence());
+        if (change != null && change.revision() != null) {
+            revisions.put(id, change.revision());
+        }
+        retainedBytes += state.length;
+        Iterator<Map.Entry<String, byte[]>> eldest = states.entrySet().iterator();
+        while (retainedBytes > maxRetainedBytes && eldest.hasNext()) {
+            Map.Entry<String, byte[]> entry = eldest.next();
+            retainedBytes -= entry.getValue().length;
+            sequences.remove(entry.getKey());
+            revisions.remove(entry.getKey());
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Returns the state of a process instance last written by this tracker as long as the given stored revision is
+     * still the one it wrote, so that the stores can reload the instance without reading its log of deltas back.
+     *
+     * @return the retained state, null when it is not known or it has been replaced by another writer
+     */
+    public synchronized byte[] state(String id, String revision) {
+        return revision != null && revision.equals(revisions.get(id)) ? states.get(id) : null;
+    }
+
+    /**
+     * Drops what is known about a process instance, to be called when it is removed or when writing it failed, so its
+     * next update is written as a snapshot.
+     */
+    public synchronized void forget(String id) {
+        byte[] state = states.remove(id);
+        if (state != null) {
+            retainedBytes -= state.length;
+        }
+        sequences.remove(id);
+        revisions.remove(id);
+    }
+
+    /**
+     * Either a snapshot holding the whole state of a process instance, or a delta to append to its log.
+     */
+    public static class Change {
+
+        private final byte[] payload;
+        private final int sequence;
+        private final String revision;
+        private final String base;
+
+        Change(byte[] payload, int sequence, String revision, String base) {
+            this.payload = payload;
+            this.sequence = sequence;
+            this.revision = revision;
+            this.base = base;
+        }
+
+        public boolean isSnapshot() {
+            return sequence == 0;
+        }
+
+        public byte[] payload() {
+            return payload;
+        }
+
+        /**
+         * Position of the delta in the log of the process instance, starting from 1 after each snapshot.
+         */
+        public int sequence() {
+            return sequence;
+        }
+
+        /**
+         * Revision of the state once this change is written, null when delta persistence is disabled.
+         */
+        public String revision() {
+            return revision;
+        }
+
+        /**
+         * Revision of the stored state a delta was computed from, null for a snapshot or when it is not known.
+         */
+        public String base() {
+            return base;
+        }
+    }
+}
@@ -16,32 +16,59 @@
 package org.kie.kogito.serialization.process;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.kie.kogito.internal.process.marshalling.ProcessInstanceMarshallerListener;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.serialization.process.impl.ProtobufMessageOutputStream;
+import org.kie.kogito.serialization.process.impl.ProtobufProcessInstanceDelta;
 import org.kie.kogito.serialization.process.impl.ProtobufProcessInstanceMarshallerFactory;
+import org.kie.kogito.serialization.process.protobuf.KogitoProcessInstanceProtobuf;
+import org.kie.kogito.services.uow.PassThroughUnitOfWork;
+import org.kie.kogito.uow.UnitOfWork;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.protobuf.ByteString;
+
+/**
+ * Marshalls process instances with the strategies and context entries given to its {@link Builder}. Once built it is
+ * immutable and can be shared by several threads, each of them reusing its own output buffer.
+ * The {@link ProcessInstanceMarshallerListener}s found on the classpath, if any, are notified of the time taken by
+ * each (un)marshalling and of the size of the marshalled process instance.
+ */
 public class ProcessInstanceMarshallerService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceMarshallerService.class);
 
+    // buffers grown above this size by a large process instance are not kept for reuse, so that each thread retains
+    // at most a small buffer, however many threads marshall process instances
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final ThreadLocal<ProtobufMessageOutputStream> BUFFERS = new ThreadLocal<>();
+
     private List<ObjectMarshallerStrategy> strats;
 
+    private ObjectMarshallerStrategy[] strategies;
+
     private Map<MarshallerContextName<Object>, Object> contextEntries;
 
     private ProcessInstanceMarshallerFactory processInstanceMarshallerFactory;
 
+    private ProcessInstanceMarshallerListener[] listeners;
+
     public class Builder {
 
         public Builder() {
@@ -76,8 +103,16 @@ public class ProcessInstanceMarshallerService {
             return this;
         }
 
+        public Builder withProcessInstanceMarshallerListeners(ProcessInstanceMarshallerListener... listeners) {
+            List<ProcessInstanceMarshallerListener> all = new ArrayList<>(Arrays.asList(ProcessInstanceMarshallerService.this.listeners));
+            all.addAll(Arrays.asList(listeners));
+            ProcessInstanceMarshallerService.this.listeners = all.toArray(new ProcessInstanceMarshallerListener[all.size()]);
+            return this;
+        }
+
         public ProcessInstanceMarshallerService build() {
             Collections.sort(ProcessInstanceMarshallerService.this.strats);
+            ProcessInstanceMarshallerService.this.strategies = strats.toArray(new ObjectMarshallerStrategy[strats.size()]);
             return ProcessInstanceMarshallerService.this;
         }
 
@@ -90,10 +125,13 @@ public class ProcessInstanceMarshallerService {
     private ProcessInstanceMarshallerService() {
         this.strats = new ArrayList<>();
         this.contextEntries = new HashMap<>();
+        List<ProcessInstanceMarshallerListener> loaded = new ArrayList<>();
+        ServiceLoader.load(ProcessInstanceMarshallerListener.class).forEach(loaded::add);
+        this.listeners = loaded.toArray(new ProcessInstanceMarshallerListener[loaded.size()]);
     }
 
     protected void setupEnvironment(MarshallerContext env) {
-        env.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, strats.toArray(new ObjectMarshallerStrategy[strats.size()]));
+        env.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, strategies);
 
         for (Map.Entry<MarshallerContextName<Object>, Object> entry : contextEntries.entrySet()) {
             env.set(entry.getKey(), entry.getValue());
@@ -101,25 +139,79 @@ public class ProcessInstanceMarshallerService {
     }
 
     public byte[] marshallProcessInstance(ProcessInstance<?> processInstance) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            MarshallerWriterContext context = processInstanceMarshallerFactory.newWriterContext(baos);
+        return marshallProcessInstance(processInstance, ProtobufMessageOutputStream::toByteArray);
+    }
+
+    /**
+     * Same as {@link #marshallProcessInstance(ProcessInstance)} but returns an immutable {@link ByteString} that
+     * can be handed to drivers accepting a {@link java.nio.ByteBuffer} through {@link ByteString#asReadOnlyByteBuffer()}
+     * without copying it again.
+     */
+    public ByteString marshallProcessInstanceToByteString(ProcessInstance<?> processInstance) {
+        return marshallProcessInstance(processInstance, ProtobufMessageOutputStream::toByteString);
+    }
+
+    private <R> R marshallProcessInstance(ProcessInstance<?> processInstance, Function<ProtobufMessageOutputStream, R> result) {
+        long start = listeners.length > 0 ? System.nanoTime() : 0L;
+        ProtobufMessageOutputStream output = acquireBuffer();
+        try {
+            MarshallerWriterContext context = processInstanceMarshallerFactory.newWriterContext(output);
             setupEnvironment(context);
             org.kie.kogito.serialization.process.ProcessInstanceMarshaller marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
             marshaller.writeProcessInstance(context, processInstance);
-            return baos.toByteArray();
+            R marshalled = result.apply(output);
+            if (listeners.length > 0) {
+                long duration = System.nanoTime() - start;
+                for (ProcessInstanceMarshallerListener listener : listeners) {
+                    listener.afterMarshal(processInstance.process().id(), duration, output.size());
+                }
+            }
+            return marshalled;
         } catch (Exception e) {
             throw new ProcessInstanceMarshallerException("Error while marshalling process instance", e);
+        } finally {
+            releaseBuffer(output);
+        }
+    }
+
+    private static ProtobufMessageOutputStream acquireBuffer() {
+        ProtobufMessageOutputStream buffer = BUFFERS.get();
+        if (buffer == null) {
+            return new ProtobufMessageOutputStream();
+        }
+        // a marshalling nested in this one gets its own buffer
+        BUFFERS.set(null);
+        return buffer;
+    }
+
+    private static void releaseBuffer(ProtobufMessageOutputStream buffer) {
+        if (buffer.capacity() <= MAX_RETAINED_BUFFER_SIZE) {
+            buffer.reset();
+            BUFFERS.set(buffer);
         }
     }
 
     public ProcessInstance<?> unmarshallProcessInstance(byte[] data, Process<?> process, boolean readOnly) {
+        return unmarshallProcessInstance(data, process, readOnly ? ProcessInstanceReadMode.READ_ONLY : ProcessInstanceReadMode.MUTABLE);
+    }
+
+    public ProcessInstance<?> unmarshallProcessInstance(byte[] data, Process<?> process, ProcessInstanceReadMode mode) {
+        long start = listeners.length > 0 ? System.nanoTime() : 0L;
         try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
             MarshallerReaderContext context = processInstanceMarshallerFactory.newReaderContext(bais);
             context.set(MarshallerContextName.MARSHALLER_PROCESS, process);
-            context.set(MarshallerContextName.MARSHALLER_INSTANCE_READ_ONLY, readOnly);
+            context.set(MarshallerContextName.MARSHALLER_INSTANCE_READ_ONLY, mode != ProcessInstanceReadMode.MUTABLE);
+            context.set(MarshallerContextName.MARSHALLER_INSTANCE_VARIABLES_ONLY, mode == ProcessInstanceReadMode.VARIABLES_ONLY);
             setupEnvironment(context);
             org.kie.kogito.serialization.process.ProcessInstanceMarshaller marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
-            return (ProcessInstance<?>) marshaller.readProcessInstance(context);
+            ProcessInstance<?> processInstance = (ProcessInstance<?>) marshaller.readProcessInstance(context);
+            if (listeners.length > 0) {
+                long duration = System.nanoTime() - start;
+                for (ProcessInstanceMarshallerListener listener : listeners) {
+                    listener.afterUnmarshal(process.id(), duration, data.length);
+                }
+            }
+            return processInstance;
         } catch (Exception e) {
             throw new ProcessInstanceMarshallerException("Error while unmarshalling process instance", e);
         }
@@ -133,6 +225,68 @@ public class ProcessInstanceMarshallerService {
         return unmarshallProcessInstance(data, process, true);
     }
 
+    /**
+     * Returns the changes from the stored state of a process instance to its current state, both as returned by
+     * {@link #marshallProcessInstance(ProcessInstance)}. Only the variables and node instances that differ are kept,
+     * so for long running instances with large variables the delta is usually a small fraction of the state.
+     */
+    public byte[] marshallProcessInstanceDelta(byte[] stored, byte[] current) {
+        checkDeltaSupport();
+        try {
+            return ProtobufProcessInstanceDelta.diff(KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(stored),
+                    KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(current));
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error while computing process instance delta", e);
+        }
+    }
+
+    /**
+     * Applies in order the deltas returned by {@link #marshallProcessInstanceDelta(byte[], byte[])} to the stored
+     * state of a process instance, giving back a state that can be unmarshalled or stored as a new snapshot.
+     */
+    public byte[] applyProcessInstanceDeltas(byte[] stored, List<byte[]> deltas) {
+        if (deltas.isEmpty()) {
+            return stored;
+        }
+        checkDeltaSupport();
+        try {
+            KogitoProcessInstanceProtobuf.ProcessInstance state = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(stored);
+            for (byte[] delta : deltas) {
+                state = ProtobufProcessInstanceDelta.apply(state, delta);
+            }
+            return state.toByteArray();
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error while applying process instance deltas", e);
+        }
+    }
+
+    private void checkDeltaSupport() {
+        if ("json".equals(contextEntries.get(MarshallerContextName.MARSHALLER_FORMAT))) {
+            throw new ProcessInstanceMarshallerException("Process instance deltas are not supported by the json format");
+        }
+    }
+
+    /**
+     * Creates the reload function of a process instance that has just been written with the given data. The data is
+     * reused as long as the unit of work that wrote it is the current one; afterwards the instance is read from the
+     * storage, so a handle kept across units of work does not resume from a state another writer has replaced.
+     * Without a unit of work every write is performed on its own, hence the storage is always read.
+     *
+     * @param instance process instance that has been written
+     * @param data data that has been written
+     * @param storageSupplier reads the data of the process instance from the storage
+     * @return reload function to disconnect the process instance with
+     */
+    public Consumer<AbstractProcessInstance<?>> createdReloadFunction(ProcessInstance<?> instance, byte[] data, Supplier<byte[]> storageSupplier) {
+        UnitOfWork writer = ((AbstractProcessInstance<?>) instance).internalGetUnitOfWork();
+        if (writer == null || writer instanceof PassThroughUnitOfWork) {
+            return createdReloadFunction(storageSupplier);
+        }
+        Consumer<AbstractProcessInstance<?>> fromData = createdReloadFunction(() -> data);
+        Consumer<AbstractProcessInstance<?>> fromStorage = createdReloadFunction(storageSupplier);
+        return processInstance -> (processInstance.internalGetUnitOfWork() == writer ? fromData : fromStorage).accept(processInstance);
+    }
+
     public Consumer<AbstractProcessInstance<?>> createdReloadFunction(Supplier<byte[]> dataSupplier) {
         return (processInstance) -> {
             byte[] data = dataSupplier.get();
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.serialization.process.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+
+/**
+ * Output stream backed by a growable array that can be reset and reused. Protobuf messages are written straight
+ * into the array, which is grown once to their serialized size, instead of going through an intermediate buffer.
+ * Not thread safe.
+ */
+public class ProtobufMessageOutputStream extends OutputStream {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private byte[] buffer;
+    private int count;
+
+    public ProtobufMessageOutputStream() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ProtobufMessageOutputStream(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    public void writeMessage(MessageLite message) throws IOException {
+        int size = message.getSerializedSize();
+        ensureCapacity(count + size);
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer, count, size);
+        message.writeTo(out);
+        out.checkNoSpaceLeft();
+        count += size;
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buffer, count, len);
+        count += len;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    public void reset() {
+        count = 0;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    public ByteString toByteString() {
+        return ByteString.copyFrom(buffer, 0, count);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, capacity));
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.serialization.process.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.kie.kogito.serialization.process.protobuf.KogitoProcessInstanceProtobuf;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.WireFormat;
+
+/**
+ * Computes and applies the changes between two states of a process instance stored in the protobuf format.
+ * A delta is a message with the following fields:
+ * <ol>
+ * <li>the process instance without its variables, node instances and completed node ids</li>
+ * <li>names of the removed variables</li>
+ * <li>added or changed variables</li>
+ * <li>ids of the removed node instances</li>
+ * <li>added or changed node instances</li>
+ * <li>completed node ids appended to the stored ones</li>
+ * <li>bit mask of the lists above written in full, because their order changed</li>
+ * </ol>
+ * Applying a delta to the state it was computed from gives back exactly the state it was computed for.
+ */
+public final class ProtobufProcessInstanceDelta {
+
+    private static final int HEADER = 1;
+    private static final int REMOVED_VARIABLE = 2;
+    private static final int VARIABLE = 3;
+    private static final int REMOVED_NODE_INSTANCE = 4;
+    private static final int NODE_INSTANCE = 5;
+    private static final int COMPLETED_NODE_ID = 6;
+    private static final int REPLACED = 7;
+
+    private static final int VARIABLES_REPLACED = 1;
+    private static final int NODE_INSTANCES_REPLACED = 2;
+    private static final int COMPLETED_NODE_IDS_REPLACED = 4;
+
+    private ProtobufProcessInstanceDelta() {
+    }
+
+    public static byte[] diff(KogitoProcessInstanceProtobuf.ProcessInstance stored, KogitoProcessInstanceProtobuf.ProcessInstance current) throws IOException {
+        KogitoTypesProtobuf.WorkflowContext storedContext = stored.getContext();
+        KogitoTypesProtobuf.WorkflowContext currentContext = current.getContext();
+
+        KogitoProcessInstanceProtobuf.ProcessInstance.Builder header = current.toBuilder().clearCompletedNodeIds();
+        if (current.hasContext()) {
+            header.setContext(currentContext.toBuilder().clearVariable().clearNodeInstance());
+        }
+
+        ProtobufMessageOutputStream buffer = new ProtobufMessageOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        out.writeMessage(HEADER, header.build());
+        int replaced = 0;
+        if (writeChanges(out, storedContext.getVariableList(), currentContext.getVariableList(), KogitoTypesProtobuf.Variable::getName, REMOVED_VARIABLE, VARIABLE)) {
+            replaced |= VARIABLES_REPLACED;
+        }
+        if (writeChanges(out, storedContext.getNodeInstanceList(), currentContext.getNodeInstanceList(), KogitoTypesProtobuf.NodeInstance::getId, REMOVED_NODE_INSTANCE,
+                NODE_INSTANCE)) {
+            replaced |= NODE_INSTANCES_REPLACED;
+        }
+        List<String> storedIds = stored.getCompletedNodeIdsList();
+        List<String> currentIds = current.getCompletedNodeIdsList();
+        boolean appended = currentIds.size() >= storedIds.size() && currentIds.subList(0, storedIds.size()).equals(storedIds);
+        for (String id : appended ? currentIds.subList(storedIds.size(), currentIds.size()) : currentIds) {
+            out.writeString(COMPLETED_NODE_ID, id);
+        }
+        if (!appended) {
+            replaced |= COMPLETED_NODE_IDS_REPLACED;
+        }
+        if (replaced != 0) {
+            out.writeUInt32(REPLACED, replaced);
+        }
+        out.flush();
+        return buffer.toByteArray();
+    }
+
+    public static KogitoProcessInstanceProtobuf.ProcessInstance apply(KogitoProcessInstanceProtobuf.ProcessInstance stored, byte[] delta) throws IOException {
+        Map<String, KogitoTypesProtobuf.Variable> variables = index(stored.getContext().getVariableList(), KogitoTypesProtobuf.Variable::getName);
+        Map<String, KogitoTypesProtobuf.NodeInstance> nodeInstances = index(stored.getContext().getNodeInstanceList(), KogitoTypesProtobuf.NodeInstance::getId);
+        Map<String, KogitoTypesProtobuf.Variable> changedVariables = new LinkedHashMap<>();
+        Map<String, KogitoTypesProtobuf.NodeInstance> changedNodeInstances = new LinkedHashMap<>();
+        List<String> completedNodeIds = new ArrayList<>();
+        KogitoProcessInstanceProtobuf.ProcessInstance header = null;
+        int replaced = 0;
+
+        CodedInputStream in = CodedInputStream.newInstance(delta);
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case HEADER:
+                    header = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(in.readBytes());
+                    break;
+                case REMOVED_VARIABLE:
+                    variables.remove(in.readString());
+                    break;
+                case VARIABLE:
+                    KogitoTypesProtobuf.Variable variable = KogitoTypesProtobuf.Variable.parseFrom(in.readBytes());
+                    changedVariables.put(variable.getName(), variable);
+                    break;
+                case REMOVED_NODE_INSTANCE:
+                    nodeInstances.remove(in.readString());
+                    break;
+                case NODE_INSTANCE:
+                    KogitoTypesProtobuf.NodeInstance nodeInstance = KogitoTypesProtobuf.NodeInstance.parseFrom(in.readBytes());
+                    changedNodeInstances.put(nodeInstance.getId(), nodeInstance);
+                    break;
+                case COMPLETED_NODE_ID:
+                    completedNodeIds.add(in.readString());
+                    break;
+                case REPLACED:
+                    replaced = in.readUInt32();
+                    break;
+                default:
+                    in.skipField(tag);
+            }
+        }
+        if (header == null) {
+            throw new IOException("Process instance delta without header");
+        }
+
+        KogitoProcessInstanceProtobuf.ProcessInstance.Builder result = header.toBuilder();
+        if ((replaced & COMPLETED_NODE_IDS_REPLACED) == 0) {
+            result.addAllCompletedNodeIds(stored.getCompletedNodeIdsList());
+        }
+        result.addAllCompletedNodeIds(completedNodeIds);
+        if (header.hasContext()) {
+            result.setContext(header.getContext().toBuilder()
+                    .addAllVariable(merge(variables, changedVariables, (replaced & VARIABLES_REPLACED) != 0))
+                    .addAllNodeInstance(merge(nodeInstances, changedNodeInstances, (replaced & NODE_INSTANCES_REPLACED) != 0)));
+        }
+        return result.build();
+    }
+
+    /**
+     * Writes the entries of the current list that are new or differ from the stored ones, along with the keys of the
+     * removed entries. When the entries kept from the stored list changed order, or new entries are not at its end,
+     * the whole current list is written instead and {@code true} is returned.
+     */
+    private static <T extends MessageLite> boolean writeChanges(CodedOutputStream out, List<T> stored, List<T> current, Function<T, String> key, int removedField,
+            int changedField) throws IOException {
+        Map<String, T> storedByKey = index(stored, key);
+        Set<String> currentKeys = new HashSet<>();
+        for (T entry : current) {
+            currentKeys.add(key.apply(entry));
+        }
+
+        boolean inOrder = true;
+        Iterator<T> kept = stored.stream().filter(entry -> currentKeys.contains(key.apply(entry))).iterator();
+        for (T entry : current) {
+            if (storedByKey.containsKey(key.apply(entry))) {
+                inOrder &= kept.hasNext() && key.apply(kept.next()).equals(key.apply(entry));
+            } else {
+                // all stored entries still present must come before the new ones
+                inOrder &= !kept.hasNext();
+            }
+        }
+
+        for (T entry : stored) {
+            if (inOrder && !currentKeys.contains(key.apply(entry))) {
+                out.writeString(removedField, key.apply(entry));
+            }
+        }
+        for (T entry : current) {
+            if (!inOrder || !entry.equals(storedByKey.get(key.apply(entry)))) {
+                out.writeMessage(changedField, entry);
+            }
+        }
+        return !inOrder;
+    }
+
+    private static <T> List<T> merge(Map<String, T> stored, Map<String, T> changed, boolean replaced) {
+        if (replaced) {
+            return new ArrayList<>(changed.values());
+        }
+        for (Map.Entry<String, T> entry : changed.entrySet()) {
+            // replacing a value keeps its position, new ones are appended
+            stored.put(entry.getKey(), entry.getValue());
+        }
+        return new ArrayList<>(stored.values());
+    }
+
+    private static <T> Map<String, T> index(List<T> entries, Function<T, String> key) {
+        Map<String, T> result = new LinkedHashMap<>();
+        for (T entry : entries) {
+            result.put(key.apply(entry), entry);
+        }
+        return result;
+    }
+}
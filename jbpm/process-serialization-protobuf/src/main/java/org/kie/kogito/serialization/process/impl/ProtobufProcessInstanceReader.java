@@ -88,6 +88,8 @@ import static org.kie.kogito.serialization.process.protobuf.ProtobufTypeRegistry
 
 public class ProtobufProcessInstanceReader {
 
+    private static final JsonFormat.Parser JSON_PARSER = JsonFormat.parser().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create()).ignoringUnknownFields();
+
     private RuleFlowProcessInstance ruleFlowProcessInstance;
     private MarshallerReaderContext context;
     private ProtobufVariableReader varReader;
@@ -104,7 +106,7 @@ public class ProtobufProcessInstanceReader {
         String format = (String) this.context.get(MarshallerContextName.MARSHALLER_FORMAT);
         if (format != null && "json".equals(format)) {
             KogitoProcessInstanceProtobuf.ProcessInstance.Builder builder = KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder();
-            JsonFormat.parser().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create()).ignoringUnknownFields().merge(new InputStreamReader(input), builder);
+            JSON_PARSER.merge(new InputStreamReader(input), builder);
             processInstanceProtobuf = builder.build();
         } else {
             processInstanceProtobuf = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(input);
@@ -148,6 +150,13 @@ public class ProtobufProcessInstanceReader {
 
         processInstance.setReferenceId(processInstanceProtobuf.getReferenceId());
 
+        WorkflowContext workflowContext = processInstanceProtobuf.getContext();
+        if (Boolean.TRUE.equals(context.get(MarshallerContextName.MARSHALLER_INSTANCE_VARIABLES_ONLY))) {
+            // node instances are left packed, only the process variables are needed
+            buildVariables(processInstance, workflowContext);
+            return processInstance;
+        }
+
         if (processInstanceProtobuf.getSwimlaneContextCount() > 0) {
             SwimlaneContextInstance swimlaneContextInstance = (SwimlaneContextInstance) processInstance.getContextInstance(SwimlaneContext.SWIMLANE_SCOPE);
             for (KogitoTypesProtobuf.SwimlaneContext _swimlane : processInstanceProtobuf.getSwimlaneContextList()) {
@@ -155,7 +164,6 @@ public class ProtobufProcessInstanceReader {
             }
         }
 
-        WorkflowContext workflowContext = processInstanceProtobuf.getContext();
         for (KogitoTypesProtobuf.NodeInstance nodeInstanceProtobuf : workflowContext.getNodeInstanceList()) {
             NodeInstanceImpl nodeInstanceImpl = buildNodeInstance(nodeInstanceProtobuf.getContent());
             nodeInstanceImpl.setProcessInstance(processInstance);
@@ -178,11 +186,7 @@ public class ProtobufProcessInstanceReader {
             processInstance.addContextInstance(ExclusiveGroup.EXCLUSIVE_GROUP, buildExclusiveGroupInstance(group, finder));
         }
 
-        processInstance.addContextInstance(VariableScope.VARIABLE_SCOPE, new VariableScopeInstance());
-        if (workflowContext.getVariableCount() > 0) {
-            VariableScopeInstance variableScopeInstance = (VariableScopeInstance) processInstance.getContextInstance(VariableScope.VARIABLE_SCOPE);
-            varReader.buildVariables(workflowContext.getVariableList()).forEach(v -> variableScopeInstance.internalSetVariable(v.getName(), v.getValue()));
-        }
+        buildVariables(processInstance, workflowContext);
 
         if (workflowContext.getIterationLevelsCount() > 0) {
             processInstance.getIterationLevels().putAll(buildIterationLevels(workflowContext.getIterationLevelsList()));
@@ -191,6 +195,14 @@ public class ProtobufProcessInstanceReader {
         return processInstance;
     }
 
+    private void buildVariables(RuleFlowProcessInstance processInstance, WorkflowContext workflowContext) {
+        processInstance.addContextInstance(VariableScope.VARIABLE_SCOPE, new VariableScopeInstance());
+        if (workflowContext.getVariableCount() > 0) {
+            VariableScopeInstance variableScopeInstance = (VariableScopeInstance) processInstance.getContextInstance(VariableScope.VARIABLE_SCOPE);
+            varReader.buildVariables(workflowContext.getVariableList()).forEach(v -> variableScopeInstance.internalSetVariable(v.getName(), v.getValue()));
+        }
+    }
+
     protected NodeInstanceImpl buildNodeInstance(com.google.protobuf.Any nodeContentProtobuf) {
         try {
             if (nodeContentProtobuf.is(RuleSetNodeInstanceContent.class)) {
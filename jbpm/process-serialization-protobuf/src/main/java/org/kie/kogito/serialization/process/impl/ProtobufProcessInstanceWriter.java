@@ -86,6 +86,8 @@ import static org.kie.kogito.serialization.process.protobuf.ProtobufTypeRegistry
 
 public class ProtobufProcessInstanceWriter {
 
+    private static final JsonFormat.Printer JSON_PRINTER = JsonFormat.printer().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create());
+
     private MarshallerWriterContext context;
     private ProtobufVariableWriter varWriter;
 
@@ -149,7 +151,9 @@ public class ProtobufProcessInstanceWriter {
 
         String format = (String) this.context.get(MARSHALLER_FORMAT);
         if (format != null && "json".equals(format)) {
-            os.write(JsonFormat.printer().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create()).print(piProtobuf).getBytes());
+            os.write(JSON_PRINTER.print(piProtobuf).getBytes());
+        } else if (os instanceof ProtobufMessageOutputStream) {
+            ((ProtobufMessageOutputStream) os).writeMessage(piProtobuf);
         } else {
             piProtobuf.writeTo(os);
         }
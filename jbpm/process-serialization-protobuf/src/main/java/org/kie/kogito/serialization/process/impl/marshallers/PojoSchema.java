@@ -0,0 +1,391 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.serialization.process.impl.marshallers;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerException;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+/**
+ * Describes the state of a plain java object as the list of its bean properties, sorted by name.
+ * A class has a schema only when every non static, non transient field of its hierarchy is exposed as a
+ * read/write property of a supported type, so that writing the properties preserves the whole state of the object.
+ */
+final class PojoSchema {
+
+    enum Kind {
+        BOOLEAN(WireFormat.WIRETYPE_VARINT),
+        BYTE(WireFormat.WIRETYPE_VARINT),
+        SHORT(WireFormat.WIRETYPE_VARINT),
+        CHARACTER(WireFormat.WIRETYPE_VARINT),
+        INTEGER(WireFormat.WIRETYPE_VARINT),
+        LONG(WireFormat.WIRETYPE_VARINT),
+        FLOAT(WireFormat.WIRETYPE_FIXED32),
+        DOUBLE(WireFormat.WIRETYPE_FIXED64),
+        STRING(WireFormat.WIRETYPE_LENGTH_DELIMITED),
+        DATE(WireFormat.WIRETYPE_VARINT),
+        ENUM(WireFormat.WIRETYPE_LENGTH_DELIMITED),
+        BIG_DECIMAL(WireFormat.WIRETYPE_LENGTH_DELIMITED),
+        BIG_INTEGER(WireFormat.WIRETYPE_LENGTH_DELIMITED),
+        POJO(WireFormat.WIRETYPE_LENGTH_DELIMITED),
+        COLLECTION(WireFormat.WIRETYPE_LENGTH_DELIMITED);
+
+        private final int wireType;
+
+        Kind(int wireType) {
+            this.wireType = wireType;
+        }
+
+        int wireType() {
+            return wireType;
+        }
+    }
+
+    private static final Map<Class<?>, Kind> SIMPLE_KINDS = new HashMap<>();
+
+    static {
+        SIMPLE_KINDS.put(boolean.class, Kind.BOOLEAN);
+        SIMPLE_KINDS.put(Boolean.class, Kind.BOOLEAN);
+        SIMPLE_KINDS.put(byte.class, Kind.BYTE);
+        SIMPLE_KINDS.put(Byte.class, Kind.BYTE);
+        SIMPLE_KINDS.put(short.class, Kind.SHORT);
+        SIMPLE_KINDS.put(Short.class, Kind.SHORT);
+        SIMPLE_KINDS.put(char.class, Kind.CHARACTER);
+        SIMPLE_KINDS.put(Character.class, Kind.CHARACTER);
+        SIMPLE_KINDS.put(int.class, Kind.INTEGER);
+        SIMPLE_KINDS.put(Integer.class, Kind.INTEGER);
+        SIMPLE_KINDS.put(long.class, Kind.LONG);
+        SIMPLE_KINDS.put(Long.class, Kind.LONG);
+        SIMPLE_KINDS.put(float.class, Kind.FLOAT);
+        SIMPLE_KINDS.put(Float.class, Kind.FLOAT);
+        SIMPLE_KINDS.put(double.class, Kind.DOUBLE);
+        SIMPLE_KINDS.put(Double.class, Kind.DOUBLE);
+        SIMPLE_KINDS.put(String.class, Kind.STRING);
+        SIMPLE_KINDS.put(Date.class, Kind.DATE);
+        SIMPLE_KINDS.put(BigDecimal.class, Kind.BIG_DECIMAL);
+        SIMPLE_KINDS.put(BigInteger.class, Kind.BIG_INTEGER);
+    }
+
+    private static final Set<String> SERIALIZATION_HOOKS = new HashSet<>(Arrays.asList("writeObject", "readObject", "readObjectNoData", "writeReplace", "readResolve"));
+
+    private static final ClassValue<Optional<PojoSchema>> SCHEMAS = new ClassValue<Optional<PojoSchema>>() {
+
+        @Override
+        protected Optional<PojoSchema> computeValue(Class<?> type) {
+            return Optional.ofNullable(new Builder().build(type));
+        }
+    };
+
+    static Optional<PojoSchema> of(Class<?> type) {
+        return SCHEMAS.get(type);
+    }
+
+    private final Class<?> type;
+    private final Constructor<?> constructor;
+    private final List<Property> properties = new ArrayList<>();
+    private final Map<String, Property> propertiesByName = new HashMap<>();
+    private byte[] header;
+
+    private PojoSchema(Class<?> type, Constructor<?> constructor) {
+        this.type = type;
+        this.constructor = constructor;
+    }
+
+    Class<?> type() {
+        return type;
+    }
+
+    List<Property> properties() {
+        return properties;
+    }
+
+    Property property(String name) {
+        return propertiesByName.get(name);
+    }
+
+    /**
+     * The names of the properties of this class, followed by the names and properties of every class reachable from it, written ahead of the values
+     * so that a reader can match the stored fields by name even if the classes changed in the meantime.
+     */
+    byte[] header() {
+        return header;
+    }
+
+    Object newInstance() {
+        try {
+            return constructor.newInstance();
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new ProcessInstanceMarshallerException("Cannot create an instance of " + type.getName(), e);
+        }
+    }
+
+    static final class ValueType {
+
+        private final Kind kind;
+        private final Class<?> javaType;
+        private final PojoSchema schema;
+        private final ValueType element;
+
+        private ValueType(Kind kind, Class<?> javaType, PojoSchema schema, ValueType element) {
+            this.kind = kind;
+            this.javaType = javaType;
+            this.schema = schema;
+            this.element = element;
+        }
+
+        Kind kind() {
+            return kind;
+        }
+
+        Class<?> javaType() {
+            return javaType;
+        }
+
+        PojoSchema schema() {
+            return schema;
+        }
+
+        ValueType element() {
+            return element;
+        }
+
+        Collection<Object> newCollection() {
+            return javaType == Set.class ? new LinkedHashSet<>() : new ArrayList<>();
+        }
+    }
+
+    static final class Property {
+
+        private final String name;
+        private final Method getter;
+        private final Method setter;
+        private final ValueType type;
+        private final boolean primitive;
+
+        private Property(String name, Method getter, Method setter, ValueType type, boolean primitive) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+            this.type = type;
+            this.primitive = primitive;
+        }
+
+        String name() {
+            return name;
+        }
+
+        ValueType type() {
+            return type;
+        }
+
+        boolean isPrimitive() {
+            return primitive;
+        }
+
+        Object get(Object instance) {
+            try {
+                return getter.invoke(instance);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new ProcessInstanceMarshallerException("Cannot read property " + name + " of " + instance.getClass().getName(), e);
+            }
+        }
+
+        void set(Object instance, Object value) {
+            try {
+                setter.invoke(instance, value);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new ProcessInstanceMarshallerException("Cannot write property " + name + " of " + instance.getClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Builds the schemas of a class and of all the classes reachable from it. Any class without a schema makes
+     * the whole graph unsupported.
+     */
+    private static class Builder {
+
+        private final Map<Class<?>, PojoSchema> schemas = new LinkedHashMap<>();
+
+        PojoSchema build(Class<?> root) {
+            PojoSchema schema = schema(root);
+            if (schema != null) {
+                schema.header = header(schemas.values());
+            }
+            return schema;
+        }
+
+        private PojoSchema schema(Class<?> type) {
+            PojoSchema schema = schemas.get(type);
+            if (schema != null) {
+                return schema;
+            }
+            Constructor<?> constructor = constructor(type);
+            if (constructor == null) {
+                return null;
+            }
+            schema = new PojoSchema(type, constructor);
+            schemas.put(type, schema);
+
+            Map<String, PropertyDescriptor> descriptors = new HashMap<>();
+            try {
+                BeanInfo info = Introspector.getBeanInfo(type, Object.class);
+                for (PropertyDescriptor descriptor : info.getPropertyDescriptors()) {
+                    descriptors.put(descriptor.getName(), descriptor);
+                }
+            } catch (IntrospectionException e) {
+                return null;
+            }
+
+            for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+                if (declaresSerializationHooks(current)) {
+                    return null;
+                }
+                for (Field field : current.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    Property property = property(field, descriptors.get(field.getName()));
+                    if (property == null || schema.propertiesByName.putIfAbsent(property.name(), property) != null) {
+                        return null;
+                    }
+                    schema.properties.add(property);
+                }
+            }
+            schema.properties.sort(Comparator.comparing(Property::name));
+            return schema;
+        }
+
+        private Property property(Field field, PropertyDescriptor descriptor) {
+            if (descriptor == null || descriptor.getReadMethod() == null || descriptor.getWriteMethod() == null || !field.getType().equals(descriptor.getPropertyType())) {
+                return null;
+            }
+            ValueType type = valueType(field.getType(), field.getGenericType());
+            if (type == null) {
+                return null;
+            }
+            return new Property(field.getName(), descriptor.getReadMethod(), descriptor.getWriteMethod(), type, field.getType().isPrimitive());
+        }
+
+        private ValueType valueType(Class<?> type, Type genericType) {
+            Kind kind = SIMPLE_KINDS.get(type);
+            if (kind != null) {
+                return new ValueType(kind, type, null, null);
+            }
+            if (type.isEnum()) {
+                return new ValueType(Kind.ENUM, type, null, null);
+            }
+            if (type == List.class || type == Set.class || type == Collection.class) {
+                if (!(genericType instanceof ParameterizedType)) {
+                    return null;
+                }
+                Type argument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+                if (!(argument instanceof Class)) {
+                    return null;
+                }
+                ValueType element = valueType((Class<?>) argument, argument);
+                return element == null || element.kind() == Kind.COLLECTION ? null : new ValueType(Kind.COLLECTION, type, null, element);
+            }
+            PojoSchema schema = schema(type);
+            return schema == null ? null : new ValueType(Kind.POJO, type, schema, null);
+        }
+
+        private Constructor<?> constructor(Class<?> type) {
+            int modifiers = type.getModifiers();
+            if (type.isPrimitive() || type.isArray() || type.isInterface() || type.isEnum() || type.isAnonymousClass() || type.isLocalClass()
+                    || !Modifier.isPublic(modifiers) || Modifier.isAbstract(modifiers) || (type.isMemberClass() && !Modifier.isStatic(modifiers))
+                    || Externalizable.class.isAssignableFrom(type) || type.getName().startsWith("java.") || type.getName().startsWith("javax.")) {
+                return null;
+            }
+            try {
+                return type.getConstructor();
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        private boolean declaresSerializationHooks(Class<?> type) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (SERIALIZATION_HOOKS.contains(method.getName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private byte[] header(Collection<PojoSchema> schemas) {
+            try {
+                ByteString.Output buffer = ByteString.newOutput();
+                CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+                out.writeUInt32NoTag(schemas.size());
+                boolean root = true;
+                for (PojoSchema schema : schemas) {
+                    // the class of the root is already known to the reader
+                    if (!root) {
+                        out.writeStringNoTag(schema.type().getName());
+                    }
+                    root = false;
+                    out.writeUInt32NoTag(schema.properties().size());
+                    for (Property property : schema.properties()) {
+                        out.writeStringNoTag(property.name());
+                    }
+                }
+                out.flush();
+                return buffer.toByteString().toByteArray();
+            } catch (IOException e) {
+                throw new ProcessInstanceMarshallerException("Cannot write the schema of " + schemas, e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PojoSchema [type=" + type.getName() + ", properties=" + propertiesByName.keySet() + "]";
+    }
+}
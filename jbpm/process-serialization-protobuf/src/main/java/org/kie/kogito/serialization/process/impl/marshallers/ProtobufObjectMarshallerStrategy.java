@@ -33,9 +33,11 @@ import com.google.protobuf.InvalidProtocolBufferException;
 
 public class ProtobufObjectMarshallerStrategy implements ObjectMarshallerStrategy {
 
+    private static final String TYPE_URL_PREFIX = "type.googleapis.com/";
+
     @Override
     public Integer order() {
-        return 1;
+        return 0;
     }
 
     @Override
@@ -45,7 +47,9 @@ public class ProtobufObjectMarshallerStrategy implements ObjectMarshallerStrateg
 
     @Override
     public boolean acceptForUnmarshalling(Object value) {
-        return ((Any) value).is(BytesValue.class);
+        // other strategies may wrap their own formats in a BytesValue, those are published under a different prefix
+        Any data = (Any) value;
+        return data.is(BytesValue.class) && data.getTypeUrl().startsWith(TYPE_URL_PREFIX);
     }
 
     @Override
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.serialization.process.impl.marshallers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kie.kogito.serialization.process.ObjectMarshallerStrategy;
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerException;
+import org.kie.kogito.serialization.process.impl.marshallers.PojoSchema.Property;
+import org.kie.kogito.serialization.process.impl.marshallers.PojoSchema.ValueType;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+/**
+ * Writes plain java objects property by property in the protobuf wire format, following the {@link PojoSchema} of
+ * their class instead of relying on java serialization. The names of the properties are stored once per class ahead
+ * of the values, so properties added, removed or reordered in the class after the value was stored are tolerated.
+ * <p>
+ * Object graphs that cannot be described by the schema of their classes (shared or cyclic references, subclasses
+ * or null elements in collections) are handed over to {@link ProtobufObjectMarshallerStrategy}.
+ */
+public class ProtobufPojoMarshallerStrategy implements ObjectMarshallerStrategy {
+
+    private static final String NAMESPACE = "org.kie.kogito.pojo/";
+
+    // the values are wrapped in a BytesValue whose name closes the type url, so they can be printed as json
+    private static final String WRAPPER_TYPE = "/" + BytesValue.getDescriptor().getFullName();
+
+    // nested objects are usually small, avoid allocating the default 4k buffers for each of them
+    private static final int NESTED_BUFFER_SIZE = 128;
+
+    private static final UnsupportedGraphException UNSUPPORTED_GRAPH = new UnsupportedGraphException();
+
+    private final ObjectMarshallerStrategy fallback = new ProtobufObjectMarshallerStrategy();
+
+    @Override
+    public Integer order() {
+        return 1;
+    }
+
+    @Override
+    public boolean acceptForMarshalling(Object value) {
+        return PojoSchema.of(value.getClass()).isPresent();
+    }
+
+    @Override
+    public boolean acceptForUnmarshalling(Object value) {
+        return ((Any) value).getTypeUrl().startsWith(NAMESPACE);
+    }
+
+    @Override
+    public Object marshall(Object unmarshalled) {
+        PojoSchema schema = PojoSchema.of(unmarshalled.getClass())
+                .orElseThrow(() -> new ProcessInstanceMarshallerException("No schema for class " + unmarshalled.getClass().getName()));
+        try {
+            ByteString.Output buffer = ByteString.newOutput();
+            CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+            out.writeRawBytes(schema.header());
+            writeMessage(out, schema, unmarshalled, Collections.newSetFromMap(new IdentityHashMap<>()));
+            out.flush();
+            return Any.newBuilder()
+                    .setTypeUrl(NAMESPACE + schema.type().getName() + WRAPPER_TYPE)
+                    .setValue(BytesValue.of(buffer.toByteString()).toByteString())
+                    .build();
+        } catch (UnsupportedGraphException e) {
+            return fallback.marshall(unmarshalled);
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Not possible to marshall value: " + unmarshalled, e);
+        }
+    }
+
+    @Override
+    public Object unmarshall(Object marshalled) {
+        Any data = (Any) marshalled;
+        String className = data.getTypeUrl().substring(NAMESPACE.length(), data.getTypeUrl().lastIndexOf('/'));
+        try {
+            PojoSchema schema = PojoSchema.of(Class.forName(className))
+                    .orElseThrow(() -> new ProcessInstanceMarshallerException("No schema for class " + className));
+            CodedInputStream in = BytesValue.parseFrom(data.getValue()).getValue().newCodedInput();
+            Map<String, String[]> header = new HashMap<>();
+            String[] names = readHeader(in, header);
+            return readMessage(in, schema, names, header);
+        } catch (IOException | ClassNotFoundException e) {
+            throw new ProcessInstanceMarshallerException("Unexpected error while trying to read object of class " + className, e);
+        }
+    }
+
+    private void writeMessage(CodedOutputStream out, PojoSchema schema, Object value, Set<Object> written) throws IOException {
+        if (!written.add(value)) {
+            throw UNSUPPORTED_GRAPH;
+        }
+        List<Property> properties = schema.properties();
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            Object propertyValue = property.get(value);
+            if (propertyValue != null) {
+                writeField(out, i + 1, property.type(), propertyValue, written);
+            }
+        }
+    }
+
+    private void writeField(CodedOutputStream out, int number, ValueType type, Object value, Set<Object> written) throws IOException {
+        switch (type.kind()) {
+            case BOOLEAN:
+                out.writeBool(number, (Boolean) value);
+                break;
+            case BYTE:
+                out.writeSInt32(number, (Byte) value);
+                break;
+            case SHORT:
+                out.writeSInt32(number, (Short) value);
+                break;
+            case CHARACTER:
+                out.writeUInt32(number, (Character) value);
+                break;
+            case INTEGER:
+                out.writeSInt32(number, (Integer) value);
+                break;
+            case LONG:
+                out.writeSInt64(number, (Long) value);
+                break;
+            case FLOAT:
+                out.writeFloat(number, (Float) value);
+                break;
+            case DOUBLE:
+                out.writeDouble(number, (Double) value);
+                break;
+            case STRING:
+                out.writeString(number, (String) value);
+                break;
+            case DATE:
+                checkExactType(type, value);
+                out.writeSInt64(number, ((Date) value).getTime());
+                break;
+            case ENUM:
+                out.writeString(number, ((Enum<?>) value).name());
+                break;
+            case BIG_DECIMAL:
+            case BIG_INTEGER:
+                checkExactType(type, value);
+                out.writeString(number, value.toString());
+                break;
+            case POJO:
+                checkExactType(type, value);
+                out.writeBytes(number, nested(o -> writeMessage(o, type.schema(), value, written)));
+                break;
+            case COLLECTION:
+                if (type.javaType() == Collection.class && value instanceof Set) {
+                    throw UNSUPPORTED_GRAPH;
+                }
+                out.writeBytes(number, nested(o -> writeElements(o, type.element(), (Collection<?>) value, written)));
+                break;
+            default:
+                throw new IllegalStateException("Unexpected kind " + type.kind());
+        }
+    }
+
+    private void writeElements(CodedOutputStream out, ValueType element, Collection<?> values, Set<Object> written) throws IOException {
+        for (Object value : values) {
+            if (value == null) {
+                throw UNSUPPORTED_GRAPH;
+            }
+            writeField(out, 1, element, value, written);
+        }
+    }
+
+    private ByteString nested(Writer writer) throws IOException {
+        ByteString.Output buffer = ByteString.newOutput(NESTED_BUFFER_SIZE);
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer, NESTED_BUFFER_SIZE);
+        writer.write(out);
+        out.flush();
+        return buffer.toByteString();
+    }
+
+    private void checkExactType(ValueType type, Object value) {
+        if (value.getClass() != type.javaType()) {
+            throw UNSUPPORTED_GRAPH;
+        }
+    }
+
+    /**
+     * Reads the property names stored for each class and returns the ones of the root class, which is always
+     * written first and without its name.
+     */
+    private String[] readHeader(CodedInputStream in, Map<String, String[]> header) throws IOException {
+        int classes = in.readUInt32();
+        String[] root = new String[0];
+        for (int i = 0; i < classes; i++) {
+            String className = i == 0 ? null : in.readString();
+            String[] properties = new String[in.readUInt32()];
+            for (int j = 0; j < properties.length; j++) {
+                properties[j] = in.readString();
+            }
+            if (i == 0) {
+                root = properties;
+            } else {
+                header.put(className, properties);
+            }
+        }
+        return root;
+    }
+
+    private Object readMessage(CodedInputStream in, PojoSchema schema, String[] names, Map<String, String[]> header) throws IOException {
+        Object instance = schema.newInstance();
+        boolean[] read = new boolean[names.length];
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            int number = WireFormat.getTagFieldNumber(tag);
+            Property property = number <= names.length ? schema.property(names[number - 1]) : null;
+            if (property != null && property.type().kind().wireType() == WireFormat.getTagWireType(tag)) {
+                property.set(instance, readValue(in, property.type(), header));
+            } else {
+                in.skipField(tag);
+            }
+            if (number <= names.length) {
+                read[number - 1] = true;
+            }
+        }
+        // null values are not written, reset what the constructor might have initialized
+        for (int i = 0; i < names.length; i++) {
+            Property property = schema.property(names[i]);
+            if (!read[i] && property != null && !property.isPrimitive()) {
+                property.set(instance, null);
+            }
+        }
+        return instance;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Object readValue(CodedInputStream in, ValueType type, Map<String, String[]> header) throws IOException {
+        switch (type.kind()) {
+            case BOOLEAN:
+                return in.readBool();
+            case BYTE:
+                return (byte) in.readSInt32();
+            case SHORT:
+                return (short) in.readSInt32();
+            case CHARACTER:
+                return (char) in.readUInt32();
+            case INTEGER:
+                return in.readSInt32();
+            case LONG:
+                return in.readSInt64();
+            case FLOAT:
+                return in.readFloat();
+            case DOUBLE:
+                return in.readDouble();
+            case STRING:
+                return in.readString();
+            case DATE:
+                return new Date(in.readSInt64());
+            case ENUM:
+                return Enum.valueOf((Class<Enum>) type.javaType(), in.readString());
+            case BIG_DECIMAL:
+                return new BigDecimal(in.readString());
+            case BIG_INTEGER:
+                return new BigInteger(in.readString());
+            case POJO: {
+                int limit = in.pushLimit(in.readRawVarint32());
+                Object value = readMessage(in, type.schema(), header.getOrDefault(type.schema().type().getName(), new String[0]), header);
+                in.popLimit(limit);
+                return value;
+            }
+            case COLLECTION: {
+                int limit = in.pushLimit(in.readRawVarint32());
+                Collection<Object> values = type.newCollection();
+                int tag;
+                while ((tag = in.readTag()) != 0) {
+                    if (type.element().kind().wireType() == WireFormat.getTagWireType(tag)) {
+                        values.add(readValue(in, type.element(), header));
+                    } else {
+                        in.skipField(tag);
+                    }
+                }
+                in.popLimit(limit);
+                return values;
+            }
+            default:
+                throw new IllegalStateException("Unexpected kind " + type.kind());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+
+        void write(CodedOutputStream out) throws IOException;
+    }
+
+    /**
+     * Raised when the object graph being written cannot be described by the schema of its classes.
+     */
+    private static class UnsupportedGraphException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedGraphException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -31,19 +31,30 @@ public final class ProtobufTypeRegistryFactory {
 
     private Collection<Descriptor> descriptors;
 
+    private TypeRegistry typeRegistry;
+
     private ProtobufTypeRegistryFactory() {
         descriptors = new ArrayList<>();
         ServiceLoader<ProtobufTypeProvider> providers = ServiceLoader.load(ProtobufTypeProvider.class);
         for(ProtobufTypeProvider provider : providers) {
             descriptors.addAll(provider.descriptors());
         }
+        typeRegistry = build();
     }
 
     public static ProtobufTypeRegistryFactory protobufTypeRegistryFactoryInstance() {
         return INSTANCE;
     }
 
+    /**
+     * Returns the type registry, built once as the descriptors are only discovered when this factory is created.
+     * A type registry is immutable and can be shared.
+     */
     public TypeRegistry create() {
+        return typeRegistry;
+    }
+
+    private TypeRegistry build() {
         TypeRegistry.Builder builder = TypeRegistry.newBuilder();
 
         builder.add(KogitoTypesProtobuf.getDescriptor().getMessageTypes())
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.serialization.process;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.serialization.process.ProcessInstanceDeltaTracker.Change;
+import org.kie.kogito.serialization.process.protobuf.KogitoProcessInstanceProtobuf.ProcessInstance;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf.Variable;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf.WorkflowContext;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProcessInstanceDeltaTrackerTest {
+
+    private static final String ID = "b2bbd6a2-dd24-4abf-9d63-9c8bd5c6bbd5";
+
+    private ProcessInstanceMarshallerService marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
+
+    @Test
+    void testDeltasAppendedUntilSnapshotInterval() {
+        ProcessInstanceDeltaTracker tracker = new ProcessInstanceDeltaTracker(marshaller, 2);
+        byte[] snapshot = state(0);
+        tracker.written(ID, snapshot, null);
+
+        List<byte[]> log = new ArrayList<>();
+        for (int step = 1; step <= 2; step++) {
+            byte[] state = state(step);
+            Change change = tracker.change(ID, state);
+            assertThat(change.isSnapshot()).isFalse();
+            assertThat(change.sequence()).isEqualTo(step);
+            assertThat(change.payload().length).isLessThan(state.length / 10);
+            log.add(change.payload());
+            tracker.written(ID, state, change);
+            assertThat(marshaller.applyProcessInstanceDeltas(snapshot, log)).isEqualTo(state);
+        }
+
+        byte[] state = state(3);
+        Change change = tracker.change(ID, state);
+        assertThat(change.isSnapshot()).isTrue();
+        assertThat(change.payload()).isSameAs(state);
+    }
+
+    @Test
+    void testSnapshotWhenStoredStateIsUnknown() {
+        ProcessInstanceDeltaTracker tracker = new ProcessInstanceDeltaTracker(marshaller, 10);
+        assertThat(tracker.change(ID, state(1)).isSnapshot()).isTrue();
+
+        tracker.written(ID, state(1), null);
+        tracker.forget(ID);
+        assertThat(tracker.change(ID, state(2)).isSnapshot()).isTrue();
+
+        ProcessInstanceDeltaTracker bounded = new ProcessInstanceDeltaTracker(marshaller, 10, 1);
+        bounded.written(ID, state(1), null);
+        assertThat(bounded.change(ID, state(2)).isSnapshot()).isTrue();
+    }
+
+    @Test
+    void testDeltaCarriesRevisionOfItsBase() {
+        ProcessInstanceDeltaTracker tracker = new ProcessInstanceDeltaTracker(marshaller, 10);
+        Change snapshot = tracker.snapshot(state(0));
+        assertThat(snapshot.revision()).isNotNull();
+        assertThat(snapshot.base()).isNull();
+        tracker.written(ID, state(0), snapshot);
+
+        Change first = tracker.change(ID, state(1));
+        assertThat(first.isSnapshot()).isFalse();
+        assertThat(first.base()).isEqualTo(snapshot.revision());
+        assertThat(first.revision()).isNotEqualTo(snapshot.revision());
+        tracker.written(ID, state(1), first);
+
+        assertThat(tracker.change(ID, state(2)).base()).isEqualTo(first.revision());
+    }
+
+    @Test
+    void testStateRetainedWhileStoredRevisionIsUnchanged() {
+        ProcessInstanceDeltaTracker tracker = new ProcessInstanceDeltaTracker(marshaller, 10);
+        Change snapshot = tracker.snapshot(state(0));
+        tracker.written(ID, state(0), snapshot);
+        assertThat(tracker.state(ID, snapshot.revision())).isEqualTo(state(0));
+
+        Change delta = tracker.change(ID, state(1));
+        tracker.written(ID, state(1), delta);
+        assertThat(tracker.state(ID, delta.revision())).isEqualTo(state(1));
+        // written meanwhile by another node
+        assertThat(tracker.state(ID, snapshot.revision())).isNull();
+        assertThat(tracker.state(ID, null)).isNull();
+
+        tracker.forget(ID);
+        assertThat(tracker.state(ID, delta.revision())).isNull();
+    }
+
+    @Test
+    void testDisabled() {
+        ProcessInstanceDeltaTracker tracker = new ProcessInstanceDeltaTracker(marshaller, 0);
+        tracker.written(ID, state(1), null);
+
+        assertThat(tracker.isEnabled()).isFalse();
+        assertThat(tracker.change(ID, state(2)).isSnapshot()).isTrue();
+        assertThat(tracker.change(ID, state(2)).revision()).isNull();
+    }
+
+    private static byte[] state(int step) {
+        return ProcessInstance.newBuilder()
+                .setId(ID)
+                .setProcessId("approvals")
+                .setProcessType("RuleFlow")
+                .setContext(WorkflowContext.newBuilder()
+                        .addVariable(variable("document", ByteString.copyFrom(new byte[10000])))
+                        .addVariable(variable("step", ByteString.copyFromUtf8(String.valueOf(step)))))
+                .build()
+                .toByteArray();
+    }
+
+    private static Variable variable(String name, ByteString value) {
+        return Variable.newBuilder().setName(name).setDataType(String.class.getName()).setValue(Any.pack(BytesValue.of(value))).build();
+    }
+}
@@ -20,6 +20,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -34,7 +35,12 @@ import org.kie.kogito.serialization.process.impl.ProtobufMarshallerReaderContext
 import org.kie.kogito.serialization.process.impl.ProtobufProcessMarshallerWriteContext;
 import org.kie.kogito.serialization.process.impl.ProtobufVariableReader;
 import org.kie.kogito.serialization.process.impl.ProtobufVariableWriter;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufObjectMarshallerStrategy;
 import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf;
+import org.kie.kogito.serialization.process.protobuf.ProtobufTypeRegistryFactory;
+
+import com.google.protobuf.TypeRegistry;
+import com.google.protobuf.util.JsonFormat;
 
 public class ProcessInstanceMarshallTest {
 
@@ -132,6 +138,37 @@ public class ProcessInstanceMarshallTest {
         Assertions.assertThat(in).isEqualTo(out);
     }
 
+    @Test
+    public void testRoundtripCustomObjectVarMarshallerWithoutJavaSerialization() {
+        Map<String, Object> in = new HashMap<>();
+        in.put("object", new MarshableObject("henry"));
+        ProtobufProcessMarshallerWriteContext ctxOut = new ProtobufProcessMarshallerWriteContext(new ByteArrayOutputStream());
+        ctxOut.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, defaultStrategies());
+        List<KogitoTypesProtobuf.Variable> variables = new ProtobufVariableWriter(ctxOut).buildVariables(in.entrySet().stream().collect(Collectors.toList()));
+        Assertions.assertThat(new ProtobufObjectMarshallerStrategy().acceptForUnmarshalling(variables.get(0).getValue())).isFalse();
+        Map<String, Object> out = roundtrip(in);
+        Assertions.assertThat(in).isEqualTo(out);
+    }
+
+    @Test
+    public void testRoundtripCustomObjectVarThroughJson() throws Exception {
+        Map<String, Object> in = new HashMap<>();
+        in.put("object", new MarshableObject("henry"));
+        ProtobufProcessMarshallerWriteContext ctxOut = new ProtobufProcessMarshallerWriteContext(new ByteArrayOutputStream());
+        ctxOut.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, defaultStrategies());
+        KogitoTypesProtobuf.Variable variable = new ProtobufVariableWriter(ctxOut).buildVariables(in.entrySet().stream().collect(Collectors.toList())).get(0);
+
+        TypeRegistry registry = ProtobufTypeRegistryFactory.protobufTypeRegistryFactoryInstance().create();
+        String json = JsonFormat.printer().usingTypeRegistry(registry).print(variable);
+        KogitoTypesProtobuf.Variable.Builder parsed = KogitoTypesProtobuf.Variable.newBuilder();
+        JsonFormat.parser().usingTypeRegistry(registry).merge(json, parsed);
+
+        ProtobufMarshallerReaderContext ctxIn = new ProtobufMarshallerReaderContext(new ByteArrayInputStream(new byte[0]));
+        ctxIn.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, defaultStrategies());
+        List<Variable> out = new ProtobufVariableReader(ctxIn).buildVariables(Collections.singletonList(parsed.build()));
+        Assertions.assertThat(out.get(0).getValue()).isEqualTo(in.get("object"));
+    }
+
     @Test
     public void testRoundtripNullVarMarshaller() {
         Map<String, Object> in = new HashMap<>();
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.serialization.process.ObjectMarshallerStrategy;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufObjectMarshallerStrategy;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufPojoMarshallerStrategy;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufPojoMarshallerStrategyTest.Address;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufPojoMarshallerStrategyTest.Customer;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufPojoMarshallerStrategyTest.Status;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares java serialization with the schema driven marshalling of process variables for a small, a medium and
+ * a large model.
+ * Run it from the test classpath, e.g. with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.kie.kogito.serialization.process.benchmark.ObjectMarshallerStrategyBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ObjectMarshallerStrategyBenchmark {
+
+    @Param({ "small", "medium", "large" })
+    private String model;
+
+    @Param({ "java", "pojo" })
+    private String strategy;
+
+    private ObjectMarshallerStrategy marshaller;
+    private Object value;
+    private Object marshalled;
+
+    @Setup
+    public void setup() {
+        marshaller = strategy(strategy);
+        value = model(model);
+        marshalled = marshaller.marshall(value);
+    }
+
+    @Benchmark
+    public Object marshall() {
+        return marshaller.marshall(value);
+    }
+
+    @Benchmark
+    public Object unmarshall() {
+        return marshaller.unmarshall(marshalled);
+    }
+
+    static ObjectMarshallerStrategy strategy(String name) {
+        return "java".equals(name) ? new ProtobufObjectMarshallerStrategy() : new ProtobufPojoMarshallerStrategy();
+    }
+
+    static Object model(String name) {
+        switch (name) {
+            case "small":
+                return new Address("main street", 1);
+            case "medium":
+                return customer(1);
+            default:
+                return customer(50);
+        }
+    }
+
+    private static Customer customer(int addresses) {
+        Customer customer = new Customer();
+        customer.setName("john");
+        customer.setRegistered(new Date());
+        customer.setCredit(new BigDecimal("1250.75"));
+        customer.setStatus(Status.CLOSED);
+        customer.setAddress(new Address("main street", 1));
+        List<Address> previous = new ArrayList<>();
+        for (int i = 0; i < addresses; i++) {
+            previous.add(new Address("street " + i, i));
+        }
+        customer.setPreviousAddresses(previous);
+        customer.setTags(new TreeSet<>(Arrays.asList("gold", "early")));
+        customer.setActive(true);
+        customer.setScore(42L);
+        return customer;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ObjectMarshallerStrategyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.benchmark;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.common.InternalKnowledgeRuntime;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.ruleflow.core.RuleFlowProcessFactory;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
+import org.kie.api.runtime.process.ProcessRuntime;
+import org.kie.api.runtime.process.WorkflowProcessInstance;
+import org.kie.kogito.Model;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.impl.AbstractProcess;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.serialization.process.MarshallerContextName;
+import org.kie.kogito.serialization.process.ProcessInstanceMarshallerService;
+import org.kie.kogito.serialization.process.impl.marshallers.ProtobufPojoMarshallerStrategyTest.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures {@link ProcessInstanceMarshallerService#marshallProcessInstance(ProcessInstance)} for an active process
+ * instance holding a few variables, in both storage formats. The main method enables the gc profiler, whose
+ * {@code gc.alloc.rate.norm} metric gives the bytes allocated per marshalling.
+ * Run it from the test classpath, e.g. with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.kie.kogito.serialization.process.benchmark.ProcessInstanceMarshallerBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ProcessInstanceMarshallerBenchmark {
+
+    @Param({ "protobuf", "json" })
+    private String format;
+
+    private ProcessInstanceMarshallerService marshaller;
+    private ProcessInstance<MapModel> processInstance;
+    private WorkflowProcessInstanceImpl instance;
+    private InternalKnowledgeRuntime runtime;
+
+    @Setup
+    public void setup() {
+        ProcessInstanceMarshallerService.Builder builder = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies();
+        if ("json".equals(format)) {
+            builder.withContextEntries(Collections.singletonMap(MarshallerContextName.MARSHALLER_FORMAT, "json"));
+        }
+        marshaller = builder.build();
+
+        MapModel variables = new MapModel();
+        variables.toMap().put("name", "john");
+        variables.toMap().put("amount", 1250);
+        variables.toMap().put("approved", Boolean.TRUE);
+        variables.toMap().put("customer", ObjectMarshallerStrategyBenchmark.model("medium"));
+        processInstance = new MapModelProcess(process()).createInstance(variables);
+        processInstance.start();
+        instance = (WorkflowProcessInstanceImpl) ((MapModelProcessInstance) processInstance).internalGetProcessInstance();
+        runtime = instance.getKnowledgeRuntime();
+    }
+
+    /**
+     * Marshalling disconnects the instance from its runtime, as done before it is evicted by the persistence addons,
+     * so each operation hands the runtime back first.
+     */
+    @Benchmark
+    public byte[] marshall() {
+        reconnect();
+        return marshaller.marshallProcessInstance(processInstance);
+    }
+
+    @Benchmark
+    public Object marshallToByteString() {
+        reconnect();
+        return marshaller.marshallProcessInstanceToByteString(processInstance);
+    }
+
+    private void reconnect() {
+        if (instance.getKnowledgeRuntime() == null) {
+            instance.setKnowledgeRuntime(runtime);
+        }
+    }
+
+    private static RuleFlowProcess process() {
+        return RuleFlowProcessFactory.createProcess("benchmark")
+                .name("Benchmark")
+                .packageName(ProcessInstanceMarshallerBenchmark.class.getPackage().getName())
+                .variable("name", String.class)
+                .variable("amount", Integer.class)
+                .variable("approved", Boolean.class)
+                .variable("customer", Customer.class)
+                .startNode(1).name("Start").done()
+                .eventNode(2).name("Wait").eventType("Continue").done()
+                .endNode(3).name("End").done()
+                .connection(1, 2)
+                .connection(2, 3)
+                .validate()
+                .getProcess();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProcessInstanceMarshallerBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+
+    public static class MapModel implements Model {
+
+        private final Map<String, Object> variables = new HashMap<>();
+
+        @Override
+        public MapModel fromMap(Map<String, Object> params) {
+            variables.clear();
+            variables.putAll(params);
+            return this;
+        }
+
+        @Override
+        public Map<String, Object> toMap() {
+            return variables;
+        }
+
+        @Override
+        public void update(Map<String, Object> params) {
+            variables.putAll(params);
+        }
+    }
+
+    private static class MapModelProcess extends AbstractProcess<MapModel> {
+
+        private final RuleFlowProcess process;
+
+        MapModelProcess(RuleFlowProcess process) {
+            this.process = process;
+        }
+
+        @Override
+        public ProcessInstance<MapModel> createInstance(MapModel variables) {
+            return new MapModelProcessInstance(this, new MapModel().fromMap(variables.toMap()), createProcessRuntime());
+        }
+
+        @Override
+        public ProcessInstance<MapModel> createInstance(String businessKey, MapModel variables) {
+            return createInstance(variables);
+        }
+
+        @Override
+        public ProcessInstance<? extends Model> createInstance(Model m) {
+            return createInstance(new MapModel().fromMap(m.toMap()));
+        }
+
+        @Override
+        public ProcessInstance<MapModel> createInstance(WorkflowProcessInstance wpi) {
+            return new MapModelProcessInstance(this, new MapModel(), createProcessRuntime(), wpi);
+        }
+
+        @Override
+        public ProcessInstance<MapModel> createReadOnlyInstance(WorkflowProcessInstance wpi) {
+            return createInstance(wpi);
+        }
+
+        @Override
+        public MapModel createModel() {
+            return new MapModel();
+        }
+
+        @Override
+        public org.kie.api.definition.process.Process process() {
+            return process;
+        }
+    }
+
+    private static class MapModelProcessInstance extends AbstractProcessInstance<MapModel> {
+
+        MapModelProcessInstance(MapModelProcess process, MapModel variables, ProcessRuntime rt) {
+            super(process, variables, rt);
+        }
+
+        MapModelProcessInstance(MapModelProcess process, MapModel variables, ProcessRuntime rt, WorkflowProcessInstance wpi) {
+            super(process, variables, rt, wpi);
+        }
+
+        @Override
+        protected Map<String, Object> bind(MapModel variables) {
+            return variables.toMap();
+        }
+
+        @Override
+        protected void unbind(MapModel variables, Map<String, Object> vmap) {
+            variables.fromMap(vmap);
+        }
+    }
+}
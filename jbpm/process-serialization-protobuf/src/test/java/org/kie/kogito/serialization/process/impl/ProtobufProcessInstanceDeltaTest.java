@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.serialization.process.impl;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.serialization.process.protobuf.KogitoProcessInstanceProtobuf.ProcessInstance;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf.NodeInstance;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf.Variable;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf.WorkflowContext;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProtobufProcessInstanceDeltaTest {
+
+    private static final ByteString LARGE = ByteString.copyFrom(new byte[10000]);
+
+    @Test
+    void testOnlyChangedVariableIsWritten() throws Exception {
+        ProcessInstance stored = instance(context(variable("document", LARGE), variable("approved", ByteString.copyFromUtf8("false"))), "1");
+        ProcessInstance current = instance(context(variable("document", LARGE), variable("approved", ByteString.copyFromUtf8("true"))), "1");
+
+        byte[] delta = ProtobufProcessInstanceDelta.diff(stored, current);
+
+        assertThat(delta.length).isLessThan(stored.getSerializedSize() / 10);
+        assertThat(ProtobufProcessInstanceDelta.apply(stored, delta)).isEqualTo(current);
+    }
+
+    @Test
+    void testRemovedAndAddedEntries() throws Exception {
+        ProcessInstance stored = instance(context(variable("a", LARGE), variable("b", LARGE))
+                .addNodeInstance(nodeInstance("n1", 1))
+                .addNodeInstance(nodeInstance("n2", 2)), "1", "2");
+        ProcessInstance current = instance(context(variable("b", LARGE), variable("c", ByteString.copyFromUtf8("c")))
+                .addNodeInstance(nodeInstance("n2", 2))
+                .addNodeInstance(nodeInstance("n3", 3)), "1", "2", "3");
+
+        byte[] delta = ProtobufProcessInstanceDelta.diff(stored, current);
+
+        assertThat(delta.length).isLessThan(stored.getSerializedSize() / 10);
+        assertThat(ProtobufProcessInstanceDelta.apply(stored, delta)).isEqualTo(current);
+    }
+
+    @Test
+    void testReorderedEntriesAreWrittenInFull() throws Exception {
+        ProcessInstance stored = instance(context(variable("a", LARGE), variable("b", LARGE))
+                .addNodeInstance(nodeInstance("n1", 1))
+                .addNodeInstance(nodeInstance("n2", 2)), "1", "2");
+        ProcessInstance current = instance(context(variable("b", LARGE), variable("a", LARGE))
+                .addNodeInstance(nodeInstance("n3", 3))
+                .addNodeInstance(nodeInstance("n1", 1)), "2");
+
+        byte[] delta = ProtobufProcessInstanceDelta.diff(stored, current);
+
+        assertThat(ProtobufProcessInstanceDelta.apply(stored, delta)).isEqualTo(current);
+    }
+
+    @Test
+    void testDeltasAppliedInSequence() throws Exception {
+        ProcessInstance first = instance(context(variable("a", LARGE)), "1");
+        ProcessInstance second = instance(context(variable("a", LARGE), variable("b", ByteString.copyFromUtf8("b"))).addNodeInstance(nodeInstance("n1", 1)), "1", "2");
+        ProcessInstance third = instance(WorkflowContext.newBuilder().addNodeInstance(nodeInstance("n1", 1)), "1", "2", "3").toBuilder().setState(2).build();
+
+        ProcessInstance outcome = ProtobufProcessInstanceDelta.apply(ProtobufProcessInstanceDelta.apply(first, ProtobufProcessInstanceDelta.diff(first, second)),
+                ProtobufProcessInstanceDelta.diff(second, third));
+
+        assertThat(outcome).isEqualTo(third);
+    }
+
+    private static ProcessInstance instance(WorkflowContext.Builder context, String... completedNodeIds) {
+        return ProcessInstance.newBuilder()
+                .setId("b2bbd6a2-dd24-4abf-9d63-9c8bd5c6bbd5")
+                .setProcessId("approvals")
+                .setProcessType("RuleFlow")
+                .setState(1)
+                .setContext(context)
+                .addAllCompletedNodeIds(Arrays.asList(completedNodeIds))
+                .build();
+    }
+
+    private static WorkflowContext.Builder context(Variable... variables) {
+        return WorkflowContext.newBuilder().addAllVariable(Arrays.asList(variables));
+    }
+
+    private static Variable variable(String name, ByteString value) {
+        return Variable.newBuilder().setName(name).setDataType(String.class.getName()).setValue(Any.pack(BytesValue.of(value))).build();
+    }
+
+    private static NodeInstance nodeInstance(String id, long nodeId) {
+        return NodeInstance.newBuilder().setId(id).setNodeId(nodeId).setContent(Any.pack(BytesValue.of(ByteString.copyFromUtf8(id)))).build();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.serialization.process.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.impl.AbstractProcess;
+import org.kie.kogito.serialization.process.MarshallerContextName;
+import org.kie.kogito.serialization.process.ObjectMarshallerStrategy;
+import org.kie.kogito.serialization.process.protobuf.KogitoProcessInstanceProtobuf.ProcessInstance;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf.NodeInstance;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf.Variable;
+import org.kie.kogito.serialization.process.protobuf.KogitoTypesProtobuf.WorkflowContext;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProtobufProcessInstanceReaderTest {
+
+    private AbstractProcess<?> process;
+    private byte[] stored;
+
+    @BeforeEach
+    void setup() {
+        RuleFlowProcess ruleFlowProcess = new RuleFlowProcess();
+        ruleFlowProcess.setId("approvals");
+        process = mock(AbstractProcess.class);
+        when(process.process()).thenReturn(ruleFlowProcess);
+
+        ProtobufProcessMarshallerWriteContext writeContext = new ProtobufProcessMarshallerWriteContext(new ByteArrayOutputStream());
+        writeContext.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, defaultStrategies());
+        List<Variable> variables = new ProtobufVariableWriter(writeContext).buildVariables(Collections.singletonList(new AbstractMap.SimpleEntry<>("approved", "true")));
+        // content no node instance reader knows about, so it fails as soon as node instances are rebuilt
+        NodeInstance unreadable = NodeInstance.newBuilder().setId("n1").setNodeId(1).setContent(Any.pack(BytesValue.of(ByteString.copyFromUtf8("n1")))).build();
+        stored = ProcessInstance.newBuilder()
+                .setId("b2bbd6a2-dd24-4abf-9d63-9c8bd5c6bbd5")
+                .setProcessId("approvals")
+                .setProcessType("RuleFlow")
+                .setState(1)
+                .setContext(WorkflowContext.newBuilder().addAllVariable(variables).addNodeInstance(unreadable))
+                .build()
+                .toByteArray();
+    }
+
+    @Test
+    void testVariablesOnlyLeavesNodeInstancesPacked() throws Exception {
+        RuleFlowProcessInstance instance = reader(true).read(new ByteArrayInputStream(stored));
+
+        assertThat(instance.getStringId()).isEqualTo("b2bbd6a2-dd24-4abf-9d63-9c8bd5c6bbd5");
+        assertThat(instance.getState()).isEqualTo(1);
+        assertThat(instance.getVariables()).containsEntry("approved", "true");
+        assertThat(instance.getNodeInstances()).isEmpty();
+    }
+
+    @Test
+    void testFullReadRebuildsNodeInstances() {
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> reader(false).read(new ByteArrayInputStream(stored)))
+                .withMessageContaining("node instance");
+    }
+
+    private ProtobufProcessInstanceReader reader(boolean variablesOnly) {
+        ProtobufMarshallerReaderContext context = new ProtobufMarshallerReaderContext(new ByteArrayInputStream(stored));
+        context.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, defaultStrategies());
+        context.set(MarshallerContextName.MARSHALLER_PROCESS, process);
+        context.set(MarshallerContextName.MARSHALLER_INSTANCE_VARIABLES_ONLY, variablesOnly);
+        return new ProtobufProcessInstanceReader(context);
+    }
+
+    private ObjectMarshallerStrategy[] defaultStrategies() {
+        List<ObjectMarshallerStrategy> strategies = new ArrayList<>();
+        ServiceLoader.load(ObjectMarshallerStrategy.class).forEach(strategies::add);
+        return strategies.toArray(new ObjectMarshallerStrategy[0]);
+    }
+}
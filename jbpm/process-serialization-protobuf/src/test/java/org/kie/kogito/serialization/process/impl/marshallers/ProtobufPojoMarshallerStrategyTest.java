@@ -0,0 +1,313 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.kogito.serialization.process.impl.marshallers;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.BytesValue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProtobufPojoMarshallerStrategyTest {
+
+    private ProtobufPojoMarshallerStrategy strategy = new ProtobufPojoMarshallerStrategy();
+
+    public enum Status {
+        OPEN,
+        CLOSED
+    }
+
+    public static class Address implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String street;
+        private int number;
+
+        public Address() {
+        }
+
+        public Address(String street, int number) {
+            this.street = street;
+            this.number = number;
+        }
+
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(String street) {
+            this.street = street;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(int number) {
+            this.number = number;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Address)) {
+                return false;
+            }
+            Address other = (Address) obj;
+            return Objects.equals(street, other.street) && number == other.number;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(street, number);
+        }
+    }
+
+    public static class Customer implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+        private Date registered;
+        private BigDecimal credit;
+        private Status status = Status.OPEN;
+        private Address address;
+        private List<Address> previousAddresses;
+        private Set<String> tags;
+        private boolean active;
+        private Long score;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Date getRegistered() {
+            return registered;
+        }
+
+        public void setRegistered(Date registered) {
+            this.registered = registered;
+        }
+
+        public BigDecimal getCredit() {
+            return credit;
+        }
+
+        public void setCredit(BigDecimal credit) {
+            this.credit = credit;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+
+        public List<Address> getPreviousAddresses() {
+            return previousAddresses;
+        }
+
+        public void setPreviousAddresses(List<Address> previousAddresses) {
+            this.previousAddresses = previousAddresses;
+        }
+
+        public Set<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(Set<String> tags) {
+            this.tags = tags;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+
+        public Long getScore() {
+            return score;
+        }
+
+        public void setScore(Long score) {
+            this.score = score;
+        }
+    }
+
+    public static class RenamedCustomer {
+
+        private String name;
+        private String nickname = "none";
+        private Address address;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getNickname() {
+            return nickname;
+        }
+
+        public void setNickname(String nickname) {
+            this.nickname = nickname;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(Address address) {
+            this.address = address;
+        }
+    }
+
+    public static class HiddenState implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String visible;
+        private String hidden;
+
+        public String getVisible() {
+            return visible;
+        }
+
+        public void setVisible(String visible) {
+            this.visible = visible;
+        }
+    }
+
+    @Test
+    void testRoundtripNestedObjects() {
+        Customer customer = new Customer();
+        customer.setName("john");
+        customer.setRegistered(new Date());
+        customer.setCredit(new BigDecimal("1250.75"));
+        customer.setStatus(Status.CLOSED);
+        customer.setAddress(new Address("main street", 1));
+        customer.setPreviousAddresses(Arrays.asList(new Address("first street", 2), new Address("second street", 3)));
+        customer.setTags(new TreeSet<>(Arrays.asList("gold", "early")));
+        customer.setActive(true);
+
+        Any marshalled = (Any) strategy.marshall(customer);
+        assertThat(strategy.acceptForUnmarshalling(marshalled)).isTrue();
+        assertThat(new ProtobufObjectMarshallerStrategy().acceptForUnmarshalling(marshalled)).isFalse();
+        Customer outcome = (Customer) strategy.unmarshall(marshalled);
+
+        assertThat(outcome.getName()).isEqualTo("john");
+        assertThat(outcome.getRegistered()).isEqualTo(customer.getRegistered());
+        assertThat(outcome.getCredit()).isEqualTo(customer.getCredit());
+        assertThat(outcome.getStatus()).isEqualTo(Status.CLOSED);
+        assertThat(outcome.getAddress()).isEqualTo(customer.getAddress());
+        assertThat(outcome.getPreviousAddresses()).containsExactlyElementsOf(customer.getPreviousAddresses());
+        assertThat(outcome.getTags()).containsExactly("early", "gold");
+        assertThat(outcome.isActive()).isTrue();
+        assertThat(outcome.getScore()).isNull();
+    }
+
+    @Test
+    void testNullValueOverridesConstructorDefault() {
+        Customer customer = new Customer();
+        customer.setStatus(null);
+        customer.setPreviousAddresses(new ArrayList<>());
+
+        Customer outcome = (Customer) strategy.unmarshall(strategy.marshall(customer));
+
+        assertThat(outcome.getStatus()).isNull();
+        assertThat(outcome.getPreviousAddresses()).isEmpty();
+        assertThat(outcome.getTags()).isNull();
+    }
+
+    @Test
+    void testSmallerThanJavaSerialization() {
+        Customer customer = new Customer();
+        customer.setName("john");
+        customer.setAddress(new Address("main street", 1));
+
+        Any marshalled = (Any) strategy.marshall(customer);
+        Any serialized = (Any) new ProtobufObjectMarshallerStrategy().marshall(customer);
+
+        assertThat(marshalled.getSerializedSize()).isLessThan(serialized.getSerializedSize() / 2);
+    }
+
+    @Test
+    void testReadIntoChangedClass() {
+        Customer customer = new Customer();
+        customer.setName("john");
+        customer.setAddress(new Address("main street", 1));
+        Any marshalled = (Any) strategy.marshall(customer);
+
+        Any changed = marshalled.toBuilder().setTypeUrl(marshalled.getTypeUrl().replace(Customer.class.getName(), RenamedCustomer.class.getName())).build();
+        RenamedCustomer outcome = (RenamedCustomer) strategy.unmarshall(changed);
+
+        assertThat(outcome.getName()).isEqualTo("john");
+        assertThat(outcome.getAddress()).isEqualTo(customer.getAddress());
+        assertThat(outcome.getNickname()).isEqualTo("none");
+    }
+
+    @Test
+    void testSharedReferencesUseJavaSerialization() {
+        Address address = new Address("main street", 1);
+        Customer customer = new Customer();
+        customer.setAddress(address);
+        customer.setPreviousAddresses(Arrays.asList(address));
+
+        assertThat(strategy.acceptForMarshalling(customer)).isTrue();
+        Any marshalled = (Any) strategy.marshall(customer);
+
+        assertThat(marshalled.is(BytesValue.class)).isTrue();
+        assertThat(strategy.acceptForUnmarshalling(marshalled)).isFalse();
+    }
+
+    @Test
+    void testClassesWithoutSchemaAreNotAccepted() {
+        assertThat(strategy.acceptForMarshalling(new HiddenState())).isFalse();
+        assertThat(strategy.acceptForMarshalling(new ArrayList<>())).isFalse();
+        assertThat(strategy.acceptForMarshalling(new RenamedCustomer())).isTrue();
+    }
+}
@@ -78,6 +78,8 @@ public class DecisionRestResourceGenerator {
     private boolean swaggerAnnPresent;
     private final TemplatedGenerator generator;
 
+    private static final String BATCH_PATH = "batch";
+
     private static final Supplier<RuntimeException> TEMPLATE_WAS_MODIFIED = () -> new RuntimeException("Template was modified!");
 
     public DecisionRestResourceGenerator(KogitoBuildContext context, DMNModel model, String appCanonicalName) {
@@ -139,6 +141,11 @@ public class DecisionRestResourceGenerator {
 
         final String dmnMethodUrlPlaceholder = "$dmnMethodUrl$";
 
+        if (dmnModel.getDefinitions().getDecisionService().stream().anyMatch(ds -> BATCH_PATH.equals(ds.getName()))) {
+            LOGGER.warn("The batch endpoints of DMN model '{}' are not generated, their path is taken by the decision service with the same name", dmnModel.getName());
+            template.findAll(MethodDeclaration.class, m -> m.getNameAsString().startsWith("dmnBatch")).forEach(MethodDeclaration::remove);
+        }
+
         template.addMember(cloneForDMNResult(dmnMethod, "dmn_dmnresult", "dmnresult", dmnMethodUrlPlaceholder));
         for (DecisionService ds : dmnModel.getDefinitions().getDecisionService()) {
             if (ds.getAdditionalAttributes().keySet().stream().anyMatch(qn -> qn.getLocalPart().equals("dynamicDecisionService"))) {
@@ -26,6 +26,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import org.kie.kogito.Application;
+import org.kie.kogito.dmn.rest.DMNBatchUtils;
 import org.kie.kogito.dmn.rest.DMNEvaluationErrorException;
 import org.kie.kogito.dmn.rest.DMNJSONUtils;
 import org.kie.kogito.dmn.rest.KogitoDMNResult;
@@ -67,6 +68,24 @@ public class DMNRestResourceTemplate {
         return $extractContextMethod$(result);
     }
 
+    @POST
+    @Path("/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public javax.ws.rs.core.StreamingOutput dmnBatch(java.io.InputStream batch) {
+        org.kie.kogito.decision.DecisionModel decision = application.get(org.kie.kogito.decision.DecisionModels.class).getDecisionModel("$modelNamespace$", "$modelName$");
+        return output -> DMNBatchUtils.evaluateJSONArray(decision, objectMapper, new com.fasterxml.jackson.core.type.TypeReference<$inputType$>() {}, variables -> DMNJSONUtils.ctx(decision, variables), batch, output);
+    }
+
+    @POST
+    @Path("/batch")
+    @Consumes(DMNBatchUtils.APPLICATION_NDJSON)
+    @Produces(DMNBatchUtils.APPLICATION_NDJSON)
+    public javax.ws.rs.core.StreamingOutput dmnBatchNDJSON(java.io.InputStream batch) {
+        org.kie.kogito.decision.DecisionModel decision = application.get(org.kie.kogito.decision.DecisionModels.class).getDecisionModel("$modelNamespace$", "$modelName$");
+        return output -> DMNBatchUtils.evaluateNDJSON(decision, objectMapper, new com.fasterxml.jackson.core.type.TypeReference<$inputType$>() {}, variables -> DMNJSONUtils.ctx(decision, variables), batch, output);
+    }
+
     @GET
     @Produces(MediaType.APPLICATION_XML)
     public String dmn() throws java.io.IOException {
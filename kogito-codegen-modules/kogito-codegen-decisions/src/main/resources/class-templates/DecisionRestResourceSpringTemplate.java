@@ -20,6 +20,7 @@ import javax.servlet.http.HttpServletResponse;
 import java.util.stream.Collectors;
 
 import org.kie.kogito.Application;
+import org.kie.kogito.dmn.rest.DMNBatchUtils;
 import org.kie.kogito.dmn.rest.DMNEvaluationErrorException;
 import org.kie.kogito.dmn.rest.DMNJSONUtils;
 import org.kie.kogito.dmn.rest.KogitoDMNResult;
@@ -70,6 +71,18 @@ public class DMNRestResourceTemplate {
         return $extractContextMethod$(result);
     }
 
+    @PostMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody dmnBatch(java.io.InputStream batch) {
+        org.kie.kogito.decision.DecisionModel decision = application.get(org.kie.kogito.decision.DecisionModels.class).getDecisionModel("$modelNamespace$", "$modelName$");
+        return output -> DMNBatchUtils.evaluateJSONArray(decision, objectMapper, new com.fasterxml.jackson.core.type.TypeReference<$inputType$>() {}, variables -> DMNJSONUtils.ctx(decision, variables), batch, output);
+    }
+
+    @PostMapping(value = "/batch", produces = DMNBatchUtils.APPLICATION_NDJSON, consumes = DMNBatchUtils.APPLICATION_NDJSON)
+    public org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody dmnBatchNDJSON(java.io.InputStream batch) {
+        org.kie.kogito.decision.DecisionModel decision = application.get(org.kie.kogito.decision.DecisionModels.class).getDecisionModel("$modelNamespace$", "$modelName$");
+        return output -> DMNBatchUtils.evaluateNDJSON(decision, objectMapper, new com.fasterxml.jackson.core.type.TypeReference<$inputType$>() {}, variables -> DMNJSONUtils.ctx(decision, variables), batch, output);
+    }
+
     @GetMapping(produces = MediaType.APPLICATION_XML_VALUE)
     public String dmn() throws java.io.IOException {
         return new String(org.drools.core.util.IoUtils.
@@ -27,6 +27,7 @@ import javax.enterprise.inject.Instance;
 import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
 import org.kie.kogito.decision.DecisionEventListenerConfig;
 import org.kie.kogito.dmn.config.AbstractDecisionConfig;
+import org.kie.kogito.dmn.config.StaticDecisionResultCacheConfig;
 import org.kie.kogito.rules.RuleEventListenerConfig;
 
 @javax.inject.Singleton
@@ -35,8 +36,14 @@ class DecisionConfig extends AbstractDecisionConfig {
     @javax.inject.Inject
     public DecisionConfig(
             Instance<DecisionEventListenerConfig> decisionEventListenerConfigs,
-            Instance<DMNRuntimeEventListener> dmnRuntimeEventListeners) {
-        super(decisionEventListenerConfigs, dmnRuntimeEventListeners);
+            Instance<DMNRuntimeEventListener> dmnRuntimeEventListeners,
+            @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.decisions.cache.models") java.util.Optional<String> cachedModels,
+            @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.decisions.cache.max.size", defaultValue = "1000") int cacheMaxSize,
+            @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.decisions.cache.ttl.millis", defaultValue = "0") long cacheTimeToLiveMillis,
+            @org.eclipse.microprofile.config.inject.ConfigProperty(name = "kogito.decisions.batch.parallelism", defaultValue = "1") int batchParallelism) {
+        super(decisionEventListenerConfigs, dmnRuntimeEventListeners,
+                StaticDecisionResultCacheConfig.of(cachedModels.orElse(null), cacheMaxSize, cacheTimeToLiveMillis),
+                batchParallelism);
     }
 
 }
@@ -25,6 +25,7 @@ import java.util.stream.Stream;
 import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
 import org.kie.kogito.decision.DecisionEventListenerConfig;
 import org.kie.kogito.dmn.config.AbstractDecisionConfig;
+import org.kie.kogito.dmn.config.StaticDecisionResultCacheConfig;
 import org.kie.kogito.rules.RuleEventListenerConfig;
 
 @org.springframework.stereotype.Component
@@ -33,8 +34,14 @@ class DecisionConfig extends AbstractDecisionConfig {
     @org.springframework.beans.factory.annotation.Autowired
     public DecisionConfig(
             List<DecisionEventListenerConfig> decisionEventListenerConfigs,
-            List<DMNRuntimeEventListener> dmnRuntimeEventListeners) {
-        super(decisionEventListenerConfigs, dmnRuntimeEventListeners);
+            List<DMNRuntimeEventListener> dmnRuntimeEventListeners,
+            @org.springframework.beans.factory.annotation.Value("${kogito.decisions.cache.models:}") String cachedModels,
+            @org.springframework.beans.factory.annotation.Value("${kogito.decisions.cache.max.size:1000}") int cacheMaxSize,
+            @org.springframework.beans.factory.annotation.Value("${kogito.decisions.cache.ttl.millis:0}") long cacheTimeToLiveMillis,
+            @org.springframework.beans.factory.annotation.Value("${kogito.decisions.batch.parallelism:1}") int batchParallelism) {
+        super(decisionEventListenerConfigs, dmnRuntimeEventListeners,
+                StaticDecisionResultCacheConfig.of(cachedModels, cacheMaxSize, cacheTimeToLiveMillis),
+                batchParallelism);
     }
 
 }
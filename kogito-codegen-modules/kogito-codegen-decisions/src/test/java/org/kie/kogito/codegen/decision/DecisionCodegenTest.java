@@ -36,7 +36,10 @@ import org.kie.kogito.codegen.core.DashboardGeneratedFileUtils;
 import org.kie.kogito.codegen.core.io.CollectedResourceProducer;
 import org.kie.kogito.grafana.JGrafana;
 
+import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
@@ -70,6 +73,29 @@ public class DecisionCodegenTest {
         assertNotEmptySectionCompilationUnit(codeGenerator);
     }
 
+    @ParameterizedTest
+    @MethodSource("org.kie.kogito.codegen.api.utils.KogitoContextTestUtils#contextBuilders")
+    public void generateBatchEndpoints(KogitoBuildContext.Builder contextBuilder) {
+        DecisionCodegen codeGenerator = getDecisionCodegen("src/test/resources/decision/models/vacationDays", contextBuilder);
+        Optional<GeneratedFile> resource = codeGenerator.generate().stream()
+                .filter(file -> file.relativePath().equals("decision/VacationsResource.java"))
+                .findFirst();
+        if (!contextBuilder.build().hasREST()) {
+            assertThat(resource).isEmpty();
+            return;
+        }
+
+        ClassOrInterfaceDeclaration clazz = StaticJavaParser.parse(new String(resource.get().contents()))
+                .findFirst(ClassOrInterfaceDeclaration.class)
+                .get();
+        for (String batchMethod : Arrays.asList("dmnBatch", "dmnBatchNDJSON")) {
+            MethodDeclaration method = clazz.getMethodsByName(batchMethod).get(0);
+            assertThat(method.toString())
+                    .contains("/batch")
+                    .contains("new com.fasterxml.jackson.core.type.TypeReference<InputSet>()");
+        }
+    }
+
     @ParameterizedTest
     @MethodSource("org.kie.kogito.codegen.api.utils.KogitoContextTestUtils#contextBuilders")
     public void doNotGenerateTypesafeInfo(KogitoBuildContext.Builder contextBuilder) {
@@ -31,6 +31,7 @@ import java.util.Map.Entry;
 import java.util.function.BiFunction;
 
 import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
+import org.kie.api.io.Resource;
 import org.kie.kogito.Application;
 import org.kie.kogito.codegen.api.AddonsConfig;
 import org.kie.kogito.codegen.api.GeneratedFile;
@@ -174,6 +175,20 @@ public class AbstractCodegenIT {
             }
         }
 
+        return generateCode(appGen, context, resourcesTypeMap.size() == 1 && resourcesTypeMap.containsKey(TYPE.PROCESS));
+    }
+
+    /**
+     * Generates the code of rules that are not stored as test resources, e.g. a rule base created on the fly
+     */
+    protected Application generateCodeRulesOnly(Collection<Resource> rules) throws Exception {
+        KogitoBuildContext context = this.newContext();
+        ApplicationGenerator appGen = new ApplicationGenerator(context);
+        appGen.registerGeneratorIfEnabled(IncrementalRuleCodegen.ofResources(context, rules));
+        return generateCode(appGen, context, false);
+    }
+
+    private Application generateCode(ApplicationGenerator appGen, KogitoBuildContext context, boolean processesOnly) throws Exception {
         Collection<GeneratedFile> generatedFiles = appGen.generate();
 
         MemoryFileSystem srcMfs = new MemoryFileSystem();
@@ -190,7 +205,7 @@ public class AbstractCodegenIT {
             log(new String(entry.contents()));
         }
 
-        if (resourcesTypeMap.size() == 1 && resourcesTypeMap.containsKey(TYPE.PROCESS)) {
+        if (processesOnly) {
             sources.add("org/drools/project/model/ProjectRuntime.java");
             srcMfs.write("org/drools/project/model/ProjectRuntime.java", DUMMY_PROCESS_RUNTIME.getBytes());
         }
@@ -20,7 +20,11 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.kie.api.time.SessionPseudoClock;
@@ -39,10 +43,12 @@ import org.kie.kogito.rules.DataHandle;
 import org.kie.kogito.rules.DataObserver;
 import org.kie.kogito.rules.DataSource;
 import org.kie.kogito.rules.DataStore;
+import org.kie.kogito.rules.QueryObserver;
 import org.kie.kogito.rules.RuleUnit;
 import org.kie.kogito.rules.RuleUnitInstance;
 import org.kie.kogito.rules.RuleUnitQuery;
 import org.kie.kogito.rules.RuleUnits;
+import org.kie.kogito.rules.units.ManagedRuleUnitInstance;
 
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
@@ -138,6 +144,88 @@ public class RuleUnitCompilerIT extends AbstractCodegenIT {
         assertTrue(results.containsAll(asList("Mario", "Marilena")));
     }
 
+    @Test
+    public void testRuleUnitQueryWithClosedInstances() throws Exception {
+        Application application = generateCodeRulesOnly("org/kie/kogito/codegen/unit/RuleUnitQuery.drl");
+        RuleUnit<AdultUnit> unit = application.get(RuleUnits.class).create(AdultUnit.class);
+        Class<? extends RuleUnitQuery<List<String>>> queryClass = (Class<? extends RuleUnitQuery<List<String>>>) application.getClass()
+                .getClassLoader().loadClass("org.kie.kogito.codegen.unit.AdultUnitQueryFindAdults");
+
+        AdultUnit first = new AdultUnit();
+        first.getPersons().add(new Person("Mario", 45));
+        first.getPersons().add(new Person("Sofia", 7));
+        try (RuleUnitInstance<AdultUnit> instance = unit.createInstance(first)) {
+            assertThat(instance.executeQuery(queryClass)).containsExactly("Mario");
+        }
+        // the closed instance no longer propagates changes to its (pooled) session
+        first.getPersons().add(new Person("Marilena", 47));
+
+        AdultUnit second = new AdultUnit();
+        second.getPersons().add(new Person("Luca", 30));
+        try (RuleUnitInstance<AdultUnit> instance = unit.createInstance(second)) {
+            assertThat(instance.executeQuery(queryClass)).containsExactly("Luca");
+        }
+    }
+
+    @Test
+    public void testRuleUnitQueryStream() throws Exception {
+        Application application = generateCodeRulesOnly("org/kie/kogito/codegen/unit/RuleUnitQuery.drl");
+        RuleUnit<AdultUnit> unit = application.get(RuleUnits.class).create(AdultUnit.class);
+        Class<?> queryClass = application.getClass().getClassLoader().loadClass("org.kie.kogito.codegen.unit.AdultUnitQueryFindAdults");
+
+        AdultUnit adults = new AdultUnit();
+        adults.getPersons().add(new Person("Mario", 45));
+        adults.getPersons().add(new Person("Marilena", 47));
+        adults.getPersons().add(new Person("Sofia", 7));
+
+        try (RuleUnitInstance<AdultUnit> instance = unit.createInstance(adults)) {
+            List<Object> ages = instance.executeQueryStream("FindAdultsAge").map(m -> m.get("$age")).collect(toList());
+            assertThat(ages).containsExactlyInAnyOrder(45, 47);
+
+            Object query = queryClass.getConstructor(RuleUnitInstance.class).newInstance(instance);
+            Stream<String> names = (Stream<String>) queryClass.getMethod("stream").invoke(query);
+            assertThat(names.limit(1).collect(toList())).hasSize(1).isSubsetOf("Mario", "Marilena");
+        }
+    }
+
+    @Test
+    public void testRuleUnitLiveQuery() throws Exception {
+        Application application = generateCodeRulesOnly("org/kie/kogito/codegen/unit/RuleUnitQuery.drl");
+        RuleUnit<AdultUnit> unit = application.get(RuleUnits.class).create(AdultUnit.class);
+
+        AdultUnit adults = new AdultUnit();
+        adults.getPersons().add(new Person("Mario", 45));
+
+        BlockingQueue<String> changes = new LinkedBlockingQueue<>();
+        try (ManagedRuleUnitInstance<AdultUnit> managed = new ManagedRuleUnitInstance<>(unit.createInstance(adults), 0)) {
+            managed.openLiveQuery("FindAdults", new QueryObserver() {
+                @Override
+                public void rowInserted(Map<String, Object> row) {
+                    changes.add("+" + row.get("$name"));
+                }
+
+                @Override
+                public void rowUpdated(Map<String, Object> row) {
+                    changes.add("~" + row.get("$name"));
+                }
+
+                @Override
+                public void rowDeleted(Map<String, Object> row) {
+                    changes.add("-" + row.get("$name"));
+                }
+            });
+            managed.start();
+            assertEquals("+Mario", changes.poll(5, TimeUnit.SECONDS));
+
+            // only the changes are pushed to the observer
+            DataHandle sofia = adults.getPersons().add(new Person("Sofia", 27));
+            assertEquals("+Sofia", changes.poll(5, TimeUnit.SECONDS));
+            adults.getPersons().remove(sofia);
+            assertEquals("-Sofia", changes.poll(5, TimeUnit.SECONDS));
+        }
+        assertThat(changes).isEmpty();
+    }
+
     @Test
     public void testRuleUnitQueryOnPrimitive() throws Exception {
         Application application = generateCodeRulesOnly("org/kie/kogito/codegen/unit/RuleUnitQuery.drl");
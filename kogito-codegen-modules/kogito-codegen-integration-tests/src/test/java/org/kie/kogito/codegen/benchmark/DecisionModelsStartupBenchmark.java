@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.codegen.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.kogito.dmn.DMNKogito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Measures the creation of the DMN runtime done by the generated decision models at application startup, loading
+ * copies of the vacation days model.
+ * Run it from this module folder, e.g. with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.kie.kogito.codegen.benchmark.DecisionModelsStartupBenchmark}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecisionModelsStartupBenchmark {
+
+    @Param({ "80" })
+    private int models;
+
+    private List<String> resources;
+
+    @Setup
+    public void setup() throws Exception {
+        String model = new String(Files.readAllBytes(Paths.get("src/test/resources/decision/models/vacationDays/vacationDays.dmn")));
+        Path folder = Files.createTempDirectory("decision-models");
+        for (int i = 0; i < models; i++) {
+            Files.write(folder.resolve("vacationDays" + i + ".dmn"), model.replace("=\"decision\"", "=\"decision" + i + "\"").getBytes());
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            resources = files.map(DecisionModelsStartupBenchmark::read).collect(toList());
+        }
+    }
+
+    private static String read(Path path) {
+        try {
+            return new String(Files.readAllBytes(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Benchmark
+    public DMNRuntime createRuntime() {
+        return DMNKogito.createGenericDMNRuntime(resources.stream().map(StringReader::new).toArray(Reader[]::new));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DecisionModelsStartupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
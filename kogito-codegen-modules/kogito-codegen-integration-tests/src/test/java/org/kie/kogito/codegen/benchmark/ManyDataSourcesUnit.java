@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.codegen.benchmark;
+
+import org.kie.kogito.codegen.data.Person;
+import org.kie.kogito.rules.DataSource;
+import org.kie.kogito.rules.DataStore;
+import org.kie.kogito.rules.RuleUnitData;
+
+public class ManyDataSourcesUnit implements RuleUnitData {
+
+    private final DataStore<Person> persons0 = DataSource.createStore();
+    private final DataStore<Person> persons1 = DataSource.createStore();
+    private final DataStore<Person> persons2 = DataSource.createStore();
+    private final DataStore<Person> persons3 = DataSource.createStore();
+    private final DataStore<Person> persons4 = DataSource.createStore();
+    private final DataStore<Person> persons5 = DataSource.createStore();
+    private final DataStore<Person> persons6 = DataSource.createStore();
+    private final DataStore<Person> persons7 = DataSource.createStore();
+    private final DataStore<Person> persons8 = DataSource.createStore();
+    private final DataStore<Person> persons9 = DataSource.createStore();
+    private final DataStore<Person> persons10 = DataSource.createStore();
+    private final DataStore<Person> persons11 = DataSource.createStore();
+
+    public DataStore<Person> getPersons0() {
+        return persons0;
+    }
+
+    public DataStore<Person> getPersons1() {
+        return persons1;
+    }
+
+    public DataStore<Person> getPersons2() {
+        return persons2;
+    }
+
+    public DataStore<Person> getPersons3() {
+        return persons3;
+    }
+
+    public DataStore<Person> getPersons4() {
+        return persons4;
+    }
+
+    public DataStore<Person> getPersons5() {
+        return persons5;
+    }
+
+    public DataStore<Person> getPersons6() {
+        return persons6;
+    }
+
+    public DataStore<Person> getPersons7() {
+        return persons7;
+    }
+
+    public DataStore<Person> getPersons8() {
+        return persons8;
+    }
+
+    public DataStore<Person> getPersons9() {
+        return persons9;
+    }
+
+    public DataStore<Person> getPersons10() {
+        return persons10;
+    }
+
+    public DataStore<Person> getPersons11() {
+        return persons11;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.codegen.benchmark;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.core.io.impl.ByteArrayResource;
+import org.kie.api.io.Resource;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSessionsPool;
+import org.kie.kogito.Application;
+import org.kie.kogito.codegen.AbstractCodegenIT;
+import org.kie.kogito.codegen.data.Person;
+import org.kie.kogito.rules.DataStore;
+import org.kie.kogito.rules.RuleUnit;
+import org.kie.kogito.rules.RuleUnitInstance;
+import org.kie.kogito.rules.RuleUnitQuery;
+import org.kie.kogito.rules.RuleUnits;
+import org.kie.kogito.rules.units.AbstractRuleUnitInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the creation of a rule unit instance with 12 data sources followed by a query, and compares the cost of
+ * binding the (empty) data sources with the generated binder and with the reflective one of
+ * {@link AbstractRuleUnitInstance}, the latter on a pooled session of an empty knowledge base.
+ * Run it from this module folder, e.g. with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.kie.kogito.codegen.benchmark.RuleUnitInstanceBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RuleUnitInstanceBenchmark extends AbstractCodegenIT {
+
+    private static final int DATA_SOURCES = 12;
+
+    private RuleUnit<ManyDataSourcesUnit> unit;
+    private Class<? extends RuleUnitQuery<List<String>>> queryClass;
+    private KieSessionsPool emptySessionsPool;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        Resource resource = new ByteArrayResource(generateRules().getBytes());
+        resource.setResourceType(ResourceType.DRL);
+        resource.setSourcePath("org/kie/kogito/codegen/benchmark/ManyDataSourcesUnit.drl");
+
+        Application application = generateCodeRulesOnly(Collections.singletonList(resource));
+        unit = application.get(RuleUnits.class).create(ManyDataSourcesUnit.class);
+        queryClass = (Class<? extends RuleUnitQuery<List<String>>>) testClassLoader()
+                .loadClass("org.kie.kogito.codegen.benchmark.ManyDataSourcesUnitQueryFindAdults");
+        emptySessionsPool = KnowledgeBaseFactory.newKnowledgeBase().newKieSessionsPool(1);
+    }
+
+    private static String generateRules() {
+        StringBuilder sb = new StringBuilder("package org.kie.kogito.codegen.benchmark;\n" +
+                "unit ManyDataSourcesUnit;\n" +
+                "import org.kie.kogito.codegen.data.Person;\n" +
+                "query FindAdults\n" +
+                "  /persons0[ adult, $name : name ]\n" +
+                "end\n");
+        for (int i = 0; i < DATA_SOURCES; i++) {
+            sb.append("rule CheckAdult").append(i).append(" when\n")
+                    .append("  $p: /persons").append(i).append("[ age >= 18 ]\n")
+                    .append("then\n")
+                    .append("  modify($p) { setAdult(true) };\n")
+                    .append("end\n");
+        }
+        return sb.toString();
+    }
+
+    private static ManyDataSourcesUnit data() {
+        ManyDataSourcesUnit data = new ManyDataSourcesUnit();
+        for (DataStore<Person> persons : Arrays.asList(data.getPersons0(), data.getPersons1(), data.getPersons2(), data.getPersons3(),
+                data.getPersons4(), data.getPersons5(), data.getPersons6(), data.getPersons7(), data.getPersons8(), data.getPersons9(),
+                data.getPersons10(), data.getPersons11())) {
+            persons.add(new Person("Mario", 45));
+            persons.add(new Person("Sofia", 7));
+        }
+        return data;
+    }
+
+    @Benchmark
+    public List<String> createAndQuery() {
+        try (RuleUnitInstance<ManyDataSourcesUnit> instance = unit.createInstance(data())) {
+            return instance.executeQuery(queryClass);
+        }
+    }
+
+    @Benchmark
+    public RuleUnitInstance<ManyDataSourcesUnit> generatedBind() {
+        try (RuleUnitInstance<ManyDataSourcesUnit> instance = unit.createInstance(new ManyDataSourcesUnit())) {
+            return instance;
+        }
+    }
+
+    @Benchmark
+    public RuleUnitInstance<ManyDataSourcesUnit> reflectiveBind() {
+        try (RuleUnitInstance<ManyDataSourcesUnit> instance = new AbstractRuleUnitInstance<>(unit, new ManyDataSourcesUnit(), emptySessionsPool.newKieSession())) {
+            return instance;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RuleUnitInstanceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.codegen.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.io.impl.ByteArrayResource;
+import org.kie.api.io.Resource;
+import org.kie.api.io.ResourceType;
+import org.kie.kogito.Application;
+import org.kie.kogito.codegen.AbstractCodegenIT;
+import org.kie.kogito.codegen.data.Person;
+import org.kie.kogito.codegen.unit.AdultUnit;
+import org.kie.kogito.rules.RuleUnit;
+import org.kie.kogito.rules.RuleUnitInstance;
+import org.kie.kogito.rules.RuleUnitQuery;
+import org.kie.kogito.rules.RuleUnits;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of a rule unit query executed the way the generated query endpoints do: one rule unit
+ * instance per request, closed once the query results are collected.
+ * Run it from this module folder, e.g. with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.kie.kogito.codegen.benchmark.RuleUnitQueryBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RuleUnitQueryBenchmark extends AbstractCodegenIT {
+
+    @Param({ "300" })
+    private int rules;
+
+    @Param({ "20" })
+    private int persons;
+
+    private RuleUnit<AdultUnit> unit;
+    private Class<? extends RuleUnitQuery<List<String>>> queryClass;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        Resource resource = new ByteArrayResource(generateRules().getBytes());
+        resource.setResourceType(ResourceType.DRL);
+        resource.setSourcePath("org/kie/kogito/codegen/unit/RuleUnitQueryBenchmark.drl");
+
+        Application application = generateCodeRulesOnly(Collections.singletonList(resource));
+        unit = application.get(RuleUnits.class).create(AdultUnit.class);
+        queryClass = (Class<? extends RuleUnitQuery<List<String>>>) testClassLoader()
+                .loadClass("org.kie.kogito.codegen.unit.AdultUnitQueryFindAdults");
+    }
+
+    private String generateRules() {
+        StringBuilder sb = new StringBuilder("package org.kie.kogito.codegen.unit;\n" +
+                "unit AdultUnit;\n" +
+                "import org.kie.kogito.codegen.data.Person;\n" +
+                "rule CheckAdult when\n" +
+                "  $p: /persons[ age >= adultAge ]\n" +
+                "then\n" +
+                "  modify($p) { setAdult(true) };\n" +
+                "end\n" +
+                "query FindAdults\n" +
+                "  /persons[ adult, $name : name ]\n" +
+                "end\n");
+        for (int i = 0; i < rules; i++) {
+            sb.append("rule R").append(i).append(" when\n")
+                    .append("  /persons[ age == ").append(i % 100).append(", name == \"person").append(i).append("\" ]\n")
+                    .append("then\n")
+                    .append("end\n");
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public List<String> query() {
+        AdultUnit data = new AdultUnit();
+        for (int i = 0; i < persons; i++) {
+            data.getPersons().add(new Person("person" + i, i * 5));
+        }
+        try (RuleUnitInstance<AdultUnit> instance = unit.createInstance(data)) {
+            return instance.executeQuery(queryClass);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RuleUnitQueryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
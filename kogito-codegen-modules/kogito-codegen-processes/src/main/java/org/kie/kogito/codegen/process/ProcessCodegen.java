@@ -55,10 +55,12 @@ import org.kie.kogito.codegen.api.context.KogitoBuildContext;
 import org.kie.kogito.codegen.api.context.impl.QuarkusKogitoBuildContext;
 import org.kie.kogito.codegen.api.io.CollectedResource;
 import org.kie.kogito.codegen.core.AbstractGenerator;
+import org.kie.kogito.codegen.core.DashboardGeneratedFileUtils;
 import org.kie.kogito.codegen.process.config.ProcessConfigGenerator;
 import org.kie.kogito.codegen.process.events.CloudEventMetaFactoryGenerator;
 import org.kie.kogito.codegen.process.events.CloudEventsResourceGenerator;
 import org.kie.kogito.codegen.process.openapi.OpenApiClientWorkItemIntrospector;
+import org.kie.kogito.grafana.GrafanaConfigurationWriter;
 import org.kie.kogito.internal.process.runtime.KogitoWorkflowProcess;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -84,6 +86,8 @@ public class ProcessCodegen extends AbstractGenerator {
     private static final GeneratedFileType PRODUCER_TYPE = GeneratedFileType.of("PRODUCER", GeneratedFileType.Category.SOURCE);
     private static final SemanticModules BPMN_SEMANTIC_MODULES = new SemanticModules();
     public static final Set<String> SUPPORTED_BPMN_EXTENSIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(".bpmn", ".bpmn2")));
+    private static final String operationalDashboardProcessTemplate = "/grafana-dashboard-template/processes/operational-dashboard-template.json";
+
     private static final String YAML_PARSER = "yml";
     private static final String JSON_PARSER = "json";
     public static final String SVG_EXPORT_NAME_EXPRESION = "%s-svg.svg";
@@ -465,9 +469,25 @@ public class ProcessCodegen extends AbstractGenerator {
             storeFile(PROCESS_INSTANCE_TYPE, pi.generatedFilePath(), pi.generate());
         }
 
+        if (context().getAddonsConfig().useMonitoring()) {
+            for (ProcessExecutableModelGenerator execModelGen : processExecutableModelGenerators) {
+                generateAndStoreGrafanaDashboard(execModelGen.getProcessId());
+            }
+        }
+
         return generatedFiles;
     }
 
+    private void generateAndStoreGrafanaDashboard(String processId) {
+        String dashboardName = GrafanaConfigurationWriter.buildDashboardName(context().getGAV(), processId);
+        String dashboard = GrafanaConfigurationWriter.generateOperationalProcessDashboard(
+                operationalDashboardProcessTemplate,
+                dashboardName,
+                processId,
+                false);
+        generatedFiles.addAll(DashboardGeneratedFileUtils.operational(dashboard, dashboardName + ".json"));
+    }
+
     private void storeFile(GeneratedFileType type, String path, String source) {
         if (generatedFiles.stream().anyMatch(f -> path.equals(f.relativePath()))) {
             LOGGER.warn("There's already a generated file named {} to be compiled. Ignoring.", path);
@@ -57,6 +57,7 @@ import com.github.javaparser.ast.expr.ConditionalExpr;
 import com.github.javaparser.ast.expr.EnclosedExpr;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.IntegerLiteralExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.expr.NullLiteralExpr;
@@ -102,6 +103,8 @@ public class PersistenceGenerator extends AbstractGenerator {
     private static final String KOGITO_PERSISTENCE_QUERY_TIMEOUT = "kogito.persistence.query.timeout.millis";
     private static final String OPTIMISTIC_LOCK = "lock";
     private static final String OPTIMISTIC_LOCK_PROP = "kogito.persistence.optimistic.lock";
+    private static final String DELTA_SNAPSHOT_INTERVAL = "deltaSnapshotInterval";
+    private static final String DELTA_SNAPSHOT_INTERVAL_PROP = "kogito.persistence.delta.snapshot.interval";
 
     private final ProtoGenerator protoGenerator;
 
@@ -408,6 +411,7 @@ public class PersistenceGenerator extends AbstractGenerator {
 
             persistenceProviderClazz.addMember(pathField);
             persistenceProviderClazz.addMember(pathMethod);
+            addDeltaSnapshotInterval(persistenceProviderClazz);
             generatedClientFile = generatePersistenceProviderClazz(persistenceProviderClazz,
                     new CompilationUnit(KOGITO_PROCESS_INSTANCE_PACKAGE).addType(persistenceProviderClazz));
         }
@@ -562,6 +566,7 @@ public class PersistenceGenerator extends AbstractGenerator {
             context().getDependencyInjectionAnnotator().withInjection(constructor);
             //empty constructor for DI
             persistenceProviderClazz.addConstructor(Keyword.PROTECTED);
+            addDeltaSnapshotInterval(persistenceProviderClazz);
         }
 
         Optional<GeneratedFile> generatedPgClientFile = generatePersistenceProviderClazz(persistenceProviderClazz,
@@ -589,6 +594,24 @@ public class PersistenceGenerator extends AbstractGenerator {
         persistenceProviderClazz.addMember(enabledMethod);
     }
 
+    private void addDeltaSnapshotInterval(ClassOrInterfaceDeclaration persistenceProviderClazz) {
+        FieldDeclaration intervalField = new FieldDeclaration().addVariable(new VariableDeclarator()
+                .setType(new ClassOrInterfaceType(null, new SimpleName(Optional.class.getCanonicalName()), NodeList.nodeList(new ClassOrInterfaceType(null, Integer.class.getCanonicalName()))))
+                .setName(DELTA_SNAPSHOT_INTERVAL));
+        context().getDependencyInjectionAnnotator().withConfigInjection(intervalField, DELTA_SNAPSHOT_INTERVAL_PROP);
+
+        BlockStmt intervalMethodBody = new BlockStmt();
+        intervalMethodBody.addStatement(new ReturnStmt(new MethodCallExpr(new NameExpr(DELTA_SNAPSHOT_INTERVAL), OR_ELSE).addArgument(new IntegerLiteralExpr("0"))));
+        MethodDeclaration intervalMethod = new MethodDeclaration()
+                .addModifier(Keyword.PUBLIC)
+                .setName(DELTA_SNAPSHOT_INTERVAL)
+                .setType("int")
+                .setBody(intervalMethodBody);
+
+        persistenceProviderClazz.addMember(intervalField);
+        persistenceProviderClazz.addMember(intervalMethod);
+    }
+
     private ConstructorDeclaration createConstructorForClazz(ClassOrInterfaceDeclaration persistenceProviderClazz) {
         ConstructorDeclaration constructor = persistenceProviderClazz.addConstructor(Keyword.PUBLIC);
         List<Expression> paramNames = new ArrayList<>();
@@ -36,6 +36,9 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriBuilder;
+import javax.ws.rs.core.UriInfo;
 
 import org.jbpm.util.JsonSchemaUtil;
 import org.kie.kogito.process.Process;
@@ -56,29 +59,35 @@ public class $Type$ReactiveResource {
 
     Application application;
 
+    /**
+     * The process instance is started in a unit of work that ends without blocking: when the storage writes
+     * asynchronously each write runs in its own storage transaction, not in a transaction of the caller, and
+     * the response is built on the thread that completed the write, usually a Vert.x event loop thread, so
+     * nothing blocking may be added to that stage.
+     */
     @POST
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
-    public CompletionStage<$Type$Output> createResource_$name$(@Context HttpHeaders httpHeaders,
-                                                               @QueryParam("businessKey") String businessKey,
-                                                               $Type$Input resource) {
-        return CompletableFuture
-                .supplyAsync(
-                        () -> {
-                            ProcessInstance<$Type$> pi = processService.createProcessInstance(process,
-                                                                                              businessKey,
-                                                                                              Optional.ofNullable(resource).orElse(new $Type$Input()).toModel(),
-                                                                                              httpHeaders.getHeaderString("X-KOGITO-StartFromNode"));
-                            return Response.created(uriInfo.getAbsolutePathBuilder().path(pi.id()).build())
-                                    .entity(pi.checkError().variables().toModel())
-                                    .build();
-                        });
+    public CompletionStage<Response> createResource_$name$(@Context HttpHeaders httpHeaders,
+                                                           @Context UriInfo uriInfo,
+                                                           @QueryParam("businessKey") String businessKey,
+                                                           $Type$Input resource) {
+        // the request context is only read on the calling thread
+        UriBuilder location = uriInfo.getAbsolutePathBuilder();
+        return processService.createProcessInstanceAsync(process,
+                                                         businessKey,
+                                                         Optional.ofNullable(resource).orElse(new $Type$Input()).toModel(),
+                                                         httpHeaders.getHeaderString("X-KOGITO-StartFromNode"))
+                .thenApply(pi -> Response.created(location.path(pi.id()).build())
+                        .entity(pi.checkError().variables().toModel())
+                        .build());
     }
 
     @GET()
     @Produces(MediaType.APPLICATION_JSON)
-    public CompletionStage<List<$Type$Output>> getResources_$name$() {
-        return CompletableFuture.supplyAsync(() -> processService.getProcessInstanceOutput(process));
+    public CompletionStage<List<$Type$Output>> getResources_$name$(@QueryParam("offset") @DefaultValue("0") int offset,
+                                                                   @QueryParam("limit") @DefaultValue("100") int limit) {
+        return CompletableFuture.supplyAsync(() -> processService.getProcessInstanceOutput(process, offset, limit));
     }
 
     @GET()
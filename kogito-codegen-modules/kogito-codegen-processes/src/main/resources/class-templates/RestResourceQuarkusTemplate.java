@@ -81,8 +81,9 @@ public class $Type$Resource {
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public List<$Type$Output> getResources_$name$() {
-        return processService.getProcessInstanceOutput(process);
+    public List<$Type$Output> getResources_$name$(@QueryParam("offset") @DefaultValue("0") int offset,
+                                                  @QueryParam("limit") @DefaultValue("100") int limit) {
+        return processService.getProcessInstanceOutput(process, offset, limit);
     }
 
     @GET
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.kogito.codegen.process.monitoring;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.kie.kogito.codegen.api.AddonsConfig;
+import org.kie.kogito.codegen.api.GeneratedFile;
+import org.kie.kogito.codegen.api.context.KogitoBuildContext;
+import org.kie.kogito.codegen.core.DashboardGeneratedFileUtils;
+import org.kie.kogito.codegen.core.io.CollectedResourceProducer;
+import org.kie.kogito.codegen.process.ProcessCodegen;
+import org.kie.kogito.grafana.JGrafana;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProcessDashboardCodegenTest {
+
+    private static final Path BASE_PATH = Paths.get("src/test/resources/usertask").toAbsolutePath();
+
+    @ParameterizedTest
+    @MethodSource("org.kie.kogito.codegen.api.utils.KogitoContextTestUtils#contextBuilders")
+    public void testOperationalDashboardGeneratedWithMonitoring(KogitoBuildContext.Builder contextBuilder) throws IOException {
+        List<GeneratedFile> dashboards = generateDashboards(contextBuilder, true);
+
+        GeneratedFile approvals = dashboards.stream()
+                .filter(file -> file.relativePath().endsWith("operational-dashboard-approvals.json"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No dashboard generated for the approvals process"));
+        JGrafana dashboard = JGrafana.parse(new String(approvals.contents()));
+        assertThat(dashboard.getDashboard().title).isEqualTo("approvals - Operational Dashboard");
+        assertThat(dashboard.getPanelByTitle("Node duration (95th percentile)")).isNotNull();
+        assertThat(dashboard.getPanelByTitle("Hot nodes (seconds spent per second)")).isNotNull();
+    }
+
+    @ParameterizedTest
+    @MethodSource("org.kie.kogito.codegen.api.utils.KogitoContextTestUtils#contextBuilders")
+    public void testNoDashboardWithoutMonitoring(KogitoBuildContext.Builder contextBuilder) {
+        assertThat(generateDashboards(contextBuilder, false)).isEmpty();
+    }
+
+    private static List<GeneratedFile> generateDashboards(KogitoBuildContext.Builder contextBuilder, boolean monitoring) {
+        KogitoBuildContext context = contextBuilder.withAddonsConfig(AddonsConfig.builder().withMonitoring(monitoring).build()).build();
+        Collection<GeneratedFile> generatedFiles = ProcessCodegen.ofCollectedResources(context, CollectedResourceProducer.fromPaths(BASE_PATH)).generate();
+        return generatedFiles.stream().filter(file -> file.type().equals(DashboardGeneratedFileUtils.DASHBOARD_TYPE)).collect(toList());
+    }
+}
@@ -87,5 +87,6 @@ class FileSystemPersistenceGeneratorTest {
         assertThat(fieldDeclaration).isNotEmpty();
         assertThat(fieldDeclaration.get().getVariables()).hasSize(1);
         assertThat(fieldDeclaration.get().getVariables().get(0).getName().asString()).isEqualTo(PATH_NAME);
+        assertThat(classDeclaration.getMethodsByName("deltaSnapshotInterval")).hasSize(1);
     }
 }
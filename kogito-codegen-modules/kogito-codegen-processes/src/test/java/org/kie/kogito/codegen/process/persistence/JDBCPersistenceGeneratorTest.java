@@ -79,6 +79,7 @@ class JDBCPersistenceGeneratorTest {
         final ClassOrInterfaceDeclaration classDeclaration = compilationUnit
                 .findFirst(ClassOrInterfaceDeclaration.class)
                 .orElseThrow(() -> new NoSuchElementException("Compilation unit doesn't contain a class or interface declaration!"));
+        assertThat(classDeclaration.getMethodsByName("deltaSnapshotInterval")).hasSize(1);
     }
 
 }
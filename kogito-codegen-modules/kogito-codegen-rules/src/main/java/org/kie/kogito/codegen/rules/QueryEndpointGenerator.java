@@ -39,10 +39,10 @@ import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.Parameter;
 import com.github.javaparser.ast.body.VariableDeclarator;
-import com.github.javaparser.ast.expr.ClassExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.Name;
 import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.stmt.CatchClause;
@@ -173,46 +173,35 @@ public class QueryEndpointGenerator implements RuleFileGenerator {
     }
 
     private void generateQueryMethods(CompilationUnit cu, ClassOrInterfaceDeclaration clazz, String returnType) {
-        boolean hasDI = context.hasDI();
         MethodDeclaration queryMethod = clazz.getMethodsByName("executeQuery").get(0);
-        queryMethod.getParameter(0).setType(ruleUnit.getCanonicalName() + (hasDI ? "" : "DTO"));
         setGeneric(queryMethod.getType(), returnType);
-
-        Statement statement = queryMethod
-                .getBody()
-                .orElseThrow(() -> new NoSuchElementException("A method declaration doesn't contain a body!"))
-                .getStatement(0);
-        statement.findAll(VariableDeclarator.class).forEach(decl -> setUnitGeneric(decl.getType()));
-        statement.findAll(MethodCallExpr.class).forEach(m -> m.addArgument(hasDI ? "unitDTO" : "unitDTO.get()"));
-
-        Statement returnStatement = queryMethod
-                .getBody()
-                .orElseThrow(() -> new NoSuchElementException("A method declaration doesn't contain a body!"))
-                .getStatement(1);
-        returnStatement.findAll(VariableDeclarator.class).forEach(decl -> setGeneric(decl.getType(), returnType));
-        returnStatement.findAll(ClassExpr.class).forEach(expr -> expr.setType(queryClassName));
+        BlockStmt queryBody = interpolateQueryMethod(queryMethod, returnType);
+        queryBody.findAll(VariableDeclarator.class, decl -> decl.getNameAsString().equals("response")).forEach(decl -> setGeneric(decl.getType(), returnType));
 
         MethodDeclaration queryMethodSingle = clazz.getMethodsByName("executeQueryFirst").get(0);
-        queryMethodSingle.getParameter(0).setType(ruleUnit.getCanonicalName() + (hasDI ? "" : "DTO"));
         queryMethodSingle.setType(toNonPrimitiveType(returnType));
-
-        Statement statementSingle = queryMethodSingle
-                .getBody()
-                .orElseThrow(() -> new NoSuchElementException("A method declaration doesn't contain a body!"))
-                .getStatement(0);
-        statementSingle.findAll(VariableDeclarator.class).forEach(decl -> setGeneric(decl.getType(), returnType));
-
-        Statement returnMethodSingle = queryMethodSingle
-                .getBody()
-                .orElseThrow(() -> new NoSuchElementException("A method declaration doesn't contain a body!"))
-                .getStatement(1);
-        returnMethodSingle.findAll(VariableDeclarator.class).forEach(decl -> decl.setType(toNonPrimitiveType(returnType)));
+        BlockStmt queryBodySingle = interpolateQueryMethod(queryMethodSingle, returnType);
+        queryBodySingle.findAll(VariableDeclarator.class, decl -> decl.getNameAsString().equals("response")).forEach(decl -> decl.setType(toNonPrimitiveType(returnType)));
 
         if (context.getAddonsConfig().useMonitoring()) {
             addMonitoringToResource(cu, new MethodDeclaration[] { queryMethod, queryMethodSingle }, endpointName);
         }
     }
 
+    private BlockStmt interpolateQueryMethod(MethodDeclaration method, String returnType) {
+        boolean hasDI = context.hasDI();
+        method.getParameter(0).setType(ruleUnit.getCanonicalName() + (hasDI ? "" : "DTO"));
+
+        BlockStmt body = method
+                .getBody()
+                .orElseThrow(() -> new NoSuchElementException("A method declaration doesn't contain a body!"));
+        body.findAll(VariableDeclarator.class, decl -> decl.getNameAsString().equals("instance")).forEach(decl -> setUnitGeneric(decl.getType()));
+        body.findAll(VariableDeclarator.class, decl -> decl.getNameAsString().equals("results")).forEach(decl -> setGeneric(decl.getType(), returnType));
+        body.findAll(MethodCallExpr.class, m -> m.getNameAsString().equals("createInstance")).forEach(m -> m.addArgument(hasDI ? "unitDTO" : "unitDTO.get()"));
+        body.findAll(ObjectCreationExpr.class).forEach(expr -> expr.setType(queryClassName));
+        return body;
+    }
+
     private void addMonitoringToResource(CompilationUnit cu, MethodDeclaration[] methods, String nameURL) {
         cu.addImport(new ImportDeclaration(new Name("org.kie.kogito.monitoring.core.common.system.metrics.SystemMetricsCollector"), false, false));
 
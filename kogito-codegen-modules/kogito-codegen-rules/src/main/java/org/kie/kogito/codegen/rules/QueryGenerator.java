@@ -123,6 +123,8 @@ public class QueryGenerator implements RuleFileGenerator {
     private void generateQueryMethod(CompilationUnit cu, ClassOrInterfaceDeclaration clazz, String returnType) {
         MethodDeclaration queryMethod = clazz.getMethodsByName("execute").get(0);
         setGeneric(queryMethod.getType(), returnType);
+        MethodDeclaration streamMethod = clazz.getMethodsByName("stream").get(0);
+        setGeneric(streamMethod.getType(), returnType);
     }
 
     private String getReturnType(ClassOrInterfaceDeclaration clazz) {
@@ -184,7 +184,7 @@ public class RuleUnitGenerator implements RuleFileGenerator {
                 .forEach(tp -> tp.setName(typeName));
 
         cls.findFirst(NameExpr.class, e -> e.getNameAsString().equals("$SessionPoolSize$"))
-                .ifPresent(e -> e.replace(new IntegerLiteralExpr(config.getDefaultedSessionPool().orElse(-1))));
+                .ifPresent(e -> e.replace(new IntegerLiteralExpr(config.getDefaultedSessionPool().orElse(0))));
 
         cls.findFirst(NameExpr.class, e -> e.getNameAsString().equals("$EventProcessingMode$"))
                 .ifPresent(e -> e.replace(eventProcessingConfigExpression(config.getDefaultedEventProcessingType())));
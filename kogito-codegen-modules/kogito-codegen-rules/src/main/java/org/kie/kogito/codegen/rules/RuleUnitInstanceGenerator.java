@@ -27,9 +27,7 @@ import org.kie.kogito.conf.DefaultEntryPoint;
 import org.kie.kogito.conf.EntryPoint;
 import org.kie.kogito.rules.DataSource;
 import org.kie.kogito.rules.units.AbstractRuleUnitInstance;
-import org.kie.kogito.rules.units.EntryPointDataProcessor;
 
-import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Modifier;
 import com.github.javaparser.ast.NodeList;
@@ -40,7 +38,6 @@ import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.expr.NullLiteralExpr;
-import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.expr.StringLiteralExpr;
 import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.stmt.IfStmt;
@@ -121,14 +118,14 @@ public class RuleUnitInstanceGenerator implements RuleFileGenerator {
                     Expression fieldAccessor =
                             new MethodCallExpr(new NameExpr("value"), methodName);
 
-                    // .subscribe( new EntryPointDataProcessor(runtime.getEntryPoint()) )
+                    // subscribe( value.$method(), runtime.getEntryPoint() )
 
                     String entryPointName = getEntryPointName(ruleUnitDescription, propertyName);
-                    MethodCallExpr drainInto = new MethodCallExpr(fieldAccessor, "subscribe")
-                            .addArgument(new ObjectCreationExpr(null, StaticJavaParser.parseClassOrInterfaceType(EntryPointDataProcessor.class.getName()), NodeList.nodeList(
-                                    new MethodCallExpr(
-                                            new NameExpr("runtime"), "getEntryPoint",
-                                            NodeList.nodeList(new StringLiteralExpr(entryPointName))))));
+                    MethodCallExpr drainInto = new MethodCallExpr(null, "subscribe")
+                            .addArgument(fieldAccessor)
+                            .addArgument(new MethodCallExpr(
+                                    new NameExpr("runtime"), "getEntryPoint",
+                                    NodeList.nodeList(new StringLiteralExpr(entryPointName))));
 
                     methodBlock.addStatement(drainInto);
                 }
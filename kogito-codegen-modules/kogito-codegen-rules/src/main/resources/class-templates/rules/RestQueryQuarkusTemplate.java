@@ -17,11 +17,13 @@ package com.myspace.demo;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 
 import org.kie.kogito.rules.RuleUnit;
@@ -44,10 +46,15 @@ public class $unit$Query$name$Endpoint {
     @POST()
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
-    public List<$ReturnType$> executeQuery($UnitTypeDTO$ unitDTO) {
-        RuleUnitInstance<$UnitType$> instance = ruleUnit.createInstance();
+    public List<$ReturnType$> executeQuery($UnitTypeDTO$ unitDTO, @QueryParam("limit") Integer limit) {
         // Do not return the result directly to allow post execution codegen (like monitoring)
-        List<$ReturnType$> response = instance.executeQuery($unit$Query$name$.class);
+        List<$ReturnType$> response;
+        // closing the instance returns its session to the pool of the rule unit
+        try (RuleUnitInstance<$UnitType$> instance = ruleUnit.createInstance()) {
+            // the rows are mapped while the stream is consumed, so only the returned results are materialized
+            Stream<$ReturnType$> results = new $unit$Query$name$(instance).stream();
+            response = (limit == null || limit < 0 ? results : results.limit(limit)).collect(toList());
+        }
         return response;
     }
 
@@ -56,8 +63,12 @@ public class $unit$Query$name$Endpoint {
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
     public $ReturnType$ executeQueryFirst($UnitTypeDTO$ unitDTO) {
-        List<$ReturnType$> results = executeQuery(unitDTO);
-        $ReturnType$ response = results.isEmpty() ? null : results.get(0);
+        $ReturnType$ response;
+        try (RuleUnitInstance<$UnitType$> instance = ruleUnit.createInstance()) {
+            // stop mapping the query rows as soon as the first result is found
+            List<$ReturnType$> results = new $unit$Query$name$(instance).stream().limit(1).collect(toList());
+            response = results.isEmpty() ? null : results.get(0);
+        }
         return response;
     }
 }
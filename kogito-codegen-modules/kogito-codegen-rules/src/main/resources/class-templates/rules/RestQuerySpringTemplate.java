@@ -17,11 +17,13 @@ package com.myspace.demo;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -44,18 +46,27 @@ public class $unit$Query$name$Endpoint {
     }
 
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
-    public List<$ReturnType$> executeQuery(@RequestBody(required = true) $UnitTypeDTO$ unitDTO) {
-        RuleUnitInstance<$UnitType$> instance = ruleUnit.createInstance();
+    public List<$ReturnType$> executeQuery(@RequestBody(required = true) $UnitTypeDTO$ unitDTO, @RequestParam(value = "limit", required = false) Integer limit) {
         // Do not return the result directly to allow post execution codegen (like monitoring)
-        List<$ReturnType$> response = instance.executeQuery($unit$Query$name$.class);
+        List<$ReturnType$> response;
+        // closing the instance returns its session to the pool of the rule unit
+        try (RuleUnitInstance<$UnitType$> instance = ruleUnit.createInstance()) {
+            // the rows are mapped while the stream is consumed, so only the returned results are materialized
+            Stream<$ReturnType$> results = new $unit$Query$name$(instance).stream();
+            response = (limit == null || limit < 0 ? results : results.limit(limit)).collect(toList());
+        }
         return response;
     }
 
     @PostMapping(value = "/first", produces = MediaType.APPLICATION_JSON_VALUE, consumes =
             MediaType.APPLICATION_JSON_VALUE)
     public $ReturnType$ executeQueryFirst(@RequestBody(required = true) $UnitTypeDTO$ unitDTO) {
-        List<$ReturnType$> results = executeQuery(unitDTO);
-        $ReturnType$ response = results.isEmpty() ? null : results.get(0);
+        $ReturnType$ response;
+        try (RuleUnitInstance<$UnitType$> instance = ruleUnit.createInstance()) {
+            // stop mapping the query rows as soon as the first result is found
+            List<$ReturnType$> results = new $unit$Query$name$(instance).stream().limit(1).collect(toList());
+            response = results.isEmpty() ? null : results.get(0);
+        }
         return response;
     }
 }
\ No newline at end of file
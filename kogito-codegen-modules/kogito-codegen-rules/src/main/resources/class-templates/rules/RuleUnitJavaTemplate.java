@@ -18,7 +18,6 @@ package $Package$;
 import org.drools.core.ClockType;
 import org.drools.core.RuleBaseConfiguration;
 import org.drools.core.SessionConfigurationImpl;
-import org.drools.core.impl.EnvironmentImpl;
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.kie.api.conf.EventProcessingOption;
 import org.kie.api.runtime.KieSession;
@@ -29,20 +28,20 @@ import org.kie.kogito.rules.units.impl.AbstractRuleUnit;
 public class $Name$ extends AbstractRuleUnit<$ModelName$> {
 
     private static final InternalKnowledgeBase kb = createKnowledgeBase();
+    private static final SessionConfigurationImpl sessionConfig = createSessionConfiguration();
+    private static final KieSessionsPool sessionsPool = kb.newKieSessionsPool($SessionPoolSize$);
 
     public $Name$(org.kie.kogito.Application app) {
         super($ModelName$.class.getCanonicalName(), app);
     }
 
     public $InstanceName$ internalCreateInstance($ModelName$ value) {
-        return new $InstanceName$( this, value, createLegacySession());
+        return new $InstanceName$( this, value, acquireSession());
     }
 
-    private KieSession createLegacySession() {
-        SessionConfigurationImpl sessionConfig = new SessionConfigurationImpl();
-        sessionConfig.setClockType($ClockType$);
-
-        KieSession ks = kb.newKieSession(sessionConfig, new EnvironmentImpl());
+    private KieSession acquireSession() {
+        // pooled sessions are reset when released, so listeners must be registered on every acquisition
+        KieSession ks = sessionsPool.newKieSession(sessionConfig);
         ((org.drools.core.impl.KogitoStatefulKnowledgeSessionImpl)ks).setStateless( /*$IsStateful$*/ true );
         ((org.drools.core.impl.KogitoStatefulKnowledgeSessionImpl)ks).setApplication( app );
 
@@ -56,10 +55,15 @@ public class $Name$ extends AbstractRuleUnit<$ModelName$> {
         return ks;
     }
 
+    private static SessionConfigurationImpl createSessionConfiguration() {
+        SessionConfigurationImpl sessionConfig = new SessionConfigurationImpl();
+        sessionConfig.setClockType($ClockType$);
+        return sessionConfig;
+    }
+
     private static InternalKnowledgeBase createKnowledgeBase() {
         RuleBaseConfiguration ruleBaseConfig = new RuleBaseConfiguration();
         ruleBaseConfig.setEventProcessingMode($EventProcessingMode$);
-        ruleBaseConfig.setSessionPoolSize($SessionPoolSize$);
         InternalKnowledgeBase kb =
                 org.drools.modelcompiler.builder.KieBaseBuilder.createKieBaseFromModel(new $RuleModelName$(), ruleBaseConfig);
         return kb;
@@ -17,6 +17,7 @@ package com.myspace.demo;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.kie.kogito.rules.RuleUnitInstance;
 
@@ -32,7 +33,11 @@ public class $unit$Query$name$ implements org.kie.kogito.rules.RuleUnitQuery<Lis
 
     @Override
     public List<$ReturnType$> execute() {
-        return instance.executeQuery( "$queryName$" ).stream().map(this::toResult).collect(toList());
+        return stream().collect(toList());
+    }
+
+    public Stream<$ReturnType$> stream() {
+        return instance.executeQueryStream( "$queryName$" ).map(this::toResult);
     }
 
     private $ReturnType$ toResult(Map<String, Object> tuple) {